@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for adding a change to the open release of a changelog file,
+ * comparing the incremental append with a full parse and rewrite. Both
+ * benchmarks validate the file, and both leave the file in the same state.
+ * The file is restored before each iteration.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CAppendBenchmark
+{
+  private static final ZonedDateTime TIME =
+    ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private static final Consumer<CParseError> IGNORE_ERRORS = error -> {
+  };
+
+  /**
+   * The number of changes in the modified changelog.
+   */
+
+  @Param({"10", "1000", "100000"})
+  public int changes;
+
+  private byte[] data;
+  private Path directory;
+  private Path file;
+  private Path fileTemp;
+  private CXMLChangelogParsers parsers;
+  private CXMLChangelogWriters writers;
+  private CChange change;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CAppendBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate and serialize a changelog whose latest release is open.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    final var changelog =
+      CChangelogOperations.releaseBegin(
+        CBenchmarkChangelogs.generate(this.changes),
+        Optional.empty(),
+        Optional.empty(),
+        TIME);
+
+    this.data =
+      CBenchmarkChangelogs.serialize(changelog);
+    this.parsers =
+      CXMLChangelogParsers.createPooled(1);
+    this.writers =
+      new CXMLChangelogWriters();
+    this.change =
+      CChange.builder()
+        .setDate(TIME)
+        .setSummary("A change.")
+        .build();
+
+    this.directory =
+      Files.createTempDirectory("changelog-benchmark");
+    this.file =
+      this.directory.resolve("changelog.xml");
+    this.fileTemp =
+      this.directory.resolve("changelog.xml.tmp");
+  }
+
+  /**
+   * Restore the changelog file.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Setup(Level.Iteration)
+  public void restore()
+    throws IOException
+  {
+    Files.write(this.file, this.data);
+  }
+
+  /**
+   * Delete the changelog file.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws IOException
+  {
+    Files.deleteIfExists(this.file);
+    Files.deleteIfExists(this.fileTemp);
+    Files.deleteIfExists(this.directory);
+  }
+
+  /**
+   * Append the change incrementally.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void appendIncremental()
+    throws IOException
+  {
+    final var appended =
+      this.writers.appendChange(
+        this.file, this.fileTemp, this.change, TIME, IGNORE_ERRORS);
+    if (appended.isEmpty()) {
+      throw new IllegalStateException("Change was not appended");
+    }
+  }
+
+  /**
+   * Append the change by parsing and rewriting the entire file.
+   *
+   * @throws IOException                  On I/O errors
+   * @throws CChangelogOperationException On errors
+   */
+
+  @Benchmark
+  public void appendRewrite()
+    throws IOException, CChangelogOperationException
+  {
+    final CChangelog changelog =
+      this.parsers.parse(this.file, IGNORE_ERRORS);
+    this.writers.write(
+      this.file,
+      this.fileTemp,
+      CChangelogOperations.changeAdd(changelog, this.change, TIME));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Functions to generate synthetic changelogs for benchmarking.
+ */
+
+public final class CBenchmarkChangelogs
+{
+  /**
+   * The number of changes placed in each generated release.
+   */
+
+  public static final int CHANGES_PER_RELEASE = 10;
+
+  private static final String TICKET_SYSTEM = "com.github.io7m.changelog";
+  private static final int MODULE_COUNT = 50;
+
+  private CBenchmarkChangelogs()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Generate a changelog containing exactly {@code changes} changes, spread
+   * over closed releases of {@link #CHANGES_PER_RELEASE} changes each. The
+   * output is deterministic for a given change count.
+   *
+   * @param changes The total number of changes
+   *
+   * @return A changelog
+   */
+
+  public static CChangelog generate(
+    final int changes)
+  {
+    final var ticketSystem =
+      CTicketSystem.builder()
+        .setId(TICKET_SYSTEM)
+        .setUri(URI.create("https://www.github.com/io7m/changelog/issues/"))
+        .setDefault(true)
+        .build();
+
+    final var builder =
+      CChangelog.builder()
+        .setProject(CProjectName.of("com.io7m.changelog.benchmark"))
+        .putTicketSystems(TICKET_SYSTEM, ticketSystem);
+
+    final var modules = new ArrayList<CModuleName>(MODULE_COUNT);
+    for (int index = 0; index < MODULE_COUNT; ++index) {
+      modules.add(CModuleName.of("com.io7m.module" + index));
+    }
+
+    final var start = LocalDate.of(2000, 1, 1);
+    final var utc = ZoneId.of("UTC");
+
+    int remaining = changes;
+    int releaseIndex = 0;
+    int changeIndex = 0;
+    while (remaining > 0) {
+      final var count = Math.min(remaining, CHANGES_PER_RELEASE);
+      final var date =
+        ZonedDateTime.of(
+          start.plusDays(releaseIndex),
+          LocalTime.MIDNIGHT,
+          utc);
+
+      final var releaseChanges = new ArrayList<CChange>(count);
+      for (int index = 0; index < count; ++index) {
+        releaseChanges.add(change(modules, date, changeIndex));
+        ++changeIndex;
+      }
+
+      final var version = versionOf(releaseIndex);
+      builder.putReleases(
+        version,
+        CRelease.builder()
+          .setVersion(version)
+          .setDate(date)
+          .setOpen(false)
+          .setTicketSystemID(TICKET_SYSTEM)
+          .setChanges(releaseChanges)
+          .build());
+
+      remaining -= count;
+      ++releaseIndex;
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * @param releaseIndex The index of a generated release
+   *
+   * @return The version number assigned to the release
+   */
+
+  public static CVersion versionOf(
+    final int releaseIndex)
+  {
+    return CVersion.of(
+      BigInteger.valueOf(releaseIndex / 100L),
+      BigInteger.valueOf(releaseIndex % 100L),
+      BigInteger.ZERO);
+  }
+
+  private static CChange change(
+    final List<CModuleName> modules,
+    final ZonedDateTime date,
+    final int changeIndex)
+  {
+    final var builder =
+      CChange.builder()
+        .setDate(date)
+        .setSummary("Synthetic change number " + changeIndex)
+        .setBackwardsCompatible(changeIndex % 7 != 0);
+
+    if (changeIndex % 3 == 0) {
+      builder.setModule(
+        Optional.of(modules.get(changeIndex % modules.size())));
+    }
+    if (changeIndex % 2 == 0) {
+      builder.addTickets(CTicketID.of(Integer.toString(changeIndex)));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Serialize the given changelog to XML.
+   *
+   * @param changelog The changelog
+   *
+   * @return The serialized changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static byte[] serialize(
+    final CChangelog changelog)
+    throws IOException
+  {
+    final var output = new ByteArrayOutputStream();
+    new CXMLChangelogWriters()
+      .createStreaming(URI.create("urn:benchmark"), output)
+      .write(changelog);
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The main benchmark entry point.
+ *
+ * <p>Accepts the standard JMH command-line options. Unless overridden, all
+ * benchmarks in this package are run with the GC profiler enabled (to report
+ * allocation rates), and the results are written in JSON format to
+ * {@code changelog-benchmarks.json} in the current directory.</p>
+ */
+
+public final class CBenchmarks
+{
+  private CBenchmarks()
+  {
+
+  }
+
+  /**
+   * The main entry point.
+   *
+   * @param args Command-line arguments
+   *
+   * @throws RunnerException            On benchmark errors
+   * @throws CommandLineOptionException On unparseable arguments
+   */
+
+  public static void main(
+    final String[] args)
+    throws RunnerException, CommandLineOptionException
+  {
+    final var commandLine = new CommandLineOptions(args);
+    final var options = new OptionsBuilder().parent(commandLine);
+
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include("com\\.io7m\\.changelog\\.benchmarks\\..*");
+    }
+    if (commandLine.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      options.result("changelog-benchmarks.json");
+    }
+
+    new Runner(options.build()).run();
+  }
+}
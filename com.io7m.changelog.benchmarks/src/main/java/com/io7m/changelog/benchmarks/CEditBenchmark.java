@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
+import com.io7m.changelog.core.CChangelogPersistent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for applying sequences of modifications to changelogs.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CEditBenchmark
+{
+  /**
+   * The number of releases that are begun, given a change, and finished.
+   */
+
+  private static final int RELEASES = 25;
+
+  private static final ZonedDateTime TIME =
+    ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  /**
+   * The number of changes in the modified changelog.
+   */
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int changes;
+
+  private CChangelog changelog;
+  private CChange change;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CEditBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the changelog.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.changelog =
+      CBenchmarkChangelogs.generate(this.changes);
+    this.change =
+      CChange.builder()
+        .setDate(TIME)
+        .setSummary("A change.")
+        .build();
+  }
+
+  /**
+   * @return The changelog after modifications applied to a {@link CChangelog}
+   *
+   * @throws CChangelogOperationException On errors
+   */
+
+  @Benchmark
+  public CChangelog edit()
+    throws CChangelogOperationException
+  {
+    var current = this.changelog;
+    for (int index = 0; index < RELEASES; ++index) {
+      current = CChangelogOperations.releaseBegin(
+        current, Optional.empty(), Optional.empty(), TIME);
+      current = CChangelogOperations.changeAdd(current, this.change, TIME);
+      current = CChangelogOperations.releaseFinish(
+        current, Optional.empty(), TIME);
+    }
+    return current;
+  }
+
+  /**
+   * @return The changelog after modifications applied to a
+   * {@link CChangelogPersistent}
+   *
+   * @throws CChangelogOperationException On errors
+   */
+
+  @Benchmark
+  public CChangelog editPersistent()
+    throws CChangelogOperationException
+  {
+    var current = CChangelogPersistent.copyOf(this.changelog);
+    for (int index = 0; index < RELEASES; ++index) {
+      current = CChangelogOperations.releaseBegin(
+        current, Optional.empty(), Optional.empty(), TIME);
+      current = CChangelogOperations.changeAdd(current, this.change, TIME);
+      current = CChangelogOperations.releaseFinish(
+        current, Optional.empty(), TIME);
+    }
+    return current.toChangelog();
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.core.CChangelogQuery;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the changelog filters and release queries.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CFilterBenchmark
+{
+  /**
+   * The number of changes in the filtered changelog.
+   */
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int changes;
+
+  private CChangelog changelog;
+  private CVersion middle;
+  private CChangelogQuery moduleQuery;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CFilterBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the changelog.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.changelog =
+      CBenchmarkChangelogs.generate(this.changes);
+    this.middle =
+      CBenchmarkChangelogs.versionOf(
+        this.changelog.releases().size() / 2);
+    this.moduleQuery =
+      CChangelogQuery.builder()
+        .setModule(CModuleName.of("com.io7m.module7"))
+        .setIncompatibleOnly(true)
+        .build();
+  }
+
+  /**
+   * @return The five most recent releases
+   */
+
+  @Benchmark
+  public CChangelog limit()
+  {
+    return CChangelogFilters.limit(this.changelog, 5L);
+  }
+
+  /**
+   * @return Five releases from the middle of the changelog
+   */
+
+  @Benchmark
+  public Optional<CChangelog> upToAndIncluding()
+  {
+    return CChangelogFilters.upToAndIncluding(this.changelog, this.middle, 5);
+  }
+
+  /**
+   * @return The incompatible changes of a single module
+   */
+
+  @Benchmark
+  public CChangelog queryModule()
+  {
+    return CChangelogFilters.query(this.changelog, this.moduleQuery);
+  }
+
+  /**
+   * @return The sorted release versions
+   */
+
+  @Benchmark
+  public List<CVersion> releaseVersions()
+  {
+    return this.changelog.releaseVersions();
+  }
+
+  /**
+   * @return The latest release
+   */
+
+  @Benchmark
+  public Optional<CRelease> latestRelease()
+  {
+    return this.changelog.latestRelease();
+  }
+}
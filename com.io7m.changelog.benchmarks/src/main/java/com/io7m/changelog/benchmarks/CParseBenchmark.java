@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.changelog.schema.CSchema;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for the XML parsers.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CParseBenchmark
+{
+  private static final URI SOURCE = URI.create("urn:benchmark");
+  private static final Consumer<CParseError> IGNORE_ERRORS = error -> {
+  };
+
+  /**
+   * The number of changes in the parsed changelog.
+   */
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int changes;
+
+  private byte[] data;
+  private Path file;
+  private CXMLChangelogParsers parsers;
+  private CXMLChangelogParsers parsersPooled;
+  private SAXParser schemaParser;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CParseBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the serialized changelog.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.data =
+      CBenchmarkChangelogs.serialize(
+        CBenchmarkChangelogs.generate(this.changes));
+    this.parsers =
+      new CXMLChangelogParsers();
+    this.parsersPooled =
+      CXMLChangelogParsers.createPooled(1);
+    this.file =
+      Files.createTempFile("changelog-benchmark", ".xml");
+    Files.write(this.file, this.data);
+
+    final var schemas =
+      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    final var factory = SAXParserFactory.newInstance();
+    factory.setNamespaceAware(true);
+    factory.setSchema(schemas.newSchema(CSchema.getURISchemaXSD().toURL()));
+    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    this.schemaParser = factory.newSAXParser();
+  }
+
+  /**
+   * Delete the serialized changelog.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws IOException
+  {
+    Files.deleteIfExists(this.file);
+  }
+
+  /**
+   * @return The parsed changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public CChangelog parse()
+    throws IOException
+  {
+    return this.parsers.create(
+      SOURCE,
+      new ByteArrayInputStream(this.data),
+      IGNORE_ERRORS
+    ).parse();
+  }
+
+  /**
+   * @return The parsed changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public CChangelog parsePooled()
+    throws IOException
+  {
+    return this.parsersPooled.create(
+      SOURCE,
+      new ByteArrayInputStream(this.data),
+      IGNORE_ERRORS
+    ).parse();
+  }
+
+  /**
+   * @return The number of releases delivered by the streaming parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public int parseStreaming()
+    throws IOException
+  {
+    final var counter = new ReleaseCounter();
+    this.parsers.create(
+      SOURCE,
+      new ByteArrayInputStream(this.data),
+      IGNORE_ERRORS
+    ).parseStreaming(counter);
+    return counter.releases;
+  }
+
+  /**
+   * Validate a changelog with a reused SAX parser configured in the same
+   * manner as the pooled parsers, delivering events to a handler that
+   * does nothing. The difference between the allocation rate of this
+   * benchmark and that of {@link #parseSkippingPooled()} is the
+   * allocation of the parser's event handler.
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void parseSchemaOnly()
+    throws Exception
+  {
+    try {
+      this.schemaParser.parse(
+        new ByteArrayInputStream(this.data), new DefaultHandler());
+    } finally {
+      this.schemaParser.reset();
+    }
+  }
+
+  /**
+   * @return The number of releases delivered by the streaming parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public int parseStreamingPooled()
+    throws IOException
+  {
+    final var counter = new ReleaseCounter();
+    this.parsersPooled.create(
+      SOURCE,
+      new ByteArrayInputStream(this.data),
+      IGNORE_ERRORS
+    ).parseStreaming(counter);
+    return counter.releases;
+  }
+
+  /**
+   * Parse a changelog while declining every release. No changes are built,
+   * so the allocation rate of this benchmark consists of the overhead of the
+   * SAX parser and the parser's event handler.
+   *
+   * @return The number of releases offered by the streaming parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public int parseSkippingPooled()
+    throws IOException
+  {
+    final var skipper = new ReleaseSkipper();
+    this.parsersPooled.create(
+      SOURCE,
+      new ByteArrayInputStream(this.data),
+      IGNORE_ERRORS
+    ).parseStreaming(skipper);
+    return skipper.releases;
+  }
+
+  /**
+   * Parse a changelog file while declining every release, reading the file
+   * through the provider's file input path.
+   *
+   * @return The number of releases offered by the streaming parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public int parseSkippingFile()
+    throws IOException
+  {
+    final var skipper = new ReleaseSkipper();
+    this.parsersPooled.parseStreaming(this.file, skipper, IGNORE_ERRORS);
+    return skipper.releases;
+  }
+
+  /**
+   * Parse a changelog file while declining every release, reading the file
+   * through a plain file input stream.
+   *
+   * @return The number of releases offered by the streaming parser
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public int parseSkippingFileStream()
+    throws IOException
+  {
+    final var skipper = new ReleaseSkipper();
+    try (var stream = Files.newInputStream(this.file)) {
+      this.parsersPooled.create(
+        this.file.toUri(),
+        stream,
+        IGNORE_ERRORS
+      ).parseStreaming(skipper);
+    }
+    return skipper.releases;
+  }
+
+  /**
+   * Parse the changelog file eagerly and obtain the latest release.
+   *
+   * @return The latest release
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public Optional<CRelease> parseFileLatest()
+    throws IOException
+  {
+    return this.parsersPooled.parse(this.file, IGNORE_ERRORS)
+      .latestRelease();
+  }
+
+  /**
+   * Parse the changelog file lazily and obtain the latest release. Only the
+   * changes of the latest release are built.
+   *
+   * @return The latest release
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public Optional<CRelease> parseLazyLatest()
+    throws IOException
+  {
+    return this.parsersPooled.parseLazy(this.file, IGNORE_ERRORS)
+      .latestRelease();
+  }
+
+  private static final class ReleaseSkipper
+    implements CChangelogEventReceiverType
+  {
+    private int releases;
+
+    ReleaseSkipper()
+    {
+
+    }
+
+    @Override
+    public boolean wantsRelease(
+      final CRelease release)
+    {
+      ++this.releases;
+      return false;
+    }
+  }
+
+  private static final class ReleaseCounter
+    implements CChangelogEventReceiverType
+  {
+    private int releases;
+
+    ReleaseCounter()
+    {
+
+    }
+
+    @Override
+    public boolean wantsAllReleases()
+    {
+      return true;
+    }
+
+    @Override
+    public Action onRelease(
+      final CRelease release)
+    {
+      ++this.releases;
+      return Action.CONTINUE;
+    }
+  }
+}
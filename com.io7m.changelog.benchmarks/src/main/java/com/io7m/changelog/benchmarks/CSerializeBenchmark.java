@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.xml.CXMLDocumentSerializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration.INCLUDE;
+
+/**
+ * Benchmarks for DOM document serialization, comparing the shared
+ * serializer against creating a new transformer factory for every
+ * document. All output is discarded.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+public class CSerializeBenchmark
+{
+  /**
+   * The number of changes in the serialized document.
+   */
+
+  @Param({"1", "10", "1000"})
+  public int changes;
+
+  private Document document;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CSerializeBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.document = parse(
+      CBenchmarkChangelogs.serialize(
+        CBenchmarkChangelogs.generate(this.changes)));
+  }
+
+  private static Document parse(
+    final byte[] data)
+    throws ParserConfigurationException, IOException, SAXException
+  {
+    final var factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    return factory.newDocumentBuilder()
+      .parse(new ByteArrayInputStream(data));
+  }
+
+  /**
+   * Serialize the document with the shared serializer.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void serializeShared()
+    throws IOException
+  {
+    CXMLDocumentSerializers.serialize(
+      this.document, OutputStream.nullOutputStream(), INCLUDE);
+  }
+
+  /**
+   * Serialize the document with a new transformer factory, as the writers
+   * did before the shared serializer was introduced.
+   *
+   * @throws TransformerException On errors
+   */
+
+  @Benchmark
+  public void serializeFreshFactory()
+    throws TransformerException
+  {
+    final var transformer =
+      TransformerFactory.newInstance().newTransformer();
+
+    transformer.setOutputProperty(
+      OutputKeys.INDENT, "yes");
+    transformer.setOutputProperty(
+      OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+    transformer.setOutputProperty(
+      "{http://xml.apache.org/xslt}indent-amount",
+      "2");
+
+    transformer.transform(
+      new DOMSource(this.document),
+      new StreamResult(OutputStream.nullOutputStream()));
+  }
+}
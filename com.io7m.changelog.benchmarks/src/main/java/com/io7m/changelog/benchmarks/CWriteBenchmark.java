@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.benchmarks;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.text.api.CPlainChangelogWriterConfiguration;
+import com.io7m.changelog.text.vanilla.CPlainChangelogWriters;
+import com.io7m.changelog.xml.CAtomChangelogWriters;
+import com.io7m.changelog.xml.CXHTMLChangelogWriters;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the changelog writers. All output is discarded.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CWriteBenchmark
+{
+  private static final URI TARGET = URI.create("urn:benchmark");
+
+  /**
+   * The number of changes in the written changelog.
+   */
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int changes;
+
+  private CChangelog changelog;
+  private CXMLChangelogWriters xmlWriters;
+  private CXHTMLChangelogWriters xhtmlWriters;
+  private CAtomChangelogWriters atomWriters;
+  private CAtomChangelogWriterConfiguration atomConfiguration;
+  private CPlainChangelogWriters plainWriters;
+  private CPlainChangelogWriterConfiguration plainConfiguration;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public CWriteBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the changelog.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.changelog =
+      CBenchmarkChangelogs.generate(this.changes);
+
+    this.xmlWriters = new CXMLChangelogWriters();
+    this.xhtmlWriters = new CXHTMLChangelogWriters();
+    this.atomWriters = new CAtomChangelogWriters();
+    this.plainWriters = new CPlainChangelogWriters();
+
+    this.atomConfiguration =
+      CAtomChangelogWriterConfiguration.builder()
+        .setUpdated(ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC")))
+        .setAuthorEmail("nobody@example.com")
+        .setAuthorName("Nobody")
+        .setTitle("Releases")
+        .setUri(URI.create("http://www.example.com"))
+        .build();
+
+    this.plainConfiguration =
+      CPlainChangelogWriterConfiguration.builder()
+        .setShowDates(true)
+        .build();
+  }
+
+  /**
+   * Write XML via the document-based writer.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writeXML()
+    throws IOException
+  {
+    this.xmlWriters.create(TARGET, OutputStream.nullOutputStream())
+      .write(this.changelog);
+  }
+
+  /**
+   * Write XML via the streaming writer.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writeXMLStreaming()
+    throws IOException
+  {
+    this.xmlWriters.createStreaming(TARGET, OutputStream.nullOutputStream())
+      .write(this.changelog);
+  }
+
+  /**
+   * Write XHTML.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writeXHTML()
+    throws IOException
+  {
+    this.xhtmlWriters.create(TARGET, OutputStream.nullOutputStream())
+      .write(this.changelog);
+  }
+
+  /**
+   * Write XHTML, rendering releases in parallel on the common pool.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writeXHTMLParallel()
+    throws IOException
+  {
+    this.xhtmlWriters.createParallel(
+      TARGET,
+      OutputStream.nullOutputStream(),
+      ForkJoinPool.commonPool()
+    ).write(this.changelog);
+  }
+
+  /**
+   * Write an Atom feed.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writeAtom()
+    throws IOException
+  {
+    this.atomWriters.createWithConfiguration(
+      this.atomConfiguration,
+      TARGET,
+      OutputStream.nullOutputStream()
+    ).write(this.changelog);
+  }
+
+  /**
+   * Write plain text.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Benchmark
+  public void writePlain()
+    throws IOException
+  {
+    this.plainWriters.createWithConfiguration(
+      this.plainConfiguration,
+      TARGET,
+      OutputStream.nullOutputStream()
+    ).write(this.changelog);
+  }
+}
@@ -16,12 +16,18 @@
 
 package com.io7m.changelog.cmdline;
 
+import com.io7m.changelog.cmdline.internal.CLCommandAggregate;
+import com.io7m.changelog.cmdline.internal.CLCommandBatch;
 import com.io7m.changelog.cmdline.internal.CLCommandChangeAdd;
 import com.io7m.changelog.cmdline.internal.CLCommandReleaseCurrent;
 import com.io7m.changelog.cmdline.internal.CLCommandReleaseSetVersion;
+import com.io7m.changelog.cmdline.internal.CLCommandSearch;
+import com.io7m.changelog.cmdline.internal.CLCommandServe;
+import com.io7m.changelog.cmdline.internal.CLCommandTicketLookup;
 import com.io7m.changelog.cmdline.internal.CLCommandWriteAtom;
 import com.io7m.changelog.cmdline.internal.CLCommandInitialize;
 import com.io7m.changelog.cmdline.internal.CLCommandWritePlain;
+import com.io7m.changelog.cmdline.internal.CLCommandQuery;
 import com.io7m.changelog.cmdline.internal.CLCommandReleaseBegin;
 import com.io7m.changelog.cmdline.internal.CLCommandReleaseFinish;
 import com.io7m.changelog.cmdline.internal.CLCommandVersion;
@@ -61,12 +67,18 @@ public final class Main implements Runnable
 
     final List<CLPCommandConstructorType> commands =
       List.of(
+        CLCommandAggregate::new,
+        CLCommandBatch::new,
         CLCommandChangeAdd::new,
         CLCommandInitialize::new,
+        CLCommandQuery::new,
         CLCommandReleaseBegin::new,
         CLCommandReleaseCurrent::new,
         CLCommandReleaseFinish::new,
         CLCommandReleaseSetVersion::new,
+        CLCommandSearch::new,
+        CLCommandServe::new,
+        CLCommandTicketLookup::new,
         CLCommandVersion::new,
         CLCommandWriteAtom::new,
         CLCommandWritePlain::new,
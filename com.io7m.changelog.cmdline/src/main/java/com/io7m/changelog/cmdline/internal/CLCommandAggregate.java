@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.text.api.CPlainChangelogWriterConfiguration;
+import com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
+import com.io7m.changelog.writer.api.CMergedChangelogWriterType;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterConfiguration;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXHTMLChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogAggregator;
+import com.io7m.changelog.xml.api.CXMLChangelogAggregatorConfiguration;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * The "aggregate" command.
+ */
+
+@Parameters(commandDescription = "Generate a merged log from all changelogs in a directory tree.")
+public final class CLCommandAggregate extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandAggregate.class);
+
+  @Parameter(
+    names = "--directory",
+    required = false,
+    description = "The directory to search for changelogs")
+  private Path directory = Paths.get(".");
+
+  @Parameter(
+    names = "--file-name",
+    required = false,
+    description = "The name of changelog files")
+  private String fileName = "README-CHANGES.xml";
+
+  @Parameter(
+    names = "--threads",
+    required = false,
+    description = "The maximum number of changelogs to parse concurrently")
+  private int threads = Runtime.getRuntime().availableProcessors();
+
+  @Parameter(
+    names = "--show-dates",
+    arity = 1,
+    description = "Show dates")
+  private boolean date;
+
+  @Parameter(
+    names = "--count",
+    required = false,
+    description = "The number of releases to display for each changelog")
+  private int count = 1;
+
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache instead of parsing only the required releases")
+  private boolean cache = false;
+
+  @Parameter(
+    names = "--format",
+    required = false,
+    description = "The output format (plain, xhtml, atom)")
+  private String format = "plain";
+
+  @Parameter(
+    names = "--author-email",
+    required = false,
+    description = "The author email address (atom)")
+  private String authorEmail;
+
+  @Parameter(
+    names = "--author-name",
+    required = false,
+    description = "The author name (atom)")
+  private String authorName;
+
+  @Parameter(
+    names = "--title",
+    required = false,
+    description = "The feed title (atom)")
+  private String title;
+
+  @Parameter(
+    names = "--uri",
+    required = false,
+    description = "The feed URI (atom)")
+  private URI uri;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandAggregate(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return Status.FAILURE;
+    }
+
+    final var writerOpt = this.createWriter();
+    if (writerOpt.isEmpty()) {
+      return Status.FAILURE;
+    }
+
+    final var configuration =
+      CXMLChangelogAggregatorConfiguration.builder()
+        .setDirectory(this.directory)
+        .setFileName(this.fileName)
+        .setParallelism(this.threads)
+        .setCount(this.count)
+        .setUseCache(this.cache)
+        .build();
+
+    final var aggregate =
+      CXMLChangelogAggregator.aggregate(parsersOpt.get(), configuration);
+
+    final var errors = CParseErrorHandlers.loggingHandler(LOG);
+    for (final var entry : aggregate.entries()) {
+      entry.errors().forEach(errors);
+      if (entry.succeeded()) {
+        LOG.info(
+          "{}: parsed in {}ms",
+          entry.file(),
+          Long.valueOf(entry.duration().toMillis()));
+      } else {
+        LOG.error(
+          "{}: failed after {}ms: {}",
+          entry.file(),
+          Long.valueOf(entry.duration().toMillis()),
+          entry.failure().orElse(""));
+      }
+    }
+
+    writerOpt.get().writeMerged(aggregate.merged());
+
+    final var failures = aggregate.failures().size();
+    if (failures > 0) {
+      LOG.error(
+        "{} of {} changelogs could not be parsed",
+        Integer.valueOf(failures),
+        Integer.valueOf(aggregate.entries().size()));
+      return Status.FAILURE;
+    }
+    return Status.SUCCESS;
+  }
+
+  private Optional<CMergedChangelogWriterType> createWriter()
+    throws Exception
+  {
+    final var output = URI.create("urn:stdout");
+
+    switch (this.format) {
+      case "plain": {
+        final var writersOpt =
+          ServiceLoader.load(CPlainChangelogWriterProviderType.class)
+            .findFirst();
+
+        if (writersOpt.isEmpty()) {
+          LOG.error("No plain-text writer providers are available");
+          return Optional.empty();
+        }
+
+        final var config =
+          CPlainChangelogWriterConfiguration.builder()
+            .setShowDates(this.date)
+            .build();
+
+        return Optional.of(
+          writersOpt.get().createWithConfiguration(config, output, System.out));
+      }
+
+      case "xhtml": {
+        final var writersOpt =
+          ServiceLoader.load(CXHTMLChangelogWriterProviderType.class)
+            .findFirst();
+
+        if (writersOpt.isEmpty()) {
+          LOG.error("No XHTML writer providers are available");
+          return Optional.empty();
+        }
+
+        return Optional.of(writersOpt.get().create(output, System.out));
+      }
+
+      case "atom": {
+        final var writersOpt =
+          ServiceLoader.load(CAtomChangelogWriterProviderType.class)
+            .findFirst();
+
+        if (writersOpt.isEmpty()) {
+          LOG.error("No Atom writer providers are available");
+          return Optional.empty();
+        }
+
+        if (this.authorEmail == null
+          || this.authorName == null
+          || this.title == null
+          || this.uri == null) {
+          LOG.error(
+            "The atom format requires --author-email, --author-name, --title, and --uri");
+          return Optional.empty();
+        }
+
+        final var config =
+          CAtomChangelogWriterConfiguration.builder()
+            .setUpdated(ZonedDateTime.now(ZoneId.of("UTC")))
+            .setUri(this.uri)
+            .setTitle(this.title)
+            .setAuthorName(this.authorName)
+            .setAuthorEmail(this.authorEmail)
+            .build();
+
+        return Optional.of(
+          writersOpt.get().createWithConfiguration(config, this.uri, System.out));
+      }
+
+      default: {
+        LOG.error(
+          "Unrecognized output format: {} (must be one of plain, xhtml, atom)",
+          this.format);
+        return Optional.empty();
+      }
+    }
+  }
+
+  @Override
+  public String name()
+  {
+    return "aggregate";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpAggregate");
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogScriptException;
+import com.io7m.changelog.core.CChangelogScripts;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ServiceLoader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The "batch" command.
+ */
+
+@Parameters(commandDescription = "Apply a script of modifications to a changelog.")
+public final class CLCommandBatch extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandBatch.class);
+
+  @Parameter(
+    names = "--file",
+    required = false,
+    description = "The changelog file")
+  private Path path = Paths.get("README-CHANGES.xml");
+
+  @Parameter(
+    names = "--script",
+    required = false,
+    description = "The script file (standard input if not specified)")
+  private Path script;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandBatch(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return Status.FAILURE;
+    }
+
+    final var writersOpt =
+      ServiceLoader.load(CXMLChangelogWriterProviderType.class).findFirst();
+
+    if (writersOpt.isEmpty()) {
+      LOG.error("No XML writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var parsers =
+      parsersOpt.get();
+    final var writers =
+      writersOpt.get();
+
+    final var changelog =
+      parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
+    final var now =
+      ZonedDateTime.now(Clock.systemUTC());
+
+    final CChangelog newChangelog;
+    try (var reader = this.openScript()) {
+      newChangelog =
+        CChangelogScripts.execute(changelog, this.scriptSource(), reader, now);
+    } catch (final CChangelogScriptException e) {
+      LOG.error("{}", e.getMessage());
+      return Status.FAILURE;
+    }
+
+    try (var pathTemp = CLTemporaryFile.createFor(this.path)) {
+      writers.write(this.path, pathTemp.path(), newChangelog);
+    }
+    return Status.SUCCESS;
+  }
+
+  private URI scriptSource()
+  {
+    if (this.script == null) {
+      return URI.create("urn:stdin");
+    }
+    return this.script.toUri();
+  }
+
+  private BufferedReader openScript()
+    throws IOException
+  {
+    if (this.script == null) {
+      return new BufferedReader(new InputStreamReader(System.in, UTF_8));
+    }
+    return Files.newBufferedReader(this.script, UTF_8);
+  }
+
+  @Override
+  public String name()
+  {
+    return "batch";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpBatch");
+  }
+}
@@ -20,24 +20,31 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.io7m.changelog.core.CChange;
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
 import com.io7m.changelog.core.CModuleName;
 import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CSearchIndex;
 import com.io7m.changelog.core.CTicketID;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.api.CXMLChangelogCache;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
 import com.io7m.claypot.core.CLPCommandContextType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.function.UnaryOperator;
 
 /**
  * The "change-add" command.
@@ -49,6 +56,8 @@ public final class CLCommandChangeAdd extends CLAbstractCommand
   private static final Logger LOG =
     LoggerFactory.getLogger(CLCommandChangeAdd.class);
 
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
   @Parameter(
     names = "--file",
     required = false,
@@ -81,6 +90,13 @@ public final class CLCommandChangeAdd extends CLAbstractCommand
     description = "Indicates that the change is backwards incompatible")
   private boolean incompatible;
 
+  @Parameter(
+    names = "--incremental",
+    arity = 1,
+    required = false,
+    description = "Append the change without rewriting the entire file (the file is still validated)")
+  private boolean incremental = true;
+
   /**
    * Construct a command.
    *
@@ -128,19 +144,8 @@ public final class CLCommandChangeAdd extends CLAbstractCommand
     final var parsers = parsersOpt.get();
     final var writers = writersOpt.get();
 
-    final var changelog =
-      parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
-
-    final var latest =
-      changelog.latestRelease();
-
-    if (latest.isEmpty()) {
-      LOG.error("No current release exists.");
-      return Status.FAILURE;
-    }
-
     final var now =
-      ZonedDateTime.now(ZoneId.of("UTC"));
+      ZonedDateTime.now(UTC);
 
     final var change =
       CChange.builder()
@@ -151,27 +156,85 @@ public final class CLCommandChangeAdd extends CLAbstractCommand
         .setTickets(List.copyOf(this.tickets))
         .build();
 
-    final var release = latest.get();
-    if (!release.isOpen()) {
-      LOG.error("The current release is not open for modification.");
-      return Status.FAILURE;
+    /*
+     * Any search index is only valid for the file as it is before the
+     * change is added, so load it now and update it after writing.
+     */
+
+    final var searchIndex =
+      CXMLChangelogCache.loadSearchIndex(this.path);
+
+    final var errors = CParseErrorHandlers.loggingHandler(LOG);
+    try (var pathTemp = CLTemporaryFile.createFor(this.path)) {
+      if (this.incremental) {
+        final var appended =
+          writers.appendChange(this.path, pathTemp.path(), change, now, errors);
+        if (appended.isPresent()) {
+          LOG.debug("appended change incrementally");
+          final var version = appended.get();
+          final var day = day(now);
+          this.updateSearchIndex(
+            searchIndex,
+            index -> index.withChange(version, day, change.withDate(day)));
+          return Status.SUCCESS;
+        }
+      }
+
+      final var changelog =
+        parsers.parse(this.path, errors);
+
+      final CChangelog changelogWrite;
+      try {
+        changelogWrite = CChangelogOperations.changeAdd(changelog, change, now);
+      } catch (final CChangelogOperationException e) {
+        LOG.error("{}", e.getMessage());
+        return Status.FAILURE;
+      }
+
+      writers.write(this.path, pathTemp.path(), changelogWrite);
+      this.updateSearchIndex(
+        searchIndex,
+        index -> index.withRelease(
+          days(changelogWrite.openRelease().orElseThrow())));
+      return Status.SUCCESS;
     }
+  }
 
-    final var releaseWrite =
-      CRelease.builder()
-        .from(release)
-        .addChanges(change)
-        .setDate(now)
-        .build();
+  /**
+   * The XML format stores only the date portion of timestamps, and so the
+   * search index is given the dates that a parse of the written file would
+   * produce.
+   */
 
-    final var changelogWrite =
-      CChangelog.builder()
-        .from(changelog)
-        .putReleases(releaseWrite.version(), releaseWrite)
-        .build();
+  private static ZonedDateTime day(
+    final ZonedDateTime time)
+  {
+    return ZonedDateTime.of(time.toLocalDate(), LocalTime.MIDNIGHT, UTC);
+  }
 
-    final var pathTemp = Paths.get(this.path + ".tmp");
-    writers.write(this.path, pathTemp, changelogWrite);
-    return Status.SUCCESS;
+  private static CRelease days(
+    final CRelease release)
+  {
+    final var changes = new ArrayList<CChange>(release.changes().size());
+    for (final var change : release.changes()) {
+      changes.add(change.withDate(day(change.date())));
+    }
+    return release.withDate(day(release.date())).withChanges(changes);
+  }
+
+  private void updateSearchIndex(
+    final Optional<CSearchIndex> searchIndex,
+    final UnaryOperator<CSearchIndex> update)
+  {
+    if (searchIndex.isEmpty()) {
+      return;
+    }
+
+    try {
+      CXMLChangelogCache.storeSearchIndex(
+        this.path, update.apply(searchIndex.get()));
+    } catch (final IOException e) {
+      LOG.debug("unable to update search index: ", e);
+    }
   }
 }
@@ -104,27 +104,28 @@ public final class CLCommandInitialize extends CLAbstractCommand
       return Status.FAILURE;
     }
 
-    final Path path_tmp = Paths.get(this.path + ".tmp");
-    try (OutputStream stream = Files.newOutputStream(path_tmp)) {
-      final var ticketSystem =
-        CTicketSystem.builder()
-          .setId(this.ticket_system_name)
-          .setUri(this.ticket_system_uri)
-          .setDefault(true)
-          .build();
-
-      final CChangelog changelog =
-        CChangelog.builder()
-          .setProject(this.project)
-          .putTicketSystems(this.ticket_system_name, ticketSystem)
-          .build();
-
-      final CXMLChangelogWriterType writer =
-        writer_provider.create(this.path.toUri(), stream);
-      writer.write(changelog);
+    try (CLTemporaryFile path_tmp = CLTemporaryFile.createFor(this.path)) {
+      try (OutputStream stream = Files.newOutputStream(path_tmp.path())) {
+        final var ticketSystem =
+          CTicketSystem.builder()
+            .setId(this.ticket_system_name)
+            .setUri(this.ticket_system_uri)
+            .setDefault(true)
+            .build();
+
+        final CChangelog changelog =
+          CChangelog.builder()
+            .setProject(this.project)
+            .putTicketSystems(this.ticket_system_name, ticketSystem)
+            .build();
+
+        final CXMLChangelogWriterType writer =
+          writer_provider.create(this.path.toUri(), stream);
+        writer.write(changelog);
+      }
+
+      Files.move(path_tmp.path(), this.path, StandardCopyOption.ATOMIC_MOVE);
     }
-
-    Files.move(path_tmp, this.path, StandardCopyOption.ATOMIC_MOVE);
     return Status.SUCCESS;
   }
 
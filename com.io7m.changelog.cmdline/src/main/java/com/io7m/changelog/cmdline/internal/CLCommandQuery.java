@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.core.CChangelogQuery;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.text.api.CPlainChangelogWriterConfiguration;
+import com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * The "query" command.
+ */
+
+@Parameters(commandDescription = "Display the changes that match a query.")
+public final class CLCommandQuery extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandQuery.class);
+
+  @Parameter(
+    names = "--file",
+    required = false,
+    description = "The changelog file")
+  private Path path = Paths.get("README-CHANGES.xml");
+
+  @Parameter(
+    names = "--module",
+    required = false,
+    converter = CModuleNameConverter.class,
+    description = "Only show changes that affect the given module")
+  private CModuleName module;
+
+  @Parameter(
+    names = "--since",
+    required = false,
+    description = "Only show changes made on or after the given date")
+  private String sinceText;
+
+  @Parameter(
+    names = "--until",
+    required = false,
+    description = "Only show changes made on or before the given date")
+  private String untilText;
+
+  @Parameter(
+    names = "--ticket-system",
+    required = false,
+    description = "Only show changes in releases that use the given ticket system")
+  private String ticketSystem;
+
+  @Parameter(
+    names = "--version-lower",
+    required = false,
+    description = "Only show changes in releases with versions greater than or equal to the given version")
+  private String versionLowerText;
+
+  @Parameter(
+    names = "--version-upper",
+    required = false,
+    description = "Only show changes in releases with versions less than or equal to the given version")
+  private String versionUpperText;
+
+  @Parameter(
+    names = "--incompatible",
+    arity = 1,
+    required = false,
+    description = "Only show backwards incompatible changes")
+  private boolean incompatible;
+
+  @Parameter(
+    names = "--show-dates",
+    arity = 1,
+    description = "Show dates")
+  private boolean date;
+
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache")
+  private boolean cache = false;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandQuery(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var query =
+      CChangelogQuery.builder()
+        .setModule(Optional.ofNullable(this.module))
+        .setSince(Optional.ofNullable(this.sinceText).map(LocalDate::parse))
+        .setUntil(Optional.ofNullable(this.untilText).map(LocalDate::parse))
+        .setTicketSystem(Optional.ofNullable(this.ticketSystem))
+        .setVersionLower(
+          Optional.ofNullable(this.versionLowerText).map(CVersions::parse))
+        .setVersionUpper(
+          Optional.ofNullable(this.versionUpperText).map(CVersions::parse))
+        .setIncompatibleOnly(this.incompatible)
+        .build();
+
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return Status.FAILURE;
+    }
+
+    final var writersOpt =
+      ServiceLoader.load(CPlainChangelogWriterProviderType.class).findFirst();
+
+    if (writersOpt.isEmpty()) {
+      LOG.error("No plain-text writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var writers =
+      writersOpt.get();
+    final var parsers =
+      parsersOpt.get();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
+    final var changelog =
+      this.cache
+        ? parsers.parseCached(this.path, errors)
+        : parsers.parse(this.path, errors);
+
+    final var config =
+      CPlainChangelogWriterConfiguration.builder()
+        .setShowDates(this.date)
+        .build();
+
+    final var writer =
+      writers.createWithConfiguration(
+        config, URI.create("urn:stdout"), System.out);
+
+    writer.write(CChangelogFilters.query(changelog, query));
+    return Status.SUCCESS;
+  }
+
+  @Override
+  public String name()
+  {
+    return "query";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpQuery");
+  }
+}
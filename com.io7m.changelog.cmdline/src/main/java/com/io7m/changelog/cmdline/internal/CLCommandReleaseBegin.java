@@ -19,7 +19,8 @@ package com.io7m.changelog.cmdline.internal;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.io7m.changelog.core.CChangelog;
-import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
 import com.io7m.changelog.core.CVersion;
 import com.io7m.changelog.core.CVersions;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
@@ -103,62 +104,29 @@ public final class CLCommandReleaseBegin extends CLAbstractCommand
     final var writers =
       writersOpt.get();
 
-    final var pathTemp =
-      Paths.get(this.path + ".tmp");
     final var changelog =
       parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
 
-    final CVersion nextVersion;
-    if (this.versionText == null) {
-      nextVersion = changelog.suggestNextRelease();
-    } else {
-      nextVersion = CVersions.parse(this.versionText);
-    }
-
-    final Optional<String> ticketSystemOpt =
-      changelog.findTicketSystem(Optional.ofNullable(this.ticketSystem));
-
-    if (ticketSystemOpt.isEmpty()) {
-      if (this.ticketSystem != null) {
-        LOG.error("No ticket system named {} is defined", this.ticketSystem);
-      } else {
-        LOG.error("No default ticket system is available");
-      }
+    final Optional<CVersion> version =
+      Optional.ofNullable(this.versionText)
+        .map(CVersions::parse);
+
+    final CChangelog newChangelog;
+    try {
+      newChangelog =
+        CChangelogOperations.releaseBegin(
+          changelog,
+          version,
+          Optional.ofNullable(this.ticketSystem),
+          ZonedDateTime.now(Clock.systemUTC()));
+    } catch (final CChangelogOperationException e) {
+      LOG.error("{}", e.getMessage());
       return FAILURE;
     }
 
-    final var releases = changelog.releases();
-    if (releases.containsKey(nextVersion)) {
-      LOG.error("A release with version {} already exists", String.format("%s", nextVersion));
-      return FAILURE;
+    try (var pathTemp = CLTemporaryFile.createFor(this.path)) {
+      writers.write(this.path, pathTemp.path(), newChangelog);
     }
-
-    final var openRelease =
-      releases.values()
-        .stream()
-        .filter(CRelease::isOpen)
-        .findFirst();
-
-    if (openRelease.isPresent()) {
-      LOG.error("A release with version {} is already open", String.format("%s", openRelease.get().version()));
-      return FAILURE;
-    }
-
-    final var release =
-      CRelease.builder()
-        .setOpen(true)
-        .setTicketSystemID(ticketSystemOpt.get())
-        .setDate(ZonedDateTime.now(Clock.systemUTC()))
-        .setVersion(nextVersion)
-        .build();
-
-    final var newChangelog =
-      CChangelog.builder()
-        .from(changelog)
-        .putReleases(release.version(), release)
-        .build();
-
-    writers.write(this.path, pathTemp, newChangelog);
     return SUCCESS;
   }
 
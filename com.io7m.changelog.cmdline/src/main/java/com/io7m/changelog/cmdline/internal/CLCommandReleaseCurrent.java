@@ -18,6 +18,7 @@ package com.io7m.changelog.cmdline.internal;
 
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
+import com.io7m.changelog.core.CChangelogType;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
 import com.io7m.claypot.core.CLPCommandContextType;
@@ -47,6 +48,13 @@ public final class CLCommandReleaseCurrent extends CLAbstractCommand
     description = "The changelog file")
   private Path path = Paths.get("README-CHANGES.xml");
 
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache instead of parsing only the release headers")
+  private boolean cache = false;
+
   /**
    * Construct a command.
    *
@@ -73,10 +81,14 @@ public final class CLCommandReleaseCurrent extends CLAbstractCommand
 
     final var parsers =
       parsersOpt.get();
-    final var changelog =
-      parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
-
-    final var latestOpt = changelog.latestRelease();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
+    final CChangelogType changelog =
+      this.cache
+        ? parsers.parseCached(this.path, errors)
+        : parsers.parseLazy(this.path, errors);
+
+    final var latestOpt = changelog.latestReleaseHeader();
     if (latestOpt.isEmpty()) {
       LOG.error("No current release exists");
       return FAILURE;
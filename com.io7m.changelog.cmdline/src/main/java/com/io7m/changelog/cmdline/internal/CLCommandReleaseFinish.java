@@ -19,13 +19,13 @@ package com.io7m.changelog.cmdline.internal;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.io7m.changelog.core.CChangelog;
-import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
 import com.io7m.changelog.core.CVersions;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
 import com.io7m.claypot.core.CLPCommandContextType;
-import com.io7m.jaffirm.core.Invariants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,8 +95,6 @@ public final class CLCommandReleaseFinish extends CLAbstractCommand
     final var writers =
       writersOpt.get();
 
-    final var pathTemp =
-      Paths.get(this.path + ".tmp");
     final var changelog =
       parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
 
@@ -104,31 +102,21 @@ public final class CLCommandReleaseFinish extends CLAbstractCommand
       Optional.ofNullable(this.versionText)
         .map(CVersions::parse);
 
-    final var targetReleaseOpt =
-      changelog.findTargetReleaseOrLatestOpen(targetVersionOpt);
-
-    if (targetReleaseOpt.isEmpty()) {
-      LOG.error("No release is currently open");
+    final CChangelog newChangelog;
+    try {
+      newChangelog =
+        CChangelogOperations.releaseFinish(
+          changelog,
+          targetVersionOpt,
+          ZonedDateTime.now(Clock.systemUTC()));
+    } catch (final CChangelogOperationException e) {
+      LOG.error("{}", e.getMessage());
       return Status.FAILURE;
     }
 
-    final var targetRelease = targetReleaseOpt.get();
-    Invariants.checkInvariant(targetRelease.isOpen(), "Release must be open");
-
-    final var closedRelease =
-      CRelease.builder()
-        .from(targetRelease)
-        .setOpen(false)
-        .setDate(ZonedDateTime.now(Clock.systemUTC()))
-        .build();
-
-    final var newChangelog =
-      CChangelog.builder()
-        .from(changelog)
-        .putReleases(closedRelease.version(), closedRelease)
-        .build();
-
-    writers.write(this.path, pathTemp, newChangelog);
+    try (var pathTemp = CLTemporaryFile.createFor(this.path)) {
+      writers.write(this.path, pathTemp.path(), newChangelog);
+    }
     return Status.SUCCESS;
   }
 
@@ -19,7 +19,8 @@ package com.io7m.changelog.cmdline.internal;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.io7m.changelog.core.CChangelog;
-import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
 import com.io7m.changelog.core.CVersions;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
@@ -32,7 +33,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.ServiceLoader;
 
 /**
@@ -97,41 +97,24 @@ public final class CLCommandReleaseSetVersion extends CLAbstractCommand
     final var writers =
       writersOpt.get();
 
-    final var pathTemp =
-      Paths.get(this.path + ".tmp");
     final var changelog =
       parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
 
-    final var currentReleaseOpt = changelog.latestRelease();
-    if (currentReleaseOpt.isEmpty()) {
-      LOG.error("No release is currently open");
+    final CChangelog newChangelog;
+    try {
+      newChangelog =
+        CChangelogOperations.releaseSetVersion(
+          changelog,
+          version,
+          ZonedDateTime.now(Clock.systemUTC()));
+    } catch (final CChangelogOperationException e) {
+      LOG.error("{}", e.getMessage());
       return Status.FAILURE;
     }
 
-    final var currentRelease = currentReleaseOpt.get();
-    if (!currentRelease.isOpen()) {
-      LOG.error("No release is currently open");
-      return Status.FAILURE;
+    try (var pathTemp = CLTemporaryFile.createFor(this.path)) {
+      writers.write(this.path, pathTemp.path(), newChangelog);
     }
-
-    final var updatedRelease =
-      CRelease.builder()
-        .from(currentRelease)
-        .setDate(ZonedDateTime.now(Clock.systemUTC()))
-        .setVersion(version)
-        .build();
-
-    final var oldReleases = new HashMap<>(changelog.releases());
-    oldReleases.remove(currentRelease.version());
-    oldReleases.put(version, updatedRelease);
-
-    final var newChangelog =
-      CChangelog.builder()
-        .from(changelog)
-        .setReleases(oldReleases)
-        .build();
-
-    writers.write(this.path, pathTemp, newChangelog);
     return Status.SUCCESS;
   }
 
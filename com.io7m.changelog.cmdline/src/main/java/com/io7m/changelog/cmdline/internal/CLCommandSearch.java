@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.core.CSearchIndex;
+import com.io7m.changelog.core.CSearchQueries;
+import com.io7m.changelog.core.CSearchQuery;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.api.CXMLChangelogCache;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * The "search" command.
+ */
+
+@Parameters(commandDescription = "Search the summaries of changes.")
+public final class CLCommandSearch extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandSearch.class);
+
+  @Parameter(
+    names = "--file",
+    required = false,
+    description = "The changelog file")
+  private Path path = Paths.get("README-CHANGES.xml");
+
+  @Parameter(
+    names = "--query",
+    required = true,
+    description = "The search query")
+  private String query;
+
+  @Parameter(
+    names = "--limit",
+    required = false,
+    description = "The maximum number of changes to display")
+  private int limit = 20;
+
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache and search index")
+  private boolean cache = false;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandSearch(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return FAILURE;
+    }
+
+    final CSearchQuery queryParsed;
+    try {
+      queryParsed = CSearchQueries.parse(this.query);
+    } catch (final IllegalArgumentException e) {
+      LOG.error("{}", e.getMessage());
+      return FAILURE;
+    }
+
+    final var parsers =
+      parsersOpt.get();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
+    final var executor =
+      ForkJoinPool.commonPool();
+    final var index =
+      this.cache
+        ? CXMLChangelogCache.searchIndex(parsers, this.path, executor, errors)
+        : CSearchIndex.ofParallel(parsers.parse(this.path, errors), executor);
+
+    final var hits = index.search(queryParsed);
+    if (hits.isEmpty()) {
+      LOG.error("No changes match the query");
+      return FAILURE;
+    }
+
+    final var count = Math.max(0, Math.min(this.limit, hits.size()));
+    for (final var hit : hits.subList(0, count)) {
+      System.out.printf(
+        "%s %s %s%n",
+        hit.release(),
+        hit.changeDate().toLocalDate(),
+        hit.summary()
+      );
+    }
+    return SUCCESS;
+  }
+
+  @Override
+  public String name()
+  {
+    return "search";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpSearch");
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXHTMLChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The "serve" command.
+ */
+
+@Parameters(commandDescription = "Serve changelogs over HTTP on the loopback interface.")
+public final class CLCommandServe extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandServe.class);
+
+  @Parameter(
+    names = "--directory",
+    required = false,
+    description = "The directory containing the served changelogs")
+  private Path directory = Paths.get(".");
+
+  @Parameter(
+    names = "--port",
+    required = false,
+    description = "The loopback port on which to listen (0 selects a free port)")
+  private int port;
+
+  @Parameter(
+    names = "--client-file",
+    required = false,
+    description = "The file to which the server address and token are written (defaults to .changelog-serve in the served directory)")
+  private Path clientFile;
+
+  @Parameter(
+    names = "--threads",
+    required = false,
+    description = "The number of request handling threads")
+  private int threads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandServe(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return Status.FAILURE;
+    }
+
+    final var writersOpt =
+      ServiceLoader.load(CXMLChangelogWriterProviderType.class).findFirst();
+
+    if (writersOpt.isEmpty()) {
+      LOG.error("No XML writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var plainOpt =
+      ServiceLoader.load(CPlainChangelogWriterProviderType.class).findFirst();
+
+    if (plainOpt.isEmpty()) {
+      LOG.error("No plain-text writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var xhtmlOpt =
+      ServiceLoader.load(CXHTMLChangelogWriterProviderType.class).findFirst();
+
+    if (xhtmlOpt.isEmpty()) {
+      LOG.error("No XHTML writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var atomOpt =
+      ServiceLoader.load(CAtomChangelogWriterProviderType.class).findFirst();
+
+    if (atomOpt.isEmpty()) {
+      LOG.error("No Atom writer providers are available");
+      return Status.FAILURE;
+    }
+
+    final var clientPath =
+      Optional.ofNullable(this.clientFile)
+        .orElseGet(() -> this.directory.resolve(".changelog-serve"));
+
+    try (var server = CLServer.start(
+      this.directory,
+      this.port,
+      this.threads,
+      parsersOpt.get(),
+      writersOpt.get(),
+      plainOpt.get(),
+      xhtmlOpt.get(),
+      atomOpt.get())) {
+      final var address = server.address();
+      final var uri =
+        String.format(
+          "http://%s:%d/",
+          address.getHostString(),
+          Integer.valueOf(address.getPort()));
+
+      writeClientFile(clientPath, uri, server.token());
+      try {
+        LOG.info("listening on {}", uri);
+        LOG.info("client address and token written to {}", clientPath);
+        server.awaitShutdownRequest();
+        LOG.info("shutting down");
+      } finally {
+        Files.deleteIfExists(clientPath);
+      }
+    }
+    return Status.SUCCESS;
+  }
+
+  /**
+   * Write the server address and token to a new file that only the
+   * current user can read, replacing any file left by an earlier server.
+   */
+
+  private static void writeClientFile(
+    final Path file,
+    final String uri,
+    final String token)
+    throws IOException
+  {
+    Files.deleteIfExists(file);
+
+    final var text =
+      String.format("uri=%s%ntoken=%s%n", uri, token);
+
+    try (var channel = createPrivate(file)) {
+      channel.write(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  private static SeekableByteChannel createPrivate(
+    final Path file)
+    throws IOException
+  {
+    final var options =
+      Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+    try {
+      return Files.newByteChannel(
+        file,
+        options,
+        PosixFilePermissions.asFileAttribute(
+          PosixFilePermissions.fromString("rw-------")));
+    } catch (final UnsupportedOperationException e) {
+      return Files.newByteChannel(file, options);
+    }
+  }
+
+  @Override
+  public String name()
+  {
+    return "serve";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpServe");
+  }
+}
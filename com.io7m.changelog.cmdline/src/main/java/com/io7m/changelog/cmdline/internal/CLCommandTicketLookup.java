@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.claypot.core.CLPCommandContextType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static com.io7m.claypot.core.CLPCommandType.Status.FAILURE;
+import static com.io7m.claypot.core.CLPCommandType.Status.SUCCESS;
+
+/**
+ * The "ticket-lookup" command.
+ */
+
+@Parameters(commandDescription = "Display the changes that refer to tickets.")
+public final class CLCommandTicketLookup extends CLAbstractCommand
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLCommandTicketLookup.class);
+
+  @Parameter(
+    names = "--file",
+    required = false,
+    description = "The changelog file")
+  private Path path = Paths.get("README-CHANGES.xml");
+
+  @Parameter(
+    names = "--ticket",
+    required = true,
+    converter = CTicketIDConverter.class,
+    description = "The tickets to look up (Can be specified multiple times)")
+  private List<CTicketID> tickets = new ArrayList<>();
+
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache")
+  private boolean cache = false;
+
+  /**
+   * Construct a command.
+   *
+   * @param inContext The command context
+   */
+
+  public CLCommandTicketLookup(
+    final CLPCommandContextType inContext)
+  {
+    super(LOG, inContext);
+  }
+
+  @Override
+  public Status executeActual()
+    throws Exception
+  {
+    final var parsersOpt =
+      ServiceLoader.load(CXMLChangelogParserProviderType.class).findFirst();
+
+    if (parsersOpt.isEmpty()) {
+      LOG.error("No XML parser providers are available");
+      return FAILURE;
+    }
+
+    final var parsers =
+      parsersOpt.get();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
+    final var changelog =
+      this.cache
+        ? parsers.parseCached(this.path, errors)
+        : parsers.parse(this.path, errors);
+
+    final var index = changelog.ticketIndex();
+    final var releases = changelog.releases();
+
+    var status = SUCCESS;
+    for (final var ticket : this.tickets) {
+      final var references = index.find(ticket);
+      if (references.isEmpty()) {
+        LOG.error("No changes refer to ticket {}", ticket.value());
+        status = FAILURE;
+        continue;
+      }
+
+      for (final var reference : references) {
+        final var release = releases.get(reference.release());
+        final var change = release.changes().get(reference.change());
+        System.out.printf(
+          "#%s %s %s%n",
+          ticket.value(),
+          release.version(),
+          change.summary()
+        );
+      }
+    }
+    return status;
+  }
+
+  @Override
+  public String name()
+  {
+    return "ticket-lookup";
+  }
+
+  @Override
+  public String extendedHelp()
+  {
+    return this.messages().format("helpTicketLookup");
+  }
+}
@@ -19,25 +19,25 @@ package com.io7m.changelog.cmdline.internal;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.parser.api.CParseError;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.xml.api.CAtomChangelogWriterConfiguration;
 import com.io7m.changelog.xml.api.CAtomChangelogWriterProviderType;
 import com.io7m.changelog.xml.api.CAtomChangelogWriterType;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
-import com.io7m.changelog.xml.api.CXMLChangelogParserType;
 import com.io7m.claypot.core.CLPCommandContextType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.function.Consumer;
 
 /**
  * The "write-atom" command.
@@ -79,6 +79,19 @@ public final class CLCommandWriteAtom extends CLAbstractCommand
     description = "The feed URI")
   private URI uri;
 
+  @Parameter(
+    names = "--count",
+    required = false,
+    description = "The total number of releases to include")
+  private int count = Integer.MAX_VALUE;
+
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache instead of parsing only the required releases")
+  private boolean cache = false;
+
   /**
    * Construct a command.
    *
@@ -128,29 +141,30 @@ public final class CLCommandWriteAtom extends CLAbstractCommand
     final CAtomChangelogWriterProviderType writer_provider =
       writer_provider_opt.get();
 
-    try (InputStream stream = Files.newInputStream(this.path)) {
-      final CXMLChangelogParserType parser = parser_provider.create(
-        this.path.toUri(),
-        stream,
-        CParseErrorHandlers.loggingHandler(LOG));
-
-      final CChangelog changelog = parser.parse();
-
-      final CAtomChangelogWriterType writer =
-        writer_provider.createWithConfiguration(
-          CAtomChangelogWriterConfiguration.builder()
-            .setUpdated(ZonedDateTime.now(ZoneId.of("UTC")))
-            .setUri(this.uri)
-            .setTitle(this.title)
-            .setAuthorName(this.author_name)
-            .setAuthorEmail(this.author_email)
-            .build(),
-          this.uri,
-          System.out);
-
-      writer.write(changelog);
+    final Consumer<CParseError> errors =
+      CParseErrorHandlers.loggingHandler(LOG);
+    final CChangelog changelog;
+    if (this.cache) {
+      changelog = CChangelogFilters.limit(
+        parser_provider.parseCached(this.path, errors), this.count);
+    } else {
+      changelog = parser_provider.parseLatest(
+        this.path, this.count, Optional.empty(), errors);
     }
 
+    final CAtomChangelogWriterType writer =
+      writer_provider.createWithConfiguration(
+        CAtomChangelogWriterConfiguration.builder()
+          .setUpdated(ZonedDateTime.now(ZoneId.of("UTC")))
+          .setUri(this.uri)
+          .setTitle(this.title)
+          .setAuthorName(this.author_name)
+          .setAuthorEmail(this.author_email)
+          .build(),
+        this.uri,
+        System.out);
+
+    writer.write(changelog);
     return Status.SUCCESS;
   }
 }
@@ -69,6 +69,13 @@ public final class CLCommandWritePlain extends CLAbstractCommand
     description = "The total number of releases to display")
   private int count = 1;
 
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache instead of parsing only the required releases")
+  private boolean cache = false;
+
   /**
    * Construct a command.
    *
@@ -112,8 +119,12 @@ public final class CLCommandWritePlain extends CLAbstractCommand
       writersOpt.get();
     final var parsers =
       parsersOpt.get();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
     final var changelog =
-      parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
+      this.cache
+        ? parsers.parseCached(this.path, errors)
+        : parsers.parseLatest(this.path, this.count, version, errors);
 
     final CChangelog changelogFiltered;
     if (version.isPresent()) {
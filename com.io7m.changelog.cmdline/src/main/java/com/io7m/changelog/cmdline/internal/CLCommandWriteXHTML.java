@@ -34,6 +34,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The "write-xhtml" command.
@@ -62,6 +63,20 @@ public final class CLCommandWriteXHTML extends CLAbstractCommand
     description = "The total number of releases to display")
   private int count = Integer.MAX_VALUE;
 
+  @Parameter(
+    names = "--cache",
+    arity = 1,
+    required = false,
+    description = "Use the sidecar cache instead of parsing only the required releases")
+  private boolean cache = false;
+
+  @Parameter(
+    names = "--parallel",
+    arity = 1,
+    required = false,
+    description = "Render releases in parallel")
+  private boolean parallel;
+
   /**
    * Construct a command.
    *
@@ -103,8 +118,12 @@ public final class CLCommandWriteXHTML extends CLAbstractCommand
 
     final var parsers = parsersOpt.get();
     final var writers = writersOpt.get();
+    final var errors =
+      CParseErrorHandlers.loggingHandler(LOG);
     final var changelog =
-      parsers.parse(this.path, CParseErrorHandlers.loggingHandler(LOG));
+      this.cache
+        ? parsers.parseCached(this.path, errors)
+        : parsers.parseLatest(this.path, this.count, version, errors);
 
     final CChangelog changelogWrite;
     if (version.isPresent()) {
@@ -120,8 +139,11 @@ public final class CLCommandWriteXHTML extends CLAbstractCommand
       changelogWrite = CChangelogFilters.limit(changelog, this.count);
     }
 
+    final var target = URI.create("urn:stdout");
     final var writer =
-      writers.create(URI.create("urn:stdout"), System.out);
+      this.parallel
+        ? writers.createParallel(target, System.out, ForkJoinPool.commonPool())
+        : writers.create(target, System.out);
 
     writer.write(changelogWrite);
     return Status.SUCCESS;
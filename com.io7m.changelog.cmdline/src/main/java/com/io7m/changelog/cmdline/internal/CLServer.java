@@ -0,0 +1,698 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.text.api.CPlainChangelogWriterConfiguration;
+import com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterConfiguration;
+import com.io7m.changelog.xml.api.CAtomChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXHTMLChangelogWriterProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A server that keeps parsed changelogs in memory and accepts requests
+ * over HTTP on the loopback interface. Each request path names a command,
+ * and the request parameters are the options of the command without the
+ * leading hyphens, given in the query string. Queries use {@code GET}, and
+ * modifications use {@code POST} without a request body. Only changelog
+ * files inside the server's root directory may be accessed.
+ *
+ * Binding to the loopback interface does not prevent web pages in a local
+ * browser from sending requests to the server, and so every request must
+ * carry the random token generated for the server in an
+ * {@code Authorization: Bearer} header. Requests that carry an
+ * {@code Origin} header, or whose {@code Host} header does not name a
+ * loopback address, are rejected.
+ */
+
+public final class CLServer implements Closeable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLServer.class);
+
+  private static final int TOKEN_SIZE = 32;
+  private static final String BEARER = "Bearer ";
+  private static final Set<String> LOOPBACK_HOSTS =
+    Set.of("localhost", "127.0.0.1", "[::1]");
+
+  private final Path root;
+  private final String token;
+  private final HttpServer http;
+  private final ExecutorService executor;
+  private final CLServerChangelogs changelogs;
+  private final CPlainChangelogWriterProviderType plainWriters;
+  private final CXHTMLChangelogWriterProviderType xhtmlWriters;
+  private final CAtomChangelogWriterProviderType atomWriters;
+  private final CountDownLatch shutdown;
+
+  private CLServer(
+    final Path inRoot,
+    final String inToken,
+    final HttpServer inHttp,
+    final ExecutorService inExecutor,
+    final CLServerChangelogs inChangelogs,
+    final CPlainChangelogWriterProviderType inPlainWriters,
+    final CXHTMLChangelogWriterProviderType inXhtmlWriters,
+    final CAtomChangelogWriterProviderType inAtomWriters)
+  {
+    this.root =
+      Objects.requireNonNull(inRoot, "Root");
+    this.token =
+      Objects.requireNonNull(inToken, "Token");
+    this.http =
+      Objects.requireNonNull(inHttp, "Http");
+    this.executor =
+      Objects.requireNonNull(inExecutor, "Executor");
+    this.changelogs =
+      Objects.requireNonNull(inChangelogs, "Changelogs");
+    this.plainWriters =
+      Objects.requireNonNull(inPlainWriters, "Plain writers");
+    this.xhtmlWriters =
+      Objects.requireNonNull(inXhtmlWriters, "XHTML writers");
+    this.atomWriters =
+      Objects.requireNonNull(inAtomWriters, "Atom writers");
+    this.shutdown = new CountDownLatch(1);
+  }
+
+  /**
+   * Create and start a server.
+   *
+   * @param root         The directory containing the served changelogs
+   * @param port         The loopback port, or 0 to choose a free port
+   * @param threads      The number of request handling threads
+   * @param parsers      The XML parser provider
+   * @param writers      The XML writer provider
+   * @param plainWriters The plain text writer provider
+   * @param xhtmlWriters The XHTML writer provider
+   * @param atomWriters  The Atom writer provider
+   *
+   * @return A running server
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static CLServer start(
+    final Path root,
+    final int port,
+    final int threads,
+    final CXMLChangelogParserProviderType parsers,
+    final CXMLChangelogWriterProviderType writers,
+    final CPlainChangelogWriterProviderType plainWriters,
+    final CXHTMLChangelogWriterProviderType xhtmlWriters,
+    final CAtomChangelogWriterProviderType atomWriters)
+    throws IOException
+  {
+    final var threadIndex = new AtomicInteger(0);
+    final var executor =
+      Executors.newFixedThreadPool(threads, runnable -> {
+        final var thread = new Thread(runnable);
+        thread.setName(String.format(
+          "com.io7m.changelog.server[%d]",
+          Integer.valueOf(threadIndex.incrementAndGet())));
+        thread.setDaemon(true);
+        return thread;
+      });
+
+    final var http =
+      HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+    final var tokenBytes = new byte[TOKEN_SIZE];
+    new SecureRandom().nextBytes(tokenBytes);
+
+    final var server =
+      new CLServer(
+        root.toRealPath(),
+        Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes),
+        http,
+        executor,
+        CLServerChangelogs.create(parsers, writers),
+        plainWriters,
+        xhtmlWriters,
+        atomWriters);
+
+    http.setExecutor(executor);
+    http.createContext("/", server::handle);
+    http.start();
+    return server;
+  }
+
+  /**
+   * @return The address on which the server is listening
+   */
+
+  public InetSocketAddress address()
+  {
+    return this.http.getAddress();
+  }
+
+  /**
+   * @return The token that clients must present in an
+   * {@code Authorization: Bearer} header
+   */
+
+  public String token()
+  {
+    return this.token;
+  }
+
+  /**
+   * Wait until a client requests that the server shut down.
+   *
+   * @throws InterruptedException If the calling thread is interrupted
+   */
+
+  public void awaitShutdownRequest()
+    throws InterruptedException
+  {
+    this.shutdown.await();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.http.stop(0);
+    this.executor.shutdown();
+    this.changelogs.close();
+  }
+
+  private void handle(
+    final HttpExchange exchange)
+    throws IOException
+  {
+    try (exchange) {
+      final var timeThen = System.nanoTime();
+      final var response = this.dispatch(exchange);
+      send(exchange, response);
+      LOG.debug(
+        "{} {} {} ({}us)",
+        exchange.getRequestMethod(),
+        exchange.getRequestURI().getPath(),
+        Integer.valueOf(response.status),
+        Long.valueOf((System.nanoTime() - timeThen) / 1000L));
+    }
+  }
+
+  private Response dispatch(
+    final HttpExchange exchange)
+  {
+    final var method = exchange.getRequestMethod();
+    final var command = exchange.getRequestURI().getPath();
+
+    try {
+      this.checkRequest(exchange);
+
+      final var parameters = Parameters.of(exchange);
+      switch (command) {
+        case "/release-current":
+          requireMethod(method, "GET");
+          return this.releaseCurrent(parameters);
+        case "/write-plain":
+          requireMethod(method, "GET");
+          return this.writePlain(parameters);
+        case "/write-xhtml":
+          requireMethod(method, "GET");
+          return this.writeXHTML(parameters);
+        case "/write-atom":
+          requireMethod(method, "GET");
+          return this.writeAtom(parameters);
+        case "/change-add":
+          requireMethod(method, "POST");
+          return this.changeAdd(parameters);
+        case "/release-begin":
+          requireMethod(method, "POST");
+          return this.releaseBegin(parameters);
+        case "/release-finish":
+          requireMethod(method, "POST");
+          return this.releaseFinish(parameters);
+        case "/shutdown":
+          requireMethod(method, "POST");
+          this.shutdown.countDown();
+          return Response.text(200, "Shutting down");
+        default:
+          return Response.text(404, "Unrecognized command: " + command);
+      }
+    } catch (final RequestException e) {
+      return Response.text(e.status, e.getMessage());
+    } catch (final CChangelogOperationException e) {
+      return Response.text(409, e.getMessage());
+    } catch (final NoSuchFileException e) {
+      return Response.text(404, "No such file: " + e.getMessage());
+    } catch (final IllegalArgumentException e) {
+      return Response.text(400, e.getMessage());
+    } catch (final Exception e) {
+      LOG.error("{} {}: ", method, command, e);
+      return Response.text(500, e.getMessage());
+    }
+  }
+
+  private void checkRequest(
+    final HttpExchange exchange)
+    throws RequestException
+  {
+    final var headers = exchange.getRequestHeaders();
+    if (headers.containsKey("Origin")) {
+      throw new RequestException(
+        403, "Cross-origin requests are not accepted");
+    }
+    if (!isLoopbackHost(headers.getFirst("Host"))) {
+      throw new RequestException(
+        403, "The Host header must name a loopback address");
+    }
+
+    final var authorization = headers.getFirst("Authorization");
+    if (authorization == null
+      || !authorization.startsWith(BEARER)
+      || !MessageDigest.isEqual(
+      authorization.substring(BEARER.length()).getBytes(UTF_8),
+      this.token.getBytes(UTF_8))) {
+      throw new RequestException(401, "A valid bearer token is required");
+    }
+
+    if ("POST".equals(exchange.getRequestMethod())
+      && headers.containsKey("Content-Type")) {
+      throw new RequestException(
+        415, "Request bodies are not accepted; use the query string");
+    }
+  }
+
+  private static boolean isLoopbackHost(
+    final String host)
+  {
+    if (host == null) {
+      return false;
+    }
+
+    final String name;
+    if (host.startsWith("[")) {
+      final var close = host.indexOf(']');
+      name = close < 0 ? host : host.substring(0, close + 1);
+    } else {
+      final var colon = host.lastIndexOf(':');
+      name = colon < 0 ? host : host.substring(0, colon);
+    }
+    return LOOPBACK_HOSTS.contains(name.toLowerCase(Locale.ROOT));
+  }
+
+  private static void requireMethod(
+    final String method,
+    final String expected)
+    throws RequestException
+  {
+    if (!expected.equals(method)) {
+      throw new RequestException(405, "Method must be " + expected);
+    }
+  }
+
+  private Path file(
+    final Parameters parameters)
+    throws RequestException, IOException
+  {
+    final var file =
+      this.root.resolve(parameters.get("file").orElse("README-CHANGES.xml"))
+        .toAbsolutePath()
+        .normalize();
+
+    if (!file.startsWith(this.root)) {
+      throw new RequestException(
+        403, "File is outside of the server root directory");
+    }
+
+    /*
+     * A symbolic link inside the root may point outside of it, so the
+     * check is repeated on the resolved path.
+     */
+
+    final var fileReal = file.toRealPath();
+    if (!fileReal.startsWith(this.root)) {
+      throw new RequestException(
+        403, "File is outside of the server root directory");
+    }
+    return fileReal;
+  }
+
+  private Response releaseCurrent(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var changelog = this.changelogs.get(this.file(parameters));
+    final var latestOpt = changelog.latestRelease();
+    if (latestOpt.isEmpty()) {
+      return Response.text(409, "No current release exists");
+    }
+
+    final var latest = latestOpt.get();
+    return Response.text(200, String.format(
+      "%s (%s)",
+      latest.version(),
+      latest.isOpen() ? "open" : "closed"));
+  }
+
+  private static CChangelog filter(
+    final CChangelog changelog,
+    final Optional<CVersion> version,
+    final int count)
+    throws RequestException
+  {
+    if (version.isPresent()) {
+      return CChangelogFilters.upToAndIncluding(changelog, version.get(), count)
+        .orElseThrow(() -> new RequestException(
+          404,
+          String.format("Changelog does not contain release %s", version.get())));
+    }
+    return CChangelogFilters.limit(changelog, count);
+  }
+
+  private Response writePlain(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var changelog =
+      filter(
+        this.changelogs.get(this.file(parameters)),
+        parameters.get("version").map(CVersions::parse),
+        parameters.getInt("count", 1));
+
+    final var config =
+      CPlainChangelogWriterConfiguration.builder()
+        .setShowDates(parameters.getBoolean("show-dates", false))
+        .build();
+
+    final var output = new ByteArrayOutputStream();
+    this.plainWriters.createWithConfiguration(
+      config, URI.create("urn:response"), output)
+      .write(changelog);
+    return new Response(200, "text/plain; charset=utf-8", output.toByteArray());
+  }
+
+  private Response writeXHTML(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var changelog =
+      filter(
+        this.changelogs.get(this.file(parameters)),
+        parameters.get("version").map(CVersions::parse),
+        parameters.getInt("count", Integer.MAX_VALUE));
+
+    final var output = new ByteArrayOutputStream();
+    this.xhtmlWriters.create(URI.create("urn:response"), output)
+      .write(changelog);
+    return new Response(200, "application/xhtml+xml", output.toByteArray());
+  }
+
+  private Response writeAtom(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var changelog =
+      CChangelogFilters.limit(
+        this.changelogs.get(this.file(parameters)),
+        parameters.getInt("count", Integer.MAX_VALUE));
+
+    final var uri = URI.create(parameters.require("uri"));
+    final var config =
+      CAtomChangelogWriterConfiguration.builder()
+        .setUpdated(ZonedDateTime.now(Clock.systemUTC()))
+        .setUri(uri)
+        .setTitle(parameters.require("title"))
+        .setAuthorName(parameters.require("author-name"))
+        .setAuthorEmail(parameters.require("author-email"))
+        .build();
+
+    final var output = new ByteArrayOutputStream();
+    this.atomWriters.createWithConfiguration(config, uri, output)
+      .write(changelog);
+    return new Response(200, "application/atom+xml", output.toByteArray());
+  }
+
+  private Response changeAdd(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var now = ZonedDateTime.now(Clock.systemUTC());
+    final var tickets = new ArrayList<CTicketID>();
+    for (final var ticket : parameters.getAll("ticket")) {
+      tickets.add(CTicketID.of(ticket));
+    }
+
+    final var change =
+      CChange.builder()
+        .setModule(parameters.get("module").map(CModuleName::of))
+        .setBackwardsCompatible(!parameters.getBoolean("incompatible", false))
+        .setDate(now)
+        .setSummary(parameters.require("summary"))
+        .setTickets(tickets)
+        .build();
+
+    this.changelogs.changeAdd(this.file(parameters), change, now);
+    return Response.text(200, "OK");
+  }
+
+  private Response releaseBegin(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var version =
+      parameters.get("version").map(CVersions::parse);
+    final var ticketSystem =
+      parameters.get("ticket-system");
+    final var now =
+      ZonedDateTime.now(Clock.systemUTC());
+
+    this.changelogs.modify(
+      this.file(parameters),
+      c -> CChangelogOperations.releaseBegin(c, version, ticketSystem, now));
+    return Response.text(200, "OK");
+  }
+
+  private Response releaseFinish(
+    final Parameters parameters)
+    throws Exception
+  {
+    final var version =
+      parameters.get("version").map(CVersions::parse);
+    final var now =
+      ZonedDateTime.now(Clock.systemUTC());
+
+    this.changelogs.modify(
+      this.file(parameters),
+      c -> CChangelogOperations.releaseFinish(c, version, now));
+    return Response.text(200, "OK");
+  }
+
+  private static void send(
+    final HttpExchange exchange,
+    final Response response)
+    throws IOException
+  {
+    exchange.getResponseHeaders().set("Content-Type", response.contentType);
+    exchange.sendResponseHeaders(response.status, response.body.length);
+    try (var output = exchange.getResponseBody()) {
+      output.write(response.body);
+    }
+  }
+
+  private static final class Response
+  {
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    Response(
+      final int inStatus,
+      final String inContentType,
+      final byte[] inBody)
+    {
+      this.status = inStatus;
+      this.contentType = inContentType;
+      this.body = inBody;
+    }
+
+    static Response text(
+      final int status,
+      final String message)
+    {
+      return new Response(
+        status,
+        "text/plain; charset=utf-8",
+        (message + System.lineSeparator()).getBytes(UTF_8));
+    }
+  }
+
+  private static final class RequestException extends Exception
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    RequestException(
+      final int inStatus,
+      final String message)
+    {
+      super(message);
+      this.status = inStatus;
+    }
+  }
+
+  /**
+   * The parameters of a request, taken from the query string. Request
+   * bodies are never read, as a form-encoded body is exactly what a
+   * cross-site form submission would send.
+   */
+
+  private static final class Parameters
+  {
+    private final Map<String, List<String>> values;
+
+    private Parameters(
+      final Map<String, List<String>> inValues)
+    {
+      this.values = inValues;
+    }
+
+    static Parameters of(
+      final HttpExchange exchange)
+    {
+      final var values = new HashMap<String, List<String>>();
+      decode(values, exchange.getRequestURI().getRawQuery());
+      return new Parameters(values);
+    }
+
+    private static void decode(
+      final Map<String, List<String>> values,
+      final String text)
+    {
+      if (text == null || text.isEmpty()) {
+        return;
+      }
+
+      for (final var pair : text.split("&")) {
+        if (pair.isEmpty()) {
+          continue;
+        }
+        final var equals = pair.indexOf('=');
+        final String name;
+        final String value;
+        if (equals < 0) {
+          name = URLDecoder.decode(pair, UTF_8);
+          value = "";
+        } else {
+          name = URLDecoder.decode(pair.substring(0, equals), UTF_8);
+          value = URLDecoder.decode(pair.substring(equals + 1), UTF_8);
+        }
+        values.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+      }
+    }
+
+    Optional<String> get(
+      final String name)
+    {
+      final var existing = this.values.get(name);
+      if (existing == null || existing.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(existing.get(existing.size() - 1));
+    }
+
+    List<String> getAll(
+      final String name)
+    {
+      return this.values.getOrDefault(name, List.of());
+    }
+
+    String require(
+      final String name)
+      throws RequestException
+    {
+      return this.get(name)
+        .orElseThrow(() -> new RequestException(
+          400, "Missing required parameter: " + name));
+    }
+
+    int getInt(
+      final String name,
+      final int defaultValue)
+      throws RequestException
+    {
+      final var text = this.get(name);
+      if (text.isEmpty()) {
+        return defaultValue;
+      }
+      try {
+        return Integer.parseInt(text.get());
+      } catch (final NumberFormatException e) {
+        throw new RequestException(
+          400, "Parameter " + name + " must be an integer");
+      }
+    }
+
+    boolean getBoolean(
+      final String name,
+      final boolean defaultValue)
+    {
+      return this.get(name)
+        .map(Boolean::parseBoolean)
+        .orElse(Boolean.valueOf(defaultValue))
+        .booleanValue();
+    }
+  }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * A set of parsed changelogs held in memory by the server. Each changelog
+ * is parsed on first use. The directories of parsed changelogs are watched,
+ * and changelogs are re-parsed as soon as they are changed by other
+ * processes. Reads additionally check the size and modification time of
+ * the file, so a change that has not yet been reported by the watch
+ * service is never missed. Modifications of a given file are serialized.
+ */
+
+final class CLServerChangelogs implements Closeable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLServerChangelogs.class);
+
+  private final CXMLChangelogParserProviderType parsers;
+  private final CXMLChangelogWriterProviderType writers;
+  private final ConcurrentHashMap<Path, Entry> entries;
+  private final ConcurrentHashMap<Path, Object> locks;
+  private final ConcurrentHashMap<Path, WatchKey> directories;
+  private final WatchService watcher;
+  private final Thread watcherThread;
+
+  private CLServerChangelogs(
+    final CXMLChangelogParserProviderType inParsers,
+    final CXMLChangelogWriterProviderType inWriters,
+    final WatchService inWatcher)
+  {
+    this.parsers =
+      Objects.requireNonNull(inParsers, "Parsers");
+    this.writers =
+      Objects.requireNonNull(inWriters, "Writers");
+    this.watcher =
+      Objects.requireNonNull(inWatcher, "Watcher");
+
+    this.entries = new ConcurrentHashMap<>();
+    this.locks = new ConcurrentHashMap<>();
+    this.directories = new ConcurrentHashMap<>();
+    this.watcherThread = new Thread(this::watch);
+    this.watcherThread.setName("com.io7m.changelog.server.watcher");
+    this.watcherThread.setDaemon(true);
+  }
+
+  /**
+   * Create a new set of changelogs.
+   *
+   * @param parsers The parser provider
+   * @param writers The writer provider
+   *
+   * @return A new set of changelogs
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static CLServerChangelogs create(
+    final CXMLChangelogParserProviderType parsers,
+    final CXMLChangelogWriterProviderType writers)
+    throws IOException
+  {
+    final var watcher =
+      Paths.get("").getFileSystem().newWatchService();
+    final var changelogs =
+      new CLServerChangelogs(parsers, writers, watcher);
+    changelogs.watcherThread.start();
+    return changelogs;
+  }
+
+  /**
+   * An operation that transforms a changelog.
+   */
+
+  interface OperationType
+  {
+    /**
+     * @param changelog The current changelog
+     *
+     * @return The modified changelog
+     *
+     * @throws CChangelogOperationException If the operation cannot be applied
+     */
+
+    CChangelog apply(CChangelog changelog)
+      throws CChangelogOperationException;
+  }
+
+  /**
+   * Retrieve the current state of the given changelog file.
+   *
+   * @param file The absolute, normalized path of the file
+   *
+   * @return The parsed changelog
+   *
+   * @throws IOException On I/O and parse errors
+   */
+
+  CChangelog get(
+    final Path file)
+    throws IOException
+  {
+    final var stamp = Stamp.of(file);
+    final var existing = this.entries.get(file);
+    if (existing != null && existing.stamp.equals(stamp)) {
+      return existing.changelog;
+    }
+
+    synchronized (this.lockFor(file)) {
+      return this.getLocked(file);
+    }
+  }
+
+  private CChangelog getLocked(
+    final Path file)
+    throws IOException
+  {
+    final var stamp = Stamp.of(file);
+    final var existing = this.entries.get(file);
+    if (existing != null && existing.stamp.equals(stamp)) {
+      return existing.changelog;
+    }
+    return this.load(file).changelog;
+  }
+
+  /**
+   * Apply an operation to the given changelog file and write the result.
+   *
+   * @param file      The absolute, normalized path of the file
+   * @param operation The operation
+   *
+   * @throws IOException          On I/O and parse errors
+   * @throws CChangelogOperationException If the operation cannot be applied
+   */
+
+  void modify(
+    final Path file,
+    final OperationType operation)
+    throws IOException, CChangelogOperationException
+  {
+    synchronized (this.lockFor(file)) {
+      final var updated = operation.apply(this.getLocked(file));
+      try (var fileTemp = CLTemporaryFile.createFor(file)) {
+        this.writers.write(file, fileTemp.path(), updated);
+      }
+      this.load(file);
+    }
+  }
+
+  /**
+   * Add a change to the current release of the given changelog file,
+   * appending the change to the file without rewriting it if possible.
+   *
+   * @param file   The absolute, normalized path of the file
+   * @param change The change
+   * @param time   The new date of the release
+   *
+   * @throws IOException          On I/O and parse errors
+   * @throws CChangelogOperationException If the change cannot be added
+   */
+
+  void changeAdd(
+    final Path file,
+    final CChange change,
+    final ZonedDateTime time)
+    throws IOException, CChangelogOperationException
+  {
+    synchronized (this.lockFor(file)) {
+
+      /*
+       * The append does not validate the file, so ensure that the current
+       * contents have been parsed successfully first.
+       */
+
+      this.getLocked(file);
+      try (var fileTemp = CLTemporaryFile.createFor(file)) {
+        if (this.writers.appendChange(
+          file,
+          fileTemp.path(),
+          change,
+          time,
+          CParseErrorHandlers.loggingHandler(LOG)).isPresent()) {
+          this.load(file);
+          return;
+        }
+      }
+      this.modify(file, c -> CChangelogOperations.changeAdd(c, change, time));
+    }
+  }
+
+  private Object lockFor(
+    final Path file)
+  {
+    return this.locks.computeIfAbsent(file, k -> new Object());
+  }
+
+  private Entry load(
+    final Path file)
+    throws IOException
+  {
+    final var stamp = Stamp.of(file);
+    try {
+      final var changelog =
+        this.parsers.parse(file, CParseErrorHandlers.loggingHandler(LOG));
+      final var entry = new Entry(changelog, stamp);
+      this.entries.put(file, entry);
+      this.watchDirectoryOf(file);
+      return entry;
+    } catch (final IOException e) {
+      this.entries.remove(file);
+      throw e;
+    }
+  }
+
+  private void watchDirectoryOf(
+    final Path file)
+    throws IOException
+  {
+    final var directory = file.getParent();
+    if (directory == null || this.directories.containsKey(directory)) {
+      return;
+    }
+
+    synchronized (this.directories) {
+      if (!this.directories.containsKey(directory)) {
+        LOG.debug("watching {}", directory);
+        this.directories.put(
+          directory,
+          directory.register(
+            this.watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+      }
+    }
+  }
+
+  private void watch()
+  {
+    while (true) {
+      final WatchKey key;
+      try {
+        key = this.watcher.take();
+      } catch (final InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+
+      final var directory = (Path) key.watchable();
+      for (final var event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          this.entries.keySet()
+            .stream()
+            .filter(file -> directory.equals(file.getParent()))
+            .forEach(this::refresh);
+          continue;
+        }
+
+        final var file = directory.resolve((Path) event.context());
+        if (this.entries.containsKey(file)) {
+          this.refresh(file);
+        }
+      }
+      key.reset();
+    }
+  }
+
+  private void refresh(
+    final Path file)
+  {
+    synchronized (this.lockFor(file)) {
+      try {
+        final var existing = this.entries.get(file);
+        if (existing != null && existing.stamp.equals(Stamp.of(file))) {
+          return;
+        }
+        LOG.debug("reloading {}", file);
+        this.load(file);
+      } catch (final IOException e) {
+        LOG.debug("unable to reload {}: ", file, e);
+        this.entries.remove(file);
+      }
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.watcher.close();
+    this.watcherThread.interrupt();
+  }
+
+  private static final class Entry
+  {
+    private final CChangelog changelog;
+    private final Stamp stamp;
+
+    Entry(
+      final CChangelog inChangelog,
+      final Stamp inStamp)
+    {
+      this.changelog = inChangelog;
+      this.stamp = inStamp;
+    }
+  }
+
+  private static final class Stamp
+  {
+    private final long size;
+    private final FileTime modified;
+
+    private Stamp(
+      final long inSize,
+      final FileTime inModified)
+    {
+      this.size = inSize;
+      this.modified = inModified;
+    }
+
+    static Stamp of(
+      final Path file)
+      throws IOException
+    {
+      final var attributes =
+        Files.readAttributes(file, BasicFileAttributes.class);
+      return new Stamp(attributes.size(), attributes.lastModifiedTime());
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      if (this == other) {
+        return true;
+      }
+      if (other == null || !Objects.equals(this.getClass(), other.getClass())) {
+        return false;
+      }
+      final var stamp = (Stamp) other;
+      return this.size == stamp.size
+        && this.modified.equals(stamp.modified);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(Long.valueOf(this.size), this.modified);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.cmdline.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A uniquely named temporary file created in the same directory as a file
+ * that will be atomically replaced. Concurrent writers of the same file
+ * each receive their own temporary file. The temporary file is deleted on
+ * closing if it has not been moved into place.
+ */
+
+final class CLTemporaryFile implements Closeable
+{
+  private final Path path;
+
+  private CLTemporaryFile(
+    final Path inPath)
+  {
+    this.path = Objects.requireNonNull(inPath, "path");
+  }
+
+  /**
+   * Create a temporary file for the given file.
+   *
+   * @param file The file that will be replaced
+   *
+   * @return A temporary file
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static CLTemporaryFile createFor(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+
+    final var absolute = file.toAbsolutePath();
+    return new CLTemporaryFile(
+      Files.createTempFile(
+        absolute.getParent(),
+        absolute.getFileName().toString(),
+        ".tmp"));
+  }
+
+  /**
+   * @return The path of the temporary file
+   */
+
+  Path path()
+  {
+    return this.path;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    Files.deleteIfExists(this.path);
+  }
+}
@@ -26,6 +26,7 @@ module com.io7m.changelog.cmdline
   requires com.io7m.changelog.core;
   requires com.io7m.changelog.parser.api;
   requires com.io7m.changelog.text.api;
+  requires com.io7m.changelog.writer.api;
   requires com.io7m.changelog.xml.api;
 
   requires ch.qos.logback.classic;
@@ -33,6 +34,7 @@ module com.io7m.changelog.cmdline
   requires com.io7m.jaffirm.core;
   requires com.io7m.junreachable.core;
   requires jcommander;
+  requires jdk.httpserver;
   requires org.slf4j;
 
   uses com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
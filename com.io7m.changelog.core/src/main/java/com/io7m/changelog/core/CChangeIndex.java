@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Secondary indexes of the changes in a single release, used to evaluate
+ * queries without examining every change.
+ *
+ * <p>Changes are identified by their index within the release. The index
+ * holds the changes of each module, the changes sorted by date, and the
+ * set of backwards incompatible changes.</p>
+ *
+ * @see CReleaseType#changeIndex()
+ * @see CChangelogFilters#query(CChangelogType, CChangelogQuery)
+ */
+
+public final class CChangeIndex
+{
+  private final int size;
+  private final Map<CModuleName, BitSet> modules;
+  private final long[] days;
+  private final int[] byDay;
+  private final BitSet incompatible;
+
+  private CChangeIndex(
+    final int inSize,
+    final Map<CModuleName, BitSet> inModules,
+    final long[] inDays,
+    final int[] inByDay,
+    final BitSet inIncompatible)
+  {
+    this.size = inSize;
+    this.modules = inModules;
+    this.days = inDays;
+    this.byDay = inByDay;
+    this.incompatible = inIncompatible;
+  }
+
+  /**
+   * Create an index of the given changes.
+   *
+   * @param changes The changes
+   *
+   * @return An index of {@code changes}
+   */
+
+  public static CChangeIndex of(
+    final List<CChange> changes)
+  {
+    Objects.requireNonNull(changes, "changes");
+
+    final var size = changes.size();
+    final var modules = new HashMap<CModuleName, BitSet>();
+    final var incompatible = new BitSet(size);
+    final var changeDays = new long[size];
+    final var order = new Integer[size];
+
+    for (int index = 0; index < size; ++index) {
+      final var change = changes.get(index);
+      final var module = change.module();
+      if (module.isPresent()) {
+        modules.computeIfAbsent(module.get(), k -> new BitSet(size))
+          .set(index);
+      }
+      if (!change.backwardsCompatible()) {
+        incompatible.set(index);
+      }
+      changeDays[index] = change.date().toLocalDate().toEpochDay();
+      order[index] = Integer.valueOf(index);
+    }
+
+    Arrays.sort(order, Comparator.comparingLong(i -> changeDays[i.intValue()]));
+
+    final var days = new long[size];
+    final var byDay = new int[size];
+    for (int index = 0; index < size; ++index) {
+      byDay[index] = order[index].intValue();
+      days[index] = changeDays[byDay[index]];
+    }
+
+    return new CChangeIndex(size, modules, days, byDay, incompatible);
+  }
+
+  /**
+   * @return The number of indexed changes
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The indices of all changes
+   */
+
+  public BitSet all()
+  {
+    final var result = new BitSet(this.size);
+    result.set(0, this.size);
+    return result;
+  }
+
+  /**
+   * @param module The module
+   *
+   * @return The indices of the changes that affect {@code module}
+   */
+
+  public BitSet module(
+    final CModuleName module)
+  {
+    Objects.requireNonNull(module, "module");
+
+    final var changes = this.modules.get(module);
+    if (changes == null) {
+      return new BitSet();
+    }
+    return (BitSet) changes.clone();
+  }
+
+  /**
+   * @param since The earliest date, inclusive, if any
+   * @param until The latest date, inclusive, if any
+   *
+   * @return The indices of the changes made within the given dates
+   */
+
+  public BitSet dates(
+    final Optional<LocalDate> since,
+    final Optional<LocalDate> until)
+  {
+    Objects.requireNonNull(since, "since");
+    Objects.requireNonNull(until, "until");
+
+    final var start =
+      since.map(date -> lowerBound(this.days, date.toEpochDay()))
+        .orElse(Integer.valueOf(0))
+        .intValue();
+    final var end =
+      until.map(date -> lowerBound(this.days, date.toEpochDay() + 1L))
+        .orElse(Integer.valueOf(this.size))
+        .intValue();
+
+    final var result = new BitSet(this.size);
+    for (int index = start; index < end; ++index) {
+      result.set(this.byDay[index]);
+    }
+    return result;
+  }
+
+  /**
+   * @return The indices of the backwards incompatible changes
+   */
+
+  public BitSet incompatible()
+  {
+    return (BitSet) this.incompatible.clone();
+  }
+
+  /**
+   * @return The index of the first element of {@code values} that is not
+   * less than {@code key}
+   */
+
+  private static Integer lowerBound(
+    final long[] values,
+    final long key)
+  {
+    var low = 0;
+    var high = values.length;
+    while (low < high) {
+      final var middle = (low + high) >>> 1;
+      if (values[middle] < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return Integer.valueOf(low);
+  }
+}
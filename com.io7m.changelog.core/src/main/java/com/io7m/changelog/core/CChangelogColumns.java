@@ -0,0 +1,643 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Preconditions;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A compact, read-only changelog that stores its changes in columns of
+ * primitive values rather than as individual objects.
+ *
+ * <p>Dates are stored as epoch days, module names and ticket IDs as
+ * indices into per-changelog dictionaries, summaries as a single block of
+ * UTF-8, and compatibility flags as a bit set. The {@link CRelease} and
+ * {@link CChange} values exposed through the {@link CChangelogType} views
+ * are produced on demand, one release at a time, and are not retained.
+ * Code that only reads a changelog through {@link CChangelogType}, such as
+ * the changelog writers, can therefore process very large changelogs
+ * without holding every change in memory as an object.</p>
+ *
+ * <p>Dates that are not midnight in the {@code UTC} zone (the form produced
+ * by the parsers) are stored separately, so every value is reproduced
+ * exactly.</p>
+ */
+
+public final class CChangelogColumns implements CChangelogType
+{
+  private static final ZoneId UTC = ZoneId.of("UTC");
+  private static final int DATE_OTHER = Integer.MIN_VALUE;
+  private static final int MODULE_NONE = -1;
+
+  private final CProjectName project;
+  private final Map<String, CTicketSystem> ticketSystems;
+
+  private final CVersion[] releaseVersions;
+  private final int[] releaseDays;
+  private final Map<Integer, ZonedDateTime> releaseDatesOther;
+  private final String[] releaseTicketSystems;
+  private final BitSet releaseOpen;
+  private final int[] releaseChanges;
+
+  private final int[] changeDays;
+  private final Map<Integer, ZonedDateTime> changeDatesOther;
+  private final byte[] summaries;
+  private final int[] summaryOffsets;
+  private final int[] changeModules;
+  private final CModuleName[] modules;
+  private final int[] changeTickets;
+  private final int[] tickets;
+  private final CTicketID[] ticketIDs;
+  private final BitSet changeCompatible;
+
+  private final Map<CVersion, Integer> releasesByVersion;
+  private final Map<CVersion, CRelease> releases;
+  private final CReleaseIndex releaseIndex;
+  private volatile CTicketIndex ticketIndex;
+
+  private CChangelogColumns(
+    final Builder builder)
+  {
+    this.project = builder.project;
+    this.ticketSystems =
+      Collections.unmodifiableMap(new LinkedHashMap<>(builder.ticketSystems));
+
+    this.releaseVersions =
+      builder.releaseVersions.toArray(new CVersion[0]);
+    this.releaseDays =
+      builder.releaseDays.toArray();
+    this.releaseDatesOther =
+      Map.copyOf(builder.releaseDatesOther);
+    this.releaseTicketSystems =
+      builder.releaseTicketSystems.toArray(new String[0]);
+    this.releaseOpen =
+      (BitSet) builder.releaseOpen.clone();
+    this.releaseChanges =
+      builder.releaseChanges.toArray();
+
+    this.changeDays =
+      builder.changeDays.toArray();
+    this.changeDatesOther =
+      Map.copyOf(builder.changeDatesOther);
+    this.summaries =
+      builder.summaries.toByteArray();
+    this.summaryOffsets =
+      builder.summaryOffsets.toArray();
+    this.changeModules =
+      builder.changeModules.toArray();
+    this.modules =
+      builder.modules.toArray(new CModuleName[0]);
+    this.changeTickets =
+      builder.changeTickets.toArray();
+    this.tickets =
+      builder.tickets.toArray();
+    this.ticketIDs =
+      builder.ticketIDs.toArray(new CTicketID[0]);
+    this.changeCompatible =
+      (BitSet) builder.changeCompatible.clone();
+
+    this.releasesByVersion = new HashMap<>(builder.releasesByVersion);
+    this.releases = new ReleaseMap();
+
+    final var sorted = new TreeMap<CVersion, Integer>(CVersions.ascending());
+    sorted.putAll(this.releasesByVersion);
+
+    final var openIndex = this.releaseOpen.nextSetBit(0);
+    this.releaseIndex =
+      CReleaseIndex.ofSorted(
+        CMappedNavigableMap.of(sorted, this::release),
+        openIndex < 0
+          ? Optional.empty()
+          : Optional.of(this.release(openIndex)));
+  }
+
+  /**
+   * @return A new mutable builder
+   */
+
+  public static Builder builder()
+  {
+    return new Builder();
+  }
+
+  /**
+   * Create a columnar copy of the given changelog.
+   *
+   * @param changelog The changelog
+   *
+   * @return A columnar changelog equivalent to {@code changelog}
+   */
+
+  public static CChangelogColumns copyOf(
+    final CChangelogType changelog)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+
+    final var builder = builder();
+    builder.setProject(changelog.project());
+    changelog.ticketSystems().values().forEach(builder::addTicketSystem);
+    changelog.releases().values().forEach(builder::addRelease);
+    return builder.build();
+  }
+
+  /**
+   * @return A conventional, fully materialized changelog with the same
+   * contents as this changelog
+   */
+
+  public CChangelog toChangelog()
+  {
+    return CChangelog.copyOf(this);
+  }
+
+  /**
+   * @return The total number of changes in all releases
+   */
+
+  public int changeCount()
+  {
+    return this.changeDays.length;
+  }
+
+  @Override
+  public CProjectName project()
+  {
+    return this.project;
+  }
+
+  @Override
+  public Map<CVersion, CRelease> releases()
+  {
+    return this.releases;
+  }
+
+  @Override
+  public Map<String, CTicketSystem> ticketSystems()
+  {
+    return this.ticketSystems;
+  }
+
+  @Override
+  public CReleaseIndex releaseIndex()
+  {
+    return this.releaseIndex;
+  }
+
+  @Override
+  public CTicketIndex ticketIndex()
+  {
+    var index = this.ticketIndex;
+    if (index == null) {
+      index = CTicketIndex.of(this);
+      this.ticketIndex = index;
+    }
+    return index;
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("CChangelogColumns{project=")
+      .append(this.project.value())
+      .append(", releases=")
+      .append(this.releaseVersions.length)
+      .append(", changes=")
+      .append(this.changeDays.length)
+      .append('}')
+      .toString();
+  }
+
+  private CRelease release(
+    final int index)
+  {
+    final var start = this.releaseChanges[index];
+    final var end = this.releaseChanges[index + 1];
+    final var changes = new ArrayList<CChange>(end - start);
+    for (int change = start; change < end; ++change) {
+      changes.add(this.change(change));
+    }
+
+    return CRelease.builder()
+      .setVersion(this.releaseVersions[index])
+      .setDate(date(this.releaseDays, this.releaseDatesOther, index))
+      .setTicketSystemID(this.releaseTicketSystems[index])
+      .setOpen(this.releaseOpen.get(index))
+      .setChanges(changes)
+      .build();
+  }
+
+  private CChange change(
+    final int index)
+  {
+    final var summaryStart = this.summaryOffsets[index];
+    final var summary =
+      new String(
+        this.summaries,
+        summaryStart,
+        this.summaryOffsets[index + 1] - summaryStart,
+        StandardCharsets.UTF_8);
+
+    final var module = this.changeModules[index];
+    final var ticketStart = this.changeTickets[index];
+    final var ticketEnd = this.changeTickets[index + 1];
+    final var changeTicketIDs = new CTicketID[ticketEnd - ticketStart];
+    for (int ticket = ticketStart; ticket < ticketEnd; ++ticket) {
+      changeTicketIDs[ticket - ticketStart] =
+        this.ticketIDs[this.tickets[ticket]];
+    }
+
+    return CChange.builder()
+      .setDate(date(this.changeDays, this.changeDatesOther, index))
+      .setSummary(summary)
+      .setModule(
+        module == MODULE_NONE
+          ? Optional.empty()
+          : Optional.of(this.modules[module]))
+      .setTickets(Arrays.asList(changeTicketIDs))
+      .setBackwardsCompatible(this.changeCompatible.get(index))
+      .build();
+  }
+
+  private static ZonedDateTime date(
+    final int[] days,
+    final Map<Integer, ZonedDateTime> others,
+    final int index)
+  {
+    final var day = days[index];
+    if (day == DATE_OTHER) {
+      return others.get(Integer.valueOf(index));
+    }
+    return ZonedDateTime.of(
+      LocalDate.ofEpochDay(day),
+      LocalTime.MIDNIGHT,
+      UTC);
+  }
+
+  /**
+   * The releases in the order in which they were added.
+   */
+
+  private final class ReleaseMap extends AbstractMap<CVersion, CRelease>
+  {
+    ReleaseMap()
+    {
+
+    }
+
+    @Override
+    public int size()
+    {
+      return CChangelogColumns.this.releaseVersions.length;
+    }
+
+    @Override
+    public boolean containsKey(
+      final Object key)
+    {
+      return CChangelogColumns.this.releasesByVersion.containsKey(key);
+    }
+
+    @Override
+    public CRelease get(
+      final Object key)
+    {
+      final var index = CChangelogColumns.this.releasesByVersion.get(key);
+      if (index == null) {
+        return null;
+      }
+      return CChangelogColumns.this.release(index.intValue());
+    }
+
+    @Override
+    public Set<Entry<CVersion, CRelease>> entrySet()
+    {
+      return new AbstractSet<>()
+      {
+        @Override
+        public Iterator<Entry<CVersion, CRelease>> iterator()
+        {
+          return new Iterator<>()
+          {
+            private int index;
+
+            @Override
+            public boolean hasNext()
+            {
+              return this.index < ReleaseMap.this.size();
+            }
+
+            @Override
+            public Entry<CVersion, CRelease> next()
+            {
+              if (!this.hasNext()) {
+                throw new NoSuchElementException();
+              }
+              final var current = this.index;
+              ++this.index;
+              return new SimpleImmutableEntry<>(
+                CChangelogColumns.this.releaseVersions[current],
+                CChangelogColumns.this.release(current));
+            }
+          };
+        }
+
+        @Override
+        public int size()
+        {
+          return ReleaseMap.this.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * A growable column of integers.
+   */
+
+  private static final class IntColumn
+  {
+    private int[] values;
+    private int size;
+
+    IntColumn()
+    {
+      this.values = new int[16];
+    }
+
+    void add(
+      final int value)
+    {
+      if (this.size == this.values.length) {
+        this.values =
+          Arrays.copyOf(this.values, Math.multiplyExact(this.size, 2));
+      }
+      this.values[this.size] = value;
+      ++this.size;
+    }
+
+    int get(
+      final int index)
+    {
+      return this.values[index];
+    }
+
+    int size()
+    {
+      return this.size;
+    }
+
+    int[] toArray()
+    {
+      return Arrays.copyOf(this.values, this.size);
+    }
+  }
+
+  /**
+   * A mutable builder of columnar changelogs.
+   */
+
+  public static final class Builder
+  {
+    private CProjectName project;
+    private final Map<String, CTicketSystem> ticketSystems;
+    private final Map<CVersion, Integer> releasesByVersion;
+    private final List<CVersion> releaseVersions;
+    private final IntColumn releaseDays;
+    private final Map<Integer, ZonedDateTime> releaseDatesOther;
+    private final List<String> releaseTicketSystems;
+    private final BitSet releaseOpen;
+    private final IntColumn releaseChanges;
+    private final IntColumn changeDays;
+    private final Map<Integer, ZonedDateTime> changeDatesOther;
+    private final ByteArrayOutputStream summaries;
+    private final IntColumn summaryOffsets;
+    private final IntColumn changeModules;
+    private final Map<CModuleName, Integer> moduleIndices;
+    private final List<CModuleName> modules;
+    private final IntColumn changeTickets;
+    private final IntColumn tickets;
+    private final Map<CTicketID, Integer> ticketIndices;
+    private final List<CTicketID> ticketIDs;
+    private final BitSet changeCompatible;
+
+    private Builder()
+    {
+      this.ticketSystems = new LinkedHashMap<>();
+      this.releasesByVersion = new HashMap<>();
+      this.releaseVersions = new ArrayList<>();
+      this.releaseDays = new IntColumn();
+      this.releaseDatesOther = new HashMap<>();
+      this.releaseTicketSystems = new ArrayList<>();
+      this.releaseOpen = new BitSet();
+      this.releaseChanges = new IntColumn();
+      this.releaseChanges.add(0);
+      this.changeDays = new IntColumn();
+      this.changeDatesOther = new HashMap<>();
+      this.summaries = new ByteArrayOutputStream();
+      this.summaryOffsets = new IntColumn();
+      this.summaryOffsets.add(0);
+      this.changeModules = new IntColumn();
+      this.moduleIndices = new HashMap<>();
+      this.modules = new ArrayList<>();
+      this.changeTickets = new IntColumn();
+      this.changeTickets.add(0);
+      this.tickets = new IntColumn();
+      this.ticketIndices = new HashMap<>();
+      this.ticketIDs = new ArrayList<>();
+      this.changeCompatible = new BitSet();
+    }
+
+    /**
+     * @param inProject The project name
+     *
+     * @return this
+     */
+
+    public Builder setProject(
+      final CProjectName inProject)
+    {
+      this.project = Objects.requireNonNull(inProject, "project");
+      return this;
+    }
+
+    /**
+     * Add a ticket system, replacing any existing ticket system with the
+     * same ID.
+     *
+     * @param ticketSystem The ticket system
+     *
+     * @return this
+     */
+
+    public Builder addTicketSystem(
+      final CTicketSystem ticketSystem)
+    {
+      Objects.requireNonNull(ticketSystem, "ticketSystem");
+      this.ticketSystems.put(ticketSystem.id(), ticketSystem);
+      return this;
+    }
+
+    /**
+     * Add a release and all of its changes. The release is not retained.
+     *
+     * @param release The release
+     *
+     * @return this
+     */
+
+    public Builder addRelease(
+      final CRelease release)
+    {
+      Objects.requireNonNull(release, "release");
+
+      final var version = release.version();
+      Preconditions.checkPrecondition(
+        version,
+        !this.releasesByVersion.containsKey(version),
+        v -> "Release versions must be unique");
+
+      final var index = this.releaseVersions.size();
+      this.releasesByVersion.put(version, Integer.valueOf(index));
+      this.releaseVersions.add(version);
+      addDate(this.releaseDays, this.releaseDatesOther, release.date());
+      this.releaseTicketSystems.add(release.ticketSystemID());
+      this.releaseOpen.set(index, release.isOpen());
+
+      for (final var change : release.changes()) {
+        this.addChange(change);
+      }
+      this.releaseChanges.add(this.changeDays.size());
+      return this;
+    }
+
+    private void addChange(
+      final CChange change)
+    {
+      final var index = this.changeDays.size();
+      addDate(this.changeDays, this.changeDatesOther, change.date());
+
+      final var summary = change.summary().getBytes(StandardCharsets.UTF_8);
+      this.summaries.write(summary, 0, summary.length);
+      this.summaryOffsets.add(
+        Math.addExact(this.summaryOffsets.get(index), summary.length));
+
+      this.changeModules.add(
+        change.module()
+          .map(module -> intern(this.moduleIndices, this.modules, module))
+          .orElse(Integer.valueOf(MODULE_NONE))
+          .intValue());
+
+      for (final var ticket : change.tickets()) {
+        this.tickets.add(
+          intern(this.ticketIndices, this.ticketIDs, ticket).intValue());
+      }
+      this.changeTickets.add(this.tickets.size());
+      this.changeCompatible.set(index, change.backwardsCompatible());
+    }
+
+    private static <T> Integer intern(
+      final Map<T, Integer> indices,
+      final List<T> values,
+      final T value)
+    {
+      return indices.computeIfAbsent(value, v -> {
+        values.add(v);
+        return Integer.valueOf(values.size() - 1);
+      });
+    }
+
+    private static void addDate(
+      final IntColumn days,
+      final Map<Integer, ZonedDateTime> others,
+      final ZonedDateTime date)
+    {
+      Objects.requireNonNull(date, "date");
+
+      if (UTC.equals(date.getZone())
+        && LocalTime.MIDNIGHT.equals(date.toLocalTime())) {
+        final var day = date.toLocalDate().toEpochDay();
+        if (day > DATE_OTHER && day <= Integer.MAX_VALUE) {
+          days.add((int) day);
+          return;
+        }
+      }
+
+      others.put(Integer.valueOf(days.size()), date);
+      days.add(DATE_OTHER);
+    }
+
+    /**
+     * @return A columnar changelog
+     *
+     * @throws IllegalStateException If no project name has been set
+     */
+
+    public CChangelogColumns build()
+    {
+      if (this.project == null) {
+        throw new IllegalStateException("No project name has been set");
+      }
+
+      final var openReleases = (long) this.releaseOpen.cardinality();
+      Preconditions.checkPreconditionL(
+        openReleases,
+        openReleases <= 1L,
+        c -> "At most one release may be open at any given time"
+      );
+
+      for (final var systemID : this.releaseTicketSystems) {
+        Preconditions.checkPrecondition(
+          systemID,
+          this.ticketSystems.containsKey(systemID),
+          s -> "Release must refer to a defined ticket system");
+      }
+
+      Preconditions.checkPrecondition(
+        this.ticketSystems,
+        this.ticketSystems.values()
+          .stream()
+          .filter(CTicketSystem::isDefault)
+          .count() <= 1L,
+        x -> "At most one ticket system may be declared as being the default");
+
+      return new CChangelogColumns(this);
+    }
+  }
+}
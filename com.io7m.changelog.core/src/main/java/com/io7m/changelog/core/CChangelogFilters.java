@@ -18,12 +18,13 @@ package com.io7m.changelog.core;
 
 import com.io7m.junreachable.UnreachableCodeException;
 
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Functions to transform and filter changelogs.
@@ -54,23 +55,12 @@ public final class CChangelogFilters
     Objects.requireNonNull(changelog, "Changelog");
     Objects.requireNonNull(version, "Version");
 
-    final var releases = changelog.releases();
-    if (!releases.containsKey(version)) {
+    if (!changelog.releases().containsKey(version)) {
       return Optional.empty();
     }
 
-    final var versions =
-      changelog.releaseVersions()
-        .stream()
-        .filter(v -> v.compareTo(version) >= 0)
-        .limit(count)
-        .collect(Collectors.toList());
-
     final var releasesFiltered =
-      new HashMap<CVersion, CRelease>(versions.size());
-    for (final var currentVersion : versions) {
-      releasesFiltered.put(currentVersion, releases.get(version));
-    }
+      mostRecent(changelog.releaseIndex().upTo(version, true), count);
 
     final var newChangelog =
       CChangelog.builder()
@@ -96,23 +86,159 @@ public final class CChangelogFilters
   {
     Objects.requireNonNull(changelog, "changelog");
 
-    final var versions =
-      changelog.releaseVersions()
-        .stream()
-        .sorted(Comparator.reverseOrder())
-        .limit(size)
-        .collect(Collectors.toSet());
+    return CChangelog.builder()
+      .from(changelog)
+      .setReleases(mostRecent(changelog.releaseIndex().releases(), size))
+      .build();
+  }
+
+  /**
+   * Select the changes that match a query. Releases are selected by version
+   * through the release index of the changelog, and changes within each
+   * release through the {@link CReleaseType#changeIndex()} of the release.
+   * The change index is built on first use and retained by the release, so
+   * repeated queries against the same changelog do not examine individual
+   * changes.
+   *
+   * @param changelog The changelog
+   * @param query     The query
+   *
+   * @return A new changelog containing the releases that contain matching
+   * changes, each containing only the matching changes, in ascending
+   * version order
+   */
+
+  public static CChangelog query(
+    final CChangelogType changelog,
+    final CChangelogQuery query)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+    Objects.requireNonNull(query, "query");
+
+    final var index = changelog.releaseIndex();
+    final var lower = query.versionLower();
+    final var upper = query.versionUpper();
+
+    final NavigableMap<CVersion, CRelease> candidates;
+    if (lower.isPresent() && upper.isPresent()) {
+      candidates = index.range(lower.get(), true, upper.get(), true);
+    } else if (lower.isPresent()) {
+      candidates = index.from(lower.get(), true);
+    } else if (upper.isPresent()) {
+      candidates = index.upTo(upper.get(), true);
+    } else {
+      candidates = index.releases();
+    }
 
-    final var newReleases =
-      changelog.releases()
-        .entrySet()
-        .stream()
-        .filter(e -> versions.contains(e.getKey()))
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    final var system = query.ticketSystem();
+    final var changeCriteria = query.hasChangeCriteria();
+    final var releases = new LinkedHashMap<CVersion, CRelease>();
+
+    for (final var release : candidates.values()) {
+      if (system.isPresent() && !system.get().equals(release.ticketSystemID())) {
+        continue;
+      }
+
+      if (!changeCriteria) {
+        releases.put(release.version(), release);
+        continue;
+      }
+
+      final var matching = matchingChanges(release.changeIndex(), query);
+      final var count = matching.cardinality();
+      if (count == 0) {
+        continue;
+      }
+
+      final var changes = release.changes();
+      if (count == changes.size()) {
+        releases.put(release.version(), release);
+        continue;
+      }
+
+      final var selected = new ArrayList<CChange>(count);
+      for (int bit = matching.nextSetBit(0);
+           bit >= 0;
+           bit = matching.nextSetBit(bit + 1)) {
+        selected.add(changes.get(bit));
+      }
+
+      releases.put(
+        release.version(),
+        CRelease.builder()
+          .from(release)
+          .setChanges(selected)
+          .build());
+    }
 
     return CChangelog.builder()
-      .from(changelog)
-      .setReleases(newReleases)
+      .setProject(changelog.project())
+      .setTicketSystems(changelog.ticketSystems())
+      .setReleases(releases)
       .build();
   }
+
+  private static BitSet matchingChanges(
+    final CChangeIndex index,
+    final CChangelogQuery query)
+  {
+    BitSet result = null;
+
+    final var module = query.module();
+    if (module.isPresent()) {
+      result = index.module(module.get());
+    }
+
+    if (query.since().isPresent() || query.until().isPresent()) {
+      result = intersect(result, index.dates(query.since(), query.until()));
+    }
+
+    if (query.incompatibleOnly()) {
+      result = intersect(result, index.incompatible());
+    }
+
+    if (result == null) {
+      return index.all();
+    }
+    return result;
+  }
+
+  private static BitSet intersect(
+    final BitSet existing,
+    final BitSet other)
+  {
+    if (existing == null) {
+      return other;
+    }
+    existing.and(other);
+    return existing;
+  }
+
+  /**
+   * @return At most {@code count} of the greatest entries of
+   * {@code releases}, in ascending order
+   */
+
+  private static Map<CVersion, CRelease> mostRecent(
+    final NavigableMap<CVersion, CRelease> releases,
+    final long count)
+  {
+    if (count < 0L) {
+      throw new IllegalArgumentException("Count must be non-negative");
+    }
+    if (count == 0L) {
+      return Map.of();
+    }
+
+    NavigableMap<CVersion, CRelease> selected = releases;
+    if ((long) releases.size() > count) {
+      final var iterator = releases.descendingKeySet().iterator();
+      CVersion lowest = null;
+      for (long index = 0L; index < count; ++index) {
+        lowest = iterator.next();
+      }
+      selected = releases.tailMap(lowest, true);
+    }
+    return new LinkedHashMap<>(selected);
+  }
 }
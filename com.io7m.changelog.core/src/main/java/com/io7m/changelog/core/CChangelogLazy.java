@@ -0,0 +1,444 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A read-only changelog that holds the headers of its releases (the
+ * version, date, ticket system, and open status) eagerly, and obtains the
+ * changes of each release from a supplier the first time that the release
+ * is accessed. Once obtained, the complete release is retained.
+ *
+ * <p>Code that reads a changelog through {@link CChangelogType}, such as
+ * the changelog writers, sees complete {@link CRelease} values, and so
+ * requires no changes. Operations that only examine a few releases, such
+ * as {@link #latestRelease()}, only obtain the changes of those releases.
+ * The release versions and the number of releases are always available
+ * without obtaining any changes, and {@link #latestReleaseHeader()} returns
+ * the latest release without its changes.</p>
+ *
+ * <p>Because {@link CRelease} is an immutable value, the changes of a
+ * release are obtained when the release itself is obtained, and not when
+ * {@link CRelease#changes()} is called. A release is obtained by
+ * {@code releases().get()}, by iterating over {@code releases().values()}
+ * or {@code releases().entrySet()}, and by any operation that uses them.
+ * Building the {@link #releaseIndex()} obtains the latest and open
+ * releases. {@code releases().keySet()}, {@code releases().size()}, and
+ * {@code releases().containsKey()} obtain nothing.</p>
+ *
+ * <p>Any unchecked exception raised by a supplier propagates from the
+ * method that obtained the release, including the methods of the
+ * {@code releases()} map. Suppliers that read files typically raise
+ * {@link java.io.UncheckedIOException}. A release whose supplier fails is
+ * not retained, and so obtaining it again calls the supplier again.</p>
+ *
+ * <p>Suppliers may be called from any thread that accesses the changelog,
+ * and may be called more than once for the same release if multiple
+ * threads access the release at the same time; all but one of the results
+ * are then discarded.</p>
+ */
+
+public final class CChangelogLazy implements CChangelogType
+{
+  private final CProjectName project;
+  private final Map<String, CTicketSystem> ticketSystems;
+  private final CRelease[] headers;
+  private final Supplier<List<CChange>>[] changes;
+  private final AtomicReferenceArray<CRelease> decoded;
+  private final Map<CVersion, Integer> releasesByVersion;
+  private final Map<CVersion, CRelease> releases;
+  private volatile CReleaseIndex releaseIndex;
+  private volatile CTicketIndex ticketIndex;
+
+  @SuppressWarnings("unchecked")
+  private CChangelogLazy(
+    final Builder builder)
+  {
+    this.project = builder.project;
+    this.ticketSystems =
+      Collections.unmodifiableMap(new LinkedHashMap<>(builder.ticketSystems));
+    this.headers =
+      builder.headers.toArray(new CRelease[0]);
+    this.changes =
+      builder.changes.toArray(new Supplier[0]);
+    this.decoded =
+      new AtomicReferenceArray<>(this.headers.length);
+    this.releasesByVersion =
+      new LinkedHashMap<>(builder.releasesByVersion);
+    this.releases =
+      new ReleaseMap();
+  }
+
+  /**
+   * @return A new mutable builder
+   */
+
+  public static Builder builder()
+  {
+    return new Builder();
+  }
+
+  /**
+   * @return A conventional, fully materialized changelog with the same
+   * contents as this changelog
+   */
+
+  public CChangelog toChangelog()
+  {
+    return CChangelog.copyOf(this);
+  }
+
+  /**
+   * @return The number of releases whose changes have been obtained
+   */
+
+  public int decodedReleaseCount()
+  {
+    int count = 0;
+    for (int index = 0; index < this.headers.length; ++index) {
+      if (this.decoded.get(index) != null) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public CProjectName project()
+  {
+    return this.project;
+  }
+
+  @Override
+  public Map<CVersion, CRelease> releases()
+  {
+    return this.releases;
+  }
+
+  @Override
+  public Map<String, CTicketSystem> ticketSystems()
+  {
+    return this.ticketSystems;
+  }
+
+  @Override
+  public Optional<CRelease> latestReleaseHeader()
+  {
+    final var order = CVersions.ascending();
+
+    CVersion latest = null;
+    for (final var version : this.releasesByVersion.keySet()) {
+      if (latest == null || order.compare(version, latest) > 0) {
+        latest = version;
+      }
+    }
+    if (latest == null) {
+      return Optional.empty();
+    }
+    return Optional.of(
+      this.headers[this.releasesByVersion.get(latest).intValue()]);
+  }
+
+  @Override
+  public CReleaseIndex releaseIndex()
+  {
+    var index = this.releaseIndex;
+    if (index == null) {
+      final var sorted =
+        new TreeMap<CVersion, Integer>(CVersions.ascending());
+      sorted.putAll(this.releasesByVersion);
+
+      CRelease open = null;
+      for (int release = 0; release < this.headers.length; ++release) {
+        if (this.headers[release].isOpen()) {
+          open = this.release(release);
+        }
+      }
+
+      index = CReleaseIndex.ofSorted(
+        CMappedNavigableMap.of(sorted, this::release),
+        Optional.ofNullable(open));
+      this.releaseIndex = index;
+    }
+    return index;
+  }
+
+  @Override
+  public CTicketIndex ticketIndex()
+  {
+    var index = this.ticketIndex;
+    if (index == null) {
+      index = CTicketIndex.of(this);
+      this.ticketIndex = index;
+    }
+    return index;
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("CChangelogLazy{project=")
+      .append(this.project.value())
+      .append(", releases=")
+      .append(this.headers.length)
+      .append('}')
+      .toString();
+  }
+
+  private CRelease release(
+    final int index)
+  {
+    final var existing = this.decoded.get(index);
+    if (existing != null) {
+      return existing;
+    }
+
+    final var release =
+      CRelease.builder()
+        .from(this.headers[index])
+        .setChanges(this.changes[index].get())
+        .build();
+
+    if (this.decoded.compareAndSet(index, null, release)) {
+      return release;
+    }
+    return this.decoded.get(index);
+  }
+
+  /**
+   * The releases in the order in which they were added.
+   */
+
+  private final class ReleaseMap extends AbstractMap<CVersion, CRelease>
+  {
+    ReleaseMap()
+    {
+
+    }
+
+    @Override
+    public int size()
+    {
+      return CChangelogLazy.this.headers.length;
+    }
+
+    @Override
+    public boolean containsKey(
+      final Object key)
+    {
+      return CChangelogLazy.this.releasesByVersion.containsKey(key);
+    }
+
+    @Override
+    public Set<CVersion> keySet()
+    {
+      return Collections.unmodifiableSet(
+        CChangelogLazy.this.releasesByVersion.keySet());
+    }
+
+    @Override
+    public CRelease get(
+      final Object key)
+    {
+      final var index = CChangelogLazy.this.releasesByVersion.get(key);
+      if (index == null) {
+        return null;
+      }
+      return CChangelogLazy.this.release(index.intValue());
+    }
+
+    @Override
+    public Set<Entry<CVersion, CRelease>> entrySet()
+    {
+      return new AbstractSet<>()
+      {
+        @Override
+        public Iterator<Entry<CVersion, CRelease>> iterator()
+        {
+          return new Iterator<>()
+          {
+            private int index;
+
+            @Override
+            public boolean hasNext()
+            {
+              return this.index < ReleaseMap.this.size();
+            }
+
+            @Override
+            public Entry<CVersion, CRelease> next()
+            {
+              if (!this.hasNext()) {
+                throw new NoSuchElementException();
+              }
+              final var current = this.index;
+              ++this.index;
+              return new SimpleImmutableEntry<>(
+                CChangelogLazy.this.headers[current].version(),
+                CChangelogLazy.this.release(current));
+            }
+          };
+        }
+
+        @Override
+        public int size()
+        {
+          return ReleaseMap.this.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * A mutable builder for lazy changelogs.
+   */
+
+  public static final class Builder
+  {
+    private final Map<String, CTicketSystem> ticketSystems;
+    private final Map<CVersion, Integer> releasesByVersion;
+    private final List<CRelease> headers;
+    private final List<Supplier<List<CChange>>> changes;
+    private CProjectName project;
+
+    private Builder()
+    {
+      this.ticketSystems = new LinkedHashMap<>();
+      this.releasesByVersion = new LinkedHashMap<>();
+      this.headers = new ArrayList<>();
+      this.changes = new ArrayList<>();
+    }
+
+    /**
+     * @param inProject The project name
+     *
+     * @return this
+     */
+
+    public Builder setProject(
+      final CProjectName inProject)
+    {
+      this.project = Objects.requireNonNull(inProject, "project");
+      return this;
+    }
+
+    /**
+     * Add a ticket system, replacing any existing ticket system with the
+     * same ID.
+     *
+     * @param ticketSystem The ticket system
+     *
+     * @return this
+     */
+
+    public Builder addTicketSystem(
+      final CTicketSystem ticketSystem)
+    {
+      Objects.requireNonNull(ticketSystem, "ticketSystem");
+      this.ticketSystems.put(ticketSystem.id(), ticketSystem);
+      return this;
+    }
+
+    /**
+     * Add a release. The changes of {@code header} are ignored, and the
+     * changes of the release are obtained from {@code releaseChanges} the
+     * first time that the release is accessed.
+     *
+     * @param header         The release header
+     * @param releaseChanges A supplier of the changes of the release
+     *
+     * @return this
+     */
+
+    public Builder addRelease(
+      final CRelease header,
+      final Supplier<List<CChange>> releaseChanges)
+    {
+      Objects.requireNonNull(header, "header");
+      Objects.requireNonNull(releaseChanges, "releaseChanges");
+
+      final var version = header.version();
+      Preconditions.checkPrecondition(
+        version,
+        !this.releasesByVersion.containsKey(version),
+        v -> "Release versions must be unique");
+
+      this.releasesByVersion.put(
+        version, Integer.valueOf(this.headers.size()));
+      this.headers.add(header.withChanges(List.of()));
+      this.changes.add(releaseChanges);
+      return this;
+    }
+
+    /**
+     * @return A lazy changelog
+     *
+     * @throws IllegalStateException If no project name has been set
+     */
+
+    public CChangelogLazy build()
+    {
+      if (this.project == null) {
+        throw new IllegalStateException("No project name has been set");
+      }
+
+      final var openReleases =
+        this.headers.stream()
+          .filter(CRelease::isOpen)
+          .count();
+      Preconditions.checkPreconditionL(
+        openReleases,
+        openReleases <= 1L,
+        c -> "At most one release may be open at any given time"
+      );
+
+      for (final var header : this.headers) {
+        Preconditions.checkPrecondition(
+          header.ticketSystemID(),
+          this.ticketSystems.containsKey(header.ticketSystemID()),
+          s -> "Release must refer to a defined ticket system");
+      }
+
+      Preconditions.checkPrecondition(
+        this.ticketSystems,
+        this.ticketSystems.values()
+          .stream()
+          .filter(CTicketSystem::isDefault)
+          .count() <= 1L,
+        x -> "At most one ticket system may be declared as being the default");
+
+      return new CChangelogLazy(this);
+    }
+  }
+}
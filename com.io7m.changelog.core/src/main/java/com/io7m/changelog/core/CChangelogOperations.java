@@ -0,0 +1,440 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Invariants;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Functions to modify changelogs. Each function checks that the
+ * modification is valid for the given changelog before applying it.
+ *
+ * <p>Each function is provided for both {@link CChangelog} and
+ * {@link CChangelogPersistent}. The latter is preferable when applying
+ * many modifications in succession, as each modification then shares
+ * structure with the previous changelog rather than copying it.</p>
+ */
+
+public final class CChangelogOperations
+{
+  private static final Editor<CChangelog> CHANGELOGS =
+    new Editor<>()
+    {
+      @Override
+      public CChangelog put(
+        final CChangelog changelog,
+        final CRelease release)
+      {
+        return CChangelog.builder()
+          .from(changelog)
+          .putReleases(release.version(), release)
+          .build();
+      }
+
+      @Override
+      public CChangelog replace(
+        final CChangelog changelog,
+        final CVersion version,
+        final CRelease release)
+      {
+        final var releases = new LinkedHashMap<>(changelog.releases());
+        releases.remove(version);
+        releases.put(release.version(), release);
+
+        return CChangelog.builder()
+          .from(changelog)
+          .setReleases(releases)
+          .build();
+      }
+    };
+
+  private static final Editor<CChangelogPersistent> PERSISTENT =
+    new Editor<>()
+    {
+      @Override
+      public CChangelogPersistent put(
+        final CChangelogPersistent changelog,
+        final CRelease release)
+      {
+        return changelog.withRelease(release);
+      }
+
+      @Override
+      public CChangelogPersistent replace(
+        final CChangelogPersistent changelog,
+        final CVersion version,
+        final CRelease release)
+      {
+        return changelog.withoutRelease(version).withRelease(release);
+      }
+    };
+
+  private CChangelogOperations()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Add a change to the current release.
+   *
+   * @param changelog The changelog
+   * @param change    The change
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If there is no open current release
+   */
+
+  public static CChangelog changeAdd(
+    final CChangelog changelog,
+    final CChange change,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return changeAdd(CHANGELOGS, changelog, change, time);
+  }
+
+  /**
+   * Add a change to the current release.
+   *
+   * @param changelog The changelog
+   * @param change    The change
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If there is no open current release
+   */
+
+  public static CChangelogPersistent changeAdd(
+    final CChangelogPersistent changelog,
+    final CChange change,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return changeAdd(PERSISTENT, changelog, change, time);
+  }
+
+  /**
+   * Begin a new release.
+   *
+   * @param changelog    The changelog
+   * @param version      The version of the new release, or the suggested
+   *                     next version if not specified
+   * @param ticketSystem The ticket system of the new release, or the default
+   *                     ticket system if not specified
+   * @param time         The date of the new release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If the release cannot be started
+   */
+
+  public static CChangelog releaseBegin(
+    final CChangelog changelog,
+    final Optional<CVersion> version,
+    final Optional<String> ticketSystem,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseBegin(CHANGELOGS, changelog, version, ticketSystem, time);
+  }
+
+  /**
+   * Begin a new release.
+   *
+   * @param changelog    The changelog
+   * @param version      The version of the new release, or the suggested
+   *                     next version if not specified
+   * @param ticketSystem The ticket system of the new release, or the default
+   *                     ticket system if not specified
+   * @param time         The date of the new release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If the release cannot be started
+   */
+
+  public static CChangelogPersistent releaseBegin(
+    final CChangelogPersistent changelog,
+    final Optional<CVersion> version,
+    final Optional<String> ticketSystem,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseBegin(PERSISTENT, changelog, version, ticketSystem, time);
+  }
+
+  /**
+   * Finish a release.
+   *
+   * @param changelog The changelog
+   * @param version   The version of the release, or the latest open release
+   *                  if not specified
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If no matching open release exists
+   */
+
+  public static CChangelog releaseFinish(
+    final CChangelog changelog,
+    final Optional<CVersion> version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseFinish(CHANGELOGS, changelog, version, time);
+  }
+
+  /**
+   * Finish a release.
+   *
+   * @param changelog The changelog
+   * @param version   The version of the release, or the latest open release
+   *                  if not specified
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If no matching open release exists
+   */
+
+  public static CChangelogPersistent releaseFinish(
+    final CChangelogPersistent changelog,
+    final Optional<CVersion> version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseFinish(PERSISTENT, changelog, version, time);
+  }
+
+  /**
+   * Set the version of the current release.
+   *
+   * @param changelog The changelog
+   * @param version   The new version of the release
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If there is no open current release
+   */
+
+  public static CChangelog releaseSetVersion(
+    final CChangelog changelog,
+    final CVersion version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseSetVersion(CHANGELOGS, changelog, version, time);
+  }
+
+  /**
+   * Set the version of the current release.
+   *
+   * @param changelog The changelog
+   * @param version   The new version of the release
+   * @param time      The new date of the release
+   *
+   * @return The modified changelog
+   *
+   * @throws CChangelogOperationException If there is no open current release
+   */
+
+  public static CChangelogPersistent releaseSetVersion(
+    final CChangelogPersistent changelog,
+    final CVersion version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    return releaseSetVersion(PERSISTENT, changelog, version, time);
+  }
+
+  private static <C extends CChangelogType> C changeAdd(
+    final Editor<C> editor,
+    final C changelog,
+    final CChange change,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    final var latest =
+      changelog.latestRelease();
+
+    if (latest.isEmpty()) {
+      throw new CChangelogOperationException("No current release exists.");
+    }
+
+    final var release = latest.get();
+    if (!release.isOpen()) {
+      throw new CChangelogOperationException(
+        "The current release is not open for modification.");
+    }
+
+    final var releaseWrite =
+      CRelease.builder()
+        .from(release)
+        .addChanges(change)
+        .setDate(time)
+        .build();
+
+    return editor.put(changelog, releaseWrite);
+  }
+
+  private static <C extends CChangelogType> C releaseBegin(
+    final Editor<C> editor,
+    final C changelog,
+    final Optional<CVersion> version,
+    final Optional<String> ticketSystem,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    final CVersion nextVersion =
+      version.orElseGet(changelog::suggestNextRelease);
+
+    final Optional<String> ticketSystemOpt =
+      changelog.findTicketSystem(ticketSystem);
+
+    if (ticketSystemOpt.isEmpty()) {
+      if (ticketSystem.isPresent()) {
+        throw new CChangelogOperationException(
+          String.format("No ticket system named %s is defined", ticketSystem.get()));
+      }
+      throw new CChangelogOperationException("No default ticket system is available");
+    }
+
+    final var releases = changelog.releases();
+    if (releases.containsKey(nextVersion)) {
+      throw new CChangelogOperationException(
+        String.format("A release with version %s already exists", nextVersion));
+    }
+
+    final var openRelease = changelog.openRelease();
+    if (openRelease.isPresent()) {
+      throw new CChangelogOperationException(
+        String.format(
+          "A release with version %s is already open",
+          openRelease.get().version()));
+    }
+
+    final var release =
+      CRelease.builder()
+        .setOpen(true)
+        .setTicketSystemID(ticketSystemOpt.get())
+        .setDate(time)
+        .setVersion(nextVersion)
+        .build();
+
+    return editor.put(changelog, release);
+  }
+
+  private static <C extends CChangelogType> C releaseFinish(
+    final Editor<C> editor,
+    final C changelog,
+    final Optional<CVersion> version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    final var targetReleaseOpt =
+      changelog.findTargetReleaseOrLatestOpen(version);
+
+    if (targetReleaseOpt.isEmpty()) {
+      throw new CChangelogOperationException("No release is currently open");
+    }
+
+    final var targetRelease = targetReleaseOpt.get();
+    Invariants.checkInvariant(targetRelease.isOpen(), "Release must be open");
+
+    final var closedRelease =
+      CRelease.builder()
+        .from(targetRelease)
+        .setOpen(false)
+        .setDate(time)
+        .build();
+
+    return editor.put(changelog, closedRelease);
+  }
+
+  private static <C extends CChangelogType> C releaseSetVersion(
+    final Editor<C> editor,
+    final C changelog,
+    final CVersion version,
+    final ZonedDateTime time)
+    throws CChangelogOperationException
+  {
+    final var currentReleaseOpt = changelog.latestRelease();
+    if (currentReleaseOpt.isEmpty()) {
+      throw new CChangelogOperationException("No release is currently open");
+    }
+
+    final var currentRelease = currentReleaseOpt.get();
+    if (!currentRelease.isOpen()) {
+      throw new CChangelogOperationException("No release is currently open");
+    }
+
+    final var updatedRelease =
+      CRelease.builder()
+        .from(currentRelease)
+        .setDate(time)
+        .setVersion(version)
+        .build();
+
+    return editor.replace(changelog, currentRelease.version(), updatedRelease);
+  }
+
+  /**
+   * The means by which a modified changelog of a given type is produced.
+   *
+   * @param <C> The type of changelogs
+   */
+
+  private interface Editor<C extends CChangelogType>
+  {
+    /**
+     * Add a release, replacing any release with the same version in place.
+     *
+     * @param changelog The changelog
+     * @param release   The release
+     *
+     * @return The modified changelog
+     */
+
+    C put(
+      C changelog,
+      CRelease release);
+
+    /**
+     * Remove a release, and then add a release.
+     *
+     * @param changelog The changelog
+     * @param version   The version of the release to remove
+     * @param release   The release to add
+     *
+     * @return The modified changelog
+     */
+
+    C replace(
+      C changelog,
+      CVersion version,
+      CRelease release);
+  }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable changelog intended for repeated modification. Releases are
+ * held in persistent trees, and so a changelog produced by
+ * {@link #withRelease(CRelease)} or {@link #withoutRelease(CVersion)}
+ * shares almost all of its structure with the original, and is produced in
+ * time logarithmic in the number of releases.
+ *
+ * <p>The preconditions of {@link CChangelogType} are checked incrementally:
+ * each modification checks only the release being added, against the
+ * tracked open release and the (fixed) set of ticket systems.</p>
+ *
+ * <p>As with {@link CChangelog}, releases are presented in the order in
+ * which they were added, and replacing a release with the same version
+ * retains its position.</p>
+ */
+
+public final class CChangelogPersistent implements CChangelogType
+{
+  private final CProjectName project;
+  private final Map<String, CTicketSystem> ticketSystems;
+  private final CPersistentTreeMap<CVersion, Slot> byVersion;
+  private final CPersistentTreeMap<Long, CRelease> byOrder;
+  private final long nextOrder;
+  private final CVersion open;
+  private final Map<CVersion, CRelease> releases;
+  private volatile CReleaseIndex releaseIndex;
+  private volatile CTicketIndex ticketIndex;
+
+  private CChangelogPersistent(
+    final CProjectName inProject,
+    final Map<String, CTicketSystem> inTicketSystems,
+    final CPersistentTreeMap<CVersion, Slot> inByVersion,
+    final CPersistentTreeMap<Long, CRelease> inByOrder,
+    final long inNextOrder,
+    final CVersion inOpen)
+  {
+    this.project = inProject;
+    this.ticketSystems = inTicketSystems;
+    this.byVersion = inByVersion;
+    this.byOrder = inByOrder;
+    this.nextOrder = inNextOrder;
+    this.open = inOpen;
+    this.releases = new ReleaseMap();
+  }
+
+  /**
+   * Create a persistent copy of the given changelog.
+   *
+   * @param changelog The changelog
+   *
+   * @return A persistent changelog equivalent to {@code changelog}
+   */
+
+  public static CChangelogPersistent copyOf(
+    final CChangelogType changelog)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+
+    final var systems =
+      Collections.unmodifiableMap(
+        new LinkedHashMap<>(changelog.ticketSystems()));
+
+    Preconditions.checkPrecondition(
+      systems,
+      systems.values()
+        .stream()
+        .filter(CTicketSystem::isDefault)
+        .count() <= 1L,
+      x -> "At most one ticket system may be declared as being the default");
+
+    var result =
+      new CChangelogPersistent(
+        changelog.project(),
+        systems,
+        CPersistentTreeMap.empty(CVersions.ascending()),
+        CPersistentTreeMap.empty(Long::compare),
+        0L,
+        null);
+
+    for (final var release : changelog.releases().values()) {
+      result = result.withRelease(release);
+    }
+    return result;
+  }
+
+  /**
+   * Add a release, replacing any existing release with the same version.
+   *
+   * @param release The release
+   *
+   * @return A changelog containing {@code release}
+   */
+
+  public CChangelogPersistent withRelease(
+    final CRelease release)
+  {
+    Objects.requireNonNull(release, "release");
+
+    final var version = release.version();
+    final var systemID = release.ticketSystemID();
+    Preconditions.checkPrecondition(
+      systemID,
+      this.ticketSystems.containsKey(systemID),
+      s -> "Release must refer to a defined ticket system");
+
+    CVersion newOpen = this.open;
+    if (release.isOpen()) {
+      Preconditions.checkPrecondition(
+        version,
+        this.open == null || this.open.equals(version),
+        c -> "At most one release may be open at any given time");
+      newOpen = version;
+    } else if (version.equals(this.open)) {
+      newOpen = null;
+    }
+
+    final var existing = this.byVersion.get(version);
+    final long order;
+    final long newNextOrder;
+    if (existing == null) {
+      order = this.nextOrder;
+      newNextOrder = this.nextOrder + 1L;
+    } else {
+      order = existing.order;
+      newNextOrder = this.nextOrder;
+    }
+
+    return new CChangelogPersistent(
+      this.project,
+      this.ticketSystems,
+      this.byVersion.put(version, new Slot(order, release)),
+      this.byOrder.put(Long.valueOf(order), release),
+      newNextOrder,
+      newOpen);
+  }
+
+  /**
+   * Remove a release.
+   *
+   * @param version The version of the release
+   *
+   * @return A changelog that does not contain a release with {@code version}
+   */
+
+  public CChangelogPersistent withoutRelease(
+    final CVersion version)
+  {
+    Objects.requireNonNull(version, "version");
+
+    final var existing = this.byVersion.get(version);
+    if (existing == null) {
+      return this;
+    }
+
+    return new CChangelogPersistent(
+      this.project,
+      this.ticketSystems,
+      this.byVersion.remove(version),
+      this.byOrder.remove(Long.valueOf(existing.order)),
+      this.nextOrder,
+      version.equals(this.open) ? null : this.open);
+  }
+
+  /**
+   * @return A conventional changelog with the same contents as this
+   * changelog
+   */
+
+  public CChangelog toChangelog()
+  {
+    return CChangelog.copyOf(this);
+  }
+
+  @Override
+  public CProjectName project()
+  {
+    return this.project;
+  }
+
+  @Override
+  public Map<CVersion, CRelease> releases()
+  {
+    return this.releases;
+  }
+
+  @Override
+  public Map<String, CTicketSystem> ticketSystems()
+  {
+    return this.ticketSystems;
+  }
+
+  @Override
+  public CReleaseIndex releaseIndex()
+  {
+    var index = this.releaseIndex;
+    if (index == null) {
+      index = CReleaseIndex.of(this.releases);
+      this.releaseIndex = index;
+    }
+    return index;
+  }
+
+  @Override
+  public CTicketIndex ticketIndex()
+  {
+    var index = this.ticketIndex;
+    if (index == null) {
+      index = CTicketIndex.of(this);
+      this.ticketIndex = index;
+    }
+    return index;
+  }
+
+  @Override
+  public Optional<CRelease> latestRelease()
+  {
+    final var last = this.byVersion.last();
+    if (last == null) {
+      return Optional.empty();
+    }
+    return Optional.of(last.getValue().release);
+  }
+
+  @Override
+  public Optional<CRelease> openRelease()
+  {
+    if (this.open == null) {
+      return Optional.empty();
+    }
+    return Optional.of(this.byVersion.get(this.open).release);
+  }
+
+  @Override
+  public Optional<CRelease> findTargetRelease(
+    final CVersion version)
+  {
+    final var slot = this.byVersion.get(version);
+    if (slot == null) {
+      return Optional.empty();
+    }
+    return Optional.of(slot.release);
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("CChangelogPersistent{project=")
+      .append(this.project.value())
+      .append(", releases=")
+      .append(this.byVersion.size())
+      .append('}')
+      .toString();
+  }
+
+  /**
+   * A release and the position at which it was added.
+   */
+
+  private static final class Slot
+  {
+    private final long order;
+    private final CRelease release;
+
+    Slot(
+      final long inOrder,
+      final CRelease inRelease)
+    {
+      this.order = inOrder;
+      this.release = inRelease;
+    }
+  }
+
+  /**
+   * The releases in the order in which they were added.
+   */
+
+  private final class ReleaseMap extends AbstractMap<CVersion, CRelease>
+  {
+    ReleaseMap()
+    {
+
+    }
+
+    @Override
+    public int size()
+    {
+      return CChangelogPersistent.this.byVersion.size();
+    }
+
+    @Override
+    public boolean containsKey(
+      final Object key)
+    {
+      return this.get(key) != null;
+    }
+
+    @Override
+    public CRelease get(
+      final Object key)
+    {
+      if (!(key instanceof CVersion)) {
+        return null;
+      }
+      final var slot =
+        CChangelogPersistent.this.byVersion.get((CVersion) key);
+      if (slot == null) {
+        return null;
+      }
+      return slot.release;
+    }
+
+    @Override
+    public Set<Entry<CVersion, CRelease>> entrySet()
+    {
+      return new AbstractSet<>()
+      {
+        @Override
+        public Iterator<Entry<CVersion, CRelease>> iterator()
+        {
+          final var base = CChangelogPersistent.this.byOrder.iterator();
+          return new Iterator<>()
+          {
+            @Override
+            public boolean hasNext()
+            {
+              return base.hasNext();
+            }
+
+            @Override
+            public Entry<CVersion, CRelease> next()
+            {
+              final var release = base.next().getValue();
+              return new SimpleImmutableEntry<>(release.version(), release);
+            }
+          };
+        }
+
+        @Override
+        public int size()
+        {
+          return ReleaseMap.this.size();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jaffirm.core.Preconditions;
+import org.immutables.value.Value;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * A query selecting changes from a changelog. A change matches the query if
+ * it matches every specified criterion; a query that specifies no criteria
+ * matches every change.
+ *
+ * @see CChangelogFilters#query(CChangelogType, CChangelogQuery)
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CChangelogQueryType
+{
+  /**
+   * @return The module that matching changes must affect, if any
+   */
+
+  Optional<CModuleName> module();
+
+  /**
+   * @return The earliest date of matching changes, inclusive, if any
+   */
+
+  Optional<LocalDate> since();
+
+  /**
+   * @return The latest date of matching changes, inclusive, if any
+   */
+
+  Optional<LocalDate> until();
+
+  /**
+   * @return The ticket system of the releases of matching changes, if any
+   */
+
+  Optional<String> ticketSystem();
+
+  /**
+   * @return The lowest version of the releases of matching changes,
+   * inclusive, if any
+   */
+
+  Optional<CVersion> versionLower();
+
+  /**
+   * @return The highest version of the releases of matching changes,
+   * inclusive, if any
+   */
+
+  Optional<CVersion> versionUpper();
+
+  /**
+   * @return {@code true} if only backwards incompatible changes match
+   */
+
+  @Value.Default
+  default boolean incompatibleOnly()
+  {
+    return false;
+  }
+
+  /**
+   * @return {@code true} if the query has criteria that apply to individual
+   * changes, rather than to entire releases
+   */
+
+  default boolean hasChangeCriteria()
+  {
+    return this.module().isPresent()
+      || this.since().isPresent()
+      || this.until().isPresent()
+      || this.incompatibleOnly();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.since().isPresent() && this.until().isPresent()) {
+      Preconditions.checkPrecondition(
+        this.since().get(),
+        !this.since().get().isAfter(this.until().get()),
+        d -> "The earliest date must not be after the latest date");
+    }
+
+    if (this.versionLower().isPresent() && this.versionUpper().isPresent()) {
+      Preconditions.checkPrecondition(
+        this.versionLower().get(),
+        this.versionLower().get().compareTo(this.versionUpper().get()) <= 0,
+        v -> "The lowest version must not be greater than the highest version");
+    }
+  }
+}
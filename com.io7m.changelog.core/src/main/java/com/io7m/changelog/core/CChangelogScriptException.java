@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * A statement in a changelog script could not be parsed or applied.
+ */
+
+public final class CChangelogScriptException extends Exception
+{
+  private static final long serialVersionUID = 1L;
+
+  private final URI source;
+  private final int line;
+
+  /**
+   * Construct an exception.
+   *
+   * @param inSource The script source
+   * @param inLine   The line number of the failing statement
+   * @param message  The reason the statement failed
+   */
+
+  public CChangelogScriptException(
+    final URI inSource,
+    final int inLine,
+    final String message)
+  {
+    super(String.format(
+      "%s:%d: %s",
+      Objects.requireNonNull(inSource, "Source"),
+      Integer.valueOf(inLine),
+      Objects.requireNonNull(message, "Message")));
+    this.source = inSource;
+    this.line = inLine;
+  }
+
+  /**
+   * @return The script source
+   */
+
+  public URI source()
+  {
+    return this.source;
+  }
+
+  /**
+   * @return The line number of the failing statement
+   */
+
+  public int line()
+  {
+    return this.line;
+  }
+}
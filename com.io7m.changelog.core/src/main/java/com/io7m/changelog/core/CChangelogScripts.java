@@ -0,0 +1,367 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.ContractException;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Functions to apply scripts of modifications to changelogs.
+ *
+ * <p>A script consists of one statement per line. Each statement names an
+ * operation followed by options, using the same names and values as the
+ * corresponding command-line tools:</p>
+ *
+ * <pre>
+ * # Comments and blank lines are ignored
+ * release-begin --version 1.0.0 --date 2019-01-01
+ * change-add --summary "Fix a crash" --ticket 23 --module com.example
+ * change-add --summary 'Remove a method' --incompatible true
+ * release-set-version --version 2.0.0
+ * release-finish
+ * </pre>
+ *
+ * <p>Option values may be quoted with single or double quotes. Within double
+ * quotes, and outside of quotes, a backslash escapes the following
+ * character. Every operation accepts a {@code --date} option that specifies
+ * the date of the modification as either an ISO-8601 date or date-time; if
+ * no date is given, the date supplied to the script is used.</p>
+ */
+
+public final class CChangelogScripts
+{
+  private static final Map<String, Set<String>> OPTIONS =
+    Map.of(
+      "change-add",
+      Set.of("--date", "--incompatible", "--module", "--summary", "--ticket"),
+      "release-begin",
+      Set.of("--date", "--ticket-system", "--version"),
+      "release-finish",
+      Set.of("--date", "--version"),
+      "release-set-version",
+      Set.of("--date", "--version")
+    );
+
+  private CChangelogScripts()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Apply every statement in the given script to the given changelog. The
+   * preconditions of each statement are checked against the changelog
+   * produced by the preceding statements, and the script is abandoned at
+   * the first statement that fails. Statements are applied to a
+   * {@link CChangelogPersistent} copy of the changelog, so the cost of each
+   * statement does not depend on the number of existing releases.
+   *
+   * @param changelog The initial changelog
+   * @param source    The script source, for error messages
+   * @param reader    The script
+   * @param time      The date used for statements that do not specify one
+   *
+   * @return The modified changelog
+   *
+   * @throws IOException               On I/O errors
+   * @throws CChangelogScriptException If a statement cannot be parsed or
+   *                                   applied
+   */
+
+  public static CChangelog execute(
+    final CChangelog changelog,
+    final URI source,
+    final BufferedReader reader,
+    final ZonedDateTime time)
+    throws IOException, CChangelogScriptException
+  {
+    Objects.requireNonNull(changelog, "Changelog");
+    Objects.requireNonNull(source, "Source");
+    Objects.requireNonNull(reader, "Reader");
+    Objects.requireNonNull(time, "Time");
+
+    var current = CChangelogPersistent.copyOf(changelog);
+    var lineNumber = 0;
+    while (true) {
+      final var line = reader.readLine();
+      if (line == null) {
+        return current.toChangelog();
+      }
+      ++lineNumber;
+
+      try {
+        final var tokens = tokenize(line);
+        if (!tokens.isEmpty()) {
+          current = executeStatement(current, tokens, time);
+        }
+      } catch (final CChangelogOperationException
+        | IllegalArgumentException
+        | ContractException
+        | DateTimeParseException e) {
+        throw new CChangelogScriptException(source, lineNumber, e.getMessage());
+      }
+    }
+  }
+
+  private static CChangelogPersistent executeStatement(
+    final CChangelogPersistent changelog,
+    final List<String> tokens,
+    final ZonedDateTime defaultTime)
+    throws CChangelogOperationException
+  {
+    final var operation = tokens.get(0);
+    final var options = parseOptions(operation, tokens);
+    final var time =
+      single(options, "--date")
+        .map(CChangelogScripts::parseDate)
+        .orElse(defaultTime);
+    final var version =
+      single(options, "--version")
+        .map(CVersions::parse);
+
+    switch (operation) {
+      case "change-add": {
+        final var tickets = new ArrayList<CTicketID>();
+        for (final var ticket : options.getOrDefault("--ticket", List.of())) {
+          tickets.add(CTicketID.of(ticket));
+        }
+
+        final var change =
+          CChange.builder()
+            .setModule(single(options, "--module").map(CModuleName::of))
+            .setBackwardsCompatible(
+              !single(options, "--incompatible")
+                .map(CChangelogScripts::parseBoolean)
+                .orElse(Boolean.FALSE)
+                .booleanValue())
+            .setDate(time)
+            .setSummary(required(options, "--summary"))
+            .setTickets(tickets)
+            .build();
+
+        return CChangelogOperations.changeAdd(changelog, change, time);
+      }
+      case "release-begin": {
+        return CChangelogOperations.releaseBegin(
+          changelog, version, single(options, "--ticket-system"), time);
+      }
+      case "release-finish": {
+        return CChangelogOperations.releaseFinish(changelog, version, time);
+      }
+      case "release-set-version": {
+        return CChangelogOperations.releaseSetVersion(
+          changelog,
+          version.orElseThrow(() -> missing("--version")),
+          time);
+      }
+      default: {
+        throw new UnreachableCodeException();
+      }
+    }
+  }
+
+  private static Map<String, List<String>> parseOptions(
+    final String operation,
+    final List<String> tokens)
+  {
+    final var permitted = OPTIONS.get(operation);
+    if (permitted == null) {
+      throw new IllegalArgumentException(
+        String.format("Unrecognized operation: %s", operation));
+    }
+
+    final var options = new HashMap<String, List<String>>();
+    for (int index = 1; index < tokens.size(); index += 2) {
+      final var name = tokens.get(index);
+      if (!permitted.contains(name)) {
+        throw new IllegalArgumentException(
+          String.format("Unrecognized option for %s: %s", operation, name));
+      }
+      if (index + 1 >= tokens.size()) {
+        throw new IllegalArgumentException(
+          String.format("Option %s requires a value", name));
+      }
+
+      final var values =
+        options.computeIfAbsent(name, k -> new ArrayList<>(1));
+      if (!values.isEmpty() && !"--ticket".equals(name)) {
+        throw new IllegalArgumentException(
+          String.format("Option %s may only be specified once", name));
+      }
+      values.add(tokens.get(index + 1));
+    }
+    return options;
+  }
+
+  private static Optional<String> single(
+    final Map<String, List<String>> options,
+    final String name)
+  {
+    final var values = options.get(name);
+    if (values == null) {
+      return Optional.empty();
+    }
+    return Optional.of(values.get(0));
+  }
+
+  private static String required(
+    final Map<String, List<String>> options,
+    final String name)
+  {
+    return single(options, name).orElseThrow(() -> missing(name));
+  }
+
+  private static IllegalArgumentException missing(
+    final String name)
+  {
+    return new IllegalArgumentException(
+      String.format("The option %s is required", name));
+  }
+
+  private static Boolean parseBoolean(
+    final String text)
+  {
+    switch (text) {
+      case "true":
+        return Boolean.TRUE;
+      case "false":
+        return Boolean.FALSE;
+      default:
+        throw new IllegalArgumentException(
+          String.format("Expected true or false, but got %s", text));
+    }
+  }
+
+  private static ZonedDateTime parseDate(
+    final String text)
+  {
+    if (text.indexOf('T') == -1) {
+      return LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC);
+    }
+    return ZonedDateTime.parse(text);
+  }
+
+  /**
+   * Split a statement into tokens.
+   *
+   * @param line The statement
+   *
+   * @return The tokens of the statement, or an empty list if the statement
+   * is blank or a comment
+   */
+
+  static List<String> tokenize(
+    final String line)
+  {
+    final var tokens = new ArrayList<String>();
+    final var token = new StringBuilder(32);
+    var inToken = false;
+    var index = 0;
+
+    while (index < line.length()) {
+      final var c = line.charAt(index);
+
+      if (Character.isWhitespace(c)) {
+        if (inToken) {
+          tokens.add(token.toString());
+          token.setLength(0);
+          inToken = false;
+        }
+        ++index;
+        continue;
+      }
+
+      if (c == '#' && !inToken) {
+        break;
+      }
+
+      inToken = true;
+      switch (c) {
+        case '\'': {
+          final var end = line.indexOf('\'', index + 1);
+          if (end == -1) {
+            throw new IllegalArgumentException("Unterminated quoted string");
+          }
+          token.append(line, index + 1, end);
+          index = end + 1;
+          break;
+        }
+        case '"': {
+          index = tokenizeDoubleQuoted(line, index + 1, token);
+          break;
+        }
+        case '\\': {
+          if (index + 1 >= line.length()) {
+            throw new IllegalArgumentException("Unterminated escape sequence");
+          }
+          token.append(line.charAt(index + 1));
+          index += 2;
+          break;
+        }
+        default: {
+          token.append(c);
+          ++index;
+          break;
+        }
+      }
+    }
+
+    if (inToken) {
+      tokens.add(token.toString());
+    }
+    return tokens;
+  }
+
+  private static int tokenizeDoubleQuoted(
+    final String line,
+    final int start,
+    final StringBuilder token)
+  {
+    var index = start;
+    while (index < line.length()) {
+      final var c = line.charAt(index);
+      if (c == '"') {
+        return index + 1;
+      }
+      if (c == '\\') {
+        if (index + 1 >= line.length()) {
+          break;
+        }
+        token.append(line.charAt(index + 1));
+        index += 2;
+        continue;
+      }
+      token.append(c);
+      ++index;
+    }
+    throw new IllegalArgumentException("Unterminated quoted string");
+  }
+}
@@ -21,11 +21,9 @@ import com.io7m.jaffirm.core.Preconditions;
 import org.immutables.value.Value;
 
 import java.math.BigInteger;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static org.immutables.value.Value.Immutable;
 
@@ -55,17 +53,33 @@ public interface CChangelogType
 
   Map<String, CTicketSystem> ticketSystems();
 
+  /**
+   * @return An index of the releases ordered by version
+   */
+
+  @Value.Lazy
+  default CReleaseIndex releaseIndex()
+  {
+    return CReleaseIndex.of(this.releases());
+  }
+
+  /**
+   * @return An index of the changes that refer to each ticket
+   */
+
+  @Value.Lazy
+  default CTicketIndex ticketIndex()
+  {
+    return CTicketIndex.of(this);
+  }
+
   /**
    * @return The list of available versions in ascending order
    */
 
   default List<CVersion> releaseVersions()
   {
-    return this.releases()
-      .keySet()
-      .stream()
-      .sorted()
-      .collect(Collectors.toList());
+    return this.releaseIndex().versions();
   }
 
   /**
@@ -74,12 +88,32 @@ public interface CChangelogType
 
   default Optional<CRelease> latestRelease()
   {
-    return this.releaseVersions()
-      .stream()
-      .sorted(Comparator.reverseOrder())
-      .limit(1L)
-      .findFirst()
-      .flatMap(v -> Optional.ofNullable(this.releases().get(v)));
+    return this.releaseIndex().latest();
+  }
+
+  /**
+   * Find the latest release without requiring the changes of any release.
+   * The changes of the returned release may be omitted, and so only its
+   * version, date, ticket system, and open status are meaningful. The
+   * default implementation returns {@link #latestRelease()}.
+   *
+   * @return The header of the latest release, if one is defined
+   *
+   * @see CChangelogLazy
+   */
+
+  default Optional<CRelease> latestReleaseHeader()
+  {
+    return this.latestRelease();
+  }
+
+  /**
+   * @return The open release, if one is defined
+   */
+
+  default Optional<CRelease> openRelease()
+  {
+    return this.releaseIndex().open();
   }
 
   /**
@@ -0,0 +1,318 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * A read-only navigable map whose values are produced on demand from the
+ * integer indices held in an underlying map. Values are not retained; each
+ * lookup produces a new value.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+
+final class CMappedNavigableMap<K, V>
+  extends AbstractMap<K, V>
+  implements NavigableMap<K, V>
+{
+  private final NavigableMap<K, Integer> indices;
+  private final IntFunction<V> values;
+
+  private CMappedNavigableMap(
+    final NavigableMap<K, Integer> inIndices,
+    final IntFunction<V> inValues)
+  {
+    this.indices = inIndices;
+    this.values = inValues;
+  }
+
+  /**
+   * @param indices The map of keys to value indices
+   * @param values  A function producing the value at each index
+   * @param <K>     The type of keys
+   * @param <V>     The type of values
+   *
+   * @return A read-only view of {@code indices} with mapped values
+   */
+
+  static <K, V> NavigableMap<K, V> of(
+    final NavigableMap<K, Integer> indices,
+    final IntFunction<V> values)
+  {
+    return new CMappedNavigableMap<>(
+      Collections.unmodifiableNavigableMap(
+        Objects.requireNonNull(indices, "indices")),
+      Objects.requireNonNull(values, "values"));
+  }
+
+  private Entry<K, V> entry(
+    final Entry<K, Integer> entry)
+  {
+    if (entry == null) {
+      return null;
+    }
+    return new SimpleImmutableEntry<>(
+      entry.getKey(),
+      this.values.apply(entry.getValue().intValue()));
+  }
+
+  private NavigableMap<K, V> view(
+    final NavigableMap<K, Integer> map)
+  {
+    return new CMappedNavigableMap<>(map, this.values);
+  }
+
+  @Override
+  public int size()
+  {
+    return this.indices.size();
+  }
+
+  @Override
+  public boolean containsKey(
+    final Object key)
+  {
+    return this.indices.containsKey(key);
+  }
+
+  @Override
+  public V get(
+    final Object key)
+  {
+    final var index = this.indices.get(key);
+    if (index == null) {
+      return null;
+    }
+    return this.values.apply(index.intValue());
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet()
+  {
+    return new AbstractSet<>()
+    {
+      @Override
+      public Iterator<Entry<K, V>> iterator()
+      {
+        final var base = CMappedNavigableMap.this.indices.entrySet().iterator();
+        return new Iterator<>()
+        {
+          @Override
+          public boolean hasNext()
+          {
+            return base.hasNext();
+          }
+
+          @Override
+          public Entry<K, V> next()
+          {
+            return CMappedNavigableMap.this.entry(base.next());
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return CMappedNavigableMap.this.indices.size();
+      }
+    };
+  }
+
+  @Override
+  public Set<K> keySet()
+  {
+    return this.indices.navigableKeySet();
+  }
+
+  @Override
+  public Comparator<? super K> comparator()
+  {
+    return this.indices.comparator();
+  }
+
+  @Override
+  public K firstKey()
+  {
+    return this.indices.firstKey();
+  }
+
+  @Override
+  public K lastKey()
+  {
+    return this.indices.lastKey();
+  }
+
+  @Override
+  public Entry<K, V> lowerEntry(
+    final K key)
+  {
+    return this.entry(this.indices.lowerEntry(key));
+  }
+
+  @Override
+  public K lowerKey(
+    final K key)
+  {
+    return this.indices.lowerKey(key);
+  }
+
+  @Override
+  public Entry<K, V> floorEntry(
+    final K key)
+  {
+    return this.entry(this.indices.floorEntry(key));
+  }
+
+  @Override
+  public K floorKey(
+    final K key)
+  {
+    return this.indices.floorKey(key);
+  }
+
+  @Override
+  public Entry<K, V> ceilingEntry(
+    final K key)
+  {
+    return this.entry(this.indices.ceilingEntry(key));
+  }
+
+  @Override
+  public K ceilingKey(
+    final K key)
+  {
+    return this.indices.ceilingKey(key);
+  }
+
+  @Override
+  public Entry<K, V> higherEntry(
+    final K key)
+  {
+    return this.entry(this.indices.higherEntry(key));
+  }
+
+  @Override
+  public K higherKey(
+    final K key)
+  {
+    return this.indices.higherKey(key);
+  }
+
+  @Override
+  public Entry<K, V> firstEntry()
+  {
+    return this.entry(this.indices.firstEntry());
+  }
+
+  @Override
+  public Entry<K, V> lastEntry()
+  {
+    return this.entry(this.indices.lastEntry());
+  }
+
+  @Override
+  public Entry<K, V> pollFirstEntry()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Entry<K, V> pollLastEntry()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public NavigableMap<K, V> descendingMap()
+  {
+    return this.view(this.indices.descendingMap());
+  }
+
+  @Override
+  public NavigableSet<K> navigableKeySet()
+  {
+    return this.indices.navigableKeySet();
+  }
+
+  @Override
+  public NavigableSet<K> descendingKeySet()
+  {
+    return this.indices.descendingKeySet();
+  }
+
+  @Override
+  public NavigableMap<K, V> subMap(
+    final K fromKey,
+    final boolean fromInclusive,
+    final K toKey,
+    final boolean toInclusive)
+  {
+    return this.view(
+      this.indices.subMap(fromKey, fromInclusive, toKey, toInclusive));
+  }
+
+  @Override
+  public NavigableMap<K, V> headMap(
+    final K toKey,
+    final boolean inclusive)
+  {
+    return this.view(this.indices.headMap(toKey, inclusive));
+  }
+
+  @Override
+  public NavigableMap<K, V> tailMap(
+    final K fromKey,
+    final boolean inclusive)
+  {
+    return this.view(this.indices.tailMap(fromKey, inclusive));
+  }
+
+  @Override
+  public NavigableMap<K, V> subMap(
+    final K fromKey,
+    final K toKey)
+  {
+    return this.subMap(fromKey, true, toKey, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> headMap(
+    final K toKey)
+  {
+    return this.headMap(toKey, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> tailMap(
+    final K fromKey)
+  {
+    return this.tailMap(fromKey, true);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable view of the releases of several projects, merged into a
+ * single list ordered by release date. The most recent release appears
+ * first. Releases made on the same date are ordered by project name, and
+ * then by descending version.
+ */
+
+public final class CMergedChangelog
+{
+  private static final Comparator<CMergedRelease> ORDER =
+    Comparator.comparing((CMergedRelease r) -> r.release().date())
+      .reversed()
+      .thenComparing(r -> r.project().value())
+      .thenComparing(
+        r -> r.release().version(),
+        CVersions.ascending().reversed());
+
+  private final List<CChangelogType> changelogs;
+  private final List<CProjectName> projects;
+  private final List<CMergedRelease> releases;
+
+  private CMergedChangelog(
+    final List<CChangelogType> inChangelogs,
+    final List<CProjectName> inProjects,
+    final List<CMergedRelease> inReleases)
+  {
+    this.changelogs = inChangelogs;
+    this.projects = inProjects;
+    this.releases = inReleases;
+  }
+
+  /**
+   * Merge the releases of the given changelogs.
+   *
+   * @param changelogs The changelogs
+   *
+   * @return The merged changelog
+   *
+   * @throws IllegalArgumentException If a release refers to a ticket system
+   *                                  that its changelog does not define
+   */
+
+  public static CMergedChangelog of(
+    final List<? extends CChangelogType> changelogs)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(changelogs, "changelogs");
+
+    final var projects = new ArrayList<CProjectName>(changelogs.size());
+    final var releases = new ArrayList<CMergedRelease>();
+    for (final var changelog : changelogs) {
+      final var project = changelog.project();
+      final var systems = changelog.ticketSystems();
+      projects.add(project);
+
+      for (final var release : changelog.releaseIndex().releases().values()) {
+        final var system = systems.get(release.ticketSystemID());
+        if (system == null) {
+          throw new IllegalArgumentException(
+            String.format(
+              "Release %s of project %s refers to an undefined ticket system: %s",
+              release.version(),
+              project.value(),
+              release.ticketSystemID()));
+        }
+        releases.add(
+          CMergedRelease.builder()
+            .setProject(project)
+            .setRelease(release)
+            .setTicketSystem(system)
+            .build());
+      }
+    }
+
+    releases.sort(ORDER);
+    return new CMergedChangelog(
+      List.copyOf(changelogs),
+      Collections.unmodifiableList(projects),
+      Collections.unmodifiableList(releases)
+    );
+  }
+
+  /**
+   * @return The changelogs that were merged, in the order given
+   */
+
+  public List<CChangelogType> changelogs()
+  {
+    return this.changelogs;
+  }
+
+  /**
+   * @return The names of the merged projects, in the order given
+   */
+
+  public List<CProjectName> projects()
+  {
+    return this.projects;
+  }
+
+  /**
+   * @return The merged releases, most recent first
+   */
+
+  public List<CMergedRelease> releases()
+  {
+    return this.releases;
+  }
+}
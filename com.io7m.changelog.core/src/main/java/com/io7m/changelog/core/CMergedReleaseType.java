@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * A release of one of the projects in a merged changelog.
+ *
+ * @see CMergedChangelog
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CMergedReleaseType
+{
+  /**
+   * @return The project to which the release belongs
+   */
+
+  CProjectName project();
+
+  /**
+   * @return The release
+   */
+
+  CRelease release();
+
+  /**
+   * @return The ticket system referred to by the release
+   */
+
+  CTicketSystem ticketSystem();
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable, persistent sorted map implemented as an AVL tree. Every
+ * modification returns a new map that shares all of the nodes of the
+ * original map except for those on the path to the modified key, so that
+ * modifications take time and space logarithmic in the size of the map.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+
+final class CPersistentTreeMap<K, V> implements Iterable<Map.Entry<K, V>>
+{
+  private final Comparator<? super K> comparator;
+  private final Node<K, V> root;
+
+  private CPersistentTreeMap(
+    final Comparator<? super K> inComparator,
+    final Node<K, V> inRoot)
+  {
+    this.comparator = inComparator;
+    this.root = inRoot;
+  }
+
+  /**
+   * @param comparator The key comparator
+   * @param <K>        The type of keys
+   * @param <V>        The type of values
+   *
+   * @return An empty map
+   */
+
+  static <K, V> CPersistentTreeMap<K, V> empty(
+    final Comparator<? super K> comparator)
+  {
+    return new CPersistentTreeMap<>(
+      Objects.requireNonNull(comparator, "comparator"), null);
+  }
+
+  /**
+   * @return The number of entries in the map
+   */
+
+  int size()
+  {
+    return size(this.root);
+  }
+
+  /**
+   * @param key The key
+   *
+   * @return The value associated with {@code key}, or {@code null}
+   */
+
+  V get(
+    final K key)
+  {
+    var node = this.root;
+    while (node != null) {
+      final var c = this.comparator.compare(key, node.key);
+      if (c == 0) {
+        return node.value;
+      }
+      node = c < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  /**
+   * @return The entry with the least key, or {@code null} if the map is empty
+   */
+
+  Map.Entry<K, V> first()
+  {
+    var node = this.root;
+    if (node == null) {
+      return null;
+    }
+    while (node.left != null) {
+      node = node.left;
+    }
+    return node;
+  }
+
+  /**
+   * @return The entry with the greatest key, or {@code null} if the map is
+   * empty
+   */
+
+  Map.Entry<K, V> last()
+  {
+    var node = this.root;
+    if (node == null) {
+      return null;
+    }
+    while (node.right != null) {
+      node = node.right;
+    }
+    return node;
+  }
+
+  /**
+   * @param key   The key
+   * @param value The value
+   *
+   * @return A map in which {@code key} is associated with {@code value}
+   */
+
+  CPersistentTreeMap<K, V> put(
+    final K key,
+    final V value)
+  {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(value, "value");
+
+    final var result = this.put(this.root, key, value);
+    if (result == this.root) {
+      return this;
+    }
+    return new CPersistentTreeMap<>(this.comparator, result);
+  }
+
+  /**
+   * @param key The key
+   *
+   * @return A map in which {@code key} is not associated with any value
+   */
+
+  CPersistentTreeMap<K, V> remove(
+    final K key)
+  {
+    Objects.requireNonNull(key, "key");
+
+    final var result = this.remove(this.root, key);
+    if (result == this.root) {
+      return this;
+    }
+    return new CPersistentTreeMap<>(this.comparator, result);
+  }
+
+  /**
+   * @return An iterator over the entries of the map in ascending key order
+   */
+
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator()
+  {
+    return new NodeIterator<>(this.root);
+  }
+
+  /**
+   * @param key The lower bound
+   *
+   * @return An iterator over the entries of the map with keys greater than
+   * or equal to {@code key}, in ascending key order
+   */
+
+  Iterator<Map.Entry<K, V>> iteratorFrom(
+    final K key)
+  {
+    Objects.requireNonNull(key, "key");
+
+    final var iterator = new NodeIterator<K, V>(null);
+    var node = this.root;
+    while (node != null) {
+      if (this.comparator.compare(key, node.key) <= 0) {
+        iterator.stack.push(node);
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return iterator;
+  }
+
+  private Node<K, V> put(
+    final Node<K, V> node,
+    final K key,
+    final V value)
+  {
+    if (node == null) {
+      return new Node<>(key, value, null, null);
+    }
+
+    final var c = this.comparator.compare(key, node.key);
+    if (c < 0) {
+      final var left = this.put(node.left, key, value);
+      if (left == node.left) {
+        return node;
+      }
+      return balance(node.key, node.value, left, node.right);
+    }
+    if (c > 0) {
+      final var right = this.put(node.right, key, value);
+      if (right == node.right) {
+        return node;
+      }
+      return balance(node.key, node.value, node.left, right);
+    }
+    if (value == node.value) {
+      return node;
+    }
+    return new Node<>(node.key, value, node.left, node.right);
+  }
+
+  private Node<K, V> remove(
+    final Node<K, V> node,
+    final K key)
+  {
+    if (node == null) {
+      return null;
+    }
+
+    final var c = this.comparator.compare(key, node.key);
+    if (c < 0) {
+      final var left = this.remove(node.left, key);
+      if (left == node.left) {
+        return node;
+      }
+      return balance(node.key, node.value, left, node.right);
+    }
+    if (c > 0) {
+      final var right = this.remove(node.right, key);
+      if (right == node.right) {
+        return node;
+      }
+      return balance(node.key, node.value, node.left, right);
+    }
+
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+
+    var least = node.right;
+    while (least.left != null) {
+      least = least.left;
+    }
+    return balance(
+      least.key, least.value, node.left, removeLeast(node.right));
+  }
+
+  private static <K, V> Node<K, V> removeLeast(
+    final Node<K, V> node)
+  {
+    if (node.left == null) {
+      return node.right;
+    }
+    return balance(node.key, node.value, removeLeast(node.left), node.right);
+  }
+
+  /**
+   * Construct a node from subtrees whose heights differ by at most two,
+   * rotating as necessary to restore the AVL invariant.
+   */
+
+  private static <K, V> Node<K, V> balance(
+    final K key,
+    final V value,
+    final Node<K, V> left,
+    final Node<K, V> right)
+  {
+    final var hl = height(left);
+    final var hr = height(right);
+
+    if (hl > hr + 1) {
+      if (height(left.left) >= height(left.right)) {
+        return new Node<>(
+          left.key,
+          left.value,
+          left.left,
+          new Node<>(key, value, left.right, right));
+      }
+      final var lr = left.right;
+      return new Node<>(
+        lr.key,
+        lr.value,
+        new Node<>(left.key, left.value, left.left, lr.left),
+        new Node<>(key, value, lr.right, right));
+    }
+
+    if (hr > hl + 1) {
+      if (height(right.right) >= height(right.left)) {
+        return new Node<>(
+          right.key,
+          right.value,
+          new Node<>(key, value, left, right.left),
+          right.right);
+      }
+      final var rl = right.left;
+      return new Node<>(
+        rl.key,
+        rl.value,
+        new Node<>(key, value, left, rl.left),
+        new Node<>(right.key, right.value, rl.right, right.right));
+    }
+
+    return new Node<>(key, value, left, right);
+  }
+
+  private static int height(
+    final Node<?, ?> node)
+  {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int size(
+    final Node<?, ?> node)
+  {
+    return node == null ? 0 : node.size;
+  }
+
+  private static final class Node<K, V> implements Map.Entry<K, V>
+  {
+    private final K key;
+    private final V value;
+    private final Node<K, V> left;
+    private final Node<K, V> right;
+    private final int height;
+    private final int size;
+
+    Node(
+      final K inKey,
+      final V inValue,
+      final Node<K, V> inLeft,
+      final Node<K, V> inRight)
+    {
+      this.key = inKey;
+      this.value = inValue;
+      this.left = inLeft;
+      this.right = inRight;
+      this.height = Math.max(height(inLeft), height(inRight)) + 1;
+      this.size = size(inLeft) + size(inRight) + 1;
+    }
+
+    @Override
+    public K getKey()
+    {
+      return this.key;
+    }
+
+    @Override
+    public V getValue()
+    {
+      return this.value;
+    }
+
+    @Override
+    public V setValue(
+      final V newValue)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      if (!(other instanceof Map.Entry)) {
+        return false;
+      }
+      final var entry = (Map.Entry<?, ?>) other;
+      return Objects.equals(this.key, entry.getKey())
+        && Objects.equals(this.value, entry.getValue());
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hashCode(this.key) ^ Objects.hashCode(this.value);
+    }
+
+    @Override
+    public String toString()
+    {
+      return this.key + "=" + this.value;
+    }
+  }
+
+  private static final class NodeIterator<K, V>
+    implements Iterator<Map.Entry<K, V>>
+  {
+    private final ArrayDeque<Node<K, V>> stack;
+
+    NodeIterator(
+      final Node<K, V> root)
+    {
+      this.stack = new ArrayDeque<>(height(root));
+      this.pushLeft(root);
+    }
+
+    private void pushLeft(
+      final Node<K, V> start)
+    {
+      var node = start;
+      while (node != null) {
+        this.stack.push(node);
+        node = node.left;
+      }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return !this.stack.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next()
+    {
+      if (this.stack.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      final var node = this.stack.pop();
+      this.pushLeft(node.right);
+      return node;
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * An immutable index of the releases in a changelog, ordered by version.
+ *
+ * @see CChangelogType#releaseIndex()
+ */
+
+public final class CReleaseIndex
+{
+  private final NavigableMap<CVersion, CRelease> releases;
+  private final List<CVersion> versions;
+  private final Optional<CRelease> latest;
+  private final Optional<CRelease> open;
+
+  private CReleaseIndex(
+    final NavigableMap<CVersion, CRelease> inReleases,
+    final List<CVersion> inVersions,
+    final Optional<CRelease> inLatest,
+    final Optional<CRelease> inOpen)
+  {
+    this.releases = inReleases;
+    this.versions = inVersions;
+    this.latest = inLatest;
+    this.open = inOpen;
+  }
+
+  /**
+   * Create an index of the given releases.
+   *
+   * @param releases The releases
+   *
+   * @return An index of {@code releases}
+   */
+
+  public static CReleaseIndex of(
+    final Map<CVersion, CRelease> releases)
+  {
+    Objects.requireNonNull(releases, "releases");
+
+    final var sorted =
+      new TreeMap<CVersion, CRelease>(CVersions.ascending());
+    sorted.putAll(releases);
+
+    CRelease open = null;
+    for (final var release : sorted.values()) {
+      if (release.isOpen()) {
+        open = release;
+      }
+    }
+
+    final var lastEntry = sorted.lastEntry();
+    return new CReleaseIndex(
+      Collections.unmodifiableNavigableMap(sorted),
+      Collections.unmodifiableList(new ArrayList<>(sorted.keySet())),
+      Optional.ofNullable(lastEntry).map(Map.Entry::getValue),
+      Optional.ofNullable(open)
+    );
+  }
+
+  /**
+   * Create an index over a read-only map of releases that is already
+   * ordered by {@link CVersions#ascending()}. The map is used directly
+   * rather than copied, and so its values may be produced on demand.
+   *
+   * @param releases The releases
+   * @param open     The open release, if any
+   *
+   * @return An index of {@code releases}
+   */
+
+  static CReleaseIndex ofSorted(
+    final NavigableMap<CVersion, CRelease> releases,
+    final Optional<CRelease> open)
+  {
+    Objects.requireNonNull(releases, "releases");
+    Objects.requireNonNull(open, "open");
+
+    final var lastEntry = releases.lastEntry();
+    return new CReleaseIndex(
+      releases,
+      Collections.unmodifiableList(new ArrayList<>(releases.keySet())),
+      Optional.ofNullable(lastEntry).map(Map.Entry::getValue),
+      open
+    );
+  }
+
+  /**
+   * @return A read-only view of the releases in ascending version order
+   */
+
+  public NavigableMap<CVersion, CRelease> releases()
+  {
+    return this.releases;
+  }
+
+  /**
+   * @return The release versions in ascending order
+   */
+
+  public List<CVersion> versions()
+  {
+    return this.versions;
+  }
+
+  /**
+   * @return The release with the greatest version, if any
+   */
+
+  public Optional<CRelease> latest()
+  {
+    return this.latest;
+  }
+
+  /**
+   * @return The open release, if any
+   */
+
+  public Optional<CRelease> open()
+  {
+    return this.open;
+  }
+
+  /**
+   * @param version The version
+   *
+   * @return The release with the greatest version less than or equal to
+   * {@code version}, if any
+   */
+
+  public Optional<CRelease> floor(
+    final CVersion version)
+  {
+    return valueOf(this.releases.floorEntry(version));
+  }
+
+  /**
+   * @param version The version
+   *
+   * @return The release with the least version greater than or equal to
+   * {@code version}, if any
+   */
+
+  public Optional<CRelease> ceiling(
+    final CVersion version)
+  {
+    return valueOf(this.releases.ceilingEntry(version));
+  }
+
+  /**
+   * @param version The version
+   *
+   * @return The release with the greatest version strictly less than
+   * {@code version}, if any
+   */
+
+  public Optional<CRelease> lower(
+    final CVersion version)
+  {
+    return valueOf(this.releases.lowerEntry(version));
+  }
+
+  /**
+   * @param version The version
+   *
+   * @return The release with the least version strictly greater than
+   * {@code version}, if any
+   */
+
+  public Optional<CRelease> higher(
+    final CVersion version)
+  {
+    return valueOf(this.releases.higherEntry(version));
+  }
+
+  /**
+   * @param from          The lower bound
+   * @param fromInclusive {@code true} if the lower bound is inclusive
+   * @param to            The upper bound
+   * @param toInclusive   {@code true} if the upper bound is inclusive
+   *
+   * @return A read-only view of the releases within the given range
+   */
+
+  public NavigableMap<CVersion, CRelease> range(
+    final CVersion from,
+    final boolean fromInclusive,
+    final CVersion to,
+    final boolean toInclusive)
+  {
+    return this.releases.subMap(from, fromInclusive, to, toInclusive);
+  }
+
+  /**
+   * @param to          The upper bound
+   * @param toInclusive {@code true} if the upper bound is inclusive
+   *
+   * @return A read-only view of the releases below the given bound
+   */
+
+  public NavigableMap<CVersion, CRelease> upTo(
+    final CVersion to,
+    final boolean toInclusive)
+  {
+    return this.releases.headMap(to, toInclusive);
+  }
+
+  /**
+   * @param from          The lower bound
+   * @param fromInclusive {@code true} if the lower bound is inclusive
+   *
+   * @return A read-only view of the releases above the given bound
+   */
+
+  public NavigableMap<CVersion, CRelease> from(
+    final CVersion from,
+    final boolean fromInclusive)
+  {
+    return this.releases.tailMap(from, fromInclusive);
+  }
+
+  private static Optional<CRelease> valueOf(
+    final Map.Entry<CVersion, CRelease> entry)
+  {
+    return Optional.ofNullable(entry).map(Map.Entry::getValue);
+  }
+}
@@ -17,6 +17,7 @@
 package com.io7m.changelog.core;
 
 import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -60,4 +61,14 @@ public interface CReleaseType
    */
 
   boolean isOpen();
+
+  /**
+   * @return Secondary indexes of the release changes
+   */
+
+  @Value.Lazy
+  default CChangeIndex changeIndex()
+  {
+    return CChangeIndex.of(this.changes());
+  }
 }
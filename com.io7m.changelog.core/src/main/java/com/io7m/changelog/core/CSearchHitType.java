@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jaffirm.core.Preconditions;
+import org.immutables.value.Value;
+
+import java.time.ZonedDateTime;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * A change that matches a full-text query.
+ *
+ * @see CSearchIndex#search(CSearchQuery)
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CSearchHitType
+{
+  /**
+   * @return The version of the release containing the change
+   */
+
+  CVersion release();
+
+  /**
+   * @return The date of the release containing the change
+   */
+
+  ZonedDateTime releaseDate();
+
+  /**
+   * @return The index of the change within the changes of the release
+   */
+
+  int change();
+
+  /**
+   * @return The date of the change
+   */
+
+  ZonedDateTime changeDate();
+
+  /**
+   * @return The summary of the change
+   */
+
+  String summary();
+
+  /**
+   * @return The relevance of the change to the query; hits with higher
+   * scores are more relevant
+   */
+
+  double score();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    Preconditions.checkPreconditionI(
+      this.change(),
+      this.change() >= 0,
+      i -> "Change index must be non-negative");
+  }
+}
@@ -0,0 +1,827 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Preconditions;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An immutable inverted index from the tokens of change summaries to the
+ * changes that contain them.
+ *
+ * <p>As with {@link CTicketIndex}, the index is built from a separate
+ * partial index of each release, and so the partial indexes can be built
+ * in parallel, and replacing a single release takes time proportional to
+ * the size of that release rather than to the size of the changelog. The
+ * index retains the dates and summaries of the changes, and so search
+ * results can be produced without the original changelog.</p>
+ *
+ * <p>Hits are ranked by the sum, over the terms of the query, of the
+ * number of occurrences of the term in the summary weighted by the
+ * logarithm of the inverse proportion of changes that contain the term.</p>
+ *
+ * @see CSearchQueries
+ */
+
+public final class CSearchIndex
+{
+  private static final CSearchIndex EMPTY =
+    new CSearchIndex(
+      CPersistentTreeMap.empty(String::compareTo),
+      CPersistentTreeMap.empty(CVersions.ascending()),
+      0);
+
+  private static final Comparator<CSearchHit> RANKING =
+    Comparator.comparingDouble(CSearchHit::score)
+      .reversed()
+      .thenComparing(CSearchHit::release, CVersions.descending())
+      .thenComparingInt(CSearchHit::change);
+
+  /**
+   * The changes that contain each token, by release.
+   */
+
+  private final CPersistentTreeMap<String, Postings> tokens;
+
+  /**
+   * The partial index of each release.
+   */
+
+  private final CPersistentTreeMap<CVersion, Partial> releases;
+
+  /**
+   * The total number of changes in all releases.
+   */
+
+  private final int changeCount;
+
+  private CSearchIndex(
+    final CPersistentTreeMap<String, Postings> inTokens,
+    final CPersistentTreeMap<CVersion, Partial> inReleases,
+    final int inChangeCount)
+  {
+    this.tokens = inTokens;
+    this.releases = inReleases;
+    this.changeCount = inChangeCount;
+  }
+
+  /**
+   * @return An empty index
+   */
+
+  public static CSearchIndex empty()
+  {
+    return EMPTY;
+  }
+
+  /**
+   * Create an index of the given changelog.
+   *
+   * @param changelog The changelog
+   *
+   * @return An index of {@code changelog}
+   */
+
+  public static CSearchIndex of(
+    final CChangelogType changelog)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+
+    var index = EMPTY;
+    for (final var release : changelog.releases().values()) {
+      index = index.withPartial(partialOf(release));
+    }
+    return index;
+  }
+
+  /**
+   * Create an index of the given changelog, building the partial index of
+   * each release on the given executor.
+   *
+   * @param changelog The changelog
+   * @param executor  The executor
+   *
+   * @return An index of {@code changelog}
+   */
+
+  public static CSearchIndex ofParallel(
+    final CChangelogType changelog,
+    final Executor executor)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+    Objects.requireNonNull(executor, "executor");
+
+    final var releases = changelog.releases().values();
+    final var partials =
+      new ArrayList<CompletableFuture<Partial>>(releases.size());
+
+    for (final var release : releases) {
+      partials.add(
+        CompletableFuture.supplyAsync(() -> partialOf(release), executor));
+    }
+
+    var index = EMPTY;
+    for (final var partial : partials) {
+      index = index.withPartial(partial.join());
+    }
+    return index;
+  }
+
+  /**
+   * Index a release, replacing the index of any existing release with the
+   * same version.
+   *
+   * @param release The release
+   *
+   * @return An index including {@code release}
+   */
+
+  public CSearchIndex withRelease(
+    final CRelease release)
+  {
+    Objects.requireNonNull(release, "release");
+    return this.withPartial(partialOf(release));
+  }
+
+  /**
+   * Index a change appended to the end of an indexed release, setting the
+   * date of the release to {@code releaseDate}. This is equivalent to, but
+   * does not require, indexing the modified release with
+   * {@link #withRelease(CRelease)}.
+   *
+   * @param version     The version of the release
+   * @param releaseDate The new date of the release
+   * @param change      The change
+   *
+   * @return An index including {@code change}
+   */
+
+  public CSearchIndex withChange(
+    final CVersion version,
+    final ZonedDateTime releaseDate,
+    final CChange change)
+  {
+    Objects.requireNonNull(version, "version");
+    Objects.requireNonNull(releaseDate, "releaseDate");
+    Objects.requireNonNull(change, "change");
+
+    final var existing = this.releases.get(version);
+    Preconditions.checkPrecondition(
+      version,
+      existing != null,
+      v -> String.format("Release %s must be indexed", v));
+
+    final var count = existing.summaries.length;
+    final var dates = Arrays.copyOf(existing.dates, count + 1);
+    final var summaries = Arrays.copyOf(existing.summaries, count + 1);
+    dates[count] = change.date();
+    summaries[count] = change.summary();
+    return this.withPartial(
+      partialOf(version, releaseDate, dates, summaries));
+  }
+
+  /**
+   * Remove the index of a release.
+   *
+   * @param version The version of the release
+   *
+   * @return An index that does not include the release
+   */
+
+  public CSearchIndex withoutRelease(
+    final CVersion version)
+  {
+    Objects.requireNonNull(version, "version");
+
+    final var existing = this.releases.get(version);
+    if (existing == null) {
+      return this;
+    }
+    return new CSearchIndex(
+      removeRelease(this.tokens, existing),
+      this.releases.remove(version),
+      this.changeCount - existing.summaries.length);
+  }
+
+  /**
+   * @return The greatest version of the indexed releases, if any
+   */
+
+  public Optional<CVersion> latestRelease()
+  {
+    return Optional.ofNullable(this.releases.last())
+      .map(Map.Entry::getKey);
+  }
+
+  /**
+   * @return The number of indexed changes
+   */
+
+  public int changeCount()
+  {
+    return this.changeCount;
+  }
+
+  /**
+   * @return The number of distinct tokens in the index
+   */
+
+  public int tokenCount()
+  {
+    return this.tokens.size();
+  }
+
+  /**
+   * Find the changes that match a query.
+   *
+   * @param query The query
+   *
+   * @return The matching changes, most relevant first, and then in
+   * descending order of release version and ascending order of change
+   */
+
+  public List<CSearchHit> search(
+    final CSearchQuery query)
+  {
+    Objects.requireNonNull(query, "query");
+
+    final var terms = new ArrayList<>(query.terms());
+    for (final var phrase : query.phrases()) {
+      terms.addAll(phrase);
+    }
+
+    /*
+     * Evaluate the rarest terms first so that the candidate set is as
+     * small as possible when evaluating the more common terms.
+     */
+
+    final var postings = new ArrayList<Postings>(terms.size());
+    for (final var term : terms) {
+      final var termPostings = this.tokens.get(term);
+      if (termPostings == null) {
+        return List.of();
+      }
+      postings.add(termPostings);
+    }
+    postings.sort(Comparator.comparingInt(p -> p.changeCount));
+
+    Map<Document, double[]> scores = null;
+    for (final var termPostings : postings) {
+      scores = this.accumulate(scores, List.of(termPostings));
+      if (scores.isEmpty()) {
+        return List.of();
+      }
+    }
+
+    for (final var prefix : query.prefixes()) {
+      scores = this.accumulate(scores, this.postingsWithPrefix(prefix));
+      if (scores.isEmpty()) {
+        return List.of();
+      }
+    }
+
+    final var hits = new ArrayList<CSearchHit>(scores.size());
+    for (final var entry : scores.entrySet()) {
+      final var document = entry.getKey();
+      final var partial = this.releases.get(document.version);
+      final var summary = partial.summaries[document.change];
+      if (!containsPhrases(summary, query.phrases())) {
+        continue;
+      }
+
+      hits.add(
+        CSearchHit.builder()
+          .setRelease(document.version)
+          .setReleaseDate(partial.date)
+          .setChange(document.change)
+          .setChangeDate(partial.dates[document.change])
+          .setSummary(summary)
+          .setScore(entry.getValue()[0])
+          .build());
+    }
+
+    hits.sort(RANKING);
+    return List.copyOf(hits);
+  }
+
+  /**
+   * Write the index in a compact binary form that can be read with
+   * {@link #read(ByteBuffer)}.
+   *
+   * @param output The output
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public void write(
+    final DataOutput output)
+    throws IOException
+  {
+    Objects.requireNonNull(output, "output");
+
+    output.writeInt(this.releases.size());
+    for (final var entry : this.releases) {
+      final var partial = entry.getValue();
+      writeBigInteger(output, partial.version.major());
+      writeBigInteger(output, partial.version.minor());
+      writeBigInteger(output, partial.version.patch());
+      writeDate(output, partial.date);
+
+      output.writeInt(partial.summaries.length);
+      for (int index = 0; index < partial.summaries.length; ++index) {
+        writeDate(output, partial.dates[index]);
+        writeString(output, partial.summaries[index]);
+      }
+
+      output.writeInt(partial.tokens.size());
+      for (final var token : partial.tokens.entrySet()) {
+        writeString(output, token.getKey());
+        final var pairs = token.getValue();
+        output.writeInt(pairs.length);
+        for (final var value : pairs) {
+          output.writeInt(value);
+        }
+      }
+    }
+  }
+
+  /**
+   * Read an index written with {@link #write(DataOutput)}.
+   *
+   * @param buffer The input
+   *
+   * @return An index
+   *
+   * @throws IllegalArgumentException If the input is not a valid index
+   */
+
+  public static CSearchIndex read(
+    final ByteBuffer buffer)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(buffer, "buffer");
+
+    try {
+      var index = EMPTY;
+      final int releaseCount = readCount(buffer);
+      for (int release = 0; release < releaseCount; ++release) {
+        final var version =
+          CVersion.of(
+            readBigInteger(buffer),
+            readBigInteger(buffer),
+            readBigInteger(buffer));
+        final var date = readDate(buffer);
+
+        final int changeCount = readCount(buffer);
+        final var dates = new ZonedDateTime[changeCount];
+        final var summaries = new String[changeCount];
+        for (int change = 0; change < changeCount; ++change) {
+          dates[change] = readDate(buffer);
+          summaries[change] = readString(buffer);
+        }
+
+        final int tokenCount = readCount(buffer);
+        final var tokens = new LinkedHashMap<String, int[]>(tokenCount);
+        for (int token = 0; token < tokenCount; ++token) {
+          final var text = readString(buffer);
+          final var pairs = new int[readCount(buffer)];
+          for (int value = 0; value < pairs.length; ++value) {
+            pairs[value] = buffer.getInt();
+          }
+          checkPairs(pairs, changeCount);
+          tokens.put(text, pairs);
+        }
+
+        index = index.withPartial(
+          new Partial(version, date, dates, summaries, tokens));
+      }
+
+      if (buffer.hasRemaining()) {
+        throw new IllegalArgumentException("Trailing data in search index");
+      }
+      return index;
+    } catch (final BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated search index", e);
+    } catch (final DateTimeException e) {
+      throw new IllegalArgumentException("Invalid date in search index", e);
+    }
+  }
+
+  private Map<Document, double[]> accumulate(
+    final Map<Document, double[]> scores,
+    final List<Postings> clause)
+  {
+    final var result = new HashMap<Document, double[]>();
+    for (final var postings : clause) {
+      final double weight =
+        Math.log(1.0 + (double) this.changeCount / postings.changeCount);
+
+      for (final var entry : postings.changes) {
+        final var version = entry.getKey();
+        final var pairs = entry.getValue();
+        for (int index = 0; index < pairs.length; index += 2) {
+          final var document = new Document(version, pairs[index]);
+          final double score = pairs[index + 1] * weight;
+
+          if (scores == null) {
+            result.computeIfAbsent(document, d -> new double[1])[0] += score;
+            continue;
+          }
+
+          final var existing = scores.get(document);
+          if (existing != null) {
+            result.computeIfAbsent(
+              document, d -> new double[]{existing[0]})[0] += score;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private List<Postings> postingsWithPrefix(
+    final String prefix)
+  {
+    final var results = new ArrayList<Postings>();
+    final var iterator = this.tokens.iteratorFrom(prefix);
+    while (iterator.hasNext()) {
+      final var entry = iterator.next();
+      if (!entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      results.add(entry.getValue());
+    }
+    return results;
+  }
+
+  private static boolean containsPhrases(
+    final String summary,
+    final List<List<String>> phrases)
+  {
+    if (phrases.isEmpty()) {
+      return true;
+    }
+
+    final var tokens = CSearchQueries.tokenize(summary);
+    for (final var phrase : phrases) {
+      if (Collections.indexOfSubList(tokens, phrase) == -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private CSearchIndex withPartial(
+    final Partial partial)
+  {
+    var newTokens = this.tokens;
+    var newChangeCount = this.changeCount;
+
+    final var existing = this.releases.get(partial.version);
+    if (existing != null) {
+      newTokens = removeRelease(newTokens, existing);
+      newChangeCount -= existing.summaries.length;
+    }
+
+    for (final var entry : partial.tokens.entrySet()) {
+      final var token = entry.getKey();
+      var postings = newTokens.get(token);
+      if (postings == null) {
+        postings = Postings.EMPTY;
+      }
+      newTokens = newTokens.put(
+        token, postings.withRelease(partial.version, entry.getValue()));
+    }
+
+    return new CSearchIndex(
+      newTokens,
+      this.releases.put(partial.version, partial),
+      newChangeCount + partial.summaries.length);
+  }
+
+  private static CPersistentTreeMap<String, Postings> removeRelease(
+    final CPersistentTreeMap<String, Postings> tokens,
+    final Partial partial)
+  {
+    var result = tokens;
+    for (final var token : partial.tokens.keySet()) {
+      final var byRelease =
+        result.get(token).withoutRelease(partial.version);
+      if (byRelease.isEmpty()) {
+        result = result.remove(token);
+      } else {
+        result = result.put(token, byRelease);
+      }
+    }
+    return result;
+  }
+
+  private static Partial partialOf(
+    final CRelease release)
+  {
+    final var changes = release.changes();
+    final var dates = new ZonedDateTime[changes.size()];
+    final var summaries = new String[changes.size()];
+    for (int index = 0; index < dates.length; ++index) {
+      final var change = changes.get(index);
+      dates[index] = change.date();
+      summaries[index] = change.summary();
+    }
+    return partialOf(release.version(), release.date(), dates, summaries);
+  }
+
+  /**
+   * Build the partial index of a single release.
+   */
+
+  private static Partial partialOf(
+    final CVersion version,
+    final ZonedDateTime date,
+    final ZonedDateTime[] dates,
+    final String[] summaries)
+  {
+    final var builders = new LinkedHashMap<String, PairsBuilder>();
+    final var counts = new LinkedHashMap<String, int[]>();
+
+    for (int index = 0; index < summaries.length; ++index) {
+      counts.clear();
+      for (final var token : CSearchQueries.tokenize(summaries[index])) {
+        counts.computeIfAbsent(token, t -> new int[1])[0]++;
+      }
+      for (final var entry : counts.entrySet()) {
+        builders.computeIfAbsent(entry.getKey(), t -> new PairsBuilder())
+          .add(index, entry.getValue()[0]);
+      }
+    }
+
+    final var tokens = new LinkedHashMap<String, int[]>(builders.size());
+    for (final var entry : builders.entrySet()) {
+      tokens.put(entry.getKey(), entry.getValue().build());
+    }
+    return new Partial(version, date, dates, summaries, tokens);
+  }
+
+  private static void checkPairs(
+    final int[] pairs,
+    final int changeCount)
+  {
+    if (pairs.length == 0 || pairs.length % 2 != 0) {
+      throw new IllegalArgumentException("Invalid postings in search index");
+    }
+    for (int index = 0; index < pairs.length; index += 2) {
+      final var change = pairs[index];
+      if (change < 0 || change >= changeCount || pairs[index + 1] <= 0) {
+        throw new IllegalArgumentException(
+          "Invalid postings in search index");
+      }
+    }
+  }
+
+  private static void writeBigInteger(
+    final DataOutput output,
+    final BigInteger value)
+    throws IOException
+  {
+    final byte[] bytes = value.toByteArray();
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static BigInteger readBigInteger(
+    final ByteBuffer buffer)
+  {
+    return new BigInteger(readBytes(buffer));
+  }
+
+  private static void writeDate(
+    final DataOutput output,
+    final ZonedDateTime date)
+    throws IOException
+  {
+    final var instant = date.toInstant();
+    output.writeLong(instant.getEpochSecond());
+    output.writeInt(instant.getNano());
+    writeString(output, date.getZone().getId());
+  }
+
+  private static ZonedDateTime readDate(
+    final ByteBuffer buffer)
+  {
+    final long seconds = buffer.getLong();
+    final int nanos = buffer.getInt();
+    return ZonedDateTime.ofInstant(
+      Instant.ofEpochSecond(seconds, nanos),
+      ZoneId.of(readString(buffer)));
+  }
+
+  private static void writeString(
+    final DataOutput output,
+    final String text)
+    throws IOException
+  {
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(
+    final ByteBuffer buffer)
+  {
+    return new String(readBytes(buffer), StandardCharsets.UTF_8);
+  }
+
+  private static int readCount(
+    final ByteBuffer buffer)
+  {
+    final int count = buffer.getInt();
+    if (count < 0 || count > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid count: " + count);
+    }
+    return count;
+  }
+
+  private static byte[] readBytes(
+    final ByteBuffer buffer)
+  {
+    final byte[] bytes = new byte[readCount(buffer)];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * A change, identified by the version of its release and its index
+   * within the release.
+   */
+
+  private static final class Document
+  {
+    private final CVersion version;
+    private final int change;
+
+    Document(
+      final CVersion inVersion,
+      final int inChange)
+    {
+      this.version = inVersion;
+      this.change = inChange;
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Document)) {
+        return false;
+      }
+      final var document = (Document) other;
+      return this.change == document.change
+        && this.version.equals(document.version);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 31 * this.version.hashCode() + this.change;
+    }
+  }
+
+  /**
+   * The index of a single release: the dates and summaries of its changes,
+   * and the changes containing each token as packed pairs of change index
+   * and number of occurrences, in ascending order of change index.
+   */
+
+  private static final class Partial
+  {
+    private final CVersion version;
+    private final ZonedDateTime date;
+    private final ZonedDateTime[] dates;
+    private final String[] summaries;
+    private final Map<String, int[]> tokens;
+
+    Partial(
+      final CVersion inVersion,
+      final ZonedDateTime inDate,
+      final ZonedDateTime[] inDates,
+      final String[] inSummaries,
+      final Map<String, int[]> inTokens)
+    {
+      this.version = inVersion;
+      this.date = inDate;
+      this.dates = inDates;
+      this.summaries = inSummaries;
+      this.tokens = inTokens;
+    }
+  }
+
+  private static final class PairsBuilder
+  {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(
+      final int change,
+      final int count)
+    {
+      if (this.size == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+      this.values[this.size] = change;
+      this.values[this.size + 1] = count;
+      this.size += 2;
+    }
+
+    int[] build()
+    {
+      return Arrays.copyOf(this.values, this.size);
+    }
+  }
+
+  /**
+   * The changes that contain a single token, as packed pairs by release
+   * version, and the total number of such changes.
+   */
+
+  private static final class Postings
+  {
+    private static final Postings EMPTY =
+      new Postings(CPersistentTreeMap.empty(CVersions.ascending()), 0);
+
+    private final CPersistentTreeMap<CVersion, int[]> changes;
+    private final int changeCount;
+
+    private Postings(
+      final CPersistentTreeMap<CVersion, int[]> inChanges,
+      final int inChangeCount)
+    {
+      this.changes = inChanges;
+      this.changeCount = inChangeCount;
+    }
+
+    boolean isEmpty()
+    {
+      return this.changes.size() == 0;
+    }
+
+    Postings withRelease(
+      final CVersion version,
+      final int[] pairs)
+    {
+      final var existing = this.changes.get(version);
+      final var removed = existing == null ? 0 : existing.length / 2;
+      return new Postings(
+        this.changes.put(version, pairs),
+        this.changeCount - removed + pairs.length / 2);
+    }
+
+    Postings withoutRelease(
+      final CVersion version)
+    {
+      final var existing = this.changes.get(version);
+      if (existing == null) {
+        return this;
+      }
+      return new Postings(
+        this.changes.remove(version),
+        this.changeCount - existing.length / 2);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.core;
+
+import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Functions for tokenizing text and parsing full-text queries.
+ */
+
+public final class CSearchQueries
+{
+  private CSearchQueries()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Split text into tokens. The text is converted to lower case, and a token
+   * is then a maximal run of letters and digits.
+   *
+   * @param text The text
+   *
+   * @return The tokens of {@code text}, in order
+   */
+
+  public static List<String> tokenize(
+    final String text)
+  {
+    Objects.requireNonNull(text, "text");
+
+    final var lower = text.toLowerCase(Locale.ROOT);
+    final var tokens = new ArrayList<String>();
+    final var length = lower.length();
+    int start = -1;
+    int index = 0;
+    while (index < length) {
+      final int code = lower.codePointAt(index);
+      if (Character.isLetterOrDigit(code)) {
+        if (start == -1) {
+          start = index;
+        }
+      } else if (start != -1) {
+        tokens.add(lower.substring(start, index));
+        start = -1;
+      }
+      index += Character.charCount(code);
+    }
+    if (start != -1) {
+      tokens.add(lower.substring(start));
+    }
+    return tokens;
+  }
+
+  /**
+   * Parse a query. A query consists of whitespace-separated words, all of
+   * which must match. A word ending in {@code *} matches any token that
+   * begins with the word, and text enclosed in double quotes matches the
+   * tokens of the text appearing consecutively. Words are tokenized as with
+   * {@link #tokenize(String)}, and so {@code foo-bar} is equivalent to
+   * {@code foo bar}.
+   *
+   * @param text The query text
+   *
+   * @return A parsed query
+   *
+   * @throws IllegalArgumentException If the query is malformed or empty
+   */
+
+  public static CSearchQuery parse(
+    final String text)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(text, "text");
+
+    final var builder = CSearchQuery.builder();
+    final var length = text.length();
+    boolean empty = true;
+    int index = 0;
+
+    while (index < length) {
+      final char c = text.charAt(index);
+      if (Character.isWhitespace(c)) {
+        ++index;
+        continue;
+      }
+
+      if (c == '"') {
+        final int end = text.indexOf('"', index + 1);
+        if (end == -1) {
+          throw new IllegalArgumentException(
+            String.format("Unterminated phrase in query: %s", text));
+        }
+        final var tokens = tokenize(text.substring(index + 1, end));
+        if (tokens.size() == 1) {
+          builder.addTerms(tokens.get(0));
+          empty = false;
+        } else if (tokens.size() > 1) {
+          builder.addPhrases(tokens);
+          empty = false;
+        }
+        index = end + 1;
+        continue;
+      }
+
+      int end = index;
+      while (end < length
+        && !Character.isWhitespace(text.charAt(end))
+        && text.charAt(end) != '"') {
+        ++end;
+      }
+
+      final var word = text.substring(index, end);
+      final var tokens = tokenize(word);
+      if (!tokens.isEmpty()) {
+        final var last = tokens.size() - 1;
+        builder.addAllTerms(tokens.subList(0, last));
+        if (word.endsWith("*")) {
+          builder.addPrefixes(tokens.get(last));
+        } else {
+          builder.addTerms(tokens.get(last));
+        }
+        empty = false;
+      }
+      index = end;
+    }
+
+    if (empty) {
+      throw new IllegalArgumentException(
+        String.format("Query contains no searchable words: %s", text));
+    }
+    return builder.build();
+  }
+
+  static void checkToken(
+    final String text)
+  {
+    Preconditions.checkPrecondition(
+      text,
+      tokenize(text).equals(List.of(text)),
+      t -> String.format("Query term '%s' must be a single token", t));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jaffirm.core.Preconditions;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * A full-text query over change summaries. A change matches the query if
+ * its summary contains every term, a token beginning with every prefix, and
+ * every phrase. All terms, prefixes, and phrases are expressed as tokens
+ * produced by {@link CSearchQueries#tokenize(String)}.
+ *
+ * @see CSearchQueries#parse(String)
+ * @see CSearchIndex#search(CSearchQuery)
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CSearchQueryType
+{
+  /**
+   * @return The tokens that matching summaries must contain
+   */
+
+  List<String> terms();
+
+  /**
+   * @return The prefixes of tokens that matching summaries must contain
+   */
+
+  List<String> prefixes();
+
+  /**
+   * @return The sequences of consecutive tokens that matching summaries
+   * must contain
+   */
+
+  List<List<String>> phrases();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    Preconditions.checkPrecondition(
+      this,
+      !this.terms().isEmpty()
+        || !this.prefixes().isEmpty()
+        || !this.phrases().isEmpty(),
+      q -> "A query must contain at least one term, prefix, or phrase");
+
+    for (final var text : this.terms()) {
+      CSearchQueries.checkToken(text);
+    }
+    for (final var text : this.prefixes()) {
+      CSearchQueries.checkToken(text);
+    }
+    for (final var phrase : this.phrases()) {
+      Preconditions.checkPrecondition(
+        phrase,
+        !phrase.isEmpty(),
+        p -> "Phrases must be non-empty");
+      for (final var text : phrase) {
+        CSearchQueries.checkToken(text);
+      }
+    }
+  }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An immutable inverted index from ticket IDs to the changes that refer to
+ * them.
+ *
+ * <p>The index is built from a separate partial index of each release, and
+ * so the partial indexes can be built in parallel. The index is held in
+ * persistent trees, and so replacing a single release, such as after
+ * adding a change to it, takes time proportional to the size of that
+ * release rather than to the size of the changelog.</p>
+ *
+ * @see CChangelogType#ticketIndex()
+ */
+
+public final class CTicketIndex
+{
+  private static final Comparator<CTicketID> TICKET_ORDER =
+    Comparator.comparing(CTicketID::value);
+
+  private static final CTicketIndex EMPTY =
+    new CTicketIndex(
+      CPersistentTreeMap.empty(TICKET_ORDER),
+      CPersistentTreeMap.empty(CVersions.ascending()));
+
+  private static final int[] NO_CHANGES = new int[0];
+
+  /**
+   * The changes that refer to each ticket, as change indices by release.
+   */
+
+  private final CPersistentTreeMap<CTicketID, Postings> tickets;
+
+  /**
+   * The tickets referred to by each release.
+   */
+
+  private final CPersistentTreeMap<CVersion, Collection<CTicketID>> releases;
+
+  private CTicketIndex(
+    final CPersistentTreeMap<CTicketID, Postings> inTickets,
+    final CPersistentTreeMap<CVersion, Collection<CTicketID>> inReleases)
+  {
+    this.tickets = inTickets;
+    this.releases = inReleases;
+  }
+
+  /**
+   * @return An empty index
+   */
+
+  public static CTicketIndex empty()
+  {
+    return EMPTY;
+  }
+
+  /**
+   * Create an index of the given changelog.
+   *
+   * @param changelog The changelog
+   *
+   * @return An index of {@code changelog}
+   */
+
+  public static CTicketIndex of(
+    final CChangelogType changelog)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+
+    var index = EMPTY;
+    for (final var release : changelog.releases().values()) {
+      index = index.withPartial(release.version(), partialOf(release));
+    }
+    return index;
+  }
+
+  /**
+   * Create an index of the given changelog, building the partial index of
+   * each release on the given executor.
+   *
+   * @param changelog The changelog
+   * @param executor  The executor
+   *
+   * @return An index of {@code changelog}
+   */
+
+  public static CTicketIndex ofParallel(
+    final CChangelogType changelog,
+    final Executor executor)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+    Objects.requireNonNull(executor, "executor");
+
+    final var releases = changelog.releases().values();
+    final var partials =
+      new ArrayList<CompletableFuture<Map<CTicketID, int[]>>>(releases.size());
+
+    for (final var release : releases) {
+      partials.add(
+        CompletableFuture.supplyAsync(() -> partialOf(release), executor));
+    }
+
+    var index = EMPTY;
+    var position = 0;
+    for (final var release : releases) {
+      index = index.withPartial(
+        release.version(), partials.get(position).join());
+      ++position;
+    }
+    return index;
+  }
+
+  /**
+   * Index a release, replacing the index of any existing release with the
+   * same version.
+   *
+   * @param release The release
+   *
+   * @return An index including {@code release}
+   */
+
+  public CTicketIndex withRelease(
+    final CRelease release)
+  {
+    Objects.requireNonNull(release, "release");
+    return this.withPartial(release.version(), partialOf(release));
+  }
+
+  /**
+   * Remove the index of a release.
+   *
+   * @param version The version of the release
+   *
+   * @return An index that does not include the release
+   */
+
+  public CTicketIndex withoutRelease(
+    final CVersion version)
+  {
+    Objects.requireNonNull(version, "version");
+
+    final var existing = this.releases.get(version);
+    if (existing == null) {
+      return this;
+    }
+    return new CTicketIndex(
+      removeRelease(this.tickets, version, existing),
+      this.releases.remove(version));
+  }
+
+  /**
+   * @param ticket The ticket
+   *
+   * @return The changes that refer to {@code ticket}, in ascending order of
+   * release version and then in the order of the changes within each release
+   */
+
+  public List<CTicketReference> find(
+    final CTicketID ticket)
+  {
+    Objects.requireNonNull(ticket, "ticket");
+
+    final var postings = this.tickets.get(ticket);
+    if (postings == null) {
+      return List.of();
+    }
+
+    final var results = new ArrayList<CTicketReference>();
+    for (final var entry : postings.changes) {
+      final var version = entry.getKey();
+      for (final var change : entry.getValue()) {
+        results.add(CTicketReference.of(version, change));
+      }
+    }
+    return List.copyOf(results);
+  }
+
+  /**
+   * @return The number of distinct tickets in the index
+   */
+
+  public int ticketCount()
+  {
+    return this.tickets.size();
+  }
+
+  private CTicketIndex withPartial(
+    final CVersion version,
+    final Map<CTicketID, int[]> partial)
+  {
+    var newTickets = this.tickets;
+
+    final var existing = this.releases.get(version);
+    if (existing != null) {
+      newTickets = removeRelease(newTickets, version, existing);
+    }
+
+    for (final var entry : partial.entrySet()) {
+      final var ticket = entry.getKey();
+      var postings = newTickets.get(ticket);
+      if (postings == null) {
+        postings = Postings.EMPTY;
+      }
+      newTickets = newTickets.put(
+        ticket, postings.withRelease(version, entry.getValue()));
+    }
+
+    final CPersistentTreeMap<CVersion, Collection<CTicketID>> newReleases;
+    if (partial.isEmpty()) {
+      newReleases = this.releases.remove(version);
+    } else {
+      newReleases = this.releases.put(version, List.copyOf(partial.keySet()));
+    }
+    return new CTicketIndex(newTickets, newReleases);
+  }
+
+  private static CPersistentTreeMap<CTicketID, Postings> removeRelease(
+    final CPersistentTreeMap<CTicketID, Postings> tickets,
+    final CVersion version,
+    final Collection<CTicketID> releaseTickets)
+  {
+    var result = tickets;
+    for (final var ticket : releaseTickets) {
+      final var byRelease = result.get(ticket).withoutRelease(version);
+      if (byRelease.isEmpty()) {
+        result = result.remove(ticket);
+      } else {
+        result = result.put(ticket, byRelease);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Build the partial index of a single release.
+   */
+
+  private static Map<CTicketID, int[]> partialOf(
+    final CRelease release)
+  {
+    final var changes = release.changes();
+    final var partial = new LinkedHashMap<CTicketID, int[]>();
+
+    for (int index = 0; index < changes.size(); ++index) {
+      for (final var ticket : changes.get(index).tickets()) {
+        final var existing = partial.getOrDefault(ticket, NO_CHANGES);
+        final var length = existing.length;
+        if (length > 0 && existing[length - 1] == index) {
+          continue;
+        }
+        final var extended = Arrays.copyOf(existing, length + 1);
+        extended[length] = index;
+        partial.put(ticket, extended);
+      }
+    }
+    return partial;
+  }
+
+  /**
+   * The changes that refer to a single ticket, as change indices by
+   * release version.
+   */
+
+  private static final class Postings
+  {
+    private static final Postings EMPTY =
+      new Postings(CPersistentTreeMap.empty(CVersions.ascending()));
+
+    private final CPersistentTreeMap<CVersion, int[]> changes;
+
+    private Postings(
+      final CPersistentTreeMap<CVersion, int[]> inChanges)
+    {
+      this.changes = inChanges;
+    }
+
+    boolean isEmpty()
+    {
+      return this.changes.size() == 0;
+    }
+
+    Postings withRelease(
+      final CVersion version,
+      final int[] indices)
+    {
+      return new Postings(this.changes.put(version, indices));
+    }
+
+    Postings withoutRelease(
+      final CVersion version)
+    {
+      return new Postings(this.changes.remove(version));
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The ticket link prefixes of a changelog, resolved once per changelog
+ * rather than once per ticket. A link to a ticket is the URI of the
+ * ticket system of the release followed by the ticket ID. Links are built
+ * by concatenation without constructing {@code URI} values, and are equal
+ * to the strings previously produced by
+ * {@code URI.create(uri.toString() + id).toString()}. In particular, ticket
+ * IDs may contain non-ASCII letters and digits, and these are not
+ * percent-encoded, exactly as {@code java.net.URI} permits.
+ */
+
+public final class CTicketLinks
+{
+  private final Map<String, String> prefixes;
+
+  private CTicketLinks(
+    final Map<String, String> inPrefixes)
+  {
+    this.prefixes = inPrefixes;
+  }
+
+  /**
+   * Resolve the link prefixes of all ticket systems in a changelog.
+   *
+   * @param changelog The changelog
+   *
+   * @return The ticket links of the changelog
+   */
+
+  public static CTicketLinks of(
+    final CChangelogType changelog)
+  {
+    Objects.requireNonNull(changelog, "changelog");
+
+    final var systems = changelog.ticketSystems();
+    final var prefixes = new HashMap<String, String>(systems.size());
+    for (final var system : systems.values()) {
+      prefixes.put(system.id(), system.uri().toString());
+    }
+    return new CTicketLinks(prefixes);
+  }
+
+  /**
+   * @param ticketSystemID The ticket system ID
+   *
+   * @return The link prefix of the given ticket system
+   *
+   * @throws IllegalArgumentException If the ticket system is not defined
+   */
+
+  public String prefix(
+    final String ticketSystemID)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(ticketSystemID, "ticketSystemID");
+
+    final var prefix = this.prefixes.get(ticketSystemID);
+    if (prefix == null) {
+      throw new IllegalArgumentException(
+        String.format("No ticket system named %s is defined", ticketSystemID));
+    }
+    return prefix;
+  }
+
+  /**
+   * @param ticketSystemID The ticket system ID
+   * @param ticket         The ticket
+   *
+   * @return A link to the given ticket
+   *
+   * @throws IllegalArgumentException If the ticket system is not defined
+   */
+
+  public String link(
+    final String ticketSystemID,
+    final CTicketID ticket)
+    throws IllegalArgumentException
+  {
+    return this.prefix(ticketSystemID).concat(ticket.value());
+  }
+
+  /**
+   * Append a link to the given ticket to {@code output}.
+   *
+   * @param output         The output
+   * @param ticketSystemID The ticket system ID
+   * @param ticket         The ticket
+   * @param <A>            The type of output
+   *
+   * @return {@code output}
+   *
+   * @throws IOException              On I/O errors
+   * @throws IllegalArgumentException If the ticket system is not defined
+   */
+
+  public <A extends Appendable> A appendLink(
+    final A output,
+    final String ticketSystemID,
+    final CTicketID ticket)
+    throws IOException, IllegalArgumentException
+  {
+    output.append(this.prefix(ticketSystemID));
+    output.append(ticket.value());
+    return output;
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.core;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * An interner for the small values that are repeated throughout a
+ * changelog: module names, ticket IDs, and ticket system IDs. Interning a
+ * value returns a previously returned instance equal to that value, if one
+ * exists, and so each distinct value is validated and stored only once.
+ *
+ * <p>Interners created with {@link #createLocal()} are intended to be used
+ * for the duration of a single parse, and are not safe for use from
+ * multiple threads. The interner returned by {@link #global()} is shared,
+ * safe for use from multiple threads, and only holds weak references to
+ * the values it returns.</p>
+ */
+
+public final class CValueInterner
+{
+  private static final CValueInterner GLOBAL =
+    new CValueInterner(WeakTable::new);
+
+  private final TableType<CModuleName> moduleNames;
+  private final TableType<CTicketID> ticketIDs;
+  private final TableType<String> ticketSystemIDs;
+
+  private CValueInterner(
+    final TableFactoryType tables)
+  {
+    this.moduleNames =
+      tables.create(CModuleName::of, CModuleName::value);
+    this.ticketIDs =
+      tables.create(CTicketID::of, CTicketID::value);
+    this.ticketSystemIDs =
+      tables.create(Function.identity(), Function.identity());
+  }
+
+  /**
+   * @return A new interner for use by a single thread
+   */
+
+  public static CValueInterner createLocal()
+  {
+    return new CValueInterner(LocalTable::new);
+  }
+
+  /**
+   * @return The shared, weakly-referenced interner
+   */
+
+  public static CValueInterner global()
+  {
+    return GLOBAL;
+  }
+
+  /**
+   * @param name The module name
+   *
+   * @return A module name equal to {@code CModuleName.of(name)}
+   */
+
+  public CModuleName moduleName(
+    final String name)
+  {
+    return this.moduleNames.intern(name);
+  }
+
+  /**
+   * @param id The ticket ID
+   *
+   * @return A ticket ID equal to {@code CTicketID.of(id)}
+   */
+
+  public CTicketID ticketID(
+    final String id)
+  {
+    return this.ticketIDs.intern(id);
+  }
+
+  /**
+   * @param id The ticket system ID
+   *
+   * @return A string equal to {@code id}
+   */
+
+  public String ticketSystemID(
+    final String id)
+  {
+    return this.ticketSystemIDs.intern(id);
+  }
+
+  private interface TableFactoryType
+  {
+    <T> TableType<T> create(
+      Function<String, T> constructor,
+      Function<T, String> keyOf);
+  }
+
+  private interface TableType<T>
+  {
+    T intern(String text);
+  }
+
+  private static final class LocalTable<T> implements TableType<T>
+  {
+    private final Function<String, T> constructor;
+    private final Map<String, T> values;
+
+    LocalTable(
+      final Function<String, T> inConstructor,
+      final Function<T, String> inKeyOf)
+    {
+      this.constructor = inConstructor;
+      this.values = new HashMap<>(64);
+    }
+
+    @Override
+    public T intern(
+      final String text)
+    {
+      Objects.requireNonNull(text, "Text");
+
+      final var existing = this.values.get(text);
+      if (existing != null) {
+        return existing;
+      }
+
+      final var value = this.constructor.apply(text);
+      this.values.put(text, value);
+      return value;
+    }
+  }
+
+  /**
+   * A table that holds its values weakly. Each value strongly refers to the
+   * string from which it was constructed, and that string is used as the
+   * key, so an entry remains in the table for exactly as long as its value
+   * is reachable from elsewhere.
+   */
+
+  private static final class WeakTable<T> implements TableType<T>
+  {
+    private final Function<String, T> constructor;
+    private final Function<T, String> keyOf;
+    private final WeakHashMap<String, WeakReference<T>> values;
+
+    WeakTable(
+      final Function<String, T> inConstructor,
+      final Function<T, String> inKeyOf)
+    {
+      this.constructor = inConstructor;
+      this.keyOf = inKeyOf;
+      this.values = new WeakHashMap<>(64);
+    }
+
+    @Override
+    public T intern(
+      final String text)
+    {
+      Objects.requireNonNull(text, "Text");
+
+      synchronized (this.values) {
+        final var existing = this.values.get(text);
+        if (existing != null) {
+          final var value = existing.get();
+          if (value != null) {
+            return value;
+          }
+        }
+
+        final var value = this.constructor.apply(text);
+        this.values.put(this.keyOf.apply(value), new WeakReference<>(value));
+        return value;
+      }
+    }
+  }
+}
@@ -21,7 +21,6 @@ import com.io7m.jaffirm.core.Preconditions;
 import org.immutables.value.Value;
 
 import java.math.BigInteger;
-import java.util.Comparator;
 import java.util.Formattable;
 import java.util.Formatter;
 
@@ -54,14 +53,47 @@ public interface CVersionType extends Comparable<CVersionType>, Formattable
   @Value.Parameter
   BigInteger patch();
 
+  /**
+   * The version packed into a single {@code long}, with 21 bits for each
+   * of the major, minor, and patch components. Versions with components
+   * that do not fit into 21 bits are not packed, and this method returns
+   * {@code -1} for those versions.
+   *
+   * <p>The packed value is computed once on construction and is stored
+   * alongside the {@code BigInteger} components rather than replacing
+   * them, so it makes each version slightly larger, not smaller. It
+   * exists only so that {@link #compareTo(CVersionType)} can compare two
+   * small versions with a single {@code long} comparison.</p>
+   *
+   * @return The packed version, or {@code -1}
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default long packed()
+  {
+    return CVersions.pack(this.major(), this.minor(), this.patch());
+  }
+
   @Override
   default int compareTo(
     final CVersionType other)
   {
-    return Comparator.comparing(CVersionType::major)
-      .thenComparing(CVersionType::minor)
-      .thenComparing(CVersionType::patch)
-      .compare(this, other);
+    final long x = this.packed();
+    final long y = other.packed();
+    if (x != -1L && y != -1L) {
+      return Long.compare(x, y);
+    }
+
+    final int major = this.major().compareTo(other.major());
+    if (major != 0) {
+      return major;
+    }
+    final int minor = this.minor().compareTo(other.minor());
+    if (minor != 0) {
+      return minor;
+    }
+    return this.patch().compareTo(other.patch());
   }
 
   /**
@@ -19,6 +19,7 @@ package com.io7m.changelog.core;
 import com.io7m.junreachable.UnreachableCodeException;
 
 import java.math.BigInteger;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -31,11 +32,77 @@ public final class CVersions
   private static Pattern VALID_VERSION =
     Pattern.compile("(\\p{Nd}+)\\.(\\p{Nd}+)\\.(\\p{Nd}+)");
 
+  private static final int PACKED_COMPONENT_BITS = 21;
+  private static final long PACKED_COMPONENT_MASK =
+    (1L << PACKED_COMPONENT_BITS) - 1L;
+
+  /*
+   * The longest run of decimal digits that is guaranteed to fit into a long.
+   */
+
+  private static final int FAST_PATH_DIGITS_MAX = 18;
+
+  private static final Comparator<CVersionType> ASCENDING =
+    CVersionType::compareTo;
+  private static final Comparator<CVersionType> DESCENDING =
+    ASCENDING.reversed();
+
   private CVersions()
   {
     throw new UnreachableCodeException();
   }
 
+  /**
+   * @return A comparator that sorts versions in ascending order
+   */
+
+  public static Comparator<CVersionType> ascending()
+  {
+    return ASCENDING;
+  }
+
+  /**
+   * @return A comparator that sorts versions in descending order
+   */
+
+  public static Comparator<CVersionType> descending()
+  {
+    return DESCENDING;
+  }
+
+  /**
+   * Pack the given version components into a single {@code long}.
+   *
+   * @param major The major version
+   * @param minor The minor version
+   * @param patch The patch version
+   *
+   * @return The packed version, or {@code -1} if any component is negative
+   * or does not fit into 21 bits
+   *
+   * @see CVersionType#packed()
+   */
+
+  public static long pack(
+    final BigInteger major,
+    final BigInteger minor,
+    final BigInteger patch)
+  {
+    if (!isPackable(major) || !isPackable(minor) || !isPackable(patch)) {
+      return -1L;
+    }
+
+    return (major.longValue() << (PACKED_COMPONENT_BITS * 2))
+      | (minor.longValue() << PACKED_COMPONENT_BITS)
+      | patch.longValue();
+  }
+
+  private static boolean isPackable(
+    final BigInteger x)
+  {
+    return x.signum() >= 0 && x.bitLength() <= PACKED_COMPONENT_BITS;
+  }
+
   /**
    * Attempt to parse a version number.
    *
@@ -49,6 +116,11 @@ public final class CVersions
   {
     Objects.requireNonNull(version, "Version");
 
+    final var fast = parseFast(version);
+    if (fast != null) {
+      return fast;
+    }
+
     final var matcher = VALID_VERSION.matcher(version);
     if (matcher.matches()) {
       final var major = new BigInteger(matcher.group(1));
@@ -62,4 +134,49 @@ public final class CVersions
       VALID_VERSION)
     );
   }
+
+  /**
+   * Parse a version consisting solely of ASCII digits and dots without
+   * using regular expressions. Anything else, including the non-ASCII
+   * digits accepted by the full parser, yields {@code null}.
+   */
+
+  private static CVersion parseFast(
+    final String version)
+  {
+    final int length = version.length();
+    final long[] components = new long[3];
+
+    int component = 0;
+    int digits = 0;
+    long value = 0L;
+
+    for (int index = 0; index < length; ++index) {
+      final char c = version.charAt(index);
+      if (c >= '0' && c <= '9') {
+        if (digits == FAST_PATH_DIGITS_MAX) {
+          return null;
+        }
+        value = (value * 10L) + (long) (c - '0');
+        ++digits;
+      } else if (c == '.' && digits > 0 && component < 2) {
+        components[component] = value;
+        ++component;
+        digits = 0;
+        value = 0L;
+      } else {
+        return null;
+      }
+    }
+
+    if (component != 2 || digits == 0) {
+      return null;
+    }
+
+    components[2] = value;
+    return CVersion.of(
+      BigInteger.valueOf(components[0]),
+      BigInteger.valueOf(components[1]),
+      BigInteger.valueOf(components[2]));
+  }
 }
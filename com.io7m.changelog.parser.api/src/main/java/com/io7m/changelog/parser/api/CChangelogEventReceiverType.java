@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.parser.api;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+
+/**
+ * A receiver of the events produced by a streaming parser. Events are
+ * delivered in document order as each element is completed. Each method
+ * returns an {@link Action} indicating whether or not parsing should
+ * continue. The default implementations ignore the event and continue.
+ *
+ * @see CChangelogParserType#parseStreaming(CChangelogEventReceiverType)
+ */
+
+public interface CChangelogEventReceiverType
+{
+  /**
+   * The action to take after an event.
+   */
+
+  enum Action
+  {
+    /**
+     * Continue parsing.
+     */
+
+    CONTINUE,
+
+    /**
+     * Stop parsing without processing the rest of the document.
+     */
+
+    STOP
+  }
+
+  /**
+   * The name of the project has been parsed.
+   *
+   * @param project The project name
+   *
+   * @return The action to take
+   */
+
+  default Action onProject(
+    final CProjectName project)
+  {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * The attributes of a release have been parsed, but none of its changes
+   * have been parsed yet. The given release has an empty list of changes.
+   * If this method returns {@code false}, the parser does not build any of
+   * the changes of the release, and neither
+   * {@link #onChange(CVersion, CChange)} nor {@link #onRelease(CRelease)}
+   * are called for the release. The release is still validated.
+   *
+   * @param release The release, without changes
+   *
+   * @return {@code true} if the changes of the release are required
+   */
+
+  default boolean wantsRelease(
+    final CRelease release)
+  {
+    return true;
+  }
+
+  /**
+   * Indicate that {@link #wantsRelease(CRelease)} returns {@code true} for
+   * every release. Parsers do not call {@link #wantsRelease(CRelease)} for
+   * receivers that return {@code true} here, and so need not build a
+   * release without changes for each release. The default implementation
+   * returns {@code false}, which is always correct.
+   *
+   * @return {@code true} if every release is wanted
+   */
+
+  default boolean wantsAllReleases()
+  {
+    return false;
+  }
+
+  /**
+   * A change has been parsed. The change will also be included in the
+   * release later delivered to {@link #onRelease(CRelease)}.
+   *
+   * @param release The version of the release containing the change
+   * @param change  The change
+   *
+   * @return The action to take
+   */
+
+  default Action onChange(
+    final CVersion release,
+    final CChange change)
+  {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * A release, including all of its changes, has been parsed.
+   *
+   * @param release The release
+   *
+   * @return The action to take
+   */
+
+  default Action onRelease(
+    final CRelease release)
+  {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * A ticket system has been parsed.
+   *
+   * @param ticketSystem The ticket system
+   *
+   * @return The action to take
+   */
+
+  default Action onTicketSystem(
+    final CTicketSystem ticketSystem)
+  {
+    return Action.CONTINUE;
+  }
+}
@@ -19,6 +19,9 @@ package com.io7m.changelog.parser.api;
 import com.io7m.changelog.core.CChangelog;
 
 import java.io.IOException;
+import java.util.List;
+
+import static com.io7m.changelog.parser.api.CChangelogEventReceiverType.Action.STOP;
 
 /**
  * The type of parsers.
@@ -34,4 +37,50 @@ public interface CChangelogParserType
 
   CChangelog parse()
     throws IOException;
+
+  /**
+   * Parse the changelog, delivering each element to {@code receiver} as soon
+   * as it has been parsed, and without retaining the parsed elements. If the
+   * receiver returns {@link CChangelogEventReceiverType.Action#STOP}, parsing
+   * stops immediately and the remainder of the document is neither parsed
+   * nor validated. Events may be delivered for elements that precede an
+   * error in the document; an exception is raised once the error is
+   * encountered. A parser may only be used once.
+   *
+   * The default implementation parses the entire changelog with
+   * {@link #parse()} and then delivers the events.
+   *
+   * @param receiver The event receiver
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void parseStreaming(
+    final CChangelogEventReceiverType receiver)
+    throws IOException
+  {
+    final var changelog = this.parse();
+    if (receiver.onProject(changelog.project()) == STOP) {
+      return;
+    }
+    final var all = receiver.wantsAllReleases();
+    for (final var release : changelog.releases().values()) {
+      if (!all && !receiver.wantsRelease(release.withChanges(List.of()))) {
+        continue;
+      }
+      for (final var change : release.changes()) {
+        if (receiver.onChange(release.version(), change) == STOP) {
+          return;
+        }
+      }
+      if (receiver.onRelease(release) == STOP) {
+        return;
+      }
+    }
+    for (final var system : changelog.ticketSystems().values()) {
+      if (receiver.onTicketSystem(system) == STOP) {
+        return;
+      }
+    }
+  }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Functions to construct changelogs for tests.
+ */
+
+public final class CLTestChangelogs
+{
+  /**
+   * The date used for all releases and changes.
+   */
+
+  public static final ZonedDateTime NOW =
+    ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private CLTestChangelogs()
+  {
+
+  }
+
+  /**
+   * @return The default ticket system {@code x}
+   */
+
+  public static CTicketSystem ticketSystem()
+  {
+    return CTicketSystem.builder()
+      .setId("x")
+      .setDefault(true)
+      .setUri(URI.create("http://example.com"))
+      .build();
+  }
+
+  /**
+   * @param id        The ticket system ID
+   * @param isDefault {@code true} if the ticket system is the default
+   *
+   * @return A ticket system at {@code http://example.com/<id>/}
+   */
+
+  public static CTicketSystem ticketSystem(
+    final String id,
+    final boolean isDefault)
+  {
+    return CTicketSystem.builder()
+      .setId(id)
+      .setDefault(isDefault)
+      .setUri(URI.create("http://example.com/" + id + "/"))
+      .build();
+  }
+
+  /**
+   * @param summary The summary
+   * @param tickets The tickets
+   *
+   * @return A change dated {@link #NOW}
+   */
+
+  public static CChange change(
+    final String summary,
+    final String... tickets)
+  {
+    final var builder =
+      CChange.builder()
+        .setDate(NOW)
+        .setSummary(summary);
+    for (final var ticket : tickets) {
+      builder.addTickets(CTicketID.of(ticket));
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param version The version
+   * @param changes The changes
+   *
+   * @return A closed release dated {@link #NOW} using ticket system {@code x}
+   */
+
+  public static CRelease release(
+    final CVersion version,
+    final List<CChange> changes)
+  {
+    return CRelease.builder()
+      .setVersion(version)
+      .setDate(NOW)
+      .setTicketSystemID("x")
+      .setOpen(false)
+      .setChanges(changes)
+      .build();
+  }
+
+  /**
+   * @param version The version
+   * @param system  The ticket system ID
+   * @param open    {@code true} if the release is open
+   *
+   * @return A release dated {@link #NOW} with no changes
+   */
+
+  public static CRelease release(
+    final String version,
+    final String system,
+    final boolean open)
+  {
+    return CRelease.builder()
+      .setVersion(CVersions.parse(version))
+      .setDate(NOW)
+      .setTicketSystemID(system)
+      .setOpen(open)
+      .build();
+  }
+
+  /**
+   * @param releases The releases
+   *
+   * @return A changelog containing {@code releases} and ticket system
+   * {@code x}
+   */
+
+  public static CChangelog changelog(
+    final List<CRelease> releases)
+  {
+    return changelog(CProjectName.of("changelog"), releases);
+  }
+
+  /**
+   * @param project  The project name
+   * @param releases The releases
+   *
+   * @return A changelog for {@code project} containing {@code releases} and
+   * ticket system {@code x}
+   */
+
+  public static CChangelog changelog(
+    final CProjectName project,
+    final List<CRelease> releases)
+  {
+    return changelog(project, List.of(ticketSystem()), releases);
+  }
+
+  /**
+   * @param project  The project name
+   * @param systems  The ticket systems
+   * @param releases The releases
+   *
+   * @return A changelog for {@code project} containing {@code releases} and
+   * {@code systems}
+   */
+
+  public static CChangelog changelog(
+    final CProjectName project,
+    final List<CTicketSystem> systems,
+    final List<CRelease> releases)
+  {
+    final var builder =
+      CChangelog.builder()
+        .setProject(project);
+    for (final var system : systems) {
+      builder.putTicketSystems(system.id(), system);
+    }
+    for (final var release : releases) {
+      builder.putReleases(release.version(), release);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Merge the changelogs of projects {@code a} and {@code b}. Project
+   * {@code a} has releases 1.0.0 on {@link #NOW} and 1.1.0 one day later.
+   * Project {@code b} has releases 1.0.0 and 2.0.0, both on {@link #NOW}.
+   *
+   * @return A merged changelog
+   */
+
+  public static CMergedChangelog merged()
+  {
+    final var a =
+      changelog(CProjectName.of("a"), List.of(
+        release(version(1, 0), List.of(change("A0", "1"))),
+        release(version(1, 1), List.of(change("A1")))
+          .withDate(NOW.plusDays(1L))
+      ));
+    final var b =
+      changelog(CProjectName.of("b"), List.of(
+        release(version(1, 0), List.of(change("B0", "2"))),
+        release(version(2, 0), List.of(change("B1")))
+      ));
+    return CMergedChangelog.of(List.of(b, a));
+  }
+
+  private static CVersion version(
+    final int major,
+    final int minor)
+  {
+    return CVersion.of(
+      BigInteger.valueOf((long) major),
+      BigInteger.valueOf((long) minor),
+      BigInteger.ZERO);
+  }
+
+  /**
+   * Generate a changelog with {@code releaseCount} releases of up to five
+   * changes each. The releases are generated in descending version order.
+   *
+   * @param random       A random number generator
+   * @param releaseCount The number of releases
+   * @param changes      A function that generates a change
+   *
+   * @return A changelog
+   */
+
+  public static CChangelog generate(
+    final Random random,
+    final int releaseCount,
+    final Function<Random, CChange> changes)
+  {
+    final var releases = new ArrayList<CRelease>();
+    for (int r = 0; r < releaseCount; ++r) {
+      final var releaseChanges = new ArrayList<CChange>();
+      final var changeCount = random.nextInt(6);
+      for (int c = 0; c < changeCount; ++c) {
+        releaseChanges.add(changes.apply(random));
+      }
+      releases.add(release(
+        CVersion.of(
+          BigInteger.valueOf(releaseCount - r),
+          BigInteger.ZERO,
+          BigInteger.ZERO),
+        releaseChanges));
+    }
+    return changelog(releases);
+  }
+}
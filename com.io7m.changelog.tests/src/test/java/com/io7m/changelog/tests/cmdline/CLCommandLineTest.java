@@ -19,10 +19,13 @@ package com.io7m.changelog.tests.cmdline;
 import com.io7m.changelog.cmdline.MainExitless;
 import com.io7m.changelog.core.CChangelog;
 import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CSearchIndex;
+import com.io7m.changelog.core.CSearchQueries;
 import com.io7m.changelog.core.CVersion;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.tests.CLTestDirectories;
 import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.api.CXMLChangelogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -35,10 +38,12 @@ import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static java.math.BigInteger.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -495,6 +500,69 @@ public final class CLCommandLineTest
     assertEquals("com.io7m.test", change.module().get().value());
   }
 
+  @Test
+  public void testAddChangeIncrementalInvalid()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString(),
+      "--version",
+      "1.0.0"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Some text"
+    });
+
+    /*
+     * Make the file invalid without disturbing the layout that the
+     * incremental append relies upon.
+     */
+
+    final var text = Files.readString(this.outputPath);
+    final var invalid =
+      text.replace(
+        "summary=\"Some text\"",
+        "summary=\"Some text\" compatible=\"maybe\"");
+    assertNotEquals(text, invalid);
+    Files.writeString(this.outputPath, invalid);
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "change-add",
+        "--file",
+        this.outputPath.toString(),
+        "--summary",
+        "More text"
+      });
+    });
+
+    assertEquals(invalid, Files.readString(this.outputPath));
+  }
+
   @Test
   public void testAddChangeWithBrokenTicket()
     throws IOException
@@ -823,6 +891,79 @@ public final class CLCommandLineTest
     });
   }
 
+  @Test
+  public void testXHTMLParallel()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    for (final var version : List.of("1.0.0", "1.1.0", "1.2.0")) {
+      MainExitless.main(new String[]{
+        "release-begin",
+        "--file",
+        this.outputPath.toString(),
+        "--version",
+        version
+      });
+
+      MainExitless.main(new String[]{
+        "change-add",
+        "--file",
+        this.outputPath.toString(),
+        "--summary",
+        "Some text",
+        "--ticket",
+        "1"
+      });
+
+      MainExitless.main(new String[]{
+        "release-finish",
+        "--file",
+        this.outputPath.toString()
+      });
+    }
+
+    this.flush();
+    this.output.reset();
+
+    MainExitless.main(new String[]{
+      "write-xhtml",
+      "--file",
+      this.outputPath.toString()
+    });
+
+    this.flush();
+    final var expected = this.output.toString();
+    this.output.reset();
+
+    MainExitless.main(new String[]{
+      "write-xhtml",
+      "--file",
+      this.outputPath.toString(),
+      "--parallel",
+      "true"
+    });
+
+    this.flush();
+    assertTrue(expected.contains("Release: com.io7m.changelog.test 1.2.0"));
+    assertEquals(expected, this.output.toString());
+  }
+
   @Test
   public void testXHTMLNonexistentRelease0()
     throws IOException
@@ -1268,4 +1409,598 @@ public final class CLCommandLineTest
     assertTrue(text.contains("1.0.0 (closed)"));
     LOG.debug("{}", text);
   }
+
+  @Test
+  public void testTicketLookup()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString()
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "First",
+      "--ticket",
+      "23"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Second",
+      "--ticket",
+      "23",
+      "--ticket",
+      "24"
+    });
+
+    MainExitless.main(new String[]{
+      "release-finish",
+      "--file",
+      this.outputPath.toString()
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString()
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Third",
+      "--ticket",
+      "24"
+    });
+
+    MainExitless.main(new String[]{
+      "ticket-lookup",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket",
+      "23",
+      "--ticket",
+      "24"
+    });
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "ticket-lookup",
+        "--file",
+        this.outputPath.toString(),
+        "--cache",
+        "true",
+        "--ticket",
+        "99"
+      });
+    });
+
+    this.flush();
+    final var text = this.output.toString();
+    assertTrue(text.contains("#23 1.0.0 First"));
+    assertTrue(text.contains("#23 1.0.0 Second"));
+    assertTrue(text.contains("#24 1.0.0 Second"));
+    assertTrue(text.contains("#24 1.1.0 Third"));
+    assertTrue(text.contains("No changes refer to ticket 99"));
+    LOG.debug("{}", text);
+  }
+
+  @Test
+  public void testQuery()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString(),
+      "--version",
+      "1.0.0"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Core change",
+      "--module",
+      "com.io7m.core"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Other change",
+      "--module",
+      "com.io7m.other",
+      "--incompatible"
+    });
+
+    MainExitless.main(new String[]{
+      "release-finish",
+      "--file",
+      this.outputPath.toString()
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString(),
+      "--version",
+      "2.0.0"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Incompatible core change",
+      "--module",
+      "com.io7m.core",
+      "--incompatible"
+    });
+
+    this.flush();
+    this.output.reset();
+
+    MainExitless.main(new String[]{
+      "query",
+      "--file",
+      this.outputPath.toString(),
+      "--module",
+      "com.io7m.core"
+    });
+
+    this.flush();
+    final var moduleText = this.output.toString();
+    LOG.debug("{}", moduleText);
+    assertTrue(moduleText.contains("Core change"));
+    assertTrue(moduleText.contains("Incompatible core change"));
+    assertFalse(moduleText.contains("Other change"));
+    this.output.reset();
+
+    MainExitless.main(new String[]{
+      "query",
+      "--file",
+      this.outputPath.toString(),
+      "--cache",
+      "true",
+      "--incompatible",
+      "true",
+      "--version-upper",
+      "1.0.0"
+    });
+
+    this.flush();
+    final var incompatibleText = this.output.toString();
+    LOG.debug("{}", incompatibleText);
+    assertTrue(incompatibleText.contains("Other change"));
+    assertFalse(incompatibleText.contains("Core change"));
+    assertFalse(incompatibleText.contains("2.0.0"));
+  }
+
+  @Test
+  public void testSearch()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+    CXMLChangelogCache.invalidate(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.outputPath.toString(),
+      "--version",
+      "1.0.0"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Fix a crash on startup"
+    });
+
+    MainExitless.main(new String[]{
+      "search",
+      "--file",
+      this.outputPath.toString(),
+      "--query",
+      "crash"
+    });
+
+    assertFalse(
+      Files.exists(CXMLChangelogCache.cacheFileFor(this.outputPath)));
+    assertFalse(
+      Files.exists(CXMLChangelogCache.searchIndexFileFor(this.outputPath)));
+
+    MainExitless.main(new String[]{
+      "search",
+      "--file",
+      this.outputPath.toString(),
+      "--cache",
+      "true",
+      "--query",
+      "crash"
+    });
+
+    assertTrue(
+      Files.isRegularFile(
+        CXMLChangelogCache.searchIndexFileFor(this.outputPath)));
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      this.outputPath.toString(),
+      "--summary",
+      "Fix a crash on shutdown"
+    });
+
+    final var query = CSearchQueries.parse("crash");
+    assertEquals(
+      CSearchIndex.of(
+        new CXMLChangelogParsers()
+          .parse(this.outputPath, CParseErrorHandlers.loggingHandler(LOG)))
+        .search(query),
+      CXMLChangelogCache.loadSearchIndex(this.outputPath)
+        .orElseThrow()
+        .search(query));
+
+    this.flush();
+    this.output.reset();
+
+    MainExitless.main(new String[]{
+      "search",
+      "--file",
+      this.outputPath.toString(),
+      "--query",
+      "crash shut*"
+    });
+
+    MainExitless.main(new String[]{
+      "search",
+      "--file",
+      this.outputPath.toString(),
+      "--cache",
+      "true",
+      "--query",
+      "\"crash on startup\""
+    });
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "search",
+        "--file",
+        this.outputPath.toString(),
+        "--query",
+        "parser"
+      });
+    });
+
+    this.flush();
+    final var text = this.output.toString();
+    assertTrue(text.contains("1.0.0 "));
+    assertTrue(text.contains(" Fix a crash on shutdown"));
+    assertTrue(text.contains(" Fix a crash on startup"));
+    assertTrue(text.contains("No changes match the query"));
+    LOG.debug("{}", text);
+  }
+
+  @Test
+  public void testBatch()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    final var script = this.directory.resolve("script.txt");
+    Files.writeString(
+      script,
+      String.join(
+        "\n",
+        "# An imported history",
+        "release-begin --version 1.0.0 --date 2010-01-01",
+        "change-add --summary 'First change' --ticket 1 --date 2010-01-02",
+        "change-add --summary \"Second change\" --incompatible true",
+        "release-finish --date 2010-01-03",
+        "",
+        "release-begin --version 1.1.0",
+        "release-set-version --version 2.0.0",
+        "change-add --summary Third --module com.io7m.example"
+      ));
+
+    MainExitless.main(new String[]{
+      "batch",
+      "--file",
+      this.outputPath.toString(),
+      "--script",
+      script.toString()
+    });
+
+    final var changelog = parse(this.outputPath);
+    assertEquals(2, changelog.releases().size());
+
+    final var r1 =
+      changelog.releases().get(CVersion.of(ONE, ZERO, ZERO));
+    assertFalse(r1.isOpen());
+    assertEquals(2, r1.changes().size());
+    assertEquals("First change", r1.changes().get(0).summary());
+    assertEquals(2010, r1.changes().get(0).date().getYear());
+    assertTrue(r1.changes().get(0).backwardsCompatible());
+    assertEquals("Second change", r1.changes().get(1).summary());
+    assertFalse(r1.changes().get(1).backwardsCompatible());
+    assertEquals(3, r1.date().getDayOfMonth());
+
+    final var r2 =
+      changelog.releases().get(CVersion.of(TWO, ZERO, ZERO));
+    assertTrue(r2.isOpen());
+    assertEquals(1, r2.changes().size());
+    assertEquals("Third", r2.changes().get(0).summary());
+  }
+
+  @Test
+  public void testBatchFailure()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    Files.deleteIfExists(this.outputPath);
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.outputPath.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    final var original = Files.readString(this.outputPath);
+    final var script = this.directory.resolve("script.txt");
+    Files.writeString(
+      script,
+      String.join(
+        "\n",
+        "release-begin --version 1.0.0",
+        "change-add --summary 'First change'",
+        "release-finish",
+        "change-add --summary 'Second change'"
+      ));
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "batch",
+        "--file",
+        this.outputPath.toString(),
+        "--script",
+        script.toString()
+      });
+    });
+
+    assertEquals(original, Files.readString(this.outputPath));
+
+    this.flush();
+    final var text = this.output.toString();
+    assertTrue(text.contains(":4: The current release is not open for modification."));
+    LOG.debug("{}", text);
+  }
+
+  private void createProject(
+    final Path file,
+    final String project,
+    final String summary)
+    throws IOException
+  {
+    Files.createDirectories(file.getParent());
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      file.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      project
+    });
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      file.toString(),
+      "--version",
+      "1.0.0"
+    });
+
+    MainExitless.main(new String[]{
+      "change-add",
+      "--file",
+      file.toString(),
+      "--summary",
+      summary
+    });
+  }
+
+  @Test
+  public void testAggregate()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    this.createProject(
+      this.directory.resolve("a/README-CHANGES.xml"),
+      "com.io7m.a",
+      "Change A");
+    this.createProject(
+      this.directory.resolve("b/README-CHANGES.xml"),
+      "com.io7m.b",
+      "Change B");
+
+    this.output.reset();
+    MainExitless.main(new String[]{
+      "aggregate",
+      "--directory",
+      this.directory.toString()
+    });
+    this.flush();
+
+    var text = this.output.toString();
+    assertTrue(text.contains("Release: com.io7m.a 1.0.0"));
+    assertTrue(text.contains("Change: Change A"));
+    assertTrue(text.contains("Release: com.io7m.b 1.0.0"));
+    assertTrue(text.contains("Change: Change B"));
+
+    this.output.reset();
+    MainExitless.main(new String[]{
+      "aggregate",
+      "--directory",
+      this.directory.toString(),
+      "--format",
+      "xhtml"
+    });
+    this.flush();
+
+    text = this.output.toString();
+    assertTrue(text.contains("Changes for projects com.io7m.a, com.io7m.b"));
+
+    this.output.reset();
+    MainExitless.main(new String[]{
+      "aggregate",
+      "--directory",
+      this.directory.toString(),
+      "--format",
+      "atom",
+      "--author-email",
+      "someone@example.com",
+      "--author-name",
+      "Someone",
+      "--title",
+      "Example",
+      "--uri",
+      "http://example.com"
+    });
+    this.flush();
+
+    text = this.output.toString();
+    assertTrue(text.contains("<a:id>com.io7m.a:1.0.0</a:id>"));
+    assertTrue(text.contains("<a:id>com.io7m.b:1.0.0</a:id>"));
+    LOG.debug("{}", text);
+  }
+
+  @Test
+  public void testAggregateBadFormat()
+    throws IOException
+  {
+    System.setOut(this.outputPrint);
+    System.setErr(this.outputPrint);
+
+    this.createProject(
+      this.directory.resolve("a/README-CHANGES.xml"),
+      "com.io7m.a",
+      "Change A");
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "aggregate",
+        "--directory",
+        this.directory.toString(),
+        "--format",
+        "pdf"
+      });
+    });
+
+    assertThrows(IOException.class, () -> {
+      MainExitless.main(new String[]{
+        "aggregate",
+        "--directory",
+        this.directory.toString(),
+        "--format",
+        "atom"
+      });
+    });
+  }
 }
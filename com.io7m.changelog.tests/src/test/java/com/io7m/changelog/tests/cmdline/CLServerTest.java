@@ -0,0 +1,390 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.cmdline;
+
+import com.io7m.changelog.cmdline.MainExitless;
+import com.io7m.changelog.cmdline.internal.CLServer;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.CLTestDirectories;
+import com.io7m.changelog.text.vanilla.CPlainChangelogWriters;
+import com.io7m.changelog.xml.CAtomChangelogWriters;
+import com.io7m.changelog.xml.CXHTMLChangelogWriters;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.TWO;
+import static java.math.BigInteger.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CLServerTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CLServerTest.class);
+
+  private Path directory;
+  private Path file;
+  private CLServer server;
+  private HttpClient client;
+
+  @BeforeEach
+  public void setup()
+    throws Exception
+  {
+    this.directory =
+      CLTestDirectories.createTempDirectory();
+    this.file =
+      this.directory.resolve("README-CHANGES.xml");
+
+    MainExitless.main(new String[]{
+      "initialize",
+      "--file",
+      this.file.toString(),
+      "--ticket-system-name",
+      "com.github.io7m.changelog.test",
+      "--ticket-system-uri",
+      "https://www.github.com/io7m/changelog/issues/",
+      "--project",
+      "com.io7m.changelog.test"
+    });
+
+    this.server =
+      CLServer.start(
+        this.directory,
+        0,
+        2,
+        new CXMLChangelogParsers(),
+        new CXMLChangelogWriters(),
+        new CPlainChangelogWriters(),
+        new CXHTMLChangelogWriters(),
+        new CAtomChangelogWriters());
+
+    this.client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  public void tearDown()
+    throws IOException
+  {
+    this.server.close();
+  }
+
+  private HttpResponse<String> get(
+    final String path)
+    throws Exception
+  {
+    final var response =
+      this.client.send(
+        HttpRequest.newBuilder(this.uri(path))
+          .header("Authorization", "Bearer " + this.server.token())
+          .GET()
+          .build(),
+        HttpResponse.BodyHandlers.ofString());
+    LOG.debug("GET {}: {} {}", path, response.statusCode(), response.body());
+    return response;
+  }
+
+  private HttpResponse<String> post(
+    final String path,
+    final String query)
+    throws Exception
+  {
+    final var target = query.isEmpty() ? path : path + "?" + query;
+    final var response =
+      this.client.send(
+        HttpRequest.newBuilder(this.uri(target))
+          .header("Authorization", "Bearer " + this.server.token())
+          .POST(HttpRequest.BodyPublishers.noBody())
+          .build(),
+        HttpResponse.BodyHandlers.ofString());
+    LOG.debug("POST {}: {} {}", path, response.statusCode(), response.body());
+    return response;
+  }
+
+  /**
+   * Send a request with exactly the given headers, bypassing the
+   * restrictions that the HTTP client places on headers such as
+   * {@code Host} and {@code Origin}.
+   */
+
+  private int raw(
+    final String method,
+    final String path,
+    final String... headers)
+    throws IOException
+  {
+    final var address = this.server.address();
+    try (var socket = new Socket(address.getAddress(), address.getPort())) {
+      final var request = new StringBuilder(128);
+      request.append(method).append(' ').append(path).append(" HTTP/1.1\r\n");
+      for (final var header : headers) {
+        request.append(header).append("\r\n");
+      }
+      request.append("Content-Length: 0\r\n");
+      request.append("Connection: close\r\n\r\n");
+
+      final var output = socket.getOutputStream();
+      output.write(request.toString().getBytes(StandardCharsets.UTF_8));
+      output.flush();
+
+      final var reader =
+        new BufferedReader(new InputStreamReader(
+          socket.getInputStream(), StandardCharsets.UTF_8));
+      final var status = reader.readLine();
+      LOG.debug("{} {}: {}", method, path, status);
+      return Integer.parseInt(status.split(" ")[1]);
+    }
+  }
+
+  private String host()
+  {
+    return String.format(
+      "Host: 127.0.0.1:%d", Integer.valueOf(this.server.address().getPort()));
+  }
+
+  private String authorization()
+  {
+    return "Authorization: Bearer " + this.server.token();
+  }
+
+  private URI uri(
+    final String path)
+  {
+    final var address = this.server.address();
+    return URI.create(String.format(
+      "http://%s:%d%s",
+      address.getHostString(),
+      Integer.valueOf(address.getPort()),
+      path));
+  }
+
+  @Test
+  public void testModifyAndQuery()
+    throws Exception
+  {
+    assertEquals(409, this.get("/release-current").statusCode());
+
+    assertEquals(
+      200, this.post("/release-begin", "version=1.0.0").statusCode());
+    assertEquals(
+      200, this.post("/change-add", "summary=A+change&ticket=23").statusCode());
+    assertEquals(
+      409, this.post("/release-begin", "version=1.0.0").statusCode());
+    assertEquals(
+      200, this.post("/release-finish", "").statusCode());
+
+    final var current = this.get("/release-current");
+    assertEquals(200, current.statusCode());
+    assertEquals("1.0.0 (closed)", current.body().trim());
+
+    final var plain = this.get("/write-plain?show-dates=false");
+    assertEquals(200, plain.statusCode());
+    assertTrue(plain.body().contains("A change"));
+
+    final var changelog =
+      new CXMLChangelogParsers()
+        .parse(this.file, CParseErrorHandlers.loggingHandler(LOG));
+    final var release =
+      changelog.releases().get(CVersion.of(ONE, ZERO, ZERO));
+    assertFalse(release.isOpen());
+    assertEquals(1, release.changes().size());
+    assertEquals(
+      "23", release.changes().get(0).tickets().get(0).value());
+
+    try (var files = Files.list(this.directory)) {
+      assertEquals(
+        List.of(),
+        files.filter(f -> f.toString().endsWith(".tmp"))
+          .collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testSymbolicLinkOutsideRoot()
+    throws Exception
+  {
+    final var outside = CLTestDirectories.createTempDirectory();
+    Files.copy(this.file, outside.resolve("README-CHANGES.xml"));
+    Files.createSymbolicLink(
+      this.directory.resolve("file.xml"),
+      outside.resolve("README-CHANGES.xml"));
+    Files.createSymbolicLink(
+      this.directory.resolve("dir"),
+      outside);
+
+    assertEquals(
+      403, this.get("/release-current?file=file.xml").statusCode());
+    assertEquals(
+      403, this.get("/release-current?file=dir/README-CHANGES.xml").statusCode());
+    assertEquals(
+      403, this.post("/release-begin", "file=file.xml").statusCode());
+  }
+
+  @Test
+  public void testExternalModification()
+    throws Exception
+  {
+    assertEquals(409, this.get("/release-current").statusCode());
+
+    MainExitless.main(new String[]{
+      "release-begin",
+      "--file",
+      this.file.toString(),
+      "--version",
+      "2.0.0"
+    });
+
+    final var current = this.get("/release-current");
+    assertEquals(200, current.statusCode());
+    assertEquals(
+      String.format("%s (open)", CVersion.of(TWO, ZERO, ZERO)),
+      current.body().trim());
+  }
+
+  @Test
+  public void testErrors()
+    throws Exception
+  {
+    assertEquals(403, this.get("/release-current?file=../x.xml").statusCode());
+    assertEquals(404, this.get("/release-current?file=y.xml").statusCode());
+    assertEquals(404, this.get("/nonexistent").statusCode());
+    assertEquals(405, this.get("/release-begin").statusCode());
+    assertEquals(400, this.post("/change-add", "").statusCode());
+    assertEquals(400, this.get("/write-atom").statusCode());
+  }
+
+  @Test
+  public void testTokenRequired()
+    throws Exception
+  {
+    final var before = Files.readString(this.file);
+
+    assertEquals(
+      401,
+      this.raw("GET", "/release-current", this.host()));
+    assertEquals(
+      401,
+      this.raw("POST", "/release-begin?version=1.0.0", this.host()));
+    assertEquals(
+      401,
+      this.raw(
+        "POST",
+        "/release-begin?version=1.0.0",
+        this.host(),
+        "Authorization: Bearer wrong"));
+    assertEquals(
+      401,
+      this.raw("POST", "/shutdown", this.host()));
+
+    assertEquals(before, Files.readString(this.file));
+    assertEquals(
+      409,
+      this.raw("GET", "/release-current", this.host(), this.authorization()));
+  }
+
+  @Test
+  public void testCrossOriginRejected()
+    throws Exception
+  {
+    final var before = Files.readString(this.file);
+
+    assertEquals(
+      403,
+      this.raw(
+        "POST",
+        "/release-begin?version=1.0.0",
+        this.host(),
+        this.authorization(),
+        "Origin: https://www.example.com"));
+    assertEquals(
+      403,
+      this.raw(
+        "GET",
+        "/release-current",
+        this.host(),
+        this.authorization(),
+        "Origin: null"));
+
+    assertEquals(before, Files.readString(this.file));
+  }
+
+  @Test
+  public void testHostRejected()
+    throws Exception
+  {
+    assertEquals(
+      403,
+      this.raw(
+        "GET",
+        "/release-current",
+        "Host: attacker.example.com",
+        this.authorization()));
+    assertEquals(
+      403,
+      this.raw("GET", "/release-current", this.authorization()));
+    assertEquals(
+      409,
+      this.raw(
+        "GET",
+        "/release-current",
+        String.format(
+          "Host: localhost:%d",
+          Integer.valueOf(this.server.address().getPort())),
+        this.authorization()));
+  }
+
+  @Test
+  public void testFormBodyRejected()
+    throws Exception
+  {
+    final var before = Files.readString(this.file);
+
+    final var response =
+      this.client.send(
+        HttpRequest.newBuilder(this.uri("/release-begin"))
+          .header("Authorization", "Bearer " + this.server.token())
+          .header("Content-Type", "application/x-www-form-urlencoded")
+          .POST(HttpRequest.BodyPublishers.ofString("version=1.0.0"))
+          .build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    assertEquals(415, response.statusCode());
+    assertEquals(before, Files.readString(this.file));
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogColumns;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static com.io7m.changelog.tests.CLTestChangelogs.ticketSystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CChangelogColumnsTest
+{
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private static CChangelog example()
+  {
+    final var day0 = ZonedDateTime.of(2017, 11, 10, 0, 0, 0, 0, UTC);
+    final var day1 = ZonedDateTime.of(2018, 2, 1, 0, 0, 0, 0, UTC);
+    final var timed = ZonedDateTime.of(2018, 2, 3, 13, 10, 5, 0, UTC);
+    final var offset = ZonedDateTime.of(2018, 2, 4, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    final var r0 =
+      release("1.0.0", "x", false)
+        .withDate(day0)
+        .withChanges(
+          change("First")
+            .withDate(day0),
+          change("Sécond ✓", "1", "2")
+            .withDate(day0)
+            .withModule(CModuleName.of("com.io7m.core"))
+            .withBackwardsCompatible(false));
+
+    final var r2 =
+      release("2.0.0", "y", true)
+        .withDate(offset)
+        .withChanges(
+          change("", "2")
+            .withDate(timed)
+            .withModule(CModuleName.of("com.io7m.core")),
+          change("Offset")
+            .withDate(offset)
+            .withModule(CModuleName.of("com.io7m.other")));
+
+    final var r1 =
+      release("1.1.0", "x", false)
+        .withDate(day1);
+
+    return changelog(
+      CProjectName.of("com.io7m.changelog"),
+      List.of(ticketSystem("x", true), ticketSystem("y", false)),
+      List.of(r0, r2, r1));
+  }
+
+  @Test
+  public void testCopyIdentity()
+  {
+    final var c = example();
+    final var columns = CChangelogColumns.copyOf(c);
+
+    assertEquals(c, columns.toChangelog());
+    assertEquals(c.project(), columns.project());
+    assertEquals(c.ticketSystems(), columns.ticketSystems());
+    assertEquals(c.releases(), columns.releases());
+    assertEquals(
+      new ArrayList<>(c.releases().keySet()),
+      new ArrayList<>(columns.releases().keySet()));
+    assertEquals(4, columns.changeCount());
+  }
+
+  @Test
+  public void testReleaseIndex()
+  {
+    final var c = example();
+    final var columns = CChangelogColumns.copyOf(c);
+    final var index = columns.releaseIndex();
+    final var expected = c.releaseIndex();
+
+    assertEquals(expected.versions(), index.versions());
+    assertEquals(expected.latest(), index.latest());
+    assertEquals(expected.open(), index.open());
+    assertEquals(expected.releases(), index.releases());
+    assertEquals(
+      new ArrayList<>(expected.releases().descendingMap().values()),
+      new ArrayList<>(index.releases().descendingMap().values()));
+
+    final var v1 = CVersions.parse("1.1.0");
+    assertEquals(expected.floor(v1), index.floor(v1));
+    assertEquals(expected.lower(v1), index.lower(v1));
+    assertEquals(expected.higher(v1), index.higher(v1));
+    assertEquals(expected.upTo(v1, true), index.upTo(v1, true));
+    assertEquals(c.suggestNextRelease(), columns.suggestNextRelease());
+    assertEquals(
+      c.findTicketSystem(Optional.empty()),
+      columns.findTicketSystem(Optional.empty()));
+  }
+
+  @Test
+  public void testReleasesReadOnly()
+  {
+    final var columns = CChangelogColumns.copyOf(example());
+    final var v0 = CVersions.parse("1.0.0");
+
+    assertTrue(columns.releases().containsKey(v0));
+    assertFalse(columns.releases().containsKey(CVersions.parse("9.0.0")));
+    assertNull(columns.releases().get(CVersions.parse("9.0.0")));
+    assertThrows(
+      UnsupportedOperationException.class,
+      () -> columns.releases().remove(v0));
+    assertThrows(
+      UnsupportedOperationException.class,
+      () -> columns.releaseIndex().releases().pollFirstEntry());
+    assertThrows(
+      UnsupportedOperationException.class,
+      () -> columns.releaseIndex().releases().keySet().remove(v0));
+  }
+
+  @Test
+  public void testPreconditions()
+  {
+    final var date = ZonedDateTime.of(2017, 11, 10, 0, 0, 0, 0, UTC);
+
+    assertThrows(IllegalStateException.class, () -> {
+      CChangelogColumns.builder().build();
+    });
+
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogColumns.builder()
+        .setProject(CProjectName.of("p"))
+        .addRelease(release("1.0.0", "x", false).withDate(date))
+        .build();
+    });
+
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogColumns.builder()
+        .setProject(CProjectName.of("p"))
+        .addTicketSystem(ticketSystem("x", true))
+        .addRelease(release("1.0.0", "x", true).withDate(date))
+        .addRelease(release("1.1.0", "x", true).withDate(date))
+        .build();
+    });
+
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogColumns.builder()
+        .setProject(CProjectName.of("p"))
+        .addTicketSystem(ticketSystem("x", true))
+        .addRelease(release("1.0.0", "x", false).withDate(date))
+        .addRelease(release("1.0.0", "x", false).withDate(date));
+    });
+
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogColumns.builder()
+        .setProject(CProjectName.of("p"))
+        .addTicketSystem(ticketSystem("x", true))
+        .addTicketSystem(ticketSystem("y", true))
+        .build();
+    });
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogLazy;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.tests.CLTestChangelogs;
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static com.io7m.changelog.tests.CLTestChangelogs.ticketSystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CChangelogLazyTest
+{
+  private static CChangelog changelog()
+  {
+    return CLTestChangelogs.changelog(List.of(
+      release(
+        CVersions.parse("1.0.0"),
+        List.of(change("A", "1"), change("B", "1"))),
+      release(
+        CVersions.parse("2.0.0"),
+        List.of(change("C", "1"))).withOpen(true),
+      release(
+        CVersions.parse("1.1.0"),
+        List.of())));
+  }
+
+  private static CChangelogLazy lazy(
+    final CChangelog changelog,
+    final AtomicInteger calls)
+  {
+    final var builder =
+      CChangelogLazy.builder()
+        .setProject(changelog.project());
+
+    for (final var system : changelog.ticketSystems().values()) {
+      builder.addTicketSystem(system);
+    }
+    for (final var release : changelog.releases().values()) {
+      final Supplier<List<CChange>> changes = () -> {
+        calls.incrementAndGet();
+        return release.changes();
+      };
+      builder.addRelease(release, changes);
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testIdentity()
+  {
+    final var calls = new AtomicInteger();
+    final var c = changelog();
+    final var lazy = lazy(c, calls);
+
+    assertEquals(0, lazy.decodedReleaseCount());
+    assertEquals(c, lazy.toChangelog());
+    assertEquals(c.releases(), lazy.releases());
+    assertEquals(
+      new ArrayList<>(c.releases().keySet()),
+      new ArrayList<>(lazy.releases().keySet()));
+    assertEquals(
+      c.ticketIndex().find(CTicketID.of("1")),
+      lazy.ticketIndex().find(CTicketID.of("1")));
+    assertEquals(3, lazy.decodedReleaseCount());
+
+    lazy.toChangelog();
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void testVersionsDoNotDecode()
+  {
+    final var calls = new AtomicInteger();
+    final var c = changelog();
+    final var lazy = lazy(c, calls);
+
+    assertEquals(
+      c.releases().keySet(),
+      lazy.releases().keySet());
+    assertEquals(3, lazy.releases().size());
+    assertEquals(0, calls.get());
+
+    assertEquals(c.releaseVersions(), lazy.releaseVersions());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testLatestDecodesOnlyLatest()
+  {
+    final var calls = new AtomicInteger();
+    final var c = changelog();
+    final var lazy = lazy(c, calls);
+
+    assertEquals(c.latestRelease(), lazy.latestRelease());
+    assertEquals(1, lazy.decodedReleaseCount());
+    assertEquals(
+      c.releases().get(CVersions.parse("1.0.0")),
+      lazy.releases().get(CVersions.parse("1.0.0")));
+    assertEquals(2, lazy.decodedReleaseCount());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void testLatestHeaderDoesNotDecode()
+  {
+    final var calls = new AtomicInteger();
+    final var c = changelog();
+    final var lazy = lazy(c, calls);
+
+    final var header = lazy.latestReleaseHeader().orElseThrow();
+    assertEquals(CVersions.parse("2.0.0"), header.version());
+    assertTrue(header.isOpen());
+    assertEquals(List.of(), header.changes());
+    assertEquals(0, calls.get());
+
+    assertEquals(c.latestRelease(), c.latestReleaseHeader());
+  }
+
+  @Test
+  public void testSupplierFailurePropagates()
+  {
+    final var calls = new AtomicInteger();
+    final var c = changelog();
+    final var lazy =
+      CChangelogLazy.builder()
+        .setProject(c.project())
+        .addTicketSystem(ticketSystem())
+        .addRelease(
+          release(CVersions.parse("1.0.0"), List.of()),
+          () -> {
+            calls.incrementAndGet();
+            throw new UncheckedIOException(new IOException("Failed"));
+          })
+        .build();
+
+    final var version = CVersions.parse("1.0.0");
+    assertThrows(
+      UncheckedIOException.class, () -> lazy.releases().get(version));
+    assertThrows(
+      UncheckedIOException.class, () -> lazy.releases().get(version));
+    assertEquals(2, calls.get());
+    assertEquals(0, lazy.decodedReleaseCount());
+  }
+
+  @Test
+  public void testDuplicateVersion()
+  {
+    final var builder = CChangelogLazy.builder();
+    final var r = release(CVersions.parse("1.0.0"), List.of());
+    builder.addRelease(r, List::of);
+
+    assertThrows(
+      PreconditionViolationException.class,
+      () -> builder.addRelease(r, List::of));
+  }
+
+  @Test
+  public void testMultipleOpen()
+  {
+    final var builder =
+      CChangelogLazy.builder()
+        .setProject(CProjectName.of("com.io7m.changelog"))
+        .addTicketSystem(ticketSystem())
+        .addRelease(
+          release(CVersions.parse("1.0.0"), List.of()).withOpen(true),
+          List::of)
+        .addRelease(
+          release(CVersions.parse("1.1.0"), List.of()).withOpen(true),
+          List::of);
+
+    assertThrows(PreconditionViolationException.class, builder::build);
+  }
+
+  @Test
+  public void testNoProject()
+  {
+    assertThrows(
+      IllegalStateException.class,
+      () -> CChangelogLazy.builder().build());
+  }
+}
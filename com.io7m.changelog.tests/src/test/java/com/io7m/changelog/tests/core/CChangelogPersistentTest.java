@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogOperationException;
+import com.io7m.changelog.core.CChangelogOperations;
+import com.io7m.changelog.core.CChangelogPersistent;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.NOW;
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CChangelogPersistentTest
+{
+  @Test
+  public void testOperationsEquivalent()
+    throws Exception
+  {
+    var plain = changelog(List.of());
+    var persistent = CChangelogPersistent.copyOf(plain);
+
+    for (int index = 0; index < 20; ++index) {
+      final var time = NOW.plusDays(index);
+      plain = CChangelogOperations.releaseBegin(
+        plain, Optional.empty(), Optional.empty(), time);
+      persistent = CChangelogOperations.releaseBegin(
+        persistent, Optional.empty(), Optional.empty(), time);
+
+      plain = CChangelogOperations.changeAdd(
+        plain, change("Change " + index), time);
+      persistent = CChangelogOperations.changeAdd(
+        persistent, change("Change " + index), time);
+
+      if (index % 5 == 4) {
+        final var version =
+          CVersion.of(
+            plain.latestRelease().orElseThrow().version().major(),
+            plain.latestRelease().orElseThrow().version().minor(),
+            BigInteger.ONE);
+        plain = CChangelogOperations.releaseSetVersion(plain, version, time);
+        persistent = CChangelogOperations.releaseSetVersion(
+          persistent, version, time);
+      }
+
+      plain = CChangelogOperations.releaseFinish(
+        plain, Optional.empty(), time);
+      persistent = CChangelogOperations.releaseFinish(
+        persistent, Optional.empty(), time);
+
+      assertEquals(plain.latestRelease(), persistent.latestRelease());
+      assertEquals(plain.openRelease(), persistent.openRelease());
+    }
+
+    final var copied = persistent.toChangelog();
+    assertEquals(plain, copied);
+    assertEquals(
+      List.copyOf(plain.releases().keySet()),
+      List.copyOf(copied.releases().keySet()));
+    assertEquals(
+      plain.releaseIndex().releases(),
+      persistent.releaseIndex().releases());
+  }
+
+  @Test
+  public void testSharing()
+  {
+    final var base =
+      CChangelogPersistent.copyOf(changelog(List.of()))
+        .withRelease(release("1.0.0", "x", false))
+        .withRelease(release("1.1.0", "x", true));
+
+    final var modified =
+      base.withRelease(release("1.1.0", "x", false));
+
+    assertTrue(base.openRelease().isPresent());
+    assertFalse(modified.openRelease().isPresent());
+    assertTrue(base.releases().get(CVersions.parse("1.1.0")).isOpen());
+    assertFalse(modified.releases().get(CVersions.parse("1.1.0")).isOpen());
+    assertEquals(2, base.releases().size());
+    assertEquals(2, modified.releases().size());
+
+    final var removed = modified.withoutRelease(CVersions.parse("1.0.0"));
+    assertEquals(1, removed.releases().size());
+    assertEquals(2, modified.releases().size());
+    assertEquals(
+      Optional.of(CVersions.parse("1.1.0")),
+      removed.latestRelease().map(CRelease::version));
+  }
+
+  @Test
+  public void testInsertionOrder()
+  {
+    final var random = new Random(0x5eedL);
+    final var expected = new LinkedHashMap<CVersion, CRelease>();
+    var persistent = CChangelogPersistent.copyOf(changelog(List.of()));
+
+    for (int index = 0; index < 2000; ++index) {
+      final var version =
+        CVersion.of(
+          BigInteger.valueOf(random.nextInt(20)),
+          BigInteger.valueOf(random.nextInt(20)),
+          BigInteger.ZERO);
+
+      if (random.nextInt(4) == 0) {
+        expected.remove(version);
+        persistent = persistent.withoutRelease(version);
+      } else {
+        final var release = release(version, List.of());
+        expected.put(version, release);
+        persistent = persistent.withRelease(release);
+      }
+
+      assertEquals(expected.size(), persistent.releases().size());
+    }
+
+    assertEquals(
+      new ArrayList<>(expected.entrySet()),
+      new ArrayList<>(persistent.releases().entrySet()));
+    assertEquals(expected, persistent.releases());
+    assertEquals(
+      CChangelog.builder()
+        .from(changelog(List.of()))
+        .setReleases(expected)
+        .build(),
+      persistent.toChangelog());
+  }
+
+  @Test
+  public void testPreconditions()
+  {
+    final var base =
+      CChangelogPersistent.copyOf(changelog(List.of()))
+        .withRelease(release("1.0.0", "x", true));
+
+    assertThrows(
+      PreconditionViolationException.class,
+      () -> base.withRelease(release("2.0.0", "x", true)));
+    assertThrows(
+      PreconditionViolationException.class,
+      () -> base.withRelease(release("2.0.0", "y", false)));
+
+    final var reopened = base.withRelease(release("1.0.0", "x", true));
+    assertEquals(base.openRelease(), reopened.openRelease());
+
+    final var removed = base.withoutRelease(CVersions.parse("1.0.0"));
+    assertFalse(removed.openRelease().isPresent());
+    removed.withRelease(release("2.0.0", "x", true));
+  }
+
+  @Test
+  public void testOperationErrors()
+  {
+    final var persistent = CChangelogPersistent.copyOf(changelog(List.of()));
+    assertThrows(
+      CChangelogOperationException.class,
+      () -> CChangelogOperations.changeAdd(persistent, change("x"), NOW));
+    assertThrows(
+      CChangelogOperationException.class,
+      () -> CChangelogOperations.releaseFinish(
+        persistent, Optional.empty(), NOW));
+    assertThrows(
+      CChangelogOperationException.class,
+      () -> CChangelogOperations.releaseBegin(
+        persistent, Optional.empty(), Optional.of("y"), NOW));
+  }
+}
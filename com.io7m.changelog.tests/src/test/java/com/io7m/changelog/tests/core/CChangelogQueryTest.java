@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogColumns;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.core.CChangelogQuery;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static com.io7m.changelog.tests.CLTestChangelogs.ticketSystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CChangelogQueryTest
+{
+  private static final LocalDate START = LocalDate.of(2010, 1, 1);
+
+  private static CChangelog generate(
+    final Random random)
+  {
+    final var releases = new ArrayList<CRelease>();
+    for (int r = 0; r < 60; ++r) {
+      final var changes = new ArrayList<CChange>();
+      final var count = random.nextInt(8);
+      for (int c = 0; c < count; ++c) {
+        final var date =
+          ZonedDateTime.of(
+            START.plusDays(random.nextInt(400)),
+            LocalTime.of(random.nextInt(24), 0),
+            ZoneOffset.UTC);
+        final var module =
+          random.nextInt(4) == 0
+            ? Optional.<CModuleName>empty()
+            : Optional.of(CModuleName.of("m" + random.nextInt(4)));
+        changes.add(
+          change("Change " + r + "." + c)
+            .withDate(date)
+            .withModule(module)
+            .withBackwardsCompatible(random.nextInt(3) != 0));
+      }
+
+      final var version =
+        CVersion.of(
+          BigInteger.valueOf(r / 10),
+          BigInteger.valueOf(r % 10),
+          BigInteger.ZERO);
+      releases.add(
+        release(version, changes)
+          .withDate(ZonedDateTime.of(
+            START.plusDays(r), LocalTime.MIDNIGHT, ZoneOffset.UTC))
+          .withTicketSystemID(random.nextInt(3) == 0 ? "y" : "x"));
+    }
+
+    return changelog(
+      CProjectName.of("changelog"),
+      List.of(ticketSystem("x", true), ticketSystem("y", false)),
+      releases);
+  }
+
+  private static CChangelogQuery randomQuery(
+    final Random random)
+  {
+    final var builder = CChangelogQuery.builder();
+    if (random.nextBoolean()) {
+      builder.setModule(CModuleName.of("m" + random.nextInt(5)));
+    }
+    final var since = START.plusDays(random.nextInt(400));
+    if (random.nextBoolean()) {
+      builder.setSince(since);
+    }
+    if (random.nextBoolean()) {
+      builder.setUntil(since.plusDays(random.nextInt(100)));
+    }
+    if (random.nextInt(3) == 0) {
+      builder.setTicketSystem(random.nextBoolean() ? "x" : "y");
+    }
+    final var lower = random.nextInt(60);
+    if (random.nextBoolean()) {
+      builder.setVersionLower(
+        CVersion.of(
+          BigInteger.valueOf(lower / 10),
+          BigInteger.valueOf(lower % 10),
+          BigInteger.ZERO));
+    }
+    if (random.nextBoolean()) {
+      final var upper = lower + random.nextInt(20);
+      builder.setVersionUpper(
+        CVersion.of(
+          BigInteger.valueOf(upper / 10),
+          BigInteger.valueOf(upper % 10),
+          BigInteger.ONE));
+    }
+    builder.setIncompatibleOnly(random.nextInt(3) == 0);
+    return builder.build();
+  }
+
+  private static boolean matches(
+    final CChangelogQuery query,
+    final CRelease release,
+    final CChange change)
+  {
+    final var date = change.date().toLocalDate();
+    return query.module().map(m -> change.module().equals(Optional.of(m))).orElse(true)
+      && query.since().map(d -> !date.isBefore(d)).orElse(true)
+      && query.until().map(d -> !date.isAfter(d)).orElse(true)
+      && (!query.incompatibleOnly() || !change.backwardsCompatible())
+      && matchesRelease(query, release);
+  }
+
+  private static boolean matchesRelease(
+    final CChangelogQuery query,
+    final CRelease release)
+  {
+    final var version = release.version();
+    return query.ticketSystem().map(release.ticketSystemID()::equals).orElse(true)
+      && query.versionLower().map(v -> version.compareTo(v) >= 0).orElse(true)
+      && query.versionUpper().map(v -> version.compareTo(v) <= 0).orElse(true);
+  }
+
+  /**
+   * Evaluate a query by examining every change.
+   */
+
+  private static Map<CVersion, List<CChange>> scan(
+    final CChangelog changelog,
+    final CChangelogQuery query)
+  {
+    final var results = new LinkedHashMap<CVersion, List<CChange>>();
+    for (final var release : changelog.releaseIndex().releases().values()) {
+      if (!query.hasChangeCriteria()) {
+        if (matchesRelease(query, release)) {
+          results.put(release.version(), release.changes());
+        }
+        continue;
+      }
+
+      final var changes = new ArrayList<CChange>();
+      for (final var change : release.changes()) {
+        if (matches(query, release, change)) {
+          changes.add(change);
+        }
+      }
+      if (!changes.isEmpty()) {
+        results.put(release.version(), changes);
+      }
+    }
+    return results;
+  }
+
+  private static Map<CVersion, List<CChange>> changesOf(
+    final CChangelog changelog)
+  {
+    final var results = new LinkedHashMap<CVersion, List<CChange>>();
+    for (final var release : changelog.releases().values()) {
+      results.put(release.version(), release.changes());
+    }
+    return results;
+  }
+
+  @Test
+  public void testMatchesScan()
+  {
+    final var random = new Random(0x9e7L);
+    final var changelog = generate(random);
+    final var columns = CChangelogColumns.copyOf(changelog);
+
+    for (int index = 0; index < 500; ++index) {
+      final var query = randomQuery(random);
+      final var expected = scan(changelog, query);
+      assertEquals(
+        expected,
+        changesOf(CChangelogFilters.query(changelog, query)),
+        query.toString());
+      assertEquals(
+        expected,
+        changesOf(CChangelogFilters.query(columns, query)),
+        query.toString());
+    }
+  }
+
+  @Test
+  public void testEmptyQuery()
+  {
+    final var changelog = generate(new Random(0x1L));
+    final var result =
+      CChangelogFilters.query(changelog, CChangelogQuery.builder().build());
+
+    assertEquals(changelog.releaseIndex().releases(), result.releases());
+    assertEquals(changelog.ticketSystems(), result.ticketSystems());
+  }
+
+  @Test
+  public void testPreconditions()
+  {
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogQuery.builder()
+        .setSince(LocalDate.of(2020, 1, 2))
+        .setUntil(LocalDate.of(2020, 1, 1))
+        .build();
+    });
+
+    assertThrows(PreconditionViolationException.class, () -> {
+      CChangelogQuery.builder()
+        .setVersionLower(CVersions.parse("2.0.0"))
+        .setVersionUpper(CVersions.parse("1.0.0"))
+        .build();
+    });
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogScriptException;
+import com.io7m.changelog.core.CChangelogScripts;
+import com.io7m.changelog.core.CVersions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.NOW;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CChangelogScriptsTest
+{
+  private static CChangelog execute(
+    final String... lines)
+    throws IOException, CChangelogScriptException
+  {
+    return CChangelogScripts.execute(
+      changelog(List.of()),
+      URI.create("urn:test"),
+      new BufferedReader(new StringReader(String.join("\n", lines))),
+      NOW);
+  }
+
+  @Test
+  public void testEmpty()
+    throws Exception
+  {
+    final var changelog = execute("", "   # Nothing", "");
+    assertEquals(changelog(List.of()), changelog);
+  }
+
+  @Test
+  public void testQuoting()
+    throws Exception
+  {
+    final var changelog =
+      execute(
+        "release-begin --version 1.0.0",
+        "change-add --summary 'A \"quoted\" summary' # comment",
+        "change-add --summary \"An \\\"escaped\\\" summary\"",
+        "change-add --summary Escaped\\ space --ticket 1 --ticket 2");
+
+    final var release =
+      changelog.releases().get(CVersions.parse("1.0.0"));
+    final var changes = release.changes();
+    assertEquals(3, changes.size());
+    assertEquals("A \"quoted\" summary", changes.get(0).summary());
+    assertEquals("An \"escaped\" summary", changes.get(1).summary());
+    assertEquals("Escaped space", changes.get(2).summary());
+    assertEquals(2, changes.get(2).tickets().size());
+    assertEquals(NOW, changes.get(0).date());
+  }
+
+  @Test
+  public void testDates()
+    throws Exception
+  {
+    final var changelog =
+      execute(
+        "release-begin --version 1.0.0 --date 2010-05-06",
+        "change-add --summary x --date 2011-01-02T03:04:05Z",
+        "release-finish --date 2012-01-01");
+
+    final var release =
+      changelog.releases().get(CVersions.parse("1.0.0"));
+    assertFalse(release.isOpen());
+    assertEquals(2012, release.date().getYear());
+    assertEquals(
+      ZonedDateTime.of(2011, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC),
+      release.changes().get(0).date());
+  }
+
+  @Test
+  public void testSetVersion()
+    throws Exception
+  {
+    final var changelog =
+      execute(
+        "release-begin --version 1.0.0",
+        "change-add --summary x",
+        "release-set-version --version 1.1.0");
+
+    assertEquals(1, changelog.releases().size());
+    assertTrue(changelog.releases().containsKey(CVersions.parse("1.1.0")));
+  }
+
+  private static void checkFailure(
+    final int line,
+    final String message,
+    final String... lines)
+  {
+    final var ex =
+      assertThrows(CChangelogScriptException.class, () -> execute(lines));
+    assertEquals(line, ex.line());
+    assertEquals(URI.create("urn:test"), ex.source());
+    assertTrue(
+      ex.getMessage().contains(message),
+      () -> String.format("%s must contain %s", ex.getMessage(), message));
+  }
+
+  @Test
+  public void testFailures()
+  {
+    checkFailure(1, "No current release exists", "change-add --summary x");
+    checkFailure(1, "Unrecognized operation", "release-destroy");
+    checkFailure(1, "Unrecognized option", "release-begin --summary x");
+    checkFailure(1, "requires a value", "release-begin --version");
+    checkFailure(1, "only be specified once", "release-begin --version 1.0.0 --version 2.0.0");
+    checkFailure(1, "Unterminated", "change-add --summary 'x");
+    checkFailure(1, "Unterminated", "change-add --summary \"x");
+    checkFailure(2, "is required", "release-begin", "change-add");
+    checkFailure(2, "Expected true or false", "release-begin", "change-add --summary x --incompatible yes");
+    checkFailure(1, "version number", "release-begin --version x");
+    checkFailure(3, "already exists", "release-begin", "release-finish", "release-begin --version 1.0.0");
+    checkFailure(3, "already open", "", "release-begin --version 1.0.0", "release-begin --version 2.0.0");
+    checkFailure(1, "No release is currently open", "release-finish");
+    checkFailure(1, "No release is currently open", "release-set-version --version 1.0.0");
+    checkFailure(1, "is required", "release-set-version");
+    checkFailure(1, "Text '2010' could not be parsed", "release-begin --date 2010");
+  }
+}
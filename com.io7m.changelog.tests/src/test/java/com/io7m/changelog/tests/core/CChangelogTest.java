@@ -17,6 +17,7 @@
 package com.io7m.changelog.tests.core;
 
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
 import com.io7m.changelog.core.CProjectName;
 import com.io7m.changelog.core.CRelease;
 import com.io7m.changelog.core.CTicketSystem;
@@ -27,9 +28,12 @@ import org.junit.jupiter.api.Test;
 import java.net.URI;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public final class CChangelogTest
 {
@@ -142,4 +146,133 @@ public final class CChangelogTest
       c.findTicketSystem(Optional.of("y"))
     );
   }
+
+  private static CChangelog changelogOf(
+    final String open,
+    final String... versions)
+  {
+    final var builder =
+      CChangelog.builder()
+        .setProject(CProjectName.of("changelog"))
+        .putTicketSystems(
+          "x",
+          CTicketSystem.builder()
+            .setDefault(true)
+            .setId("x")
+            .setUri(URI.create("http://www.example.com"))
+            .build());
+
+    for (final var text : versions) {
+      final var version = CVersions.parse(text);
+      builder.putReleases(
+        version,
+        CRelease.builder()
+          .setVersion(version)
+          .setDate(ZonedDateTime.now(Clock.systemUTC()))
+          .setTicketSystemID("x")
+          .setOpen(text.equals(open))
+          .build());
+    }
+    return builder.build();
+  }
+
+  private static List<String> versionsOf(
+    final CChangelog changelog)
+  {
+    return changelog.releaseVersions()
+      .stream()
+      .map(v -> String.format("%s", v))
+      .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testReleaseIndex()
+  {
+    final var c =
+      changelogOf("1.10.0", "1.2.0", "1.10.0", "0.9.0", "1.1.0");
+    final var index = c.releaseIndex();
+
+    assertSame(index, c.releaseIndex());
+    assertEquals(
+      List.of("0.9.0", "1.1.0", "1.2.0", "1.10.0"),
+      versionsOf(c));
+    assertEquals(
+      CVersions.parse("1.10.0"),
+      c.latestRelease().orElseThrow().version());
+    assertEquals(
+      CVersions.parse("1.10.0"),
+      c.openRelease().orElseThrow().version());
+    assertEquals(
+      CVersions.parse("1.1.0"),
+      index.floor(CVersions.parse("1.1.5")).orElseThrow().version());
+    assertEquals(
+      CVersions.parse("1.2.0"),
+      index.ceiling(CVersions.parse("1.1.5")).orElseThrow().version());
+    assertEquals(
+      CVersions.parse("1.1.0"),
+      index.lower(CVersions.parse("1.2.0")).orElseThrow().version());
+    assertEquals(
+      CVersions.parse("1.10.0"),
+      index.higher(CVersions.parse("1.2.0")).orElseThrow().version());
+    assertEquals(
+      Optional.empty(),
+      index.higher(CVersions.parse("1.10.0")));
+    assertEquals(
+      2,
+      index.range(
+        CVersions.parse("1.0.0"), true,
+        CVersions.parse("1.10.0"), false).size());
+    assertEquals(
+      CVersions.parse("1.11.0"),
+      c.suggestNextRelease());
+  }
+
+  @Test
+  public void testReleaseIndexEmpty()
+  {
+    final var c = changelogOf("");
+    assertEquals(List.of(), c.releaseVersions());
+    assertEquals(Optional.empty(), c.latestRelease());
+    assertEquals(Optional.empty(), c.openRelease());
+    assertEquals(
+      Optional.empty(),
+      c.releaseIndex().floor(CVersions.parse("1.0.0")));
+  }
+
+  @Test
+  public void testFilterLimit()
+  {
+    final var c =
+      changelogOf("", "1.0.0", "1.1.0", "1.2.0", "2.0.0", "2.1.0");
+
+    assertEquals(
+      List.of("2.0.0", "2.1.0"),
+      versionsOf(CChangelogFilters.limit(c, 2L)));
+    assertEquals(
+      versionsOf(c),
+      versionsOf(CChangelogFilters.limit(c, 100L)));
+    assertEquals(
+      List.of(),
+      versionsOf(CChangelogFilters.limit(c, 0L)));
+  }
+
+  @Test
+  public void testFilterUpToAndIncluding()
+  {
+    final var c =
+      changelogOf("", "1.0.0", "1.1.0", "1.2.0", "2.0.0", "2.1.0");
+
+    final var filtered =
+      CChangelogFilters.upToAndIncluding(c, CVersions.parse("1.2.0"), 2)
+        .orElseThrow();
+
+    assertEquals(List.of("1.1.0", "1.2.0"), versionsOf(filtered));
+    filtered.releases().forEach((version, release) -> {
+      assertEquals(version, release.version());
+    });
+
+    assertEquals(
+      Optional.empty(),
+      CChangelogFilters.upToAndIncluding(c, CVersions.parse("1.3.0"), 2));
+  }
 }
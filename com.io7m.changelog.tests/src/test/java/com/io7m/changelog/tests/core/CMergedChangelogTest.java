@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.changelog.core.CMergedRelease;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.writer.api.CMergedChangelogWriterType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.merged;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static com.io7m.changelog.tests.CLTestChangelogs.ticketSystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CMergedChangelogTest
+{
+  private static String describe(
+    final CMergedRelease merged)
+  {
+    return String.format(
+      "%s %s",
+      merged.project().value(),
+      merged.release().version());
+  }
+
+  @Test
+  public void testMergedEmpty()
+  {
+    final var merged = CMergedChangelog.of(List.of());
+    assertEquals(List.of(), merged.projects());
+    assertEquals(List.of(), merged.releases());
+  }
+
+  @Test
+  public void testMergedOrder()
+  {
+    final var merged = merged();
+
+    assertEquals(
+      List.of(CProjectName.of("b"), CProjectName.of("a")),
+      merged.projects());
+    assertEquals(
+      List.of("a 1.1.0", "a 1.0.0", "b 2.0.0", "b 1.0.0"),
+      merged.releases()
+        .stream()
+        .map(CMergedChangelogTest::describe)
+        .collect(Collectors.toList()));
+
+    for (final var release : merged.releases()) {
+      assertEquals(ticketSystem(), release.ticketSystem());
+    }
+  }
+
+  @Test
+  public void testDefaultWriteMerged()
+    throws Exception
+  {
+    final var written = new ArrayList<String>();
+    final CMergedChangelogWriterType writer =
+      changelog -> written.add(changelog.project().value());
+
+    writer.writeMerged(merged());
+    assertEquals(List.of("b", "a"), written);
+  }
+
+  @Test
+  public void testMergedUndefinedTicketSystem()
+  {
+    final var release =
+      release(CVersions.parse("1.0.0"), List.of())
+        .withTicketSystemID("y");
+
+    final var changelog = new CChangelogType()
+    {
+      @Override
+      public CProjectName project()
+      {
+        return CProjectName.of("x");
+      }
+
+      @Override
+      public Map<CVersion, CRelease> releases()
+      {
+        return Map.of(release.version(), release);
+      }
+
+      @Override
+      public Map<String, CTicketSystem> ticketSystems()
+      {
+        return Map.of("x", ticketSystem());
+      }
+    };
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      CMergedChangelog.of(List.of(changelog));
+    });
+  }
+}
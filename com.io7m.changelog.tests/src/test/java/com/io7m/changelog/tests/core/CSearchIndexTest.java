@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CSearchHit;
+import com.io7m.changelog.core.CSearchIndex;
+import com.io7m.changelog.core.CSearchQueries;
+import com.io7m.changelog.core.CSearchQuery;
+import com.io7m.changelog.core.CVersions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.NOW;
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static com.io7m.changelog.tests.CLTestChangelogs.generate;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CSearchIndexTest
+{
+  private static final List<String> WORDS =
+    List.of(
+      "fix", "fixed", "crash", "parser", "parse", "startup", "remove",
+      "deprecated", "method", "methods", "update", "dependency", "xml");
+
+  private static String summary(
+    final Random random)
+  {
+    final var words = new ArrayList<String>();
+    final var count = 1 + random.nextInt(6);
+    for (int index = 0; index < count; ++index) {
+      words.add(WORDS.get(random.nextInt(WORDS.size())));
+    }
+    return String.join(" ", words);
+  }
+
+  /**
+   * Find the changes matching a query by scanning every change.
+   */
+
+  private static Set<String> scan(
+    final CChangelog changelog,
+    final CSearchQuery query)
+  {
+    final var results = new HashSet<String>();
+    for (final var release : changelog.releases().values()) {
+      final var changes = release.changes();
+      for (int index = 0; index < changes.size(); ++index) {
+        final var tokens =
+          CSearchQueries.tokenize(changes.get(index).summary());
+        if (!tokens.containsAll(query.terms())) {
+          continue;
+        }
+        final var prefixes =
+          query.prefixes()
+            .stream()
+            .allMatch(p -> tokens.stream().anyMatch(t -> t.startsWith(p)));
+        final var phrases =
+          query.phrases()
+            .stream()
+            .allMatch(p -> Collections.indexOfSubList(tokens, p) != -1);
+        if (prefixes && phrases) {
+          results.add(String.format("%s/%d", release.version(), index));
+        }
+      }
+    }
+    return results;
+  }
+
+  private static Set<String> keys(
+    final List<CSearchHit> hits)
+  {
+    return hits.stream()
+      .map(hit -> String.format("%s/%d", hit.release(), hit.change()))
+      .collect(Collectors.toSet());
+  }
+
+  private static CSearchQuery query(
+    final Random random)
+  {
+    final var builder = CSearchQuery.builder();
+    switch (random.nextInt(3)) {
+      case 0:
+        builder.addTerms(WORDS.get(random.nextInt(WORDS.size())));
+        break;
+      case 1:
+        builder.addPrefixes(
+          WORDS.get(random.nextInt(WORDS.size())).substring(0, 2));
+        break;
+      default:
+        builder.addPhrases(List.of(
+          WORDS.get(random.nextInt(WORDS.size())),
+          WORDS.get(random.nextInt(WORDS.size()))));
+        break;
+    }
+    if (random.nextBoolean()) {
+      builder.addTerms(WORDS.get(random.nextInt(WORDS.size())));
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testTokenize()
+  {
+    assertEquals(
+      List.of("fix", "a", "crash", "in", "xml", "parser2"),
+      CSearchQueries.tokenize("Fix a crash-in XML (parser2)."));
+    assertEquals(List.of(), CSearchQueries.tokenize(" -- "));
+  }
+
+  @Test
+  public void testParse()
+  {
+    final var query =
+      CSearchQueries.parse("Crash  \"XML parser\" start* \"single\" x-y");
+
+    assertEquals(List.of("crash", "single", "x", "y"), query.terms());
+    assertEquals(List.of("start"), query.prefixes());
+    assertEquals(List.of(List.of("xml", "parser")), query.phrases());
+  }
+
+  @Test
+  public void testParseErrors()
+  {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CSearchQueries.parse("crash \"xml parser"));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CSearchQueries.parse(" * \"\" "));
+  }
+
+  @Test
+  public void testSearch()
+  {
+    final var v1 = CVersions.parse("1.0.0");
+    final var v2 = CVersions.parse("2.0.0");
+    final var changelog =
+      changelog(List.of(
+        release(v1, List.of(
+          change("Fix a crash on startup"),
+          change("Update the XML parser"))),
+        release(v2, List.of(
+          change("Fix the crash on startup again"),
+          change("Remove deprecated methods"),
+          change("Crash crash crash")))));
+
+    final var index = CSearchIndex.of(changelog);
+    assertEquals(5, index.changeCount());
+
+    final var crash = index.search(CSearchQueries.parse("crash startup"));
+    assertEquals(
+      List.of("2.0.0/0", "1.0.0/0"),
+      crash.stream()
+        .map(hit -> String.format("%s/%d", hit.release(), hit.change()))
+        .collect(Collectors.toList()));
+    assertEquals("Fix the crash on startup again", crash.get(0).summary());
+    assertEquals(NOW, crash.get(0).releaseDate());
+    assertEquals(NOW, crash.get(0).changeDate());
+
+    final var ranked = index.search(CSearchQueries.parse("crash"));
+    assertEquals(3, ranked.size());
+    assertEquals("Crash crash crash", ranked.get(0).summary());
+
+    assertEquals(
+      Set.of("1.0.0/1"),
+      keys(index.search(CSearchQueries.parse("\"xml parser\""))));
+    assertEquals(
+      Set.of(),
+      keys(index.search(CSearchQueries.parse("\"parser xml\""))));
+    assertEquals(
+      Set.of("2.0.0/1"),
+      keys(index.search(CSearchQueries.parse("depre* meth*"))));
+    assertEquals(
+      Set.of(),
+      keys(index.search(CSearchQueries.parse("crash nonexistent"))));
+  }
+
+  @Test
+  public void testMatchesScan()
+  {
+    final var random = new Random(0x3fL);
+    final var changelog = generate(random, 200, r -> change(summary(r)));
+
+    final var sequential = CSearchIndex.of(changelog);
+    final var parallel =
+      CSearchIndex.ofParallel(changelog, ForkJoinPool.commonPool());
+
+    for (int step = 0; step < 200; ++step) {
+      final var query = query(random);
+      final var hits = sequential.search(query);
+      assertEquals(scan(changelog, query), keys(hits));
+      assertEquals(hits, parallel.search(query));
+    }
+  }
+
+  @Test
+  public void testIncremental()
+  {
+    final var random = new Random(0x4aL);
+    var changelog = generate(random, 50, r -> change(summary(r)));
+    var index = CSearchIndex.of(changelog);
+
+    for (int step = 0; step < 200; ++step) {
+      final var versions = changelog.releaseVersions();
+      final var version = versions.get(random.nextInt(versions.size()));
+      final var existing = changelog.releases().get(version);
+
+      final var changes = new ArrayList<>(existing.changes());
+      final var added = change(summary(random));
+      changes.add(added);
+
+      if (random.nextBoolean()) {
+        index = index.withChange(version, NOW, added);
+      } else {
+        if (changes.size() > 1 && random.nextBoolean()) {
+          changes.remove(random.nextInt(changes.size() - 1));
+        }
+        index = index.withRelease(release(version, changes));
+      }
+
+      changelog =
+        CChangelog.builder()
+          .from(changelog)
+          .putReleases(version, release(version, changes))
+          .build();
+    }
+
+    final var rebuilt = CSearchIndex.of(changelog);
+    assertEquals(rebuilt.changeCount(), index.changeCount());
+    assertEquals(rebuilt.tokenCount(), index.tokenCount());
+    for (int step = 0; step < 100; ++step) {
+      final var query = query(random);
+      assertEquals(rebuilt.search(query), index.search(query));
+    }
+
+    final var last = changelog.releaseIndex().latest().orElseThrow();
+    final var removed = index.withoutRelease(last.version());
+    assertEquals(
+      index.changeCount() - last.changes().size(),
+      removed.changeCount());
+    for (int step = 0; step < 100; ++step) {
+      final var query = query(random);
+      final var expected = new HashSet<>(scan(changelog, query));
+      expected.removeIf(
+        key -> key.startsWith(String.format("%s/", last.version())));
+      assertEquals(expected, keys(removed.search(query)));
+    }
+  }
+
+  @Test
+  public void testReadWrite()
+    throws IOException
+  {
+    final var random = new Random(0x5bL);
+    final var changelog = generate(random, 50, r -> change(summary(r)));
+    final var index = CSearchIndex.of(changelog);
+
+    final var bytes = new ByteArrayOutputStream();
+    try (var output = new DataOutputStream(bytes)) {
+      index.write(output);
+    }
+
+    final var data = bytes.toByteArray();
+    final var read = CSearchIndex.read(ByteBuffer.wrap(data));
+    assertEquals(index.changeCount(), read.changeCount());
+    assertEquals(index.tokenCount(), read.tokenCount());
+    for (int step = 0; step < 100; ++step) {
+      final var query = query(random);
+      assertEquals(index.search(query), read.search(query));
+    }
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CSearchIndex.read(ByteBuffer.wrap(data, 0, data.length - 1)));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogColumns;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketIndex;
+import com.io7m.changelog.core.CTicketReference;
+import com.io7m.changelog.core.CVersions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.change;
+import static com.io7m.changelog.tests.CLTestChangelogs.changelog;
+import static com.io7m.changelog.tests.CLTestChangelogs.generate;
+import static com.io7m.changelog.tests.CLTestChangelogs.release;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class CTicketIndexTest
+{
+  /**
+   * Find the references to a ticket by scanning every change.
+   */
+
+  private static List<CTicketReference> scan(
+    final CChangelog changelog,
+    final CTicketID ticket)
+  {
+    final var results = new ArrayList<CTicketReference>();
+    for (final var release : changelog.releaseIndex().releases().values()) {
+      final var changes = release.changes();
+      for (int index = 0; index < changes.size(); ++index) {
+        if (changes.get(index).tickets().contains(ticket)) {
+          results.add(CTicketReference.of(release.version(), index));
+        }
+      }
+    }
+    return results;
+  }
+
+  private static CChange ticketedChange(
+    final Random random)
+  {
+    final var tickets = new String[random.nextInt(3)];
+    for (int t = 0; t < tickets.length; ++t) {
+      tickets[t] = Integer.toString(random.nextInt(30));
+    }
+    return change("Change", tickets);
+  }
+
+  @Test
+  public void testFind()
+  {
+    final var v1 = CVersions.parse("1.0.0");
+    final var v2 = CVersions.parse("2.0.0");
+    final var changelog =
+      changelog(List.of(
+        release(v2, List.of(change("C", "24"))),
+        release(v1, List.of(
+          change("A", "23"),
+          change("B", "23", "24", "23")))));
+
+    final var index = changelog.ticketIndex();
+    assertEquals(
+      List.of(CTicketReference.of(v1, 0), CTicketReference.of(v1, 1)),
+      index.find(CTicketID.of("23")));
+    assertEquals(
+      List.of(CTicketReference.of(v1, 1), CTicketReference.of(v2, 0)),
+      index.find(CTicketID.of("24")));
+    assertEquals(List.of(), index.find(CTicketID.of("25")));
+    assertEquals(2, index.ticketCount());
+  }
+
+  @Test
+  public void testMatchesScan()
+  {
+    final var random = new Random(0x1dL);
+    final var changelog = generate(random, 200, CTicketIndexTest::ticketedChange);
+
+    final var sequential = CTicketIndex.of(changelog);
+    final var parallel =
+      CTicketIndex.ofParallel(changelog, ForkJoinPool.commonPool());
+    final var columns = CChangelogColumns.copyOf(changelog).ticketIndex();
+
+    for (int ticket = 0; ticket < 32; ++ticket) {
+      final var id = CTicketID.of(Integer.toString(ticket));
+      final var expected = scan(changelog, id);
+      assertEquals(expected, sequential.find(id));
+      assertEquals(expected, parallel.find(id));
+      assertEquals(expected, columns.find(id));
+    }
+  }
+
+  @Test
+  public void testIncremental()
+  {
+    final var random = new Random(0x2eL);
+    var changelog = generate(random, 50, CTicketIndexTest::ticketedChange);
+    var index = CTicketIndex.of(changelog);
+
+    for (int step = 0; step < 200; ++step) {
+      final var versions = changelog.releaseVersions();
+      final var version = versions.get(random.nextInt(versions.size()));
+      final var existing = changelog.releases().get(version);
+
+      final var changes = new ArrayList<>(existing.changes());
+      if (!changes.isEmpty() && random.nextBoolean()) {
+        changes.remove(random.nextInt(changes.size()));
+      } else {
+        changes.add(change(
+          "Added " + step, Integer.toString(random.nextInt(30))));
+      }
+
+      final var updated = release(version, changes);
+      changelog =
+        CChangelog.builder()
+          .from(changelog)
+          .putReleases(version, updated)
+          .build();
+      index = index.withRelease(updated);
+    }
+
+    for (int ticket = 0; ticket < 32; ++ticket) {
+      final var id = CTicketID.of(Integer.toString(ticket));
+      assertEquals(scan(changelog, id), index.find(id));
+    }
+
+    final var last = changelog.releaseVersions().get(0);
+    final var removed = index.withoutRelease(last);
+    for (int ticket = 0; ticket < 32; ++ticket) {
+      final var id = CTicketID.of(Integer.toString(ticket));
+      final var expected = new ArrayList<>(scan(changelog, id));
+      expected.removeIf(reference -> reference.release().equals(last));
+      assertEquals(expected, removed.find(id));
+    }
+  }
+}
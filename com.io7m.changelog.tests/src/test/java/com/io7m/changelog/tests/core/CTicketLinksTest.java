@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketLinks;
+import com.io7m.changelog.core.CTicketSystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CTicketLinksTest
+{
+  private static CChangelog changelog()
+  {
+    return CChangelog.builder()
+      .setProject(CProjectName.of("com.io7m.example"))
+      .putTicketSystems("gh", CTicketSystem.builder()
+        .setDefault(true)
+        .setId("gh")
+        .setUri(URI.create("https://github.com/io7m/example/issues/"))
+        .build())
+      .putTicketSystems("jira", CTicketSystem.builder()
+        .setDefault(false)
+        .setId("jira")
+        .setUri(URI.create("https://jira.example.com/browse/EX-"))
+        .build())
+      .build();
+  }
+
+  @Test
+  public void testLinks()
+  {
+    final var links = CTicketLinks.of(changelog());
+
+    assertEquals(
+      "https://github.com/io7m/example/issues/",
+      links.prefix("gh"));
+    assertEquals(
+      "https://github.com/io7m/example/issues/23",
+      links.link("gh", CTicketID.of("23")));
+    assertEquals(
+      "https://jira.example.com/browse/EX-100",
+      links.link("jira", CTicketID.of("100")));
+  }
+
+  @Test
+  public void testLinksMatchURIs()
+  {
+    final var changelog = changelog();
+    final var links = CTicketLinks.of(changelog);
+
+    for (final var system : changelog.ticketSystems().values()) {
+      for (final var id : new String[]{"1", "abc", "A_b-9", "ticketé"}) {
+        final var expected =
+          URI.create(system.uri().toString() + id).toString();
+        assertEquals(expected, links.link(system.id(), CTicketID.of(id)));
+      }
+    }
+  }
+
+  @Test
+  public void testAppendLink()
+    throws IOException
+  {
+    final var links = CTicketLinks.of(changelog());
+    final var text = new StringBuilder("see ");
+    links.appendLink(text, "gh", CTicketID.of("7"));
+    assertEquals("see https://github.com/io7m/example/issues/7", text.toString());
+  }
+
+  @Test
+  public void testUnknownSystem()
+  {
+    final var links = CTicketLinks.of(changelog());
+    assertThrows(IllegalArgumentException.class, () -> links.prefix("nope"));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> links.link("nope", CTicketID.of("1")));
+  }
+}
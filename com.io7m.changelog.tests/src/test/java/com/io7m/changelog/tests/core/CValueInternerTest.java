@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.core;
+
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CValueInterner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CValueInternerTest
+{
+  @Test
+  public void testLocal()
+  {
+    final var interner = CValueInterner.createLocal();
+
+    final var m0 = interner.moduleName(new String("com.io7m.example"));
+    final var m1 = interner.moduleName(new String("com.io7m.example"));
+    assertSame(m0, m1);
+    assertEquals(CModuleName.of("com.io7m.example"), m0);
+
+    final var t0 = interner.ticketID(new String("23"));
+    final var t1 = interner.ticketID(new String("23"));
+    assertSame(t0, t1);
+    assertEquals(CTicketID.of("23"), t0);
+
+    final var s0 = interner.ticketSystemID(new String("x"));
+    final var s1 = interner.ticketSystemID(new String("x"));
+    assertSame(s0, s1);
+
+    assertNotSame(m0, CValueInterner.createLocal().moduleName("com.io7m.example"));
+  }
+
+  @Test
+  public void testGlobal()
+  {
+    final var m0 =
+      CValueInterner.global().moduleName(new String("com.io7m.global"));
+    final var m1 =
+      CValueInterner.global().moduleName(new String("com.io7m.global"));
+    assertSame(m0, m1);
+
+    final var t0 =
+      CValueInterner.global().ticketID(new String("global23"));
+    final var t1 =
+      CValueInterner.global().ticketID(new String("global23"));
+    assertSame(t0, t1);
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    final var interner = CValueInterner.createLocal();
+    assertThrows(Exception.class, () -> interner.moduleName("-"));
+    assertThrows(Exception.class, () -> interner.moduleName("-"));
+    assertThrows(Exception.class, () -> interner.ticketID(" "));
+    assertThrows(Exception.class, () -> CValueInterner.global().ticketID(" "));
+  }
+}
@@ -26,6 +26,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
 
 public final class CVersionStandardTest
@@ -129,4 +130,80 @@ public final class CVersionStandardTest
     Assertions.assertEquals(2L, vs.minor().longValue());
     Assertions.assertEquals(3L, vs.patch().longValue());
   }
+
+  @Test
+  public void testPacked()
+  {
+    final var max = BigInteger.valueOf((1L << 21) - 1L);
+    final var big = BigInteger.valueOf(1L << 21);
+
+    Assertions.assertEquals(
+      (1L << 42) | (2L << 21) | 3L,
+      CVersions.parse("1.2.3").packed());
+    Assertions.assertNotEquals(
+      -1L,
+      CVersion.of(max, max, max).packed());
+    Assertions.assertEquals(
+      -1L,
+      CVersion.of(big, ZERO, ZERO).packed());
+    Assertions.assertEquals(
+      -1L,
+      CVersion.of(ZERO, ZERO, big).packed());
+  }
+
+  @Test
+  public void testOrderingUnpacked()
+  {
+    final var big = new BigInteger("100000000000000000000000");
+    final var max = BigInteger.valueOf((1L << 21) - 1L);
+
+    final CVersion small = CVersion.of(max, max, max);
+    final CVersion large0 = CVersion.of(big, ZERO, ZERO);
+    final CVersion large1 = CVersion.of(big, ZERO, BigInteger.ONE);
+
+    Assertions.assertEquals(-1, small.compareTo(large0));
+    Assertions.assertEquals(1, large0.compareTo(small));
+    Assertions.assertEquals(-1, large0.compareTo(large1));
+    Assertions.assertEquals(1, large1.compareTo(large0));
+    Assertions.assertEquals(0, large1.compareTo(CVersion.of(big, ZERO, ONE)));
+
+    final var sorted = new ArrayList<>(List.of(large1, small, large0));
+    sorted.sort(CVersions.ascending());
+    Assertions.assertEquals(List.of(small, large0, large1), sorted);
+    sorted.sort(CVersions.descending());
+    Assertions.assertEquals(List.of(large1, large0, small), sorted);
+  }
+
+  @Test
+  public void testParseLarge()
+  {
+    final CVersion vs =
+      CVersions.parse("1000000000000000000000.0.123456789012345678");
+    Assertions.assertEquals(
+      new BigInteger("1000000000000000000000"), vs.major());
+    Assertions.assertEquals(ZERO, vs.minor());
+    Assertions.assertEquals(
+      new BigInteger("123456789012345678"), vs.patch());
+    Assertions.assertEquals(-1L, vs.packed());
+  }
+
+  @Test
+  public void testParseNonASCIIDigits()
+  {
+    final CVersion vs = CVersions.parse("\u0661.\u0662.\u0663");
+    Assertions.assertEquals(CVersions.parse("1.2.3"), vs);
+  }
+
+  @Test
+  public void testParseInvalid()
+  {
+    for (final var text : List.of(
+      "", ".", "..", "1", "1.2", "1.2.", ".1.2", "1..2", "1.2.3.",
+      "1.2.3.4", "+1.2.3", "-1.2.3", "1.2.x", " 1.2.3")) {
+      Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> CVersions.parse(text),
+        text);
+    }
+  }
 }
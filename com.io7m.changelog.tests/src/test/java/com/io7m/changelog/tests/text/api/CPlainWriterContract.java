@@ -36,6 +36,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
+import static com.io7m.changelog.tests.CLTestChangelogs.merged;
+
 public abstract class CPlainWriterContract
 {
   private static final Logger LOG =
@@ -54,6 +56,35 @@ public abstract class CPlainWriterContract
       "/com/io7m/changelog/tests/xml/full.xml");
   }
 
+  @Test
+  public final void testMerged()
+    throws Exception
+  {
+    final ByteArrayOutputStream bao = new ByteArrayOutputStream();
+    final CPlainChangelogWriterType writer =
+      this.writers().createWithConfiguration(
+        CPlainChangelogWriterConfiguration.builder()
+          .setShowDates(true)
+          .build(),
+        URI.create("urn:stdout"),
+        bao);
+
+    writer.writeMerged(merged());
+
+    Assertions.assertEquals(
+      String.join(
+        System.lineSeparator(),
+        "2020-01-02 Release: a 1.1.0",
+        "2020-01-01 Change: A1",
+        "2020-01-01 Release: a 1.0.0",
+        "2020-01-01 Change: A0 (Ticket: #1)",
+        "2020-01-01 Release: b 2.0.0",
+        "2020-01-01 Change: B1",
+        "2020-01-01 Release: b 1.0.0",
+        "2020-01-01 Change: B0 (Ticket: #2)"),
+      bao.toString(StandardCharsets.UTF_8).trim());
+  }
+
   private void checkExpected(
     final String plain_name,
     final String xml_name)
@@ -16,7 +16,13 @@
 
 package com.io7m.changelog.tests.xml;
 
+import com.io7m.changelog.core.CChange;
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CParseError;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogParserType;
@@ -24,15 +30,24 @@ import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogWriterType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import com.io7m.changelog.tests.CLTestDirectories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 public abstract class CRoundTripContract
 {
@@ -64,6 +79,296 @@ public abstract class CRoundTripContract
     this.runRoundTrip("/com/io7m/changelog/tests/xml/audiobook.xml");
   }
 
+  @Test
+  public final void testStreamingIdentical0()
+    throws Exception
+  {
+    this.runStreamingIdentical("/com/io7m/changelog/tests/xml/basic0.xml");
+  }
+
+  @Test
+  public final void testStreamingIdentical1()
+    throws Exception
+  {
+    this.runStreamingIdentical("/com/io7m/changelog/tests/xml/full.xml");
+  }
+
+  @Test
+  public final void testStreamingIdentical2()
+    throws Exception
+  {
+    this.runStreamingIdentical("/com/io7m/changelog/tests/xml/audiobook.xml");
+  }
+
+  @Test
+  public final void testAppendIdenticalEmpty()
+    throws Exception
+  {
+    this.runAppendIdentical(List.of());
+  }
+
+  @Test
+  public final void testAppendIdenticalNonEmpty()
+    throws Exception
+  {
+    this.runAppendIdentical(List.of(
+      change("First & <escaped>", "2020-01-01T10:20:30Z"),
+      change("Second", "2020-01-02T00:00:00Z")
+    ));
+  }
+
+  @Test
+  public final void testAppendLatestClosed()
+    throws Exception
+  {
+    final var changelog =
+      this.parse("/com/io7m/changelog/tests/xml/full.xml");
+    final var directory =
+      CLTestDirectories.createTempDirectory();
+    final var file =
+      directory.resolve("changelog.xml");
+    final var fileTemp =
+      directory.resolve("changelog.xml.tmp");
+
+    final var wp = this.writers();
+    wp.write(file, fileTemp, changelog);
+
+    final var before = Files.readAllBytes(file);
+    Assertions.assertTrue(wp.appendChange(
+      file,
+      fileTemp,
+      change("Change", "2021-01-01T00:00:00Z"),
+      now(),
+      CParseErrorHandlers.loggingHandler(LOG)).isEmpty());
+    Assertions.assertArrayEquals(before, Files.readAllBytes(file));
+  }
+
+  @Test
+  public final void testAppendUnrecognizedLayout()
+    throws Exception
+  {
+    final var directory =
+      CLTestDirectories.createTempDirectory();
+    final var file =
+      directory.resolve("changelog.xml");
+    final var fileTemp =
+      directory.resolve("changelog.xml.tmp");
+
+    try (var input = CRoundTripContract.class.getResourceAsStream(
+      "/com/io7m/changelog/tests/xml/basic0.xml")) {
+      Files.copy(input, file);
+    }
+
+    final var before = Files.readAllBytes(file);
+    Assertions.assertTrue(this.writers().appendChange(
+      file,
+      fileTemp,
+      change("Change", "2021-01-01T00:00:00Z"),
+      now(),
+      CParseErrorHandlers.loggingHandler(LOG)).isEmpty());
+    Assertions.assertArrayEquals(before, Files.readAllBytes(file));
+  }
+
+  @Test
+  public final void testAppendInvalidTicketSystems()
+    throws Exception
+  {
+    final var errors =
+      this.runAppendInvalid(
+        text -> text.replace("<c:ticket-systems>", "<c:ticket-systems><c:x/>"));
+    Assertions.assertFalse(errors.isEmpty());
+  }
+
+  @Test
+  public final void testAppendInvalidOpenRelease()
+    throws Exception
+  {
+    final var errors =
+      this.runAppendInvalid(
+        text -> text.replace("version=\"100.0.0\">", "version=\"100.0.0\"><c:x/>"));
+    Assertions.assertFalse(errors.isEmpty());
+  }
+
+  private List<CParseError> runAppendInvalid(
+    final UnaryOperator<String> corrupt)
+    throws Exception
+  {
+    final var directory =
+      CLTestDirectories.createTempDirectory();
+    final var file =
+      directory.resolve("changelog.xml");
+    final var fileTemp =
+      directory.resolve("changelog.xml.tmp");
+
+    final var wp = this.writers();
+    wp.write(file, fileTemp, this.withOpenRelease(List.of()));
+
+    final var valid = Files.readString(file, StandardCharsets.UTF_8);
+    final var invalid = corrupt.apply(valid);
+    Assertions.assertNotEquals(valid, invalid);
+    Files.writeString(file, invalid, StandardCharsets.UTF_8);
+
+    final var lines = List.of(invalid.split("\\R"));
+    final var errors = new ArrayList<CParseError>();
+    Assertions.assertThrows(IOException.class, () -> wp.appendChange(
+      file,
+      fileTemp,
+      change("Change", "2021-01-01T00:00:00Z"),
+      now(),
+      errors::add));
+    Assertions.assertEquals(invalid, Files.readString(file));
+
+    for (final var error : errors) {
+      final var line = lines.get(error.lexical().line() - 1);
+      Assertions.assertTrue(line.contains("<c:x/>"), line);
+    }
+    return errors;
+  }
+
+  private static ZonedDateTime now()
+  {
+    return ZonedDateTime.parse("2021-01-01T12:13:14Z")
+      .withZoneSameInstant(ZoneId.of("UTC"));
+  }
+
+  private static CChange change(
+    final String summary,
+    final String date)
+  {
+    return CChange.builder()
+      .setSummary(summary)
+      .setDate(ZonedDateTime.parse(date).withZoneSameInstant(ZoneId.of("UTC")))
+      .setModule(CModuleName.of("com.io7m.example"))
+      .setBackwardsCompatible(false)
+      .addTickets(CTicketID.of("23"))
+      .build();
+  }
+
+  private CChangelog parse(
+    final String name)
+    throws IOException, URISyntaxException
+  {
+    final URL u = CRoundTripContract.class.getResource(name);
+    final CXMLChangelogParserType p =
+      this.parsers().create(
+        u.toURI(),
+        u.openStream(),
+        CParseErrorHandlers.loggingHandler(LOG));
+    return p.parse();
+  }
+
+  private CChangelog withOpenRelease(
+    final List<CChange> existing)
+    throws IOException, URISyntaxException
+  {
+    final var base =
+      this.parse("/com/io7m/changelog/tests/xml/full.xml");
+    final var version =
+      CVersions.parse("100.0.0");
+    final var release =
+      CRelease.builder()
+        .setVersion(version)
+        .setDate(ZonedDateTime.parse("2020-01-03T05:06:07Z")
+                   .withZoneSameInstant(ZoneId.of("UTC")))
+        .setOpen(true)
+        .setTicketSystemID("com.io7m.github.changelog")
+        .setChanges(existing)
+        .build();
+    return CChangelog.builder()
+      .from(base)
+      .putReleases(version, release)
+      .build();
+  }
+
+  private void runAppendIdentical(
+    final List<CChange> existing)
+    throws IOException, URISyntaxException
+  {
+    final var pp = this.parsers();
+    final var wp = this.writers();
+    final var changelog = this.withOpenRelease(existing);
+
+    final var directory =
+      CLTestDirectories.createTempDirectory();
+    final var fileIncremental =
+      directory.resolve("incremental.xml");
+    final var fileFull =
+      directory.resolve("full.xml");
+    final var fileTemp =
+      directory.resolve("changelog.xml.tmp");
+
+    wp.write(fileIncremental, fileTemp, changelog);
+    wp.write(fileFull, fileTemp, changelog);
+
+    for (int index = 0; index < 3; ++index) {
+      final var change =
+        change("Change " + index, "2021-01-0" + (index + 1) + "T01:02:03Z");
+
+      Assertions.assertEquals(
+        Optional.of(CVersions.parse("100.0.0")),
+        wp.appendChange(
+          fileIncremental,
+          fileTemp,
+          change,
+          now(),
+          CParseErrorHandlers.loggingHandler(LOG)));
+
+      final var parsed =
+        pp.parse(fileFull, CParseErrorHandlers.loggingHandler(LOG));
+      final var latest =
+        parsed.latestRelease().orElseThrow();
+      final var releaseWrite =
+        CRelease.builder()
+          .from(latest)
+          .addChanges(change)
+          .setDate(now())
+          .build();
+      wp.write(
+        fileFull,
+        fileTemp,
+        CChangelog.builder()
+          .from(parsed)
+          .putReleases(releaseWrite.version(), releaseWrite)
+          .build());
+
+      Assertions.assertArrayEquals(
+        Files.readAllBytes(fileFull),
+        Files.readAllBytes(fileIncremental)
+      );
+    }
+  }
+
+  private void runStreamingIdentical(
+    final String name)
+    throws IOException, URISyntaxException
+  {
+    final CXMLChangelogParserProviderType pp = this.parsers();
+    final CXMLChangelogWriterProviderType wp = this.writers();
+
+    final URL u = CRoundTripContract.class.getResource(name);
+
+    final CChangelog c0;
+    {
+      final CXMLChangelogParserType p =
+        pp.create(
+          u.toURI(),
+          u.openStream(),
+          CParseErrorHandlers.loggingHandler(LOG));
+      c0 = p.parse();
+    }
+
+    final var outputDOM = new ByteArrayOutputStream();
+    wp.create(u.toURI(), outputDOM).write(c0);
+
+    final var outputStreaming = new ByteArrayOutputStream();
+    wp.createStreaming(u.toURI(), outputStreaming).write(c0);
+
+    Assertions.assertArrayEquals(
+      outputDOM.toByteArray(),
+      outputStreaming.toByteArray()
+    );
+  }
+
   private void runRoundTrip(
     final String name)
     throws IOException, URISyntaxException
@@ -39,6 +39,9 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.merged;
 
 public abstract class CAtomWriterContract
 {
@@ -58,6 +61,38 @@ public abstract class CAtomWriterContract
       "/com/io7m/changelog/tests/xml/full.xml");
   }
 
+  @Test
+  public final void testMerged()
+    throws Exception
+  {
+    final ByteArrayOutputStream bao = new ByteArrayOutputStream();
+    final CAtomChangelogWriterType writer =
+      this.writers().createWithConfiguration(
+        CAtomChangelogWriterConfiguration.builder()
+          .setUpdated(ZonedDateTime.of(
+            LocalDate.EPOCH,
+            LocalTime.MIDNIGHT,
+            ZoneId.of("UTC")))
+          .setTitle("Example")
+          .setAuthorEmail("someone@example.com")
+          .setAuthorName("Someone")
+          .setUri(URI.create("http://example.com"))
+          .build(),
+        URI.create("urn:stdout"),
+        bao);
+
+    writer.writeMerged(merged());
+
+    final String text = bao.toString(StandardCharsets.UTF_8);
+    int previous = -1;
+    for (final var entry : List.of("a:1.1.0", "a:1.0.0", "b:2.0.0", "b:1.0.0")) {
+      final int index = text.indexOf("<a:id>" + entry + "</a:id>");
+      Assertions.assertTrue(index > previous, entry);
+      previous = index;
+    }
+    Assertions.assertTrue(text.contains("<a:title>b 2.0.0 released</a:title>"));
+  }
+
   private void checkExpected(
     final String plain_name,
     final String xml_name)
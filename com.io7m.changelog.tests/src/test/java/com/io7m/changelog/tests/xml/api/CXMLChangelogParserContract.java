@@ -16,8 +16,17 @@
 
 package com.io7m.changelog.tests.xml.api;
 
+import com.io7m.changelog.core.CChange;
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
 import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.CLTestDirectories;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogParserType;
 import org.junit.jupiter.api.Assertions;
@@ -25,9 +34,20 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public abstract class CXMLChangelogParserContract
 {
@@ -72,6 +92,276 @@ public abstract class CXMLChangelogParserContract
       () -> this.parse("/com/io7m/changelog/tests/xml/basicTooManyOpen.xml"));
   }
 
+  @Test
+  public final void testStreamingEvents()
+    throws Exception
+  {
+    final var name = "/com/io7m/changelog/tests/xml/full.xml";
+    final var expected = this.parse(name);
+
+    final var builder = CChangelog.builder();
+    final var changes = new ArrayList<CChange>();
+    this.parser(name).parseStreaming(new CChangelogEventReceiverType()
+    {
+      @Override
+      public Action onProject(
+        final CProjectName project)
+      {
+        builder.setProject(project);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onChange(
+        final CVersion release,
+        final CChange change)
+      {
+        changes.add(change);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onRelease(
+        final CRelease release)
+      {
+        Assertions.assertEquals(changes, release.changes());
+        changes.clear();
+        builder.putReleases(release.version(), release);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onTicketSystem(
+        final CTicketSystem ticketSystem)
+      {
+        builder.putTicketSystems(ticketSystem.id(), ticketSystem);
+        return Action.CONTINUE;
+      }
+    });
+
+    Assertions.assertEquals(expected, builder.build());
+  }
+
+  @Test
+  public final void testStreamingAllReleases()
+    throws Exception
+  {
+    final var name = "/com/io7m/changelog/tests/xml/full.xml";
+    final var expected = this.parse(name);
+    final var releases = new ArrayList<CRelease>();
+
+    this.parser(name).parseStreaming(new CChangelogEventReceiverType()
+    {
+      @Override
+      public boolean wantsAllReleases()
+      {
+        return true;
+      }
+
+      @Override
+      public boolean wantsRelease(
+        final CRelease release)
+      {
+        throw new IllegalStateException("wantsRelease called");
+      }
+
+      @Override
+      public Action onRelease(
+        final CRelease release)
+      {
+        releases.add(release);
+        return Action.CONTINUE;
+      }
+    });
+
+    Assertions.assertEquals(
+      List.copyOf(expected.releases().values()),
+      releases);
+  }
+
+  @Test
+  public final void testStreamingStop()
+    throws Exception
+  {
+    final var releases = new ArrayList<CRelease>();
+    final var systems = new ArrayList<CTicketSystem>();
+
+    this.parser("/com/io7m/changelog/tests/xml/full.xml")
+      .parseStreaming(new CChangelogEventReceiverType()
+      {
+        @Override
+        public Action onRelease(
+          final CRelease release)
+        {
+          releases.add(release);
+          return Action.STOP;
+        }
+
+        @Override
+        public Action onTicketSystem(
+          final CTicketSystem ticketSystem)
+        {
+          systems.add(ticketSystem);
+          return Action.CONTINUE;
+        }
+      });
+
+    Assertions.assertEquals(1, releases.size());
+    Assertions.assertEquals(
+      CVersions.parse("1.0.0"),
+      releases.get(0).version());
+    Assertions.assertEquals(List.of(), systems);
+  }
+
+  @Test
+  public final void testStreamingInvalid()
+    throws Exception
+  {
+    final var parser =
+      this.parser("/com/io7m/changelog/tests/xml/basicTooManyOpen.xml");
+
+    Assertions.assertThrows(
+      IOException.class,
+      () -> parser.parseStreaming(new CChangelogEventReceiverType()
+      {
+      }));
+  }
+
+  @Test
+  public final void testParseLatest()
+    throws Exception
+  {
+    final var name = "/com/io7m/changelog/tests/xml/full.xml";
+    final var full = this.parse(name);
+    final var file = this.file(name);
+    final var handler = CParseErrorHandlers.loggingHandler(LOG);
+
+    for (int count = 0; count <= 12; ++count) {
+      Assertions.assertEquals(
+        CChangelogFilters.limit(full, count),
+        this.parsers().parseLatest(file, count, Optional.empty(), handler));
+    }
+
+    for (final var version : full.releases().keySet()) {
+      for (int count = 1; count <= 3; ++count) {
+        Assertions.assertEquals(
+          CChangelogFilters.upToAndIncluding(full, version, count).get(),
+          this.parsers().parseLatest(file, count, Optional.of(version), handler));
+      }
+    }
+  }
+
+  @Test
+  public final void testParseLatestUndefinedTicketSystem()
+    throws Exception
+  {
+    final var file =
+      this.file("/com/io7m/changelog/tests/xml/basicUndefinedTicketSystem.xml");
+
+    Assertions.assertThrows(
+      IOException.class,
+      () -> this.parsers().parseLatest(
+        file, 1, Optional.empty(), CParseErrorHandlers.loggingHandler(LOG)));
+  }
+
+  @Test
+  public final void testParseLatestInvalid()
+    throws Exception
+  {
+    final var file =
+      this.file("/com/io7m/changelog/tests/xml/basicTooManyOpen.xml");
+
+    Assertions.assertThrows(
+      IOException.class,
+      () -> this.parsers().parseLatest(
+        file, 1, Optional.empty(), CParseErrorHandlers.loggingHandler(LOG)));
+  }
+
+  @Test
+  public final void testParseFileLarge()
+    throws Exception
+  {
+    final var text = new StringBuilder(4 << 20);
+    text.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    text.append("<c:changelog xmlns:c=\"urn:com.io7m.changelog:4.0\" ");
+    text.append("project=\"com.io7m.changelog\">\n");
+    text.append("<c:releases>\n");
+    text.append("<c:release date=\"2017-11-10T00:00:00+00:00\" ");
+    text.append("version=\"1.0.0\" ticket-system=\"t\">\n");
+    text.append("<c:changes>\n");
+    for (int index = 0; index < 30000; ++index) {
+      text.append("<c:change date=\"2017-11-10T00:00:00+00:00\" ");
+      text.append("summary=\"Change ");
+      text.append(index);
+      text.append("\"/>\n");
+    }
+    text.append("</c:changes>\n");
+    text.append("</c:release>\n");
+    text.append("</c:releases>\n");
+    text.append("<c:ticket-systems>\n");
+    text.append("<c:ticket-system id=\"t\" default=\"true\" ");
+    text.append("url=\"https://github.com/io7m/changelog/issues/\"/>\n");
+    text.append("</c:ticket-systems>\n");
+    text.append("</c:changelog>\n");
+
+    final var data = text.toString().getBytes(StandardCharsets.UTF_8);
+    Assertions.assertTrue(data.length > (1 << 20));
+
+    final var file =
+      CLTestDirectories.createTempDirectory().resolve("changelog.xml");
+    Files.write(file, data);
+
+    final var handler = CParseErrorHandlers.loggingHandler(LOG);
+    final var expected =
+      this.parsers()
+        .create(file.toUri(), new ByteArrayInputStream(data), handler)
+        .parse();
+    final var received = this.parsers().parse(file, handler);
+
+    Assertions.assertEquals(expected, received);
+    Assertions.assertEquals(
+      30000,
+      received.releases().values().iterator().next().changes().size());
+  }
+
+  @Test
+  public final void testParseFileZip()
+    throws Exception
+  {
+    final var name = "/com/io7m/changelog/tests/xml/full.xml";
+    final var zip =
+      CLTestDirectories.createTempDirectory().resolve("changelog.zip");
+
+    try (var fs = FileSystems.newFileSystem(
+      URI.create("jar:" + zip.toUri()), Map.of("create", "true"))) {
+      final var file = fs.getPath("changelog.xml");
+      Files.copy(this.file(name), file);
+
+      Assertions.assertEquals(
+        this.parse(name),
+        this.parsers().parse(file, CParseErrorHandlers.loggingHandler(LOG)));
+    }
+  }
+
+  private Path file(
+    final String name)
+    throws URISyntaxException
+  {
+    return Paths.get(
+      CXMLChangelogParserContract.class.getResource(name).toURI());
+  }
+
+  private CXMLChangelogParserType parser(
+    final String name)
+    throws IOException, URISyntaxException
+  {
+    final URL u = CXMLChangelogParserContract.class.getResource(name);
+    return this.parsers().create(
+      u.toURI(),
+      u.openStream(),
+      CParseErrorHandlers.loggingHandler(LOG));
+  }
+
   private CChangelog parse(
     final String name)
     throws IOException, URISyntaxException
@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.xml.vanilla;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.CXHTMLChangelogWriters;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.io7m.changelog.tests.CLTestChangelogs.merged;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CXHTMLWriterTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXHTMLWriterTest.class);
+
+  private CXHTMLChangelogWriters writers;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.writers = new CXHTMLChangelogWriters();
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  private static CChangelog parseFull()
+    throws Exception
+  {
+    final var url =
+      CXHTMLWriterTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/full.xml");
+
+    try (var stream = url.openStream()) {
+      return new CXMLChangelogParsers()
+        .create(url.toURI(), stream, CParseErrorHandlers.loggingHandler(LOG))
+        .parse();
+    }
+  }
+
+  private static CChangelog generate(
+    final int releases)
+  {
+    final var date =
+      ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    final var builder =
+      CChangelog.builder()
+        .setProject(CProjectName.of("com.io7m.example"))
+        .putTicketSystems("t", CTicketSystem.builder()
+          .setId("t")
+          .setDefault(true)
+          .setUri(URI.create("https://www.example.com/issues/"))
+          .build());
+
+    for (int index = 0; index < releases; ++index) {
+      final var version =
+        CVersion.of(BigInteger.valueOf(index), BigInteger.ZERO, BigInteger.ZERO);
+      final var release =
+        CRelease.builder()
+          .setVersion(version)
+          .setDate(date.plusDays(index))
+          .setTicketSystemID("t")
+          .setOpen(false);
+
+      for (int change = 0; change < index % 5; ++change) {
+        release.addChanges(
+          CChange.builder()
+            .setDate(date.plusDays(index))
+            .setSummary("Change <" + change + "> & \"more\"")
+            .setModule(CModuleName.of("com.io7m.m" + change))
+            .addTickets(CTicketID.of(Integer.toString(change)))
+            .setBackwardsCompatible(change % 2 == 0)
+            .build());
+      }
+      builder.putReleases(version, release.build());
+    }
+    return builder.build();
+  }
+
+  private byte[] write(
+    final CChangelogType changelog)
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    this.writers.create(URI.create("urn:test"), output)
+      .write(changelog);
+    return output.toByteArray();
+  }
+
+  private byte[] writeParallel(
+    final CChangelogType changelog,
+    final Executor releaseExecutor)
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    this.writers.createParallel(URI.create("urn:test"), output, releaseExecutor)
+      .write(changelog);
+    return output.toByteArray();
+  }
+
+  @Test
+  public void testParallelIdenticalFull()
+    throws Exception
+  {
+    final var changelog = parseFull();
+    assertArrayEquals(
+      this.write(changelog),
+      this.writeParallel(changelog, this.executor));
+  }
+
+  @Test
+  public void testParallelIdenticalMany()
+    throws Exception
+  {
+    final var changelog = generate(3000);
+    final var expected = this.write(changelog);
+    assertArrayEquals(expected, this.writeParallel(changelog, this.executor));
+    assertArrayEquals(expected, this.writeParallel(changelog, Runnable::run));
+  }
+
+  @Test
+  public void testParallelIdenticalSmall()
+    throws Exception
+  {
+    for (int count = 0; count <= 2; ++count) {
+      final var changelog = generate(count);
+      assertArrayEquals(
+        this.write(changelog),
+        this.writeParallel(changelog, this.executor));
+    }
+  }
+
+  @Test
+  public void testMerged()
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    this.writers.create(URI.create("urn:test"), output)
+      .writeMerged(merged());
+
+    final var text = output.toString(StandardCharsets.UTF_8);
+    assertTrue(text.contains("summary=\"Changes for projects b, a\""));
+    assertTrue(text.contains("<a href=\"http://example.com1\">1</a>"));
+
+    int previous = -1;
+    for (final var release : List.of("a 1.1.0", "a 1.0.0", "b 2.0.0", "b 1.0.0")) {
+      final int index = text.indexOf("Release: " + release + "<");
+      assertTrue(index > previous, release);
+      previous = index;
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.xml.vanilla;
+
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.CLTestDirectories;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.api.CXMLChangelogAggregator;
+import com.io7m.changelog.xml.api.CXMLChangelogAggregatorConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+public final class CXMLChangelogAggregatorTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLChangelogAggregatorTest.class);
+
+  private Path directory;
+  private CXMLChangelogParsers parsers;
+
+  private void copy(
+    final String name,
+    final Path output)
+    throws Exception
+  {
+    Files.createDirectories(output.getParent());
+    try (var stream = CXMLChangelogAggregatorTest.class.getResourceAsStream(
+      "/com/io7m/changelog/tests/xml/" + name)) {
+      Files.copy(stream, output);
+    }
+  }
+
+  @BeforeEach
+  public void setup()
+    throws Exception
+  {
+    this.directory = CLTestDirectories.createTempDirectory();
+    this.parsers = CXMLChangelogParsers.createPooled(4);
+  }
+
+  @Test
+  public void testAggregateEmpty()
+    throws Exception
+  {
+    final var aggregate =
+      CXMLChangelogAggregator.aggregate(
+        this.parsers,
+        CXMLChangelogAggregatorConfiguration.of(this.directory));
+
+    assertEquals(List.of(), aggregate.entries());
+    assertEquals(List.of(), aggregate.changelogs());
+  }
+
+  @Test
+  public void testAggregateFailuresReported()
+    throws Exception
+  {
+    final var fileA = this.directory.resolve("a/README-CHANGES.xml");
+    final var fileB = this.directory.resolve("b/c/README-CHANGES.xml");
+    final var fileC = this.directory.resolve("c/README-CHANGES.xml");
+    this.copy("full.xml", fileA);
+    this.copy("basicTooManyOpen.xml", fileB);
+    this.copy("basic0.xml", fileC);
+    this.copy("basic0.xml", this.directory.resolve("d/OTHER.xml"));
+
+    final var handler = CParseErrorHandlers.loggingHandler(LOG);
+    final var aggregate =
+      CXMLChangelogAggregator.aggregate(
+        this.parsers,
+        CXMLChangelogAggregatorConfiguration.builder()
+          .setDirectory(this.directory)
+          .setParallelism(2)
+          .setCount(2)
+          .setUseCache(true)
+          .build());
+
+    final var entries = aggregate.entries();
+    assertEquals(3, entries.size());
+    assertEquals(fileA, entries.get(0).file());
+    assertEquals(fileB, entries.get(1).file());
+    assertEquals(fileC, entries.get(2).file());
+
+    assertTrue(entries.get(0).succeeded());
+    assertFalse(entries.get(1).succeeded());
+    assertFalse(entries.get(1).errors().isEmpty());
+    assertTrue(entries.get(2).succeeded());
+    assertEquals(List.of(entries.get(1)), aggregate.failures());
+
+    assertEquals(
+      List.of(
+        CChangelogFilters.limit(this.parsers.parse(fileA, handler), 2L),
+        CChangelogFilters.limit(this.parsers.parse(fileC, handler), 2L)),
+      aggregate.changelogs());
+  }
+
+  @Test
+  public void testAggregateMissingDirectory()
+  {
+    assertThrows(NoSuchFileException.class, () -> {
+      CXMLChangelogAggregator.aggregate(
+        this.parsers,
+        CXMLChangelogAggregatorConfiguration.of(
+          this.directory.resolve("nonexistent")));
+    });
+  }
+
+  @Test
+  public void testAggregateUnreadableDirectory()
+    throws Exception
+  {
+    final var fileA = this.directory.resolve("a/README-CHANGES.xml");
+    final var fileB = this.directory.resolve("b/README-CHANGES.xml");
+    this.copy("basic0.xml", fileA);
+    this.copy("basic0.xml", fileB);
+
+    final var unreadable = this.directory.resolve("b");
+    Files.setPosixFilePermissions(unreadable, Set.of());
+    try {
+      assumeFalse(
+        Files.isReadable(unreadable),
+        "Directory permissions are not enforced for this user");
+
+      final var aggregate =
+        CXMLChangelogAggregator.aggregate(
+          this.parsers,
+          CXMLChangelogAggregatorConfiguration.builder()
+            .setDirectory(this.directory)
+            .setUseCache(false)
+            .build());
+
+      final var entries = aggregate.entries();
+      assertEquals(2, entries.size());
+      assertEquals(fileA, entries.get(0).file());
+      assertTrue(entries.get(0).succeeded());
+      assertEquals(unreadable, entries.get(1).file());
+      assertFalse(entries.get(1).succeeded());
+      assertEquals(List.of(entries.get(1)), aggregate.failures());
+    } finally {
+      Files.setPosixFilePermissions(
+        unreadable, PosixFilePermissions.fromString("rwx------"));
+    }
+  }
+
+  @Test
+  public void testAggregateUncached()
+    throws Exception
+  {
+    for (int index = 0; index < 16; ++index) {
+      this.copy(
+        "full.xml",
+        this.directory.resolve(String.format("m%02d/README-CHANGES.xml", index)));
+    }
+
+    final var aggregate =
+      CXMLChangelogAggregator.aggregate(
+        this.parsers,
+        CXMLChangelogAggregatorConfiguration.builder()
+          .setDirectory(this.directory)
+          .setCount(1)
+          .setUseCache(false)
+          .build());
+
+    final var expected =
+      CChangelogFilters.limit(
+        this.parsers.parse(
+          aggregate.entries().get(0).file(),
+          CParseErrorHandlers.loggingHandler(LOG)),
+        1L);
+
+    assertEquals(16, aggregate.changelogs().size());
+    assertTrue(aggregate.failures().isEmpty());
+    for (final var changelog : aggregate.changelogs()) {
+      assertEquals(expected, changelog);
+    }
+    for (final var entry : aggregate.entries()) {
+      assertFalse(Files.exists(
+        entry.file().resolveSibling("README-CHANGES.xml.cache")));
+    }
+  }
+}
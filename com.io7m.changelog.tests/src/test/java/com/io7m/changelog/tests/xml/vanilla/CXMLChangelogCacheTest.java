@@ -0,0 +1,264 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.xml.vanilla;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.CLTestDirectories;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
+import com.io7m.changelog.xml.api.CXMLChangelogCache;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import com.io7m.changelog.xml.api.CXMLChangelogParserType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CXMLChangelogCacheTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLChangelogCacheTest.class);
+
+  private Path directory;
+  private Path file;
+  private Path cache;
+  private CXMLChangelogParsers parsers;
+  private CChangelog expected;
+
+  @BeforeEach
+  public void setup()
+    throws Exception
+  {
+    this.directory = CLTestDirectories.createTempDirectory();
+    this.file = this.directory.resolve("README-CHANGES.xml");
+    this.cache = this.directory.resolve("README-CHANGES.xml.cache");
+    this.parsers = new CXMLChangelogParsers();
+
+    try (var stream = CXMLChangelogCacheTest.class.getResourceAsStream(
+      "/com/io7m/changelog/tests/xml/full.xml")) {
+      Files.copy(stream, this.file);
+    }
+
+    this.expected =
+      this.parsers.parse(this.file, CParseErrorHandlers.loggingHandler(LOG));
+  }
+
+  @Test
+  public void testCacheBuiltLazily()
+    throws Exception
+  {
+    assertEquals(this.cache, CXMLChangelogCache.cacheFileFor(this.file));
+    assertFalse(Files.exists(this.cache));
+    assertTrue(CXMLChangelogCache.load(this.file).isEmpty());
+
+    final var received0 =
+      this.parsers.parseCached(
+        this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertEquals(this.expected, received0);
+    assertTrue(Files.isRegularFile(this.cache));
+
+    assertEquals(this.expected, CXMLChangelogCache.load(this.file).get());
+
+    final var received1 =
+      this.parsers.parseCached(
+        this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertEquals(this.expected, received1);
+  }
+
+  @Test
+  public void testCacheInvalidatedByWrite()
+    throws Exception
+  {
+    this.parsers.parseCached(
+      this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(Files.isRegularFile(this.cache));
+
+    new CXMLChangelogWriters().write(
+      this.file, this.directory.resolve("tmp.xml"), this.expected);
+    assertFalse(Files.exists(this.cache));
+  }
+
+  @Test
+  public void testCacheStaleContent()
+    throws Exception
+  {
+    this.parsers.parseCached(
+      this.file, CParseErrorHandlers.loggingHandler(LOG));
+
+    /*
+     * Change the content without changing the size or modification time.
+     */
+
+    final var time = Files.getLastModifiedTime(this.file);
+    final var text = Files.readString(this.file);
+    Files.writeString(this.file, text.replace("2.1.2", "2.1.3"));
+    Files.setLastModifiedTime(this.file, time);
+
+    assertTrue(CXMLChangelogCache.load(this.file).isEmpty());
+
+    final var received =
+      this.parsers.parseCached(
+        this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(received.releases().containsKey(CVersions.parse("2.1.3")));
+    assertEquals(received, CXMLChangelogCache.load(this.file).get());
+  }
+
+  @Test
+  public void testCacheModifiedDuringParse()
+    throws Exception
+  {
+    final var text = Files.readString(this.file);
+    final var modifying = new CXMLChangelogParserProviderType()
+    {
+      @Override
+      public CXMLChangelogParserType create(
+        final URI uri,
+        final InputStream stream,
+        final Consumer<CParseError> receiver)
+        throws IOException
+      {
+        return CXMLChangelogCacheTest.this.parsers.create(
+          uri, stream, receiver);
+      }
+
+      @Override
+      public CChangelog parse(
+        final Path path,
+        final Consumer<CParseError> receiver)
+        throws IOException
+      {
+        final var result =
+          CXMLChangelogCacheTest.this.parsers.parse(path, receiver);
+        Files.writeString(path, text.replace("2.1.2", "2.1.3"));
+        return result;
+      }
+    };
+
+    final var received =
+      CXMLChangelogCache.parse(
+        modifying, this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertEquals(this.expected, received);
+    assertFalse(Files.exists(this.cache));
+
+    Files.writeString(this.file, text);
+    CXMLChangelogCache.searchIndex(
+      modifying,
+      this.file,
+      Runnable::run,
+      CParseErrorHandlers.loggingHandler(LOG));
+    assertFalse(Files.exists(this.cache));
+    assertFalse(
+      Files.exists(CXMLChangelogCache.searchIndexFileFor(this.file)));
+  }
+
+  @Test
+  public void testCacheStaleTime()
+    throws Exception
+  {
+    this.parsers.parseCached(
+      this.file, CParseErrorHandlers.loggingHandler(LOG));
+
+    Files.setLastModifiedTime(this.file, FileTime.fromMillis(0L));
+    assertTrue(CXMLChangelogCache.load(this.file).isEmpty());
+  }
+
+  @Test
+  public void testCacheCorrupt()
+    throws Exception
+  {
+    this.parsers.parseCached(
+      this.file, CParseErrorHandlers.loggingHandler(LOG));
+
+    final var bytes = Files.readAllBytes(this.cache);
+    Files.write(this.cache, Arrays.copyOf(bytes, bytes.length - 8));
+    assertTrue(CXMLChangelogCache.load(this.file).isEmpty());
+
+    final var received =
+      this.parsers.parseCached(
+        this.file, CParseErrorHandlers.loggingHandler(LOG));
+    assertEquals(this.expected, received);
+  }
+
+  @Test
+  public void testCacheConcurrentStores()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(8);
+    try {
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (int index = 0; index < 32; ++index) {
+        tasks.add(() -> {
+          CXMLChangelogCache.store(this.file, this.expected);
+          return null;
+        });
+      }
+      for (final var future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(this.expected, CXMLChangelogCache.load(this.file).get());
+    assertEquals(List.of(), temporaryFiles());
+  }
+
+  @Test
+  public void testCacheFailedStoreLeavesNoTemporaryFile()
+    throws Exception
+  {
+    Files.createDirectory(this.cache);
+    Files.writeString(this.cache.resolve("x"), "x");
+
+    assertThrows(
+      IOException.class,
+      () -> CXMLChangelogCache.store(this.file, this.expected));
+    assertEquals(List.of(), temporaryFiles());
+  }
+
+  private List<Path> temporaryFiles()
+    throws IOException
+  {
+    try (var stream = Files.list(this.directory)) {
+      return stream
+        .filter(path -> path.getFileName().toString().endsWith(".tmp"))
+        .collect(Collectors.toList());
+    }
+  }
+}
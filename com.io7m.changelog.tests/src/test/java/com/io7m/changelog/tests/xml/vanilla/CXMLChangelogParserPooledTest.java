@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.xml.vanilla;
+
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.xml.api.CXMLChangelogParserContract;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CXMLChangelogParserPooledTest
+  extends CXMLChangelogParserContract
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLChangelogParserPooledTest.class);
+
+  @Override
+  protected CXMLChangelogParserProviderType parsers()
+  {
+    return CXMLChangelogParsers.createPooled(2);
+  }
+
+  @Test
+  public void testPoolReuse()
+    throws Exception
+  {
+    final var parsers = CXMLChangelogParsers.createPooled(2);
+    final var url =
+      CXMLChangelogParserPooledTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/full.xml");
+
+    final var expected =
+      new CXMLChangelogParsers()
+        .create(
+          url.toURI(),
+          url.openStream(),
+          CParseErrorHandlers.loggingHandler(LOG))
+        .parse();
+
+    for (int index = 0; index < 4; ++index) {
+      try (var stream = url.openStream()) {
+        final var received =
+          parsers.create(
+            url.toURI(),
+            stream,
+            CParseErrorHandlers.loggingHandler(LOG)).parse();
+        assertEquals(expected, received);
+      }
+    }
+
+    final var statistics = parsers.poolStatistics().orElseThrow();
+    assertEquals(2, statistics.capacity());
+    assertEquals(1, statistics.idle());
+    assertEquals(1L, statistics.misses());
+    assertEquals(3L, statistics.hits());
+    assertEquals(0L, statistics.discards());
+  }
+
+  @Test
+  public void testPoolInvalidReused()
+    throws Exception
+  {
+    final var parsers = CXMLChangelogParsers.createPooled(1);
+    final var invalid =
+      CXMLChangelogParserPooledTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/invalid0.xml");
+    final var valid =
+      CXMLChangelogParserPooledTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/basic0.xml");
+
+    try (var stream = invalid.openStream()) {
+      final var parser =
+        parsers.create(
+          invalid.toURI(),
+          stream,
+          CParseErrorHandlers.loggingHandler(LOG));
+      assertThrows(Exception.class, parser::parse);
+    }
+
+    try (var stream = valid.openStream()) {
+      parsers.create(
+        valid.toURI(),
+        stream,
+        CParseErrorHandlers.loggingHandler(LOG)).parse();
+    }
+
+    final var statistics = parsers.poolStatistics().orElseThrow();
+    assertEquals(1L, statistics.misses());
+    assertEquals(1L, statistics.hits());
+  }
+
+  @Test
+  public void testDoctypeRejected()
+    throws Exception
+  {
+    final var parsers = CXMLChangelogParsers.createPooled(1);
+    final var url =
+      CXMLChangelogParserPooledTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/doctype0.xml");
+
+    try (var stream = url.openStream()) {
+      final var parser =
+        parsers.create(
+          url.toURI(),
+          stream,
+          CParseErrorHandlers.loggingHandler(LOG));
+      assertThrows(IOException.class, parser::parse);
+    }
+
+    try (var stream = url.openStream()) {
+      final var parser =
+        new CXMLChangelogParsers().create(
+          url.toURI(),
+          stream,
+          CParseErrorHandlers.loggingHandler(LOG));
+      assertThrows(IOException.class, parser::parse);
+    }
+  }
+
+  @Test
+  public void testPoolSizeInvalid()
+  {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> CXMLChangelogParsers.createPooled(0));
+  }
+}
@@ -16,15 +16,312 @@
 
 package com.io7m.changelog.tests.xml.vanilla;
 
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogLazy;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CValueInterner;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.tests.CLTestChangelogs;
+import com.io7m.changelog.tests.CLTestDirectories;
 import com.io7m.changelog.tests.xml.api.CXMLChangelogParserContract;
+import com.io7m.changelog.xml.CXHTMLChangelogWriters;
 import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.CXMLChangelogWriters;
 import com.io7m.changelog.xml.api.CXMLChangelogParserProviderType;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class CXMLChangelogParserTest extends CXMLChangelogParserContract
 {
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLChangelogParserTest.class);
+
   @Override
   protected CXMLChangelogParserProviderType parsers()
   {
     return new CXMLChangelogParsers();
   }
+
+  private static CChangelog parseFull(
+    final CXMLChangelogParsers parsers)
+    throws Exception
+  {
+    return parseResource(parsers, "full.xml");
+  }
+
+  private static CChangelog parseResource(
+    final CXMLChangelogParsers parsers,
+    final String name)
+    throws Exception
+  {
+    final var url =
+      CXMLChangelogParserTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/" + name);
+
+    try (var stream = url.openStream()) {
+      return parsers.create(
+        url.toURI(),
+        stream,
+        CParseErrorHandlers.loggingHandler(LOG)).parse();
+    }
+  }
+
+  @Test
+  public void testInterningLocal()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var c0 = parseFull(parsers);
+    final var c1 = parseFull(parsers);
+    assertEquals(c0, c1);
+
+    final var releases0 = new ArrayList<>(c0.releases().values());
+    final var releases1 = new ArrayList<>(c1.releases().values());
+    assertTrue(releases0.size() > 1);
+
+    for (final CRelease release : releases0) {
+      final var id = release.ticketSystemID();
+      assertSame(id, c0.ticketSystems().get(id).id());
+    }
+    assertNotSame(
+      releases0.get(0).ticketSystemID(),
+      releases1.get(0).ticketSystemID());
+  }
+
+  @Test
+  public void testInterningGlobal()
+    throws Exception
+  {
+    final var parsers =
+      new CXMLChangelogParsers()
+        .withInterners(CValueInterner::global);
+
+    final var c0 = parseFull(parsers);
+    final var c1 = parseFull(parsers);
+    assertEquals(c0, c1);
+
+    final var releases0 = new ArrayList<>(c0.releases().values());
+    final var releases1 = new ArrayList<>(c1.releases().values());
+    assertSame(
+      releases0.get(0).ticketSystemID(),
+      releases1.get(0).ticketSystemID());
+  }
+
+  @Test
+  public void testDates()
+    throws Exception
+  {
+    final var c = parseResource(new CXMLChangelogParsers(), "dates0.xml");
+    final var release = c.releases().values().iterator().next();
+    final var utc = ZoneId.of("UTC");
+
+    assertEquals(
+      ZonedDateTime.of(2016, 2, 29, 0, 0, 0, 0, utc),
+      release.date());
+    assertEquals(
+      List.of(
+        ZonedDateTime.of(2016, 2, 29, 0, 0, 0, 0, utc),
+        ZonedDateTime.of(1, 1, 1, 0, 0, 0, 0, utc)),
+      release.changes()
+        .stream()
+        .map(CChange::date)
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testParseColumnar()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var expected = parseFull(parsers);
+    final var file =
+      Paths.get(
+        CXMLChangelogParserTest.class.getResource(
+          "/com/io7m/changelog/tests/xml/full.xml").toURI());
+
+    final var columns =
+      parsers.parseColumnar(file, CParseErrorHandlers.loggingHandler(LOG));
+    assertEquals(expected, columns.toChangelog());
+
+    final var uri = URI.create("urn:test");
+    final var xml = new CXMLChangelogWriters();
+    final var xhtml = new CXHTMLChangelogWriters();
+
+    final var xmlExpected = new ByteArrayOutputStream();
+    final var xmlReceived = new ByteArrayOutputStream();
+    xml.createStreaming(uri, xmlExpected).write(expected);
+    xml.createStreaming(uri, xmlReceived).write(columns);
+    assertArrayEquals(xmlExpected.toByteArray(), xmlReceived.toByteArray());
+
+    final var xhtmlExpected = new ByteArrayOutputStream();
+    final var xhtmlReceived = new ByteArrayOutputStream();
+    xhtml.create(uri, xhtmlExpected).write(expected);
+    xhtml.create(uri, xhtmlReceived).write(columns);
+    assertArrayEquals(
+      xhtmlExpected.toByteArray(),
+      xhtmlReceived.toByteArray());
+  }
+
+  @Test
+  public void testParseLazy()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var expected = parseFull(parsers);
+    final var directory = CLTestDirectories.createTempDirectory();
+    final var file = directory.resolve("README-CHANGES.xml");
+
+    new CXMLChangelogWriters().write(
+      file, directory.resolve("tmp.xml"), expected);
+
+    final var received =
+      parsers.parseLazy(file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(received instanceof CChangelogLazy);
+
+    final var lazy = (CChangelogLazy) received;
+    assertEquals(0, lazy.decodedReleaseCount());
+
+    assertEquals(expected.releases().keySet(), lazy.releases().keySet());
+    assertEquals(0, lazy.decodedReleaseCount());
+
+    assertEquals(
+      expected.latestRelease().map(CRelease::version),
+      lazy.latestReleaseHeader().map(CRelease::version));
+    assertEquals(0, lazy.decodedReleaseCount());
+
+    assertEquals(expected.latestRelease(), lazy.latestRelease());
+    assertEquals(1, lazy.decodedReleaseCount());
+
+    assertEquals(expected, lazy.toChangelog());
+    assertEquals(
+      expected.releases().size(),
+      lazy.decodedReleaseCount());
+  }
+
+  @Test
+  public void testParseLazyInterning()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var expected =
+      CLTestChangelogs.changelog(List.of(
+        CLTestChangelogs.release(
+          CVersions.parse("1.0.0"),
+          List.of(CLTestChangelogs.change("A", "1"))),
+        CLTestChangelogs.release(
+          CVersions.parse("2.0.0"),
+          List.of(CLTestChangelogs.change("B", "1")))));
+
+    final var directory = CLTestDirectories.createTempDirectory();
+    final var file = directory.resolve("README-CHANGES.xml");
+    new CXMLChangelogWriters().write(
+      file, directory.resolve("tmp.xml"), expected);
+
+    final var received =
+      parsers.parseLazy(file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(received instanceof CChangelogLazy);
+
+    final var tickets =
+      received.releases()
+        .values()
+        .stream()
+        .flatMap(release -> release.changes().stream())
+        .flatMap(change -> change.tickets().stream())
+        .collect(Collectors.toList());
+
+    assertEquals(2, tickets.size());
+    assertSame(tickets.get(0), tickets.get(1));
+  }
+
+  @Test
+  public void testParseLazyNonCanonical()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var expected = parseFull(parsers);
+    final var directory = CLTestDirectories.createTempDirectory();
+    final var file = directory.resolve("README-CHANGES.xml");
+
+    /*
+     * A file with all of its elements on one line cannot be sliced by
+     * line, and so is parsed eagerly.
+     */
+
+    final var text = new ByteArrayOutputStream();
+    new CXMLChangelogWriters()
+      .createStreaming(file.toUri(), text)
+      .write(expected);
+    Files.writeString(
+      file,
+      text.toString(StandardCharsets.UTF_8).replaceAll(">\\s+<", "><"));
+
+    final var received =
+      parsers.parseLazy(file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(received instanceof CChangelog);
+    assertEquals(expected, received);
+  }
+
+  @Test
+  public void testParseLazyModifiedInPlace()
+    throws Exception
+  {
+    final var parsers = new CXMLChangelogParsers();
+    final var expected = parseFull(parsers);
+    final var directory = CLTestDirectories.createTempDirectory();
+    final var file = directory.resolve("README-CHANGES.xml");
+
+    new CXMLChangelogWriters().write(
+      file, directory.resolve("tmp.xml"), expected);
+
+    final var received =
+      parsers.parseLazy(file, CParseErrorHandlers.loggingHandler(LOG));
+    assertTrue(received instanceof CChangelogLazy);
+
+    /*
+     * Overwriting the file in place, contrary to the documentation of
+     * parseLazy, makes the changes of every release malformed. The failure
+     * is raised when a release is obtained, and not when parsing.
+     */
+
+    final var text = Files.readString(file);
+    final var damaged = text.replace("<c:change ", "<<<<<<<<< ");
+    try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.write(
+        ByteBuffer.wrap(damaged.getBytes(StandardCharsets.UTF_8)), 0L);
+    }
+
+    final var version = expected.latestRelease().orElseThrow().version();
+    assertEquals(
+      version,
+      received.latestReleaseHeader().orElseThrow().version());
+    assertThrows(
+      UncheckedIOException.class,
+      () -> received.releases().get(version));
+    assertEquals(0, ((CChangelogLazy) received).decodedReleaseCount());
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.tests.xml.vanilla;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.parser.api.CParseErrorHandlers;
+import com.io7m.changelog.xml.CXHTMLChangelogWriters;
+import com.io7m.changelog.xml.CXMLChangelogParsers;
+import com.io7m.changelog.xml.CXMLDocumentSerializers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class CXMLDocumentSerializersTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLDocumentSerializersTest.class);
+
+  private CChangelog changelog;
+  private CXHTMLChangelogWriters writers;
+
+  @BeforeEach
+  public void setup()
+    throws Exception
+  {
+    final var url =
+      CXMLDocumentSerializersTest.class.getResource(
+        "/com/io7m/changelog/tests/xml/full.xml");
+
+    try (var stream = url.openStream()) {
+      this.changelog =
+        new CXMLChangelogParsers()
+          .create(url.toURI(), stream, CParseErrorHandlers.loggingHandler(LOG))
+          .parse();
+    }
+    this.writers = new CXHTMLChangelogWriters();
+  }
+
+  private byte[] write()
+    throws Exception
+  {
+    final var output = new ByteArrayOutputStream();
+    this.writers.create(URI.create("urn:test"), output)
+      .write(this.changelog);
+    return output.toByteArray();
+  }
+
+  @Test
+  public void testReusedTransformersIdentical()
+    throws Exception
+  {
+    final var before = CXMLDocumentSerializers.statistics();
+    final var expected = this.write();
+    for (int index = 0; index < 10; ++index) {
+      assertArrayEquals(expected, this.write());
+    }
+
+    final var after = CXMLDocumentSerializers.statistics();
+    assertTrue(after.documents() - before.documents() >= 11L);
+    assertTrue(after.transformersCreated() - before.transformersCreated() <= 1L);
+  }
+
+  @Test
+  public void testConcurrentIdentical()
+    throws Exception
+  {
+    final var expected = this.write();
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var tasks = new ArrayList<Callable<byte[]>>();
+      for (int index = 0; index < 32; ++index) {
+        tasks.add(this::write);
+      }
+      for (final var future : executor.invokeAll(tasks)) {
+        assertArrayEquals(expected, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -16,13 +16,13 @@
 
 package com.io7m.changelog.text.api;
 
-import com.io7m.changelog.writer.api.CChangelogWriterType;
+import com.io7m.changelog.writer.api.CMergedChangelogWriterType;
 
 /**
  * The type of plain text writers.
  */
 
-public interface CPlainChangelogWriterType extends CChangelogWriterType
+public interface CPlainChangelogWriterType extends CMergedChangelogWriterType
 {
   // No extra methods
 }
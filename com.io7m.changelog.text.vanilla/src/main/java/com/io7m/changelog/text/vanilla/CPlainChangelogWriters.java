@@ -17,9 +17,10 @@
 package com.io7m.changelog.text.vanilla;
 
 import com.io7m.changelog.core.CChange;
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.changelog.core.CProjectName;
 import com.io7m.changelog.core.CRelease;
-import com.io7m.changelog.core.CVersion;
 import com.io7m.changelog.text.api.CPlainChangelogWriterConfiguration;
 import com.io7m.changelog.text.api.CPlainChangelogWriterProviderType;
 import com.io7m.changelog.text.api.CPlainChangelogWriterType;
@@ -33,8 +34,6 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -86,20 +85,15 @@ public final class CPlainChangelogWriters
 
     @Override
     public void write(
-      final CChangelog changelog)
+      final CChangelogType changelog)
       throws IOException
     {
       try {
-        final Map<CVersion, CRelease> releases = changelog.releases();
-        final List<CVersion> versions =
-          releases.keySet()
-            .stream()
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-
-        for (final CVersion v : versions) {
-          final CRelease release = releases.get(v);
-          this.writeRelease(changelog, release);
+        final var releases =
+          changelog.releaseIndex().releases().descendingMap().values();
+
+        for (final CRelease release : releases) {
+          this.writeRelease(changelog.project(), release);
         }
 
         this.writer.flush();
@@ -108,8 +102,21 @@ public final class CPlainChangelogWriters
       }
     }
 
+    @Override
+    public void writeMerged(
+      final CMergedChangelog changelog)
+      throws IOException
+    {
+      Objects.requireNonNull(changelog, "Changelog");
+
+      for (final var merged : changelog.releases()) {
+        this.writeRelease(merged.project(), merged.release());
+      }
+      this.writer.flush();
+    }
+
     private void writeRelease(
-      final CChangelog changelog,
+      final CProjectName project,
       final CRelease release)
       throws IOException
     {
@@ -119,7 +126,7 @@ public final class CPlainChangelogWriters
       }
 
       this.writer.append("Release: ");
-      this.writer.append(changelog.project().value());
+      this.writer.append(project.value());
       this.writer.append(" ");
       this.writer.append(String.format("%s", release.version()));
       this.writer.newLine();
@@ -169,11 +176,14 @@ public final class CPlainChangelogWriters
             this.writer.append(" (Tickets:");
           }
 
-          this.writer.append(
-            change.tickets()
-              .stream()
-              .map(t -> String.format(" #%s", t.value()))
-              .collect(Collectors.joining(",")));
+          final var tickets = change.tickets();
+          for (int index = 0; index < tickets.size(); ++index) {
+            if (index > 0) {
+              this.writer.append(',');
+            }
+            this.writer.append(" #");
+            this.writer.append(tickets.get(index).value());
+          }
           this.writer.append(")");
         }
 
@@ -16,7 +16,7 @@
 
 package com.io7m.changelog.writer.api;
 
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
 
 import java.io.IOException;
 
@@ -33,6 +33,6 @@ public interface CChangelogWriterType
    */
 
   void write(
-    CChangelog changelog)
+    CChangelogType changelog)
     throws IOException;
 }
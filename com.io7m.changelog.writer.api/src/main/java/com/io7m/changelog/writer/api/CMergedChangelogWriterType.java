@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.writer.api;
+
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CMergedChangelog;
+
+import java.io.IOException;
+
+/**
+ * The type of writers that can serialize the merged releases of several
+ * projects.
+ */
+
+public interface CMergedChangelogWriterType extends CChangelogWriterType
+{
+  /**
+   * Serialize a merged changelog. The default implementation writes each
+   * of the merged changelogs in turn using {@link #write(CChangelogType)}, and
+   * so does not interleave the releases of different projects. Writers
+   * that can render a single date-ordered view should override this
+   * method.
+   *
+   * @param changelog A merged changelog to be serialized
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void writeMerged(
+    final CMergedChangelog changelog)
+    throws IOException
+  {
+    for (final var merged : changelog.changelogs()) {
+      this.write(merged);
+    }
+  }
+}
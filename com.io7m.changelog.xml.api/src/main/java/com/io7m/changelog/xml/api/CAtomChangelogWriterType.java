@@ -16,13 +16,13 @@
 
 package com.io7m.changelog.xml.api;
 
-import com.io7m.changelog.writer.api.CChangelogWriterType;
+import com.io7m.changelog.writer.api.CMergedChangelogWriterType;
 
 /**
  * The type of Atom feed writers.
  */
 
-public interface CAtomChangelogWriterType extends CChangelogWriterType
+public interface CAtomChangelogWriterType extends CMergedChangelogWriterType
 {
   // No extra methods
 }
@@ -21,6 +21,7 @@ import com.io7m.changelog.writer.api.CChangelogWriterProviderType;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * The type of XHTML writer providers.
@@ -34,4 +35,29 @@ public interface CXHTMLChangelogWriterProviderType
     URI uri,
     OutputStream stream)
     throws IOException;
+
+  /**
+   * Create a new writer that renders releases independently on the given
+   * executor and writes them in version order. The output is identical to
+   * the output of a writer returned by {@link #create(URI, OutputStream)}.
+   * Providers that do not support parallel rendering return a sequential
+   * writer.
+   *
+   * @param uri      The output URI
+   * @param stream   The output stream
+   * @param executor The executor used to render releases
+   *
+   * @return A new writer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default CXHTMLChangelogWriterType createParallel(
+    final URI uri,
+    final OutputStream stream,
+    final Executor executor)
+    throws IOException
+  {
+    return this.create(uri, stream);
+  }
 }
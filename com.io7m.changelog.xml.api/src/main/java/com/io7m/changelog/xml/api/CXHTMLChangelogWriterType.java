@@ -16,13 +16,13 @@
 
 package com.io7m.changelog.xml.api;
 
-import com.io7m.changelog.writer.api.CChangelogWriterType;
+import com.io7m.changelog.writer.api.CMergedChangelogWriterType;
 
 /**
  * The type of XHTML writers.
  */
 
-public interface CXHTMLChangelogWriterType extends CChangelogWriterType
+public interface CXHTMLChangelogWriterType extends CMergedChangelogWriterType
 {
   // No extra methods
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * The result of parsing a single changelog during aggregation.
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CXMLChangelogAggregateEntryType
+{
+  /**
+   * @return The changelog file, or the path that could not be searched
+   */
+
+  Path file();
+
+  /**
+   * @return The time taken to parse the file
+   */
+
+  Duration duration();
+
+  /**
+   * @return The parsed changelog, if parsing succeeded
+   */
+
+  Optional<CChangelog> changelog();
+
+  /**
+   * @return The errors and warnings produced whilst parsing the file
+   */
+
+  List<CParseError> errors();
+
+  /**
+   * @return The reason parsing failed, if parsing failed
+   */
+
+  Optional<String> failure();
+
+  /**
+   * @return {@code true} if the file was parsed successfully
+   */
+
+  default boolean succeeded()
+  {
+    return this.changelog().isPresent();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.changelog().isPresent() == this.failure().isPresent()) {
+      throw new IllegalArgumentException(
+        "Exactly one of a changelog or a failure must be present");
+    }
+  }
+}
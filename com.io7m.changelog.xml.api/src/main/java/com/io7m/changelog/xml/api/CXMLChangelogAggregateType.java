@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * A set of changelogs parsed from a directory tree. Each changelog
+ * describes a single project, and can be rendered by any of the existing
+ * changelog writers. The releases of all of the projects can also be
+ * rendered together as a single merged changelog.
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CXMLChangelogAggregateType
+{
+  /**
+   * @return The results for each discovered file and each path that could
+   * not be searched, in file name order
+   */
+
+  List<CXMLChangelogAggregateEntry> entries();
+
+  /**
+   * @return The successfully parsed changelogs, in file name order
+   */
+
+  @Value.Lazy
+  default List<CChangelog> changelogs()
+  {
+    return this.entries()
+      .stream()
+      .map(CXMLChangelogAggregateEntry::changelog)
+      .flatMap(Optional::stream)
+      .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * @return The releases of all of the successfully parsed changelogs,
+   * merged into a single list ordered by date
+   */
+
+  @Value.Lazy
+  default CMergedChangelog merged()
+  {
+    return CMergedChangelog.of(this.changelogs());
+  }
+
+  /**
+   * @return The entries for files that could not be parsed, and for paths
+   * that could not be searched
+   */
+
+  @Value.Lazy
+  default List<CXMLChangelogAggregateEntry> failures()
+  {
+    return this.entries()
+      .stream()
+      .filter(e -> !e.succeeded())
+      .collect(Collectors.toUnmodifiableList());
+  }
+}
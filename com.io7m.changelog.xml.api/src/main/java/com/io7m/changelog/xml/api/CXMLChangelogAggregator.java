@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogFilters;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Functions to discover and parse all of the changelogs in a directory
+ * tree. Files are parsed concurrently on a bounded pool of threads, and a
+ * failure to parse one file does not prevent the others from being parsed.
+ * Likewise, a directory that cannot be read is reported as a failure and
+ * does not prevent the rest of the tree from being searched.
+ * Parser providers passed to the functions in this class must be safe to
+ * use from multiple threads.
+ */
+
+public final class CXMLChangelogAggregator
+{
+  private CXMLChangelogAggregator()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Find all of the changelog files in the configured directory tree. Files
+   * and directories within the tree that cannot be read are passed to
+   * {@code failures} as failed entries, and the search continues.
+   *
+   * @param configuration The configuration
+   * @param failures      A receiver of entries for unreadable paths
+   *
+   * @return The files, sorted by name
+   *
+   * @throws IOException If the configured directory cannot be read
+   */
+
+  public static List<Path> discover(
+    final CXMLChangelogAggregatorConfiguration configuration,
+    final Consumer<CXMLChangelogAggregateEntry> failures)
+    throws IOException
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(failures, "Failures");
+
+    final var start = configuration.directory();
+    final var fileName = configuration.fileName();
+    final var files = new ArrayList<Path>();
+
+    Files.walkFileTree(start, new SimpleFileVisitor<>()
+    {
+      @Override
+      public FileVisitResult visitFile(
+        final Path file,
+        final BasicFileAttributes attributes)
+      {
+        final var name = file.getFileName();
+        if (name != null
+          && fileName.equals(name.toString())
+          && Files.isRegularFile(file)) {
+          files.add(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(
+        final Path file,
+        final IOException exception)
+        throws IOException
+      {
+        if (file.equals(start)) {
+          throw exception;
+        }
+        failures.accept(failed(file, exception));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(
+        final Path directory,
+        final IOException exception)
+        throws IOException
+      {
+        if (exception != null) {
+          if (directory.equals(start)) {
+            throw exception;
+          }
+          failures.accept(failed(directory, exception));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+
+    files.sort(Comparator.naturalOrder());
+    return List.copyOf(files);
+  }
+
+  private static CXMLChangelogAggregateEntry failed(
+    final Path file,
+    final Exception exception)
+  {
+    return CXMLChangelogAggregateEntry.builder()
+      .setFile(file)
+      .setDuration(Duration.ZERO)
+      .setFailure(failureMessage(exception))
+      .build();
+  }
+
+  private static String failureMessage(
+    final Exception exception)
+  {
+    return Optional.ofNullable(exception.getMessage())
+      .orElse(exception.getClass().getName());
+  }
+
+  /**
+   * Find and parse all of the changelog files in the configured directory
+   * tree.
+   *
+   * @param parsers       A thread-safe parser provider
+   * @param configuration The configuration
+   *
+   * @return The aggregated changelogs
+   *
+   * @throws IOException          If the configured directory cannot be read
+   * @throws InterruptedException If the calling thread is interrupted
+   */
+
+  public static CXMLChangelogAggregate aggregate(
+    final CXMLChangelogParserProviderType parsers,
+    final CXMLChangelogAggregatorConfiguration configuration)
+    throws IOException, InterruptedException
+  {
+    Objects.requireNonNull(parsers, "Parsers");
+    Objects.requireNonNull(configuration, "Configuration");
+
+    final var failures = new ArrayList<CXMLChangelogAggregateEntry>();
+    final var files = discover(configuration, failures::add);
+    if (files.isEmpty()) {
+      return sorted(failures);
+    }
+
+    final var threads =
+      Math.min(configuration.parallelism(), files.size());
+    final var threadIndex =
+      new AtomicInteger(0);
+    final ExecutorService executor =
+      Executors.newFixedThreadPool(threads, runnable -> {
+        final var thread = new Thread(runnable);
+        thread.setName(String.format(
+          "com.io7m.changelog.aggregate[%d]",
+          Integer.valueOf(threadIndex.incrementAndGet())));
+        thread.setDaemon(true);
+        return thread;
+      });
+
+    try {
+      final var futures =
+        new ArrayList<Future<CXMLChangelogAggregateEntry>>(files.size());
+      for (final var file : files) {
+        futures.add(executor.submit(() -> parseOne(parsers, configuration, file)));
+      }
+
+      final var entries = new ArrayList<>(failures);
+      for (final var future : futures) {
+        try {
+          entries.add(future.get());
+        } catch (final ExecutionException e) {
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+      return sorted(entries);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static CXMLChangelogAggregate sorted(
+    final List<CXMLChangelogAggregateEntry> entries)
+  {
+    entries.sort(Comparator.comparing(CXMLChangelogAggregateEntry::file));
+    return CXMLChangelogAggregate.builder()
+      .setEntries(entries)
+      .build();
+  }
+
+  private static CXMLChangelogAggregateEntry parseOne(
+    final CXMLChangelogParserProviderType parsers,
+    final CXMLChangelogAggregatorConfiguration configuration,
+    final Path file)
+  {
+    final var errors = new ArrayList<CParseError>();
+    final var builder = CXMLChangelogAggregateEntry.builder();
+    builder.setFile(file);
+
+    final var timeThen = System.nanoTime();
+    try {
+      builder.setChangelog(parse(parsers, configuration, file, errors));
+    } catch (final Exception e) {
+      builder.setFailure(failureMessage(e));
+    }
+    builder.setDuration(Duration.ofNanos(System.nanoTime() - timeThen));
+    builder.setErrors(errors);
+    return builder.build();
+  }
+
+  private static CChangelog parse(
+    final CXMLChangelogParserProviderType parsers,
+    final CXMLChangelogAggregatorConfiguration configuration,
+    final Path file,
+    final List<CParseError> errors)
+    throws IOException
+  {
+    final var count = configuration.count();
+    if (configuration.useCache()) {
+      return CChangelogFilters.limit(
+        parsers.parseCached(file, errors::add), count);
+    }
+    return parsers.parseLatest(file, count, Optional.empty(), errors::add);
+  }
+}
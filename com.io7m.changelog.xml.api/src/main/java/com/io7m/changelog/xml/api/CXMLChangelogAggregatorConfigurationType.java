@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.nio.file.Path;
+
+import static org.immutables.value.Value.Immutable;
+
+/**
+ * The type of configurations for changelog aggregation.
+ */
+
+@ImmutablesStyleType
+@Immutable
+public interface CXMLChangelogAggregatorConfigurationType
+{
+  /**
+   * @return The directory that will be searched for changelogs
+   */
+
+  @Value.Parameter
+  Path directory();
+
+  /**
+   * @return The name of changelog files
+   */
+
+  @Value.Default
+  default String fileName()
+  {
+    return "README-CHANGES.xml";
+  }
+
+  /**
+   * @return The maximum number of changelogs parsed concurrently
+   */
+
+  @Value.Default
+  default int parallelism()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * @return The maximum number of releases retained from each changelog
+   */
+
+  @Value.Default
+  default int count()
+  {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return {@code true} if the binary sidecar cache should be used
+   *
+   * @see CXMLChangelogCache
+   */
+
+  @Value.Default
+  default boolean useCache()
+  {
+    return false;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.parallelism() < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    if (this.count() < 0) {
+      throw new IllegalArgumentException("Count must be non-negative");
+    }
+  }
+}
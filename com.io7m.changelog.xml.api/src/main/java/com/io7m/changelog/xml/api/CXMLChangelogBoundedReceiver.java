@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * A receiver that retains only the {@code count} most recent releases
+ * (optionally no later than a given version) in a min-heap ordered by
+ * version. Releases that cannot displace the oldest retained release are
+ * refused in {@link #wantsRelease(CRelease)}, and so their changes are
+ * never built.
+ */
+
+final class CXMLChangelogBoundedReceiver
+  implements CChangelogEventReceiverType
+{
+  private final int count;
+  private final Optional<CVersion> upTo;
+  private final PriorityQueue<CVersion> heap;
+  private final Map<CVersion, CRelease> releases;
+  private final CChangelog.Builder changelog;
+
+  CXMLChangelogBoundedReceiver(
+    final int inCount,
+    final Optional<CVersion> inUpTo)
+  {
+    if (inCount < 0) {
+      throw new IllegalArgumentException("Count must be non-negative");
+    }
+
+    this.count = inCount;
+    this.upTo = Objects.requireNonNull(inUpTo, "UpTo");
+    this.heap = new PriorityQueue<>(CVersions.ascending());
+    this.releases = new HashMap<>();
+    this.changelog = CChangelog.builder();
+  }
+
+  @Override
+  public Action onProject(
+    final CProjectName project)
+  {
+    this.changelog.setProject(project);
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public boolean wantsRelease(
+    final CRelease release)
+  {
+    final var version = release.version();
+    if (this.upTo.isPresent() && version.compareTo(this.upTo.get()) > 0) {
+      return false;
+    }
+    if (this.heap.size() < this.count) {
+      return true;
+    }
+    final var oldest = this.heap.peek();
+    return oldest != null && version.compareTo(oldest) > 0;
+  }
+
+  @Override
+  public Action onRelease(
+    final CRelease release)
+  {
+    final var version = release.version();
+    this.heap.add(version);
+    this.releases.put(version, release);
+    if (this.heap.size() > this.count) {
+      this.releases.remove(this.heap.poll());
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public Action onTicketSystem(
+    final CTicketSystem ticketSystem)
+  {
+    this.changelog.putTicketSystems(ticketSystem.id(), ticketSystem);
+    return Action.CONTINUE;
+  }
+
+  /**
+   * @return A changelog containing the retained releases in ascending
+   * version order, and all ticket systems
+   */
+
+  CChangelog build()
+  {
+    final var versions = this.heap.toArray(new CVersion[0]);
+    Arrays.sort(versions, CVersions.ascending());
+    for (final var version : versions) {
+      this.changelog.putReleases(version, this.releases.get(version));
+    }
+    return this.changelog.build();
+  }
+}
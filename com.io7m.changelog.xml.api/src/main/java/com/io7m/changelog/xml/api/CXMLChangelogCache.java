@@ -0,0 +1,713 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CSearchIndex;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CValueInterner;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A binary sidecar cache of parsed changelogs.
+ *
+ * The cache for a file {@code F} is stored in {@code F.cache} in the same
+ * directory. The cache is keyed by the size, modification time, and SHA-256
+ * hash of the contents of {@code F}, and is only used if all three match.
+ * Caches are read with a memory-mapped read, and are rebuilt lazily by
+ * {@link #parse(CXMLChangelogParserProviderType, Path, Consumer)} whenever
+ * they are missing or stale. The key is computed again after parsing, and
+ * nothing is stored if the file changed in the meantime. The writers in this package delete the cache
+ * whenever they write a changelog. If the contents of {@code F} cannot be
+ * memory-mapped in order to compute the hash, the cache is not used and
+ * {@code F} is parsed directly.
+ *
+ * A full-text search index of {@code F} may also be stored in
+ * {@code F.search}, keyed in the same manner.
+ *
+ * @see CSearchIndex
+ */
+
+public final class CXMLChangelogCache
+{
+  private static final int MAGIC = 0x434C4348;
+  private static final int MAGIC_SEARCH = 0x434C5358;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HASH_SIZE = 32;
+  private static final long HASH_CHUNK_SIZE = 1L << 30;
+
+  private CXMLChangelogCache()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * @param file The changelog file
+   *
+   * @return The cache file for the given changelog file
+   */
+
+  public static Path cacheFileFor(
+    final Path file)
+  {
+    Objects.requireNonNull(file, "file");
+    return file.resolveSibling(file.getFileName() + ".cache");
+  }
+
+  /**
+   * @param file The changelog file
+   *
+   * @return The search index file for the given changelog file
+   */
+
+  public static Path searchIndexFileFor(
+    final Path file)
+  {
+    Objects.requireNonNull(file, "file");
+    return file.resolveSibling(file.getFileName() + ".search");
+  }
+
+  /**
+   * Delete the cache and search index for the given changelog file, if
+   * they exist.
+   *
+   * @param file The changelog file
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void invalidate(
+    final Path file)
+    throws IOException
+  {
+    Files.deleteIfExists(cacheFileFor(file));
+    Files.deleteIfExists(searchIndexFileFor(file));
+  }
+
+  /**
+   * Load the changelog in {@code file} from the cache if the cache is valid,
+   * or parse the changelog using {@code parsers} and rebuild the cache
+   * otherwise. Failing to write the cache (for example, because the
+   * directory is read-only) is not an error.
+   *
+   * @param parsers  The parser provider used if the cache is not valid
+   * @param file     The changelog file
+   * @param receiver An error receiver
+   *
+   * @return A parsed changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static CChangelog parse(
+    final CXMLChangelogParserProviderType parsers,
+    final Path file,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(receiver, "receiver");
+
+    final var keyOpt = Key.of(file);
+    if (keyOpt.isEmpty()) {
+      return parsers.parse(file, receiver);
+    }
+
+    final var key = keyOpt.get();
+    final var cacheFile = cacheFileFor(file);
+    final var cached = load(cacheFile, key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    final var changelog = parsers.parse(file, receiver);
+    try {
+      if (unchanged(file, key)) {
+        store(cacheFile, key, changelog);
+      }
+    } catch (final IOException e) {
+      // The cache is an optimization; the parsed changelog is still valid.
+    }
+    return changelog;
+  }
+
+  /**
+   * Load the cached changelog for {@code file}, if a valid cache exists.
+   *
+   * @param file The changelog file
+   *
+   * @return The cached changelog, if the cache is present and valid
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static Optional<CChangelog> load(
+    final Path file)
+    throws IOException
+  {
+    final var key = Key.of(file);
+    if (key.isEmpty()) {
+      return Optional.empty();
+    }
+    return load(cacheFileFor(file), key.get());
+  }
+
+  /**
+   * Write a cache for {@code file} containing {@code changelog}. The
+   * changelog is assumed to be the result of parsing the current contents
+   * of {@code file}. Nothing is written if the contents of {@code file}
+   * cannot be hashed.
+   *
+   * @param file      The changelog file
+   * @param changelog The parsed changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void store(
+    final Path file,
+    final CChangelog changelog)
+    throws IOException
+  {
+    final var key = Key.of(file);
+    if (key.isPresent()) {
+      store(cacheFileFor(file), key.get(), changelog);
+    }
+  }
+
+  /**
+   * Load the search index of {@code file} if a valid search index exists,
+   * or build the search index from the changelog in {@code file} and store
+   * it otherwise. The changelog is loaded as with
+   * {@link #parse(CXMLChangelogParserProviderType, Path, Consumer)}, and the
+   * partial index of each release is built on {@code executor}. Failing to
+   * write the search index is not an error.
+   *
+   * @param parsers  The parser provider used if the cache is not valid
+   * @param file     The changelog file
+   * @param executor The executor used to build the index
+   * @param receiver An error receiver
+   *
+   * @return A search index
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static CSearchIndex searchIndex(
+    final CXMLChangelogParserProviderType parsers,
+    final Path file,
+    final Executor executor,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(executor, "executor");
+    Objects.requireNonNull(receiver, "receiver");
+
+    final var keyOpt = Key.of(file);
+    if (keyOpt.isEmpty()) {
+      return CSearchIndex.ofParallel(parsers.parse(file, receiver), executor);
+    }
+
+    final var key = keyOpt.get();
+    final var indexFile = searchIndexFileFor(file);
+    final var cached = loadSearchIndex(indexFile, key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    final var index =
+      CSearchIndex.ofParallel(parse(parsers, file, receiver), executor);
+    try {
+      if (unchanged(file, key)) {
+        storeSearchIndex(indexFile, key, index);
+      }
+    } catch (final IOException e) {
+      // The search index is an optimization; the built index is still valid.
+    }
+    return index;
+  }
+
+  /**
+   * Load the search index for {@code file}, if a valid search index exists.
+   *
+   * @param file The changelog file
+   *
+   * @return The search index, if it is present and valid
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static Optional<CSearchIndex> loadSearchIndex(
+    final Path file)
+    throws IOException
+  {
+    final var key = Key.of(file);
+    if (key.isEmpty()) {
+      return Optional.empty();
+    }
+    return loadSearchIndex(searchIndexFileFor(file), key.get());
+  }
+
+  /**
+   * Write a search index for {@code file}. The index is assumed to be an
+   * index of the current contents of {@code file}. Nothing is written if
+   * the contents of {@code file} cannot be hashed.
+   *
+   * @param file  The changelog file
+   * @param index The search index
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void storeSearchIndex(
+    final Path file,
+    final CSearchIndex index)
+    throws IOException
+  {
+    final var key = Key.of(file);
+    if (key.isPresent()) {
+      storeSearchIndex(searchIndexFileFor(file), key.get(), index);
+    }
+  }
+
+  private static Optional<CSearchIndex> loadSearchIndex(
+    final Path indexFile,
+    final Key key)
+    throws IOException
+  {
+    try (var channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      final ByteBuffer buffer =
+        channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+      if (!readHeader(buffer, MAGIC_SEARCH, key)) {
+        return Optional.empty();
+      }
+      return Optional.of(CSearchIndex.read(buffer));
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static void storeSearchIndex(
+    final Path indexFile,
+    final Key key,
+    final CSearchIndex index)
+    throws IOException
+  {
+    final var bytes = new ByteArrayOutputStream(4096);
+    try (var output = new DataOutputStream(bytes)) {
+      writeHeader(output, MAGIC_SEARCH, key);
+      index.write(output);
+    }
+    writeAtomically(indexFile, bytes.toByteArray());
+  }
+
+  /**
+   * Determine if {@code file} still has the given key. A file that is
+   * modified whilst it is being parsed must not have the result stored
+   * under the key computed before parsing, because the result may reflect
+   * either version of the file.
+   */
+
+  private static boolean unchanged(
+    final Path file,
+    final Key key)
+    throws IOException
+  {
+    final var keyNow = Key.of(file);
+    return keyNow.isPresent() && keyNow.get().sameAs(key);
+  }
+
+  private static boolean readHeader(
+    final ByteBuffer buffer,
+    final int magic,
+    final Key key)
+  {
+    if (buffer.getInt() != magic || buffer.getInt() != FORMAT_VERSION) {
+      return false;
+    }
+    if (buffer.getLong() != key.size || buffer.getLong() != key.time) {
+      return false;
+    }
+    final byte[] hash = new byte[HASH_SIZE];
+    buffer.get(hash);
+    return Arrays.equals(hash, key.hash);
+  }
+
+  private static void writeHeader(
+    final DataOutputStream output,
+    final int magic,
+    final Key key)
+    throws IOException
+  {
+    output.writeInt(magic);
+    output.writeInt(FORMAT_VERSION);
+    output.writeLong(key.size);
+    output.writeLong(key.time);
+    output.write(key.hash);
+  }
+
+  private static void writeAtomically(
+    final Path file,
+    final byte[] bytes)
+    throws IOException
+  {
+    final var fileTemp =
+      Files.createTempFile(
+        file.toAbsolutePath().getParent(),
+        file.getFileName().toString(),
+        ".tmp");
+
+    var moved = false;
+    try {
+      Files.write(fileTemp, bytes);
+      Files.move(fileTemp, file, StandardCopyOption.ATOMIC_MOVE);
+      moved = true;
+    } finally {
+      if (!moved) {
+        Files.deleteIfExists(fileTemp);
+      }
+    }
+  }
+
+  private static Optional<CChangelog> load(
+    final Path cacheFile,
+    final Key key)
+    throws IOException
+  {
+    try (var channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      final ByteBuffer buffer =
+        channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+      if (!readHeader(buffer, MAGIC, key)) {
+        return Optional.empty();
+      }
+      return Optional.of(readChangelog(buffer));
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    } catch (final BufferUnderflowException
+                   | IllegalArgumentException
+                   | IllegalStateException
+                   | DateTimeException
+                   | URISyntaxException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static void store(
+    final Path cacheFile,
+    final Key key,
+    final CChangelog changelog)
+    throws IOException
+  {
+    final var bytes = new ByteArrayOutputStream(4096);
+    try (var output = new DataOutputStream(bytes)) {
+      writeHeader(output, MAGIC, key);
+      writeChangelog(output, changelog);
+    }
+    writeAtomically(cacheFile, bytes.toByteArray());
+  }
+
+  private static void writeChangelog(
+    final DataOutputStream output,
+    final CChangelog changelog)
+    throws IOException
+  {
+    writeString(output, changelog.project().value());
+
+    final var releases = changelog.releases().values();
+    output.writeInt(releases.size());
+    for (final var release : releases) {
+      writeVersion(output, release.version());
+      writeDate(output, release.date());
+      writeString(output, release.ticketSystemID());
+      output.writeBoolean(release.isOpen());
+
+      final var changes = release.changes();
+      output.writeInt(changes.size());
+      for (final var change : changes) {
+        writeDate(output, change.date());
+        writeString(output, change.summary());
+        output.writeBoolean(change.backwardsCompatible());
+
+        final var module = change.module();
+        output.writeBoolean(module.isPresent());
+        if (module.isPresent()) {
+          writeString(output, module.get().value());
+        }
+
+        final var tickets = change.tickets();
+        output.writeInt(tickets.size());
+        for (final var ticket : tickets) {
+          writeString(output, ticket.value());
+        }
+      }
+    }
+
+    final var systems = changelog.ticketSystems().values();
+    output.writeInt(systems.size());
+    for (final var system : systems) {
+      writeString(output, system.id());
+      writeString(output, system.uri().toString());
+      output.writeBoolean(system.isDefault());
+    }
+  }
+
+  private static CChangelog readChangelog(
+    final ByteBuffer buffer)
+    throws URISyntaxException
+  {
+    final var interner = CValueInterner.createLocal();
+    final var builder = CChangelog.builder();
+    builder.setProject(CProjectName.of(readString(buffer)));
+
+    final int releaseCount = buffer.getInt();
+    for (int releaseIndex = 0; releaseIndex < releaseCount; ++releaseIndex) {
+      final var release = CRelease.builder();
+      final var version = readVersion(buffer);
+      release.setVersion(version);
+      release.setDate(readDate(buffer));
+      release.setTicketSystemID(interner.ticketSystemID(readString(buffer)));
+      release.setOpen(readBoolean(buffer));
+
+      final int changeCount = buffer.getInt();
+      for (int changeIndex = 0; changeIndex < changeCount; ++changeIndex) {
+        final var change = CChange.builder();
+        change.setDate(readDate(buffer));
+        change.setSummary(readString(buffer));
+        change.setBackwardsCompatible(readBoolean(buffer));
+        if (readBoolean(buffer)) {
+          change.setModule(interner.moduleName(readString(buffer)));
+        }
+
+        final int ticketCount = buffer.getInt();
+        for (int ticketIndex = 0; ticketIndex < ticketCount; ++ticketIndex) {
+          change.addTickets(interner.ticketID(readString(buffer)));
+        }
+        release.addChanges(change.build());
+      }
+      builder.putReleases(version, release.build());
+    }
+
+    final int systemCount = buffer.getInt();
+    for (int systemIndex = 0; systemIndex < systemCount; ++systemIndex) {
+      final var id = interner.ticketSystemID(readString(buffer));
+      builder.putTicketSystems(
+        id,
+        CTicketSystem.builder()
+          .setId(id)
+          .setUri(new URI(readString(buffer)))
+          .setDefault(readBoolean(buffer))
+          .build());
+    }
+
+    if (buffer.hasRemaining()) {
+      throw new IllegalStateException("Trailing data in cache");
+    }
+    return builder.build();
+  }
+
+  private static void writeVersion(
+    final DataOutputStream output,
+    final CVersion version)
+    throws IOException
+  {
+    writeBigInteger(output, version.major());
+    writeBigInteger(output, version.minor());
+    writeBigInteger(output, version.patch());
+  }
+
+  private static CVersion readVersion(
+    final ByteBuffer buffer)
+  {
+    return CVersion.of(
+      readBigInteger(buffer),
+      readBigInteger(buffer),
+      readBigInteger(buffer));
+  }
+
+  private static void writeBigInteger(
+    final DataOutputStream output,
+    final BigInteger value)
+    throws IOException
+  {
+    final byte[] bytes = value.toByteArray();
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static BigInteger readBigInteger(
+    final ByteBuffer buffer)
+  {
+    return new BigInteger(readBytes(buffer));
+  }
+
+  private static void writeDate(
+    final DataOutputStream output,
+    final ZonedDateTime date)
+    throws IOException
+  {
+    final var instant = date.toInstant();
+    output.writeLong(instant.getEpochSecond());
+    output.writeInt(instant.getNano());
+    writeString(output, date.getZone().getId());
+  }
+
+  private static ZonedDateTime readDate(
+    final ByteBuffer buffer)
+  {
+    final long seconds = buffer.getLong();
+    final int nanos = buffer.getInt();
+    return ZonedDateTime.ofInstant(
+      Instant.ofEpochSecond(seconds, nanos),
+      ZoneId.of(readString(buffer)));
+  }
+
+  private static void writeString(
+    final DataOutputStream output,
+    final String text)
+    throws IOException
+  {
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(
+    final ByteBuffer buffer)
+  {
+    return new String(readBytes(buffer), StandardCharsets.UTF_8);
+  }
+
+  private static boolean readBoolean(
+    final ByteBuffer buffer)
+  {
+    return buffer.get() != 0;
+  }
+
+  private static byte[] readBytes(
+    final ByteBuffer buffer)
+  {
+    final int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid length: " + length);
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static final class Key
+  {
+    private final long size;
+    private final long time;
+    private final byte[] hash;
+
+    private Key(
+      final long inSize,
+      final long inTime,
+      final byte[] inHash)
+    {
+      this.size = inSize;
+      this.time = inTime;
+      this.hash = inHash;
+    }
+
+    boolean sameAs(
+      final Key other)
+    {
+      return this.size == other.size
+        && this.time == other.time
+        && Arrays.equals(this.hash, other.hash);
+    }
+
+    /**
+     * Compute the key of a file. The file is hashed through a series of
+     * bounded mappings, as a single mapping cannot exceed 2GiB.
+     *
+     * @param file The file
+     *
+     * @return The key, or nothing if the file cannot be mapped
+     *
+     * @throws IOException On I/O errors
+     */
+
+    static Optional<Key> of(
+      final Path file)
+      throws IOException
+    {
+      final long time = Files.getLastModifiedTime(file).toMillis();
+
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final long size = channel.size();
+        final var digest = MessageDigest.getInstance("SHA-256");
+
+        long position = 0L;
+        while (position < size) {
+          final long length = Math.min(size - position, HASH_CHUNK_SIZE);
+          try {
+            digest.update(
+              channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+          } catch (final IOException | UnsupportedOperationException e) {
+            return Optional.empty();
+          }
+          position += length;
+        }
+        return Optional.of(new Key(size, time, digest.digest()));
+      } catch (final NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Streams over changelog files for the parsers.
+ *
+ * Files larger than {@link #MAP_THRESHOLD} are memory-mapped and read
+ * directly from the mapping, one region at a time. Smaller files, files
+ * whose size is not known in advance, and files on filesystems that do not
+ * support mapping are read through a single direct buffer.
+ */
+
+final class CXMLChangelogFileStreams
+{
+  /**
+   * The size at which files are mapped rather than read. Mapping has a
+   * fixed cost that is only worth paying for large files.
+   */
+
+  static final long MAP_THRESHOLD = 1L << 20;
+
+  private static final long MAP_REGION_SIZE = 1L << 30;
+  private static final int BUFFER_SIZE_MIN = 1 << 13;
+  private static final int BUFFER_SIZE_MAX = 1 << 20;
+
+  private CXMLChangelogFileStreams()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Open a stream over the given file.
+   *
+   * @param file The file
+   *
+   * @return A stream that reads the file and closes it when closed
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static InputStream open(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+
+    final var channel = Files.newByteChannel(file, StandardOpenOption.READ);
+    try {
+      final var size = channel.size();
+      if (channel instanceof FileChannel && size >= MAP_THRESHOLD) {
+        try {
+          return new MappedStream((FileChannel) channel, size);
+        } catch (final UnsupportedOperationException | IOException e) {
+          // Not every filesystem can map files; read them instead.
+        }
+      }
+      return new BufferedStream(channel, size);
+    } catch (final IOException | RuntimeException e) {
+      try {
+        channel.close();
+      } catch (final IOException ex) {
+        e.addSuppressed(ex);
+      }
+      throw e;
+    }
+  }
+
+  private abstract static class BufferStream extends InputStream
+  {
+    private final SeekableByteChannel channel;
+    private ByteBuffer buffer;
+
+    BufferStream(
+      final SeekableByteChannel in_channel,
+      final ByteBuffer in_buffer)
+    {
+      this.channel = Objects.requireNonNull(in_channel, "Channel");
+      this.buffer = Objects.requireNonNull(in_buffer, "Buffer");
+    }
+
+    protected final SeekableByteChannel channel()
+    {
+      return this.channel;
+    }
+
+    /**
+     * Make more bytes available after the current buffer has been consumed.
+     *
+     * @param current The current, fully consumed buffer
+     *
+     * @return A buffer with remaining bytes, or {@code null} at the end of
+     * the file
+     *
+     * @throws IOException On I/O errors
+     */
+
+    protected abstract ByteBuffer refill(ByteBuffer current)
+      throws IOException;
+
+    private boolean ready()
+      throws IOException
+    {
+      if (this.buffer == null) {
+        return false;
+      }
+      if (!this.buffer.hasRemaining()) {
+        this.buffer = this.refill(this.buffer);
+        return this.buffer != null;
+      }
+      return true;
+    }
+
+    @Override
+    public final int read()
+      throws IOException
+    {
+      if (!this.ready()) {
+        return -1;
+      }
+      return this.buffer.get() & 0xff;
+    }
+
+    @Override
+    public final int read(
+      final byte[] data,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      Objects.checkFromIndexSize(offset, length, data.length);
+      if (length == 0) {
+        return 0;
+      }
+      if (!this.ready()) {
+        return -1;
+      }
+      final var count = Math.min(length, this.buffer.remaining());
+      this.buffer.get(data, offset, count);
+      return count;
+    }
+
+    @Override
+    public final int available()
+    {
+      return this.buffer == null ? 0 : this.buffer.remaining();
+    }
+
+    @Override
+    public final void close()
+      throws IOException
+    {
+      this.buffer = null;
+      this.channel.close();
+    }
+  }
+
+  /**
+   * A stream that maps successive regions of a file.
+   */
+
+  private static final class MappedStream extends BufferStream
+  {
+    private final long size;
+    private long position;
+
+    MappedStream(
+      final FileChannel in_channel,
+      final long in_size)
+      throws IOException
+    {
+      super(in_channel, map(in_channel, 0L, in_size));
+      this.size = in_size;
+      this.position = Math.min(in_size, MAP_REGION_SIZE);
+    }
+
+    private static ByteBuffer map(
+      final FileChannel channel,
+      final long position,
+      final long size)
+      throws IOException
+    {
+      return channel.map(
+        FileChannel.MapMode.READ_ONLY,
+        position,
+        Math.min(size - position, MAP_REGION_SIZE));
+    }
+
+    @Override
+    protected ByteBuffer refill(
+      final ByteBuffer current)
+      throws IOException
+    {
+      if (this.position >= this.size) {
+        return null;
+      }
+      final var next =
+        map((FileChannel) this.channel(), this.position, this.size);
+      this.position += next.capacity();
+      return next;
+    }
+  }
+
+  /**
+   * A stream that reads a file through a single reusable direct buffer.
+   */
+
+  private static final class BufferedStream extends BufferStream
+  {
+    BufferedStream(
+      final SeekableByteChannel in_channel,
+      final long in_size)
+    {
+      super(in_channel, emptyBuffer(in_size));
+    }
+
+    private static ByteBuffer emptyBuffer(
+      final long size)
+    {
+      final var capacity =
+        (int) Math.max(BUFFER_SIZE_MIN, Math.min(size, BUFFER_SIZE_MAX));
+      return ByteBuffer.allocateDirect(capacity).flip();
+    }
+
+    @Override
+    protected ByteBuffer refill(
+      final ByteBuffer current)
+      throws IOException
+    {
+      final ReadableByteChannel channel = this.channel();
+      current.clear();
+      while (current.position() == 0) {
+        if (channel.read(current) < 0) {
+          return null;
+        }
+      }
+      return current.flip();
+    }
+  }
+}
@@ -17,14 +17,22 @@
 package com.io7m.changelog.xml.api;
 
 import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogColumns;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
 import com.io7m.changelog.parser.api.CChangelogParserProviderType;
+import com.io7m.changelog.parser.api.CChangelogParserType;
 import com.io7m.changelog.parser.api.CParseError;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -42,7 +50,8 @@ public interface CXMLChangelogParserProviderType
     throws IOException;
 
   /**
-   * Parse a changelog from the given file.
+   * Parse a changelog from the given file. Large files are memory-mapped
+   * rather than read.
    *
    * @param file     The file
    * @param receiver An error receiver
@@ -57,10 +66,174 @@ public interface CXMLChangelogParserProviderType
     final Consumer<CParseError> receiver)
     throws IOException
   {
-    try (var stream = Files.newInputStream(file)) {
+    try (var stream = CXMLChangelogFileStreams.open(file)) {
       final var parser =
         this.create(file.toUri(), stream, receiver);
       return parser.parse();
     }
   }
+
+  /**
+   * Parse a changelog from the given file, delivering each element to
+   * {@code events} as soon as it has been parsed.
+   *
+   * @param file     The file
+   * @param events   The event receiver
+   * @param receiver An error receiver
+   *
+   * @throws IOException On I/O errors
+   * @see CChangelogParserType#parseStreaming(CChangelogEventReceiverType)
+   */
+
+  default void parseStreaming(
+    final Path file,
+    final CChangelogEventReceiverType events,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    try (var stream = CXMLChangelogFileStreams.open(file)) {
+      final var parser =
+        this.create(file.toUri(), stream, receiver);
+      parser.parseStreaming(events);
+    }
+  }
+
+  /**
+   * Parse a changelog from the given file into a compact columnar
+   * representation. Each release is added to the result as soon as it has
+   * been parsed, and so the changes of the file are never all held in
+   * memory as objects at once.
+   *
+   * @param file     The file
+   * @param receiver An error receiver
+   *
+   * @return A parsed changelog
+   *
+   * @throws IOException On I/O errors
+   * @see CChangelogColumns
+   */
+
+  default CChangelogColumns parseColumnar(
+    final Path file,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    final var builder = CChangelogColumns.builder();
+    this.parseStreaming(file, new CChangelogEventReceiverType()
+    {
+      @Override
+      public boolean wantsAllReleases()
+      {
+        return true;
+      }
+
+      @Override
+      public Action onProject(
+        final CProjectName project)
+      {
+        builder.setProject(project);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onRelease(
+        final CRelease release)
+      {
+        builder.addRelease(release);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onTicketSystem(
+        final CTicketSystem ticketSystem)
+      {
+        builder.addTicketSystem(ticketSystem);
+        return Action.CONTINUE;
+      }
+    }, receiver);
+    return builder.build();
+  }
+
+  /**
+   * Parse a changelog from the given file, building only the headers of
+   * the releases. The entire file is still parsed and validated, but the
+   * changes of each release are only built the first time that the release
+   * is accessed. The file must not be modified in place while the returned
+   * changelog is in use; the writers in this package replace files
+   * atomically, and so do not affect a changelog that is already in use.
+   * If the changes of a release cannot be built when it is accessed, an
+   * {@link java.io.UncheckedIOException} is raised by the method that
+   * accessed it, which may be a method of the {@code releases()} map.
+   * The default implementation parses the entire changelog eagerly.
+   *
+   * @param file     The file
+   * @param receiver An error receiver
+   *
+   * @return A parsed changelog
+   *
+   * @throws IOException On I/O errors
+   * @see com.io7m.changelog.core.CChangelogLazy
+   */
+
+  default CChangelogType parseLazy(
+    final Path file,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    return this.parse(file, receiver);
+  }
+
+  /**
+   * Parse only the {@code count} most recent releases from the given file.
+   * If {@code upTo} is present, releases with versions greater than
+   * {@code upTo} are ignored. The changes of releases that cannot be among
+   * the most recent are not built, although the entire file is still
+   * parsed and validated. The result is equal to applying
+   * {@link com.io7m.changelog.core.CChangelogFilters#limit(CChangelog, long)}
+   * to a changelog containing only the releases no later than
+   * {@code upTo}, and contains all of the ticket systems in the file.
+   *
+   * @param file     The file
+   * @param count    The maximum number of releases
+   * @param upTo     The greatest version of release to include, if any
+   * @param receiver An error receiver
+   *
+   * @return A parsed changelog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default CChangelog parseLatest(
+    final Path file,
+    final int count,
+    final Optional<CVersion> upTo,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    final var bounded = new CXMLChangelogBoundedReceiver(count, upTo);
+    this.parseStreaming(file, bounded, receiver);
+    return bounded.build();
+  }
+
+  /**
+   * Parse a changelog from the given file, using the binary sidecar cache
+   * if it is valid for the current contents of the file, and rebuilding
+   * the cache otherwise.
+   *
+   * @param file     The file
+   * @param receiver An error receiver
+   *
+   * @return A parsed changelog
+   *
+   * @throws IOException On I/O errors
+   * @see CXMLChangelogCache
+   */
+
+  default CChangelog parseCached(
+    final Path file,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    return CXMLChangelogCache.parse(this, file, receiver);
+  }
 }
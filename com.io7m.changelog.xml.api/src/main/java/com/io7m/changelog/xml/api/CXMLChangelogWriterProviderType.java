@@ -16,7 +16,10 @@
 
 package com.io7m.changelog.xml.api;
 
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CParseError;
 import com.io7m.changelog.writer.api.CChangelogWriterProviderType;
 
 import java.io.IOException;
@@ -25,7 +28,10 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The type of writer providers.
@@ -41,21 +47,45 @@ public interface CXMLChangelogWriterProviderType
     throws IOException;
 
   /**
-   * Create a new writer, write the contents of {@code changelog} to
+   * Create a new writer that serializes changelogs directly to the given
+   * stream without constructing an intermediate document in memory. The
+   * output is required to be byte-for-byte identical to that produced by
+   * writers returned from {@link #create(URI, OutputStream)}. The default
+   * implementation simply delegates to {@link #create(URI, OutputStream)}.
+   *
+   * @param uri    The URI of the stream, for diagnostic messages
+   * @param stream The stream
+   *
+   * @return A new writer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default CXMLChangelogWriterType createStreaming(
+    final URI uri,
+    final OutputStream stream)
+    throws IOException
+  {
+    return this.create(uri, stream);
+  }
+
+  /**
+   * Create a new streaming writer, write the contents of {@code changelog} to
    * {@code fileTemp} and then atomically rename {@code fileTemp} to
-   * {@code file}.
+   * {@code file}. Any cache of {@code file} is invalidated.
    *
    * @param file      The output file
    * @param fileTemp  The temporary output file
    * @param changelog The changelog
    *
    * @throws IOException On I/O errors
+   * @see #createStreaming(URI, OutputStream)
    */
 
   default void write(
     final Path file,
     final Path fileTemp,
-    final CChangelog changelog)
+    final CChangelogType changelog)
     throws IOException
   {
     Objects.requireNonNull(file, "file");
@@ -63,10 +93,60 @@ public interface CXMLChangelogWriterProviderType
     Objects.requireNonNull(changelog, "changelog");
 
     try (var output = Files.newOutputStream(fileTemp)) {
-      final var writer = this.create(file.toUri(), output);
+      final var writer = this.createStreaming(file.toUri(), output);
       writer.write(changelog);
     }
 
+    CXMLChangelogCache.invalidate(file);
     Files.move(fileTemp, file, StandardCopyOption.ATOMIC_MOVE);
   }
+
+  /**
+   * Attempt to append {@code change} to the currently open release in
+   * {@code file} without parsing and rewriting the entire changelog, setting
+   * the date of the release to {@code releaseDate}. The result is written to
+   * {@code fileTemp}, which is then atomically renamed to {@code file}. If
+   * the change is appended, the resulting file is required to be
+   * byte-for-byte identical to the file that would be produced by parsing
+   * {@code file}, adding the change to the latest release, and calling
+   * {@link #write(Path, Path, CChangelogType)}. If the file cannot be updated
+   * incrementally (because, for example, it was not produced by this writer,
+   * or the latest release is not open), the file is left untouched and
+   * nothing is returned, and callers are expected to fall back to a
+   * full parse and rewrite. Implementations are required to invalidate any
+   * cache of {@code file} if the change is appended. Implementations are
+   * required to validate the open release of {@code file}, reporting
+   * errors to {@code errors} and raising {@link IOException} without
+   * modifying {@code file} if it is invalid. The file is read once, and the
+   * bytes that are validated are the bytes that are modified, so callers do
+   * not need to validate {@code file} first. The default implementation
+   * always returns nothing.
+   *
+   * @param file        The changelog file
+   * @param fileTemp    The temporary output file
+   * @param change      The change
+   * @param releaseDate The new date of the open release
+   * @param errors      A receiver of validation errors
+   *
+   * @return The version of the open release to which the change was
+   * appended, or nothing if the file could not be updated incrementally
+   *
+   * @throws IOException On I/O errors, or if {@code file} is invalid
+   */
+
+  default Optional<CVersion> appendChange(
+    final Path file,
+    final Path fileTemp,
+    final CChange change,
+    final ZonedDateTime releaseDate,
+    final Consumer<CParseError> errors)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(fileTemp, "fileTemp");
+    Objects.requireNonNull(change, "change");
+    Objects.requireNonNull(releaseDate, "releaseDate");
+    Objects.requireNonNull(errors, "errors");
+    return Optional.empty();
+  }
 }
@@ -28,6 +28,7 @@ module com.io7m.changelog.xml.api
   requires com.io7m.changelog.core;
   requires com.io7m.changelog.parser.api;
   requires com.io7m.changelog.writer.api;
+  requires com.io7m.junreachable.core;
 
   exports com.io7m.changelog.xml.api;
 }
@@ -16,7 +16,9 @@
 
 package com.io7m.changelog.xml;
 
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.changelog.core.CProjectName;
 import com.io7m.changelog.core.CRelease;
 import com.io7m.changelog.xml.api.CAtomChangelogWriterConfiguration;
 import com.io7m.changelog.xml.api.CAtomChangelogWriterProviderType;
@@ -27,20 +29,12 @@ import org.w3c.dom.Element;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
+import static com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration.OMIT;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -83,7 +77,6 @@ public final class CAtomChangelogWriters
   {
     private final OutputStream stream;
     private final DocumentBuilderFactory doc_factory;
-    private final DateTimeFormatter date_formatter;
     private final CAtomChangelogWriterConfiguration configuration;
 
     Writer(
@@ -97,78 +90,109 @@ public final class CAtomChangelogWriters
         Objects.requireNonNull(in_configuration, "Configuration");
       this.stream =
         Objects.requireNonNull(in_stream, "Stream");
-      this.date_formatter =
-        CDateFormatters.newDateFormatter();
     }
 
     @Override
     public void write(
-      final CChangelog changelog)
+      final CChangelogType changelog)
       throws IOException
     {
       Objects.requireNonNull(changelog, "Changelog");
 
+      final Document doc = this.newFeed();
+      final Element e_root = doc.getDocumentElement();
+      final var releases =
+        changelog.releaseIndex().releases().descendingMap().values();
+
+      for (final CRelease release : releases) {
+        this.writeRelease(
+          doc,
+          e_root,
+          String.format("%s", release.version()),
+          changelog.project(),
+          release);
+      }
+
+      this.serializeDocument(doc);
+    }
+
+    @Override
+    public void writeMerged(
+      final CMergedChangelog changelog)
+      throws IOException
+    {
+      Objects.requireNonNull(changelog, "Changelog");
+
+      final Document doc = this.newFeed();
+      final Element e_root = doc.getDocumentElement();
+      for (final var merged : changelog.releases()) {
+        final var project = merged.project();
+        final var release = merged.release();
+        this.writeRelease(
+          doc,
+          e_root,
+          String.format("%s:%s", project.value(), release.version()),
+          project,
+          release);
+      }
+
+      this.serializeDocument(doc);
+    }
+
+    private Document newFeed()
+      throws IOException
+    {
+      final DocumentBuilder doc_builder;
       try {
-        final DocumentBuilder doc_builder =
-          this.doc_factory.newDocumentBuilder();
-        final Document doc =
-          doc_builder.newDocument();
-
-        final Element e_root =
-          doc.createElementNS(ATOM_NS, "a:feed");
-
-        doc.appendChild(e_root);
-
-        final Element e_author =
-          doc.createElementNS(ATOM_NS, "a:author");
-        final Element e_author_name =
-          doc.createElementNS(ATOM_NS, "a:name");
-        final Element e_author_email =
-          doc.createElementNS(ATOM_NS, "a:email");
-
-        e_author_email.setTextContent(this.configuration.authorEmail());
-        e_author_name.setTextContent(this.configuration.authorName());
-        e_author.appendChild(e_author_name);
-        e_author.appendChild(e_author_email);
-        e_root.appendChild(e_author);
-
-        final Element e_id =
-          doc.createElementNS(ATOM_NS, "a:id");
-        e_id.setTextContent(this.configuration.uri().toString());
-        e_root.appendChild(e_id);
-
-        final Element e_title =
-          doc.createElementNS(ATOM_NS, "a:title");
-        e_title.setTextContent(this.configuration.title());
-        e_root.appendChild(e_title);
-
-        final Element e_updated =
-          doc.createElementNS(ATOM_NS, "a:updated");
-        e_updated.setTextContent(
-          this.date_formatter.format(this.configuration.updated()));
-        e_root.appendChild(e_updated);
-
-        final var versions =
-          changelog.releaseVersions()
-            .stream()
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-
-        for (final var version : versions) {
-          final CRelease release = changelog.releases().get(version);
-          this.writeRelease(changelog, doc, e_root, release);
-        }
-
-        this.serializeDocument(doc);
+        doc_builder = this.doc_factory.newDocumentBuilder();
       } catch (final ParserConfigurationException e) {
         throw new IOException(e);
       }
+
+      final Document doc =
+        doc_builder.newDocument();
+
+      final Element e_root =
+        doc.createElementNS(ATOM_NS, "a:feed");
+
+      doc.appendChild(e_root);
+
+      final Element e_author =
+        doc.createElementNS(ATOM_NS, "a:author");
+      final Element e_author_name =
+        doc.createElementNS(ATOM_NS, "a:name");
+      final Element e_author_email =
+        doc.createElementNS(ATOM_NS, "a:email");
+
+      e_author_email.setTextContent(this.configuration.authorEmail());
+      e_author_name.setTextContent(this.configuration.authorName());
+      e_author.appendChild(e_author_name);
+      e_author.appendChild(e_author_email);
+      e_root.appendChild(e_author);
+
+      final Element e_id =
+        doc.createElementNS(ATOM_NS, "a:id");
+      e_id.setTextContent(this.configuration.uri().toString());
+      e_root.appendChild(e_id);
+
+      final Element e_title =
+        doc.createElementNS(ATOM_NS, "a:title");
+      e_title.setTextContent(this.configuration.title());
+      e_root.appendChild(e_title);
+
+      final Element e_updated =
+        doc.createElementNS(ATOM_NS, "a:updated");
+      e_updated.setTextContent(
+        CDates.format(this.configuration.updated()));
+      e_root.appendChild(e_updated);
+      return doc;
     }
 
     private void writeRelease(
-      final CChangelog changelog,
       final Document doc,
       final Element e_root,
+      final String id,
+      final CProjectName project,
       final CRelease r)
     {
       final Element e_release =
@@ -176,14 +200,14 @@ public final class CAtomChangelogWriters
 
       final Element e_id =
         doc.createElementNS(ATOM_NS, "a:id");
-      e_id.setTextContent(String.format("%s", r.version()));
+      e_id.setTextContent(id);
 
       final Element e_updated =
         doc.createElementNS(ATOM_NS, "a:updated");
       final Element e_published =
         doc.createElementNS(ATOM_NS, "a:published");
 
-      final String time = this.date_formatter.format(r.date());
+      final String time = CDates.format(r.date());
       e_updated.setTextContent(time);
       e_published.setTextContent(time);
 
@@ -192,7 +216,7 @@ public final class CAtomChangelogWriters
 
       final String text =
         new StringBuilder(64)
-          .append(changelog.project().value())
+          .append(project.value())
           .append(" ")
           .append(String.format("%s", r.version()))
           .append(" released")
@@ -217,35 +241,12 @@ public final class CAtomChangelogWriters
       final Document doc)
       throws IOException
     {
-      try {
-        final TransformerFactory transformer_factory =
-          TransformerFactory.newInstance();
-        final Transformer transformer =
-          transformer_factory.newTransformer();
-
-        this.stream.write(
-          "<?xml version=\"1.0\" encoding=\"UTF-8\"?>".getBytes(UTF_8));
-        this.stream.write(System.lineSeparator().getBytes(UTF_8));
-        this.stream.flush();
-
-        transformer.setOutputProperty(
-          OutputKeys.OMIT_XML_DECLARATION,
-          "yes");
-        transformer.setOutputProperty(
-          OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(
-          OutputKeys.ENCODING, UTF_8.name());
-        transformer.setOutputProperty(
-          "{http://xml.apache.org/xslt}indent-amount",
-          "2");
-
-        transformer.transform(
-          new DOMSource(doc),
-          new StreamResult(this.stream));
-
-      } catch (final TransformerException e) {
-        throw new IOException(e);
-      }
+      this.stream.write(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>".getBytes(UTF_8));
+      this.stream.write(System.lineSeparator().getBytes(UTF_8));
+      this.stream.flush();
+
+      CXMLDocumentSerializers.serialize(doc, this.stream, OMIT);
     }
   }
 }
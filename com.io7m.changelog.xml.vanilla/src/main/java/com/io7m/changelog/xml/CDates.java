@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Functions to encode and decode the dates used in changelogs.
+ *
+ * <p>Changelogs store dates in the fixed-width form
+ * {@code yyyy-MM-dd'T'HH:mm:ss+hh:mm}. Dates in exactly this form are
+ * decoded and encoded directly; anything else is delegated to a shared
+ * {@link DateTimeFormatter} with the same pattern, so the results are
+ * always identical to those of the formatter.</p>
+ */
+
+final class CDates
+{
+  /**
+   * The UTC time zone, as used for all parsed dates.
+   */
+
+  static final ZoneId UTC = ZoneId.of("UTC");
+
+  private static final int LENGTH = 25;
+
+  private static final DateTimeFormatter FORMATTER =
+    CDateFormatters.newDateFormatter();
+  private static final DateTimeFormatter FORMATTER_TERSE =
+    CDateFormatters.newDateTerseFormatter();
+
+  private CDates()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Parse the date part of the given date-time. The time and offset are
+   * validated but otherwise ignored.
+   *
+   * @param text The date-time
+   *
+   * @return Midnight UTC of the parsed date
+   */
+
+  static ZonedDateTime parseDay(
+    final String text)
+  {
+    if (text.length() == LENGTH
+      && text.charAt(4) == '-'
+      && text.charAt(7) == '-'
+      && text.charAt(10) == 'T'
+      && text.charAt(13) == ':'
+      && text.charAt(16) == ':'
+      && (text.charAt(19) == '+' || text.charAt(19) == '-')
+      && text.charAt(22) == ':') {
+
+      final var year = digits(text, 0, 4);
+      final var month = digits(text, 5, 2);
+      final var day = digits(text, 8, 2);
+      final var hour = digits(text, 11, 2);
+      final var minute = digits(text, 14, 2);
+      final var second = digits(text, 17, 2);
+      final var offsetHour = digits(text, 20, 2);
+      final var offsetMinute = digits(text, 23, 2);
+
+      if (year >= 1
+        && month >= 1 && month <= 12
+        && day >= 1 && day <= Month.of(month).length(Year.isLeap(year))
+        && hour >= 0 && hour <= 23
+        && minute >= 0 && minute <= 59
+        && second >= 0 && second <= 59
+        && offsetHour >= 0
+        && offsetMinute >= 0 && offsetMinute <= 59
+        && (offsetHour * 60) + offsetMinute <= 18 * 60) {
+        return ZonedDateTime.of(year, month, day, 0, 0, 0, 0, UTC);
+      }
+    }
+
+    return ZonedDateTime.of(
+      LocalDate.parse(text, FORMATTER),
+      LocalTime.MIDNIGHT,
+      UTC);
+  }
+
+  /**
+   * @param text   The text
+   * @param start  The index of the first digit
+   * @param length The number of digits
+   *
+   * @return The decimal value of the digits, or -1 if any character is not
+   * an ASCII digit
+   */
+
+  private static int digits(
+    final String text,
+    final int start,
+    final int length)
+  {
+    var value = 0;
+    for (int index = start; index < start + length; ++index) {
+      final var c = text.charAt(index);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = (value * 10) + (c - '0');
+    }
+    return value;
+  }
+
+  /**
+   * Format a date-time as {@code yyyy-MM-dd'T'HH:mm:ss+hh:mm}.
+   *
+   * @param date The date-time
+   *
+   * @return The formatted date-time
+   */
+
+  static String format(
+    final ZonedDateTime date)
+  {
+    final var year = date.getYear();
+    final var offset = date.getOffset().getTotalSeconds();
+    if (year < 1 || year > 9999 || offset % 60 != 0) {
+      return FORMATTER.format(date);
+    }
+
+    final var offsetAbsolute = Math.abs(offset) / 60;
+    final var chars = new char[LENGTH];
+    putDate(chars, date);
+    chars[10] = 'T';
+    put2(chars, 11, date.getHour());
+    chars[13] = ':';
+    put2(chars, 14, date.getMinute());
+    chars[16] = ':';
+    put2(chars, 17, date.getSecond());
+    chars[19] = offset < 0 ? '-' : '+';
+    put2(chars, 20, offsetAbsolute / 60);
+    chars[22] = ':';
+    put2(chars, 23, offsetAbsolute % 60);
+    return new String(chars);
+  }
+
+  /**
+   * Format the date part of a date-time as {@code yyyy-MM-dd}.
+   *
+   * @param date The date-time
+   *
+   * @return The formatted date
+   */
+
+  static String formatTerse(
+    final ZonedDateTime date)
+  {
+    final var year = date.getYear();
+    if (year < 1 || year > 9999) {
+      return FORMATTER_TERSE.format(date);
+    }
+
+    final var chars = new char[10];
+    putDate(chars, date);
+    return new String(chars);
+  }
+
+  private static void putDate(
+    final char[] chars,
+    final ZonedDateTime date)
+  {
+    final var year = date.getYear();
+    put2(chars, 0, year / 100);
+    put2(chars, 2, year % 100);
+    chars[4] = '-';
+    put2(chars, 5, date.getMonthValue());
+    chars[7] = '-';
+    put2(chars, 8, date.getDayOfMonth());
+  }
+
+  private static void put2(
+    final char[] chars,
+    final int index,
+    final int value)
+  {
+    chars[index] = (char) ('0' + (value / 10));
+    chars[index + 1] = (char) ('0' + (value % 10));
+  }
+}
@@ -17,10 +17,13 @@
 package com.io7m.changelog.xml;
 
 import com.io7m.changelog.core.CChange;
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CMergedChangelog;
+import com.io7m.changelog.core.CProjectName;
 import com.io7m.changelog.core.CRelease;
 import com.io7m.changelog.core.CTicketID;
-import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CTicketLinks;
+import com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration;
 import com.io7m.changelog.xml.api.CXHTMLChangelogWriterProviderType;
 import com.io7m.changelog.xml.api.CXHTMLChangelogWriterType;
 import org.w3c.dom.Document;
@@ -30,23 +33,27 @@ import org.w3c.dom.Node;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import static com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration.INCLUDE;
+import static com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration.OMIT;
+
 /**
  * A provider for XHTML writers.
  */
@@ -76,56 +83,84 @@ public final class CXHTMLChangelogWriters
     Objects.requireNonNull(in_stream, "Stream");
 
     this.doc_factory.setNamespaceAware(true);
-    return new Writer(this.doc_factory, in_stream);
+    return new Writer(this.doc_factory, in_stream, Optional.empty());
+  }
+
+  @Override
+  public CXHTMLChangelogWriterType createParallel(
+    final URI in_uri,
+    final OutputStream in_stream,
+    final Executor in_executor)
+    throws IOException
+  {
+    Objects.requireNonNull(in_uri, "URI");
+    Objects.requireNonNull(in_stream, "Stream");
+    Objects.requireNonNull(in_executor, "Executor");
+
+    this.doc_factory.setNamespaceAware(true);
+    return new Writer(this.doc_factory, in_stream, Optional.of(in_executor));
   }
 
   private static final class Writer implements CXHTMLChangelogWriterType
   {
     private static final String XHTML_NS = "http://www.w3.org/1999/xhtml";
 
+    /**
+     * The maximum number of chunks that may be rendered but not yet
+     * written when rendering in parallel.
+     */
+
+    private static final int PARALLEL_WINDOW = 64;
+
+    /**
+     * The number of rows at which consecutive releases are rendered as one
+     * chunk. Each chunk is a separate document, and so pays for a separate
+     * document builder and serializer setup.
+     */
+
+    private static final int PARALLEL_CHUNK_ROWS = 1024;
+
+    private static final byte[] TABLE_END =
+      "</table>".getBytes(StandardCharsets.UTF_8);
+
     private final OutputStream stream;
     private final DocumentBuilderFactory doc_factory;
-    private final DateTimeFormatter date_terse_formatter;
+    private final Optional<Executor> executor;
 
     Writer(
       final DocumentBuilderFactory in_doc_factory,
-      final OutputStream in_stream)
+      final OutputStream in_stream,
+      final Optional<Executor> in_executor)
     {
       this.doc_factory =
         Objects.requireNonNull(in_doc_factory, "Document Factory");
       this.stream =
         Objects.requireNonNull(in_stream, "Stream");
-      this.date_terse_formatter =
-        CDateFormatters.newDateTerseFormatter();
+      this.executor =
+        Objects.requireNonNull(in_executor, "Executor");
     }
 
     private static List<Node> transformTickets(
-      final CChangelog changelog,
       final Document doc,
-      final CRelease release,
+      final String prefix,
       final List<CTicketID> tickets)
     {
-      return tickets.stream()
-        .map(ticket -> transformTicket(changelog, doc, release, ticket))
-        .collect(Collectors.toList());
+      final List<Node> nodes = new ArrayList<>(tickets.size());
+      for (final CTicketID ticket : tickets) {
+        nodes.add(transformTicket(doc, prefix, ticket));
+      }
+      return nodes;
     }
 
     private static Node transformTicket(
-      final CChangelog changelog,
       final Document doc,
-      final CRelease release,
+      final String prefix,
       final CTicketID ticket)
     {
-      final CTicketSystem ticket_system =
-        changelog.ticketSystems()
-          .get(release.ticketSystemID());
-
       final Element a =
         doc.createElement("a");
       final String ticket_val = ticket.value();
-      final URI target =
-        URI.create(ticket_system.uri().toString() + ticket_val);
-      a.setAttribute("href", target.toString());
+      a.setAttribute("href", prefix.concat(ticket_val));
       a.setTextContent(ticket_val);
       return a;
     }
@@ -155,57 +190,250 @@ public final class CXHTMLChangelogWriters
 
     @Override
     public void write(
-      final CChangelog changelog)
+      final CChangelogType changelog)
       throws IOException
     {
       Objects.requireNonNull(changelog, "Changelog");
 
+      final var releases =
+        changelog.releaseIndex().releases().descendingMap().values();
+
+      if (this.executor.isPresent() && releases.size() > 1) {
+        this.writeParallel(changelog, releases, this.executor.get());
+        return;
+      }
+
+      final var links = CTicketLinks.of(changelog);
+      final Element root =
+        this.newTable("Changes for project " + changelog.project().value());
+      final Document doc = root.getOwnerDocument();
+      for (final var release : releases) {
+        writeRelease(changelog.project(), links, doc, root, release);
+      }
+
+      doc.appendChild(root);
+      this.serializeDocument(doc);
+    }
+
+    @Override
+    public void writeMerged(
+      final CMergedChangelog changelog)
+      throws IOException
+    {
+      Objects.requireNonNull(changelog, "Changelog");
+
+      final var projects =
+        changelog.projects()
+          .stream()
+          .map(CProjectName::value)
+          .collect(Collectors.joining(", "));
+
+      final Element root = this.newTable("Changes for projects " + projects);
+      final Document doc = root.getOwnerDocument();
+      for (final var merged : changelog.releases()) {
+        writeRelease(
+          doc,
+          root,
+          merged.project(),
+          merged.ticketSystem().uri().toString(),
+          merged.release());
+      }
+
+      doc.appendChild(root);
+      this.serializeDocument(doc);
+    }
+
+    private Element newTable(
+      final String summary)
+      throws IOException
+    {
+      final DocumentBuilder doc_builder;
       try {
-        final DocumentBuilder doc_builder =
-          this.doc_factory.newDocumentBuilder();
-        final Document doc =
-          doc_builder.newDocument();
+        synchronized (this.doc_factory) {
+          doc_builder = this.doc_factory.newDocumentBuilder();
+        }
+      } catch (final ParserConfigurationException e) {
+        throw new IOException(e);
+      }
 
-        final Element root =
-          doc.createElementNS(XHTML_NS, "table");
-        root.setAttribute(
-          "summary",
-          "Changes for project " + changelog.project().value());
-        root.setAttribute("class", "changelog");
-
-        final var versions =
-          changelog.releaseVersions()
-            .stream()
-            .sorted(Comparator.reverseOrder())
-            .collect(Collectors.toList());
-
-        for (final var version : versions) {
-          final var release = changelog.releases().get(version);
-          this.writeRelease(changelog, doc, root, release);
+      final Document doc =
+        doc_builder.newDocument();
+
+      final Element root =
+        doc.createElementNS(XHTML_NS, "table");
+      root.setAttribute("summary", summary);
+      root.setAttribute("class", "changelog");
+      return root;
+    }
+
+    /**
+     * Render chunks of consecutive releases into separate documents on the
+     * executor, and then write the rows of each document in order. The
+     * first document supplies the XML declaration and the table element,
+     * so the result is identical to that of a single document containing
+     * every release.
+     */
+
+    private void writeParallel(
+      final CChangelogType changelog,
+      final Collection<CRelease> releases,
+      final Executor releaseExecutor)
+      throws IOException
+    {
+      final var links = CTicketLinks.of(changelog);
+      final var pending = new ArrayDeque<CompletableFuture<byte[]>>();
+
+      try {
+        byte[] head = null;
+        var declaration = INCLUDE;
+        var chunk = new ArrayList<CRelease>();
+        var chunkRows = 0;
+        final var iterator = releases.iterator();
+
+        while (iterator.hasNext()) {
+          final var release = iterator.next();
+          chunk.add(release);
+          chunkRows += 1 + release.changes().size();
+          if (chunkRows < PARALLEL_CHUNK_ROWS && iterator.hasNext()) {
+            continue;
+          }
+
+          final var chunkReleases = chunk;
+          final var chunkDeclaration = declaration;
+          pending.add(CompletableFuture.supplyAsync(
+            () -> this.renderReleases(
+              changelog, links, chunkReleases, chunkDeclaration),
+            releaseExecutor));
+
+          declaration = OMIT;
+          chunk = new ArrayList<>();
+          chunkRows = 0;
+
+          if (pending.size() >= PARALLEL_WINDOW) {
+            head = this.writeRendered(head, await(pending.remove()));
+          }
+        }
+
+        while (!pending.isEmpty()) {
+          head = this.writeRendered(head, await(pending.remove()));
+        }
+
+        final var end = lastIndexOf(head, TABLE_END);
+        this.stream.write(head, end, head.length - end);
+        this.stream.flush();
+      } finally {
+        pending.forEach(future -> future.cancel(false));
+      }
+    }
+
+    private byte[] writeRendered(
+      final byte[] head,
+      final byte[] rendered)
+      throws IOException
+    {
+      final var end = lastIndexOf(rendered, TABLE_END);
+      if (head == null) {
+        this.stream.write(rendered, 0, end);
+        return rendered;
+      }
+
+      var start = 0;
+      while (rendered[start] != '\n') {
+        ++start;
+      }
+      ++start;
+      this.stream.write(rendered, start, end - start);
+      return head;
+    }
+
+    private static int lastIndexOf(
+      final byte[] data,
+      final byte[] pattern)
+    {
+      for (int index = data.length - pattern.length; index >= 0; --index) {
+        if (Arrays.equals(
+          data, index, index + pattern.length,
+          pattern, 0, pattern.length)) {
+          return index;
+        }
+      }
+      throw new IllegalStateException("Serialized table has no end tag");
+    }
+
+    private static byte[] await(
+      final CompletableFuture<byte[]> future)
+      throws IOException
+    {
+      try {
+        return future.join();
+      } catch (final CompletionException e) {
+        final var cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+          throw ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
         }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IOException(cause);
+      }
+    }
 
+    private byte[] renderReleases(
+      final CChangelogType changelog,
+      final CTicketLinks links,
+      final List<CRelease> releases,
+      final Declaration declaration)
+    {
+      try {
+        final Element root =
+        this.newTable("Changes for project " + changelog.project().value());
+        final Document doc = root.getOwnerDocument();
+        for (final var release : releases) {
+          writeRelease(changelog.project(), links, doc, root, release);
+        }
         doc.appendChild(root);
 
-        this.serializeDocument(doc);
-      } catch (final ParserConfigurationException e) {
-        throw new IOException(e);
+        final var output = new ByteArrayOutputStream(PARALLEL_CHUNK_ROWS * 64);
+        CXMLDocumentSerializers.serialize(doc, output, declaration);
+        return output.toByteArray();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
       }
     }
 
-    private void writeRelease(
-      final CChangelog changelog,
+    private static void writeRelease(
+      final CProjectName project,
+      final CTicketLinks links,
       final Document doc,
       final Element releases,
       final CRelease release)
+    {
+      writeRelease(
+        doc,
+        releases,
+        project,
+        links.prefix(release.ticketSystemID()),
+        release);
+    }
+
+    private static void writeRelease(
+      final Document doc,
+      final Element releases,
+      final CProjectName project,
+      final String prefix,
+      final CRelease release)
     {
       row(
         doc,
         releases,
-        this.date_terse_formatter.format(release.date().toLocalDate()),
+        CDates.formatTerse(release.date()),
         List.of(doc.createTextNode(
           new StringBuilder()
             .append("Release: ")
-            .append(changelog.project().value())
+            .append(project.value())
             .append(" ")
             .append(String.format("%s", release.version()))
             .toString()))
@@ -215,15 +443,14 @@ public final class CXHTMLChangelogWriters
         row(
           doc,
           releases,
-          this.date_terse_formatter.format(change.date().toLocalDate()),
-          this.transformChange(changelog, doc, release, change));
+          CDates.formatTerse(change.date()),
+          transformChange(doc, prefix, change));
       }
     }
 
-    private List<Node> transformChange(
-      final CChangelog changelog,
+    private static List<Node> transformChange(
       final Document doc,
-      final CRelease release,
+      final String prefix,
       final CChange change)
     {
       final List<Node> nodes = new ArrayList<>();
@@ -244,7 +471,7 @@ public final class CXHTMLChangelogWriters
       final List<CTicketID> tickets = change.tickets();
       if (!tickets.isEmpty()) {
         nodes.add(doc.createTextNode(" (tickets: "));
-        nodes.addAll(transformTickets(changelog, doc, release, tickets));
+        nodes.addAll(transformTickets(doc, prefix, tickets));
         nodes.add(doc.createTextNode(")"));
       }
 
@@ -255,27 +482,7 @@ public final class CXHTMLChangelogWriters
       final Document doc)
       throws IOException
     {
-      try {
-        final TransformerFactory transformer_factory =
-          TransformerFactory.newInstance();
-        final Transformer transformer =
-          transformer_factory.newTransformer();
-
-        transformer.setOutputProperty(
-          OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(
-          OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
-        transformer.setOutputProperty(
-          "{http://xml.apache.org/xslt}indent-amount",
-          "2");
-
-        transformer.transform(
-          new DOMSource(doc),
-          new StreamResult(this.stream));
-
-      } catch (final TransformerException e) {
-        throw new IOException(e);
-      }
+      CXMLDocumentSerializers.serialize(doc, this.stream, INCLUDE);
     }
   }
 }
@@ -0,0 +1,512 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
+import com.io7m.changelog.parser.api.CParseError;
+import com.io7m.changelog.xml.api.CXMLChangelogCache;
+import com.io7m.junreachable.UnreachableCodeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Functions to append a change to the open release of a changelog file
+ * without parsing and rewriting the entire document.
+ *
+ * The file is scanned line-by-line as raw bytes, and is required to be in
+ * the exact layout produced by {@link CXMLStreamingWriter}. The new change
+ * element is spliced in immediately before the closing {@code c:changes} tag
+ * of the open release, and the release date is replaced. Because the parser
+ * only retains the date portion of timestamps, any timestamp with a non-zero
+ * time component elsewhere in the file is also truncated so that the result
+ * is byte-for-byte identical to a full parse and rewrite. If the file deviates
+ * from the expected layout in any way, the file is left untouched and the
+ * caller is expected to fall back to the full parse and rewrite.
+ *
+ * The file is read once, and the bytes that are validated are the bytes
+ * that are modified, so the file cannot change between validation and
+ * modification. Only the open release, the ticket systems, and the root
+ * element are validated against the schema. The closed releases are not
+ * modified other than having their dates truncated, and are checked only by
+ * the line scan (which requires their versions to be unique and their dates
+ * to be well-formed), because schema validation of every release costs
+ * more than the rest of the append put together.
+ */
+
+final class CXMLChangelogAppender
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLChangelogAppender.class);
+
+  private static final byte[] RELEASES_OPEN =
+    ascii("  <c:releases>");
+  private static final byte[] RELEASES_CLOSE =
+    ascii("  </c:releases>");
+  private static final byte[] RELEASE_START =
+    ascii("    <c:release ");
+  private static final byte[] RELEASE_CLOSE =
+    ascii("    </c:release>");
+  private static final byte[] CHANGE_START =
+    ascii("        <c:change ");
+  private static final byte[] CHANGES_OPEN =
+    ascii("      <c:changes>");
+  private static final byte[] CHANGES_EMPTY =
+    ascii("      <c:changes/>");
+  private static final byte[] CHANGES_CLOSE =
+    ascii("      </c:changes>");
+  private static final byte[] ATTRIBUTE_DATE =
+    ascii(" date=\"");
+  private static final byte[] ATTRIBUTE_IS_OPEN =
+    ascii(" is-open=\"");
+  private static final byte[] ATTRIBUTE_VERSION =
+    ascii(" version=\"");
+  private static final byte[] MIDNIGHT =
+    ascii("T00:00:00+00:00");
+  private static final int DATE_LENGTH = 25;
+  private static final int DATE_DAY_LENGTH = 10;
+
+  private static final CXMLChangelogParsers VALIDATOR =
+    CXMLChangelogParsers.createPooled(1);
+
+  private CXMLChangelogAppender()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static byte[] ascii(
+    final String text)
+  {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Append a change to the open release in {@code file}, writing the result
+   * to {@code file_temp} and then atomically renaming {@code file_temp} to
+   * {@code file}.
+   *
+   * @param file         The changelog file
+   * @param file_temp    The temporary output file
+   * @param change       The change
+   * @param release_date The new date of the open release
+   * @param errors       A receiver of validation errors
+   *
+   * @return The version of the release to which the change was appended, or
+   * nothing if the file could not be updated incrementally
+   *
+   * @throws IOException On I/O errors, or if the file is invalid
+   */
+
+  static Optional<CVersion> append(
+    final Path file,
+    final Path file_temp,
+    final CChange change,
+    final ZonedDateTime release_date,
+    final Consumer<CParseError> errors)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+    Objects.requireNonNull(file_temp, "File Temp");
+    Objects.requireNonNull(change, "Change");
+    Objects.requireNonNull(release_date, "Release Date");
+    Objects.requireNonNull(errors, "Errors");
+
+    final byte[] data = Files.readAllBytes(file);
+    final String separator_text = System.lineSeparator();
+    final byte[] separator = ascii(separator_text);
+    final List<Splice> splices = new ArrayList<>();
+
+    final byte[] prologue =
+      ascii(CXMLStreamingWriter.PROLOGUE + separator_text);
+    if (!regionEquals(data, 0, prologue)) {
+      LOG.debug("{}: unrecognized prologue", file);
+      return Optional.empty();
+    }
+
+    final var versions = new HashSet<String>();
+    CVersion version_max = null;
+    CVersion version_open = null;
+    int changes_open = -1;
+    int changes_open_end = -1;
+    int changes_close = -1;
+    int releases_start = -1;
+    int releases_end = -1;
+    int open_start = -1;
+    int open_end = -1;
+    boolean in_open_release = false;
+
+    int line_start = 0;
+    while (line_start < data.length) {
+      final int line_next = indexOf(data, line_start, '\n');
+      if (line_next == -1) {
+        LOG.debug("{}: unterminated final line", file);
+        return Optional.empty();
+      }
+      final int line_end = line_next + 1 - separator.length;
+      if (line_end < line_start
+        || !regionEquals(data, line_end, separator)) {
+        LOG.debug("{}: unexpected line separator", file);
+        return Optional.empty();
+      }
+
+      if (regionEquals(data, line_start, RELEASE_START)) {
+        final String version_text =
+          attributeValue(data, line_start, line_end, ATTRIBUTE_VERSION);
+        final String open_text =
+          attributeValue(data, line_start, line_end, ATTRIBUTE_IS_OPEN);
+        final int date =
+          attributeOffset(data, line_start, line_end, ATTRIBUTE_DATE);
+
+        if (version_text == null || open_text == null || date == -1) {
+          LOG.debug("{}: unrecognized release element", file);
+          return Optional.empty();
+        }
+        if (!versions.add(version_text)) {
+          LOG.debug("{}: duplicate release {}", file, version_text);
+          return Optional.empty();
+        }
+
+        final CVersion version;
+        try {
+          version = CVersions.parse(version_text);
+        } catch (final IllegalArgumentException e) {
+          LOG.debug("{}: unparseable version {}", file, version_text);
+          return Optional.empty();
+        }
+
+        if (version_max == null || version.compareTo(version_max) > 0) {
+          version_max = version;
+        }
+
+        in_open_release = "true".equals(open_text);
+        if (in_open_release) {
+          if (version_open != null) {
+            LOG.debug("{}: multiple open releases", file);
+            return Optional.empty();
+          }
+          if (!isDate(data, date, line_end)) {
+            LOG.debug("{}: unrecognized release date", file);
+            return Optional.empty();
+          }
+          version_open = version;
+          open_start = line_start;
+          splices.add(new Splice(
+            date,
+            DATE_LENGTH,
+            ascii(CDates.format(release_date))));
+        } else if (!truncateDate(data, date, line_end, splices)) {
+          LOG.debug("{}: unrecognized release date", file);
+          return Optional.empty();
+        }
+      } else if (regionEquals(data, line_start, CHANGE_START)) {
+        final int date =
+          attributeOffset(data, line_start, line_end, ATTRIBUTE_DATE);
+        if (date == -1 || !truncateDate(data, date, line_end, splices)) {
+          LOG.debug("{}: unrecognized change date", file);
+          return Optional.empty();
+        }
+      } else if (lineEquals(data, line_start, line_end, RELEASES_OPEN)) {
+        releases_start = line_next + 1;
+      } else if (lineEquals(data, line_start, line_end, RELEASES_CLOSE)) {
+        releases_end = line_start;
+      } else if (open_start != -1
+        && open_end == -1
+        && lineEquals(data, line_start, line_end, RELEASE_CLOSE)) {
+        open_end = line_next + 1;
+      } else if (in_open_release) {
+        if (lineEquals(data, line_start, line_end, CHANGES_OPEN)) {
+          changes_open = line_start;
+        } else if (lineEquals(data, line_start, line_end, CHANGES_EMPTY)) {
+          changes_open = line_start;
+          changes_open_end = line_next + 1;
+          in_open_release = false;
+        } else if (lineEquals(data, line_start, line_end, CHANGES_CLOSE)) {
+          changes_close = line_start;
+          in_open_release = false;
+        }
+      }
+
+      line_start = line_next + 1;
+    }
+
+    if (version_open == null || !version_open.equals(version_max)) {
+      LOG.debug("{}: the latest release is not open", file);
+      return Optional.empty();
+    }
+
+    if (releases_start == -1
+      || releases_end == -1
+      || open_start < releases_start
+      || open_end == -1
+      || open_end > releases_end) {
+      LOG.debug("{}: unrecognized releases element", file);
+      return Optional.empty();
+    }
+
+    final byte[] change_bytes =
+      serializeChange(change);
+
+    if (changes_open_end != -1) {
+      final var buffer = new StringBuilder(128);
+      buffer.append(new String(CHANGES_OPEN, StandardCharsets.US_ASCII));
+      buffer.append(separator_text);
+      buffer.append(new String(change_bytes, StandardCharsets.UTF_8));
+      buffer.append(new String(CHANGES_CLOSE, StandardCharsets.US_ASCII));
+      buffer.append(separator_text);
+      splices.add(new Splice(
+        changes_open,
+        changes_open_end - changes_open,
+        buffer.toString().getBytes(StandardCharsets.UTF_8)));
+    } else if (changes_open != -1 && changes_close != -1) {
+      splices.add(new Splice(changes_close, 0, change_bytes));
+    } else {
+      LOG.debug("{}: unrecognized changes element", file);
+      return Optional.empty();
+    }
+
+    validate(
+      file,
+      data,
+      releases_start,
+      open_start,
+      open_end,
+      releases_end,
+      errors);
+    splices.sort((x, y) -> Integer.compare(x.offset, y.offset));
+
+    try (var output =
+           new BufferedOutputStream(Files.newOutputStream(file_temp))) {
+      int position = 0;
+      for (final var splice : splices) {
+        output.write(data, position, splice.offset - position);
+        output.write(splice.bytes);
+        position = splice.offset + splice.length;
+      }
+      output.write(data, position, data.length - position);
+    }
+
+    CXMLChangelogCache.invalidate(file);
+    Files.move(file_temp, file, StandardCopyOption.ATOMIC_MOVE);
+    return Optional.of(version_open);
+  }
+
+  /**
+   * Validate the document with every release other than the open release
+   * removed. Each removed release is replaced with the line separators that
+   * it contained, so that the line numbers of any errors are those of the
+   * file.
+   */
+
+  private static void validate(
+    final Path file,
+    final byte[] data,
+    final int releases_start,
+    final int open_start,
+    final int open_end,
+    final int releases_end,
+    final Consumer<CParseError> errors)
+    throws IOException
+  {
+    final var stream =
+      new SequenceInputStream(Collections.enumeration(List.of(
+        new ByteArrayInputStream(data, 0, releases_start),
+        new ByteArrayInputStream(lines(data, releases_start, open_start)),
+        new ByteArrayInputStream(data, open_start, open_end - open_start),
+        new ByteArrayInputStream(lines(data, open_end, releases_end)),
+        new ByteArrayInputStream(
+          data, releases_end, data.length - releases_end))));
+
+    VALIDATOR.create(file.toUri(), stream, errors)
+      .parseStreaming(new CChangelogEventReceiverType()
+      {
+        @Override
+        public boolean wantsRelease(
+          final CRelease release)
+        {
+          return false;
+        }
+      });
+  }
+
+  private static byte[] lines(
+    final byte[] data,
+    final int start,
+    final int end)
+  {
+    int count = 0;
+    for (int index = start; index < end; ++index) {
+      if (data[index] == '\n') {
+        ++count;
+      }
+    }
+    final byte[] result = new byte[count];
+    Arrays.fill(result, (byte) '\n');
+    return result;
+  }
+
+  private static byte[] serializeChange(
+    final CChange change)
+    throws IOException
+  {
+    final var bytes = new ByteArrayOutputStream(256);
+    try (var writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+      new CXMLStreamingWriter(writer).writeChange(change);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Record a splice that truncates the time component of the date at
+   * {@code offset}, if the time component is not already midnight UTC.
+   */
+
+  private static boolean truncateDate(
+    final byte[] data,
+    final int offset,
+    final int line_end,
+    final List<Splice> splices)
+  {
+    if (!isDate(data, offset, line_end)) {
+      return false;
+    }
+
+    final int time = offset + DATE_DAY_LENGTH;
+    if (!regionEquals(data, time, MIDNIGHT)) {
+      splices.add(new Splice(time, MIDNIGHT.length, MIDNIGHT));
+    }
+    return true;
+  }
+
+  private static boolean isDate(
+    final byte[] data,
+    final int offset,
+    final int line_end)
+  {
+    return offset + DATE_LENGTH < line_end && data[offset + DATE_LENGTH] == '"';
+  }
+
+  private static String attributeValue(
+    final byte[] data,
+    final int line_start,
+    final int line_end,
+    final byte[] attribute)
+  {
+    final int start = attributeOffset(data, line_start, line_end, attribute);
+    if (start == -1) {
+      return null;
+    }
+    final int end = indexOf(data, start, '"');
+    if (end == -1 || end >= line_end) {
+      return null;
+    }
+    return new String(data, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  private static int attributeOffset(
+    final byte[] data,
+    final int line_start,
+    final int line_end,
+    final byte[] attribute)
+  {
+    final int limit = line_end - attribute.length;
+    for (int index = line_start; index <= limit; ++index) {
+      if (regionEquals(data, index, attribute)) {
+        return index + attribute.length;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean lineEquals(
+    final byte[] data,
+    final int line_start,
+    final int line_end,
+    final byte[] line)
+  {
+    return line_end - line_start == line.length
+      && regionEquals(data, line_start, line);
+  }
+
+  private static boolean regionEquals(
+    final byte[] data,
+    final int offset,
+    final byte[] region)
+  {
+    if (offset + region.length > data.length) {
+      return false;
+    }
+    for (int index = 0; index < region.length; ++index) {
+      if (data[offset + index] != region[index]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int indexOf(
+    final byte[] data,
+    final int start,
+    final char c)
+  {
+    for (int index = start; index < data.length; ++index) {
+      if (data[index] == c) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private static final class Splice
+  {
+    private final int offset;
+    private final int length;
+    private final byte[] bytes;
+
+    Splice(
+      final int in_offset,
+      final int in_length,
+      final byte[] in_bytes)
+    {
+      this.offset = in_offset;
+      this.length = in_length;
+      this.bytes = in_bytes;
+    }
+  }
+}
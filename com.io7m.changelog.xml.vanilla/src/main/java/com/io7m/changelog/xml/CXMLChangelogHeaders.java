@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.changelog.xml;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelogLazy;
+import com.io7m.changelog.core.CProjectName;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A receiver that collects the release headers of a changelog, along with
+ * the byte range of the {@code changes} element of each release within the
+ * changelog file.
+ *
+ * The parser only reports line numbers, and so a range is only usable if
+ * the {@code changes} element begins at the start of its first line and
+ * ends at the end of its last line, as it does in files produced by the
+ * writers in this package. If any range is not usable, parsing is stopped
+ * and the collected headers are not complete.
+ */
+
+final class CXMLChangelogHeaders implements CChangelogEventReceiverType
+{
+  private final ByteBuffer data;
+  private final DecoderType decoder;
+  private final CChangelogLazy.Builder builder;
+  private boolean complete;
+  private int line;
+  private int line_start;
+  private String changes_name;
+  private int changes_start;
+  private int changes_end;
+  private int change_count;
+
+  CXMLChangelogHeaders(
+    final ByteBuffer in_data,
+    final DecoderType in_decoder)
+  {
+    this.data = Objects.requireNonNull(in_data, "Data");
+    this.decoder = Objects.requireNonNull(in_decoder, "Decoder");
+    this.builder = CChangelogLazy.builder();
+    this.complete = true;
+    this.line = 1;
+    this.line_start = 0;
+    this.resetChanges();
+  }
+
+  /**
+   * @param data The contents of a changelog file
+   *
+   * @return {@code true} if the file is encoded in UTF-8, and so ranges of
+   * its bytes can be decoded without the rest of the file
+   */
+
+  static boolean isUTF8(
+    final ByteBuffer data)
+  {
+    if (data.limit() >= 2) {
+      final int b0 = data.get(0) & 0xff;
+      final int b1 = data.get(1) & 0xff;
+      if ((b0 == 0xfe && b1 == 0xff) || (b0 == 0xff && b1 == 0xfe)) {
+        return false;
+      }
+    }
+
+    final int length = Math.min(data.limit(), 256);
+    final byte[] head = new byte[length];
+    data.duplicate().get(head);
+
+    final var text = new String(head, StandardCharsets.ISO_8859_1);
+    final var start = text.indexOf("<?xml");
+    final var end = text.indexOf("?>");
+    if (start == -1 || end == -1 || start > 3) {
+      return true;
+    }
+
+    final var declaration =
+      text.substring(start, end).toLowerCase(Locale.ROOT);
+    final var encoding = declaration.indexOf("encoding");
+    if (encoding == -1) {
+      return true;
+    }
+    return declaration.indexOf("\"utf-8\"", encoding) != -1
+      || declaration.indexOf("'utf-8'", encoding) != -1;
+  }
+
+  /**
+   * @return {@code true} if the changes of every release can be located
+   */
+
+  boolean isComplete()
+  {
+    return this.complete;
+  }
+
+  /**
+   * @return A lazy changelog
+   */
+
+  CChangelogLazy build()
+  {
+    return this.builder.build();
+  }
+
+  @Override
+  public boolean wantsAllReleases()
+  {
+    return true;
+  }
+
+  @Override
+  public Action onProject(
+    final CProjectName project)
+  {
+    this.builder.setProject(project);
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public Action onTicketSystem(
+    final CTicketSystem ticket_system)
+  {
+    this.builder.addTicketSystem(ticket_system);
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public Action onRelease(
+    final CRelease release)
+  {
+    try {
+      if (this.change_count == 0) {
+        this.builder.addRelease(release, List::of);
+        return Action.CONTINUE;
+      }
+
+      if (!this.isUsableRange()) {
+        this.complete = false;
+        return Action.STOP;
+      }
+
+      final var changes =
+        this.data.duplicate()
+          .position(this.changes_start)
+          .limit(this.changes_end)
+          .slice();
+      final var name = this.changes_name;
+      final var release_decoder = this.decoder;
+      this.builder.addRelease(
+        release,
+        () -> release_decoder.decode(changes.duplicate(), name));
+      return Action.CONTINUE;
+    } finally {
+      this.resetChanges();
+    }
+  }
+
+  void onStartChanges(
+    final String q_name,
+    final int start_line)
+  {
+    this.changes_name = q_name;
+    this.changes_start = this.lineStart(start_line);
+  }
+
+  void countChange()
+  {
+    ++this.change_count;
+  }
+
+  void onEndChanges(
+    final int end_line)
+  {
+    this.changes_end = this.lineEnd(end_line);
+  }
+
+  private void resetChanges()
+  {
+    this.changes_name = null;
+    this.changes_start = -1;
+    this.changes_end = -1;
+    this.change_count = 0;
+  }
+
+  private boolean isUsableRange()
+  {
+    if (this.changes_name == null
+      || this.changes_start == -1
+      || this.changes_end == -1) {
+      return false;
+    }
+
+    final var open =
+      ("<" + this.changes_name + ">").getBytes(StandardCharsets.UTF_8);
+    final var close =
+      ("</" + this.changes_name + ">").getBytes(StandardCharsets.UTF_8);
+
+    int start = this.changes_start;
+    while (start < this.changes_end && isSpace(this.data.get(start))) {
+      ++start;
+    }
+    int end = this.changes_end;
+    while (end > start && isSpace(this.data.get(end - 1))) {
+      --end;
+    }
+
+    return end - start >= open.length + close.length
+      && this.regionEquals(start, open)
+      && this.regionEquals(end - close.length, close);
+  }
+
+  private boolean regionEquals(
+    final int offset,
+    final byte[] bytes)
+  {
+    for (int index = 0; index < bytes.length; ++index) {
+      if (this.data.get(offset + index) != bytes[index]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSpace(
+    final byte b)
+  {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  /**
+   * @return The offset of the start of the given line, or {@code -1} if
+   * the line does not exist or precedes a line that has already been
+   * requested
+   */
+
+  private int lineStart(
+    final int target)
+  {
+    while (this.line < target) {
+      final int next = this.nextLine(this.line_start);
+      if (next == -1) {
+        return -1;
+      }
+      this.line_start = next;
+      ++this.line;
+    }
+    return this.line == target ? this.line_start : -1;
+  }
+
+  /**
+   * @return The offset just past the end of the given line, including its
+   * terminator, or {@code -1} if the line does not exist or precedes a line
+   * that has already been requested
+   */
+
+  private int lineEnd(
+    final int target)
+  {
+    final int next = this.lineStart(target + 1);
+    if (next != -1) {
+      return next;
+    }
+    return this.line == target ? this.data.limit() : -1;
+  }
+
+  /**
+   * Line terminators are counted in the same manner as XML parsers: a
+   * carriage return followed by a line feed is a single terminator.
+   */
+
+  private int nextLine(
+    final int from)
+  {
+    final int limit = this.data.limit();
+    for (int index = from; index < limit; ++index) {
+      final byte b = this.data.get(index);
+      if (b == '\n') {
+        return index + 1;
+      }
+      if (b == '\r') {
+        if (index + 1 < limit && this.data.get(index + 1) == '\n') {
+          return index + 2;
+        }
+        return index + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * A function that decodes the changes of a release.
+   */
+
+  interface DecoderType
+  {
+    /**
+     * @param changes The bytes of the {@code changes} element
+     * @param q_name  The qualified name of the {@code changes} element
+     *
+     * @return The changes
+     */
+
+    List<CChange> decode(
+      ByteBuffer changes,
+      String q_name);
+  }
+}
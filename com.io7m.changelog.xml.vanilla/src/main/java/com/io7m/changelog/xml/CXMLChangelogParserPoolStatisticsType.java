@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of the statistics of a pooled parser provider.
+ *
+ * @see CXMLChangelogParsers#createPooled(int)
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface CXMLChangelogParserPoolStatisticsType
+{
+  /**
+   * @return The maximum number of idle parsers retained by the pool
+   */
+
+  int capacity();
+
+  /**
+   * @return The number of idle parsers currently held by the pool
+   */
+
+  int idle();
+
+  /**
+   * @return The number of times a parser was taken from the pool
+   */
+
+  long hits();
+
+  /**
+   * @return The number of times a new parser had to be created
+   */
+
+  long misses();
+
+  /**
+   * @return The number of parsers discarded because the pool was full
+   */
+
+  long discards();
+}
@@ -18,12 +18,14 @@ package com.io7m.changelog.xml;
 
 import com.io7m.changelog.core.CChange;
 import com.io7m.changelog.core.CChangelog;
-import com.io7m.changelog.core.CModuleName;
+import com.io7m.changelog.core.CChangelogType;
 import com.io7m.changelog.core.CProjectName;
 import com.io7m.changelog.core.CRelease;
-import com.io7m.changelog.core.CTicketID;
 import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CValueInterner;
+import com.io7m.changelog.core.CVersion;
 import com.io7m.changelog.core.CVersions;
+import com.io7m.changelog.parser.api.CChangelogEventReceiverType;
 import com.io7m.changelog.parser.api.CParseError;
 import com.io7m.changelog.parser.api.CParseErrorType;
 import com.io7m.changelog.schema.CSchema;
@@ -45,20 +47,28 @@ import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A provider for changelog parsers.
@@ -72,6 +82,8 @@ public final class CXMLChangelogParsers
 
   private final JXEHardenedSAXParsers parsers;
   private final JXESchemaResolutionMappings schemas;
+  private final Optional<CXMLReaderPool> pool;
+  private final Supplier<CValueInterner> interners;
 
   /**
    * Instantiate a parser provider.
@@ -79,6 +91,16 @@ public final class CXMLChangelogParsers
 
   public CXMLChangelogParsers()
   {
+    this(Optional.empty(), CValueInterner::createLocal);
+  }
+
+  private CXMLChangelogParsers(
+    final Optional<CXMLReaderPool> in_pool,
+    final Supplier<CValueInterner> in_interners)
+  {
+    this.pool = Objects.requireNonNull(in_pool, "Pool");
+    this.interners = Objects.requireNonNull(in_interners, "Interners");
+
     final JXESchemaDefinition schema;
     try {
       schema = JXESchemaDefinition.of(
@@ -97,51 +119,277 @@ public final class CXMLChangelogParsers
     this.parsers = new JXEHardenedSAXParsers();
   }
 
+  /**
+   * Instantiate a parser provider that compiles the changelog schema once
+   * and then reuses validating parsers from a bounded pool. The returned
+   * provider is safe to share between threads, and is intended for
+   * applications that parse large numbers of changelogs.
+   *
+   * @param poolSize The maximum number of idle parsers retained
+   *
+   * @return A parser provider
+   */
+
+  public static CXMLChangelogParsers createPooled(
+    final int poolSize)
+  {
+    return new CXMLChangelogParsers(
+      Optional.of(CXMLReaderPool.create(poolSize)),
+      CValueInterner::createLocal);
+  }
+
+  /**
+   * Create a parser provider that shares this provider's parser pool, if
+   * any, but obtains value interners from the given supplier. By default,
+   * each parse uses a new interner created with
+   * {@link CValueInterner#createLocal()}, so module names, ticket IDs, and
+   * ticket system IDs are deduplicated within each parsed changelog.
+   * Supplying {@link CValueInterner#global()} additionally deduplicates
+   * values across all changelogs parsed by the application.
+   *
+   * @param interners A supplier of interners, called once per parse
+   *
+   * @return A parser provider
+   */
+
+  public CXMLChangelogParsers withInterners(
+    final Supplier<CValueInterner> interners)
+  {
+    return new CXMLChangelogParsers(this.pool, interners);
+  }
+
+  /**
+   * @return The current parser pool statistics, if this provider was created
+   * with {@link #createPooled(int)}
+   */
+
+  public Optional<CXMLChangelogParserPoolStatistics> poolStatistics()
+  {
+    return this.pool.map(CXMLReaderPool::statistics);
+  }
+
   @Override
   public CXMLChangelogParserType create(
     final URI uri,
     final InputStream stream,
     final Consumer<CParseError> receiver)
     throws IOException
+  {
+    return this.createParser(uri, stream, receiver, this.interners.get());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The file is memory-mapped, and the byte range of the changes of each
+   * release is recorded while parsing the headers. The changes of a
+   * release are then built by parsing only that range of the mapping, with
+   * a non-validating parser, the first time that the release is accessed.
+   * Errors encountered at that point are reported to {@code receiver} and
+   * raised as {@link UncheckedIOException}. A single value interner is
+   * used for the headers and for all of the releases that are decoded
+   * later, and so decoding is serialized on that interner. Files that are
+   * not encoded in UTF-8, that cannot be mapped, or whose {@code changes}
+   * elements share lines with other elements are parsed eagerly instead.
+   */
+
+  @Override
+  public CChangelogType parseLazy(
+    final Path file,
+    final Consumer<CParseError> receiver)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+    Objects.requireNonNull(receiver, "Receiver");
+
+    final ByteBuffer data;
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size > (long) Integer.MAX_VALUE) {
+        return this.parse(file, receiver);
+      }
+      data = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+    } catch (final UnsupportedOperationException | IOException e) {
+      LOG.debug("{}: unable to map file; parsing eagerly", file, e);
+      return this.parse(file, receiver);
+    }
+
+    if (!CXMLChangelogHeaders.isUTF8(data)) {
+      return this.parse(file, receiver);
+    }
+
+    final var uri = file.toUri();
+    final var interner = this.interners.get();
+    final var headers =
+      new CXMLChangelogHeaders(
+        data,
+        (changes, q_name) -> {
+          synchronized (interner) {
+            return this.decodeChanges(
+              uri, changes, q_name, interner, receiver);
+          }
+        });
+
+    try (var stream = new CXMLByteBufferStream(data.duplicate())) {
+      this.createParser(uri, stream, receiver, interner)
+        .parseHeaders(headers);
+    }
+
+    if (!headers.isComplete()) {
+      LOG.debug("{}: unable to locate changes; parsing eagerly", file);
+      return this.parse(file, receiver);
+    }
+    return headers.build();
+  }
+
+  private List<CChange> decodeChanges(
+    final URI uri,
+    final ByteBuffer changes,
+    final String q_name,
+    final CValueInterner interner,
+    final Consumer<CParseError> receiver)
+  {
+    final var colon = q_name.indexOf(':');
+    final var namespace =
+      colon == -1 ? "xmlns" : "xmlns:" + q_name.substring(0, colon);
+    final var open =
+      String.format("<fragment %s=\"%s\">", namespace, CSchema.XML_URI)
+        .getBytes(StandardCharsets.UTF_8);
+    final var close =
+      "</fragment>".getBytes(StandardCharsets.UTF_8);
+
+    final var stream =
+      new SequenceInputStream(
+        Collections.enumeration(List.of(
+          new ByteArrayInputStream(open),
+          new CXMLByteBufferStream(changes),
+          new ByteArrayInputStream(close))));
+
+    final var collector = new ChangeCollector();
+    try {
+      final XMLReader parser =
+        this.parsers.createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+      new Parser(
+        uri,
+        stream,
+        receiver,
+        parser,
+        interner,
+        () -> {
+        }).parseStreaming(collector);
+    } catch (final ParserConfigurationException | SAXException e) {
+      throw new UncheckedIOException(new IOException(e));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return List.copyOf(collector.changes);
+  }
+
+  private Parser createParser(
+    final URI uri,
+    final InputStream stream,
+    final Consumer<CParseError> receiver,
+    final CValueInterner interner)
+    throws IOException
   {
     Objects.requireNonNull(uri, "URI");
     Objects.requireNonNull(stream, "Stream");
     Objects.requireNonNull(receiver, "Receiver");
+    Objects.requireNonNull(interner, "Interner");
 
     try {
+      if (this.pool.isPresent()) {
+        final var readers = this.pool.get();
+        final var parser = readers.acquire();
+        return new Parser(
+          uri,
+          stream,
+          receiver,
+          parser.getXMLReader(),
+          interner,
+          () -> readers.release(parser));
+      }
+
       final XMLReader parser =
         this.parsers.createXMLReader(
           Optional.empty(),
           JXEXInclude.XINCLUDE_DISABLED,
           this.schemas);
-      return new Parser(uri, stream, receiver, parser);
+      return new Parser(
+        uri,
+        stream,
+        receiver,
+        parser,
+        interner,
+        () -> {
+        });
     } catch (final ParserConfigurationException | SAXException e) {
       throw new IOException(e);
     }
   }
 
+  /**
+   * A receiver that collects the changes of a fragment.
+   */
+
+  private static final class ChangeCollector
+    implements CChangelogEventReceiverType
+  {
+    private final List<CChange> changes;
+
+    ChangeCollector()
+    {
+      this.changes = new ArrayList<>();
+    }
+
+    @Override
+    public boolean wantsAllReleases()
+    {
+      return true;
+    }
+
+    @Override
+    public Action onChange(
+      final CVersion release,
+      final CChange change)
+    {
+      this.changes.add(change);
+      return Action.CONTINUE;
+    }
+  }
+
   private static final class Parser
     extends DefaultHandler implements CXMLChangelogParserType
   {
     private final XMLReader parser;
     private final URI uri;
     private final InputStream stream;
-    private final CChangelog.Builder changelog_builder;
     private final ArrayDeque<CurrentElement> elements;
     private final CRelease.Builder release_builder;
-    private final DateTimeFormatter date_format;
     private final CChange.Builder change_builder;
     private final CTicketSystem.Builder ticket_system_builder;
     private final Consumer<CParseError> receiver;
+    private final Runnable on_finish;
+    private final CValueInterner interner;
+    private CChangelogEventReceiverType events;
+    private CXMLChangelogHeaders headers;
+    private final boolean trace;
+    private CVersion release_version;
     private Locator locator;
     private boolean failed;
+    private boolean skipping;
+    private boolean all_releases;
     private int openCount;
 
     Parser(
       final URI in_uri,
       final InputStream in_stream,
       final Consumer<CParseError> in_receiver,
-      final XMLReader in_parser)
+      final XMLReader in_parser,
+      final CValueInterner in_interner,
+      final Runnable in_on_finish)
     {
       this.uri =
         Objects.requireNonNull(in_uri, "URI");
@@ -151,13 +399,16 @@ public final class CXMLChangelogParsers
         Objects.requireNonNull(in_receiver, "Receiver");
       this.parser =
         Objects.requireNonNull(in_parser, "Parser");
+      this.interner =
+        Objects.requireNonNull(in_interner, "Interner");
+      this.on_finish =
+        Objects.requireNonNull(in_on_finish, "On finish");
 
-      this.changelog_builder = CChangelog.builder();
       this.release_builder = CRelease.builder();
       this.change_builder = CChange.builder();
       this.ticket_system_builder = CTicketSystem.builder();
       this.elements = new ArrayDeque<>();
-      this.date_format = CDateFormatters.newDateFormatter();
+      this.trace = LOG.isTraceEnabled();
     }
 
     @Override
@@ -166,7 +417,9 @@ public final class CXMLChangelogParsers
       final String in_system_id)
       throws IOException, SAXException
     {
-      LOG.trace("resolveEntity: {} {}", in_public_id, in_system_id);
+      if (this.trace) {
+        LOG.trace("resolveEntity: {} {}", in_public_id, in_system_id);
+      }
       return super.resolveEntity(in_public_id, in_system_id);
     }
 
@@ -176,7 +429,9 @@ public final class CXMLChangelogParsers
       final String in_public_id,
       final String in_system_id)
     {
-      LOG.trace("notationDecl: {} {} {}", in_name, in_public_id, in_system_id);
+      if (this.trace) {
+        LOG.trace("notationDecl: {} {} {}", in_name, in_public_id, in_system_id);
+      }
     }
 
     @Override
@@ -186,32 +441,40 @@ public final class CXMLChangelogParsers
       final String in_system_id,
       final String in_notation)
     {
-      LOG.trace(
-        "unparsedEntityDecl: {} {} {} {}",
-        in_name,
-        in_public_id,
-        in_system_id,
-        in_notation);
+      if (this.trace) {
+        LOG.trace(
+          "unparsedEntityDecl: {} {} {} {}",
+          in_name,
+          in_public_id,
+          in_system_id,
+          in_notation);
+      }
     }
 
     @Override
     public void setDocumentLocator(
       final Locator in_locator)
     {
-      LOG.trace("setDocumentLocator: {}", in_locator);
+      if (this.trace) {
+        LOG.trace("setDocumentLocator: {}", in_locator);
+      }
       this.locator = Objects.requireNonNull(in_locator, "Locator");
     }
 
     @Override
     public void startDocument()
     {
-      LOG.trace("startDocument");
+      if (this.trace) {
+        LOG.trace("startDocument");
+      }
     }
 
     @Override
     public void endDocument()
     {
-      LOG.trace("endDocument");
+      if (this.trace) {
+        LOG.trace("endDocument");
+      }
     }
 
     @Override
@@ -220,7 +483,9 @@ public final class CXMLChangelogParsers
       final String in_uri)
       throws SAXException
     {
-      LOG.trace("startPrefixMapping: {} {}", in_prefix, in_uri);
+      if (this.trace) {
+        LOG.trace("startPrefixMapping: {} {}", in_prefix, in_uri);
+      }
 
       final String uri_expected = CSchema.XML_URI.toString();
       if (!Objects.equals(in_uri, uri_expected)) {
@@ -244,7 +509,9 @@ public final class CXMLChangelogParsers
     public void endPrefixMapping(
       final String prefix)
     {
-      LOG.trace("endPrefixMapping: {}", prefix);
+      if (this.trace) {
+        LOG.trace("endPrefixMapping: {}", prefix);
+      }
     }
 
     @Override
@@ -253,50 +520,55 @@ public final class CXMLChangelogParsers
       final String in_local_name,
       final String in_q_name,
       final Attributes attributes)
+      throws SAXException
     {
-      LOG.trace("startElement: {} {} {} {}",
-                in_uri, in_local_name, in_q_name, attributes);
+      if (this.trace) {
+        LOG.trace("startElement: {} {} {} {}",
+                  in_uri, in_local_name, in_q_name, attributes);
+      }
 
-      switch (in_local_name) {
-        case "changelog": {
+      final var element = CurrentElement.forLocalName(in_local_name);
+      if (element == null) {
+        return;
+      }
+
+      switch (element) {
+        case CHANGELOG: {
           this.onStartChangelog(attributes);
           break;
         }
-        case "changes": {
-          this.onStartChanges();
+        case CHANGES: {
+          this.onStartChanges(in_q_name);
           break;
         }
-        case "change": {
+        case CHANGE: {
           this.onStartChange(attributes);
           break;
         }
-        case "releases": {
+        case RELEASES: {
           this.onStartReleases();
           break;
         }
-        case "release": {
+        case RELEASE: {
           this.onStartRelease(attributes);
           break;
         }
-        case "ticket-systems": {
+        case TICKET_SYSTEMS: {
           this.onStartTicketSystems();
           break;
         }
-        case "ticket-system": {
+        case TICKET_SYSTEM: {
           this.onStartTicketSystem(attributes);
           break;
         }
-        case "tickets": {
+        case TICKETS: {
           this.onStartTickets();
           break;
         }
-        case "ticket": {
+        case TICKET: {
           this.onStartTicket(attributes);
           break;
         }
-        default: {
-          break;
-        }
       }
     }
 
@@ -307,17 +579,24 @@ public final class CXMLChangelogParsers
       this.ticket_system_builder.setDefault(false);
 
       for (int index = 0; index < attributes.getLength(); ++index) {
-        switch (attributes.getLocalName(index)) {
-          case "id": {
-            this.ticket_system_builder.setId(attributes.getValue(index));
+        final var attribute =
+          Attribute.forLocalName(attributes.getLocalName(index));
+        if (attribute == null) {
+          continue;
+        }
+
+        switch (attribute) {
+          case ID: {
+            this.ticket_system_builder.setId(
+              this.interner.ticketSystemID(attributes.getValue(index)));
             break;
           }
-          case "default": {
+          case DEFAULT: {
             this.ticket_system_builder.setDefault(
               Boolean.parseBoolean(attributes.getValue(index)));
             break;
           }
-          case "url": {
+          case URL: {
             this.ticket_system_builder.setUri(
               URI.create(attributes.getValue(index)));
             break;
@@ -338,12 +617,21 @@ public final class CXMLChangelogParsers
       final Attributes attributes)
     {
       this.elements.push(CurrentElement.TICKET);
+      if (this.skipping || this.headers != null) {
+        return;
+      }
 
       for (int index = 0; index < attributes.getLength(); ++index) {
-        switch (attributes.getLocalName(index)) {
-          case "id": {
+        final var attribute =
+          Attribute.forLocalName(attributes.getLocalName(index));
+        if (attribute == null) {
+          continue;
+        }
+
+        switch (attribute) {
+          case ID: {
             this.change_builder.addTickets(
-              CTicketID.of(attributes.getValue(index)));
+              this.interner.ticketID(attributes.getValue(index)));
             break;
           }
           default: {
@@ -362,31 +650,41 @@ public final class CXMLChangelogParsers
       final Attributes attributes)
     {
       this.elements.push(CurrentElement.CHANGE);
+      if (this.headers != null) {
+        this.headers.countChange();
+        return;
+      }
+      if (this.skipping) {
+        return;
+      }
 
       this.change_builder.setModule(Optional.empty());
       this.change_builder.setBackwardsCompatible(true);
       this.change_builder.setTickets(List.of());
 
       for (int index = 0; index < attributes.getLength(); ++index) {
-        switch (attributes.getLocalName(index)) {
-          case "module": {
+        final var attribute =
+          Attribute.forLocalName(attributes.getLocalName(index));
+        if (attribute == null) {
+          continue;
+        }
+
+        switch (attribute) {
+          case MODULE: {
             this.change_builder.setModule(
-              CModuleName.of(attributes.getValue(index)));
+              this.interner.moduleName(attributes.getValue(index)));
             break;
           }
-          case "date": {
+          case DATE: {
             this.change_builder.setDate(
-              ZonedDateTime.of(
-                LocalDate.parse(attributes.getValue(index), this.date_format),
-                LocalTime.MIDNIGHT,
-                ZoneId.of("UTC")));
+              CDates.parseDay(attributes.getValue(index)));
             break;
           }
-          case "summary": {
+          case SUMMARY: {
             this.change_builder.setSummary(attributes.getValue(index));
             break;
           }
-          case "compatible": {
+          case COMPATIBLE: {
             this.change_builder.setBackwardsCompatible(
               Boolean.parseBoolean(attributes.getValue(index)));
             break;
@@ -398,9 +696,20 @@ public final class CXMLChangelogParsers
       }
     }
 
-    private void onStartChanges()
+    private void onStartChanges(
+      final String q_name)
     {
       this.elements.push(CurrentElement.CHANGES);
+      if (this.headers != null) {
+        this.headers.onStartChanges(q_name, this.locator.getLineNumber());
+      }
+    }
+
+    private void onEndChanges()
+    {
+      if (this.headers != null) {
+        this.headers.onEndChanges(this.locator.getLineNumber());
+      }
     }
 
     private void onStartRelease(
@@ -409,18 +718,22 @@ public final class CXMLChangelogParsers
       this.elements.push(CurrentElement.RELEASE);
       this.release_builder.setChanges(List.of());
       this.release_builder.setOpen(false);
+      this.release_version = null;
 
       for (int index = 0; index < attributes.getLength(); ++index) {
-        switch (attributes.getLocalName(index)) {
-          case "date": {
+        final var attribute =
+          Attribute.forLocalName(attributes.getLocalName(index));
+        if (attribute == null) {
+          continue;
+        }
+
+        switch (attribute) {
+          case DATE: {
             this.release_builder.setDate(
-              ZonedDateTime.of(
-                LocalDate.parse(attributes.getValue(index), this.date_format),
-                LocalTime.MIDNIGHT,
-                ZoneId.of("UTC")));
+              CDates.parseDay(attributes.getValue(index)));
             break;
           }
-          case "is-open": {
+          case IS_OPEN: {
             final var isOpen =
               Boolean.parseBoolean(attributes.getValue(index));
             this.release_builder.setOpen(isOpen);
@@ -436,14 +749,14 @@ public final class CXMLChangelogParsers
             }
             break;
           }
-          case "version": {
-            this.release_builder.setVersion(
-              CVersions.parse(attributes.getValue(index)));
+          case VERSION: {
+            this.release_version = CVersions.parse(attributes.getValue(index));
+            this.release_builder.setVersion(this.release_version);
             break;
           }
-          case "ticket-system": {
+          case TICKET_SYSTEM: {
             this.release_builder.setTicketSystemID(
-              attributes.getValue(index));
+              this.interner.ticketSystemID(attributes.getValue(index)));
             break;
           }
           default: {
@@ -451,6 +764,10 @@ public final class CXMLChangelogParsers
           }
         }
       }
+
+      this.skipping =
+        !this.all_releases
+          && !this.events.wantsRelease(this.release_builder.build());
     }
 
     private void onStartReleases()
@@ -460,14 +777,21 @@ public final class CXMLChangelogParsers
 
     private void onStartChangelog(
       final Attributes attributes)
+      throws SAXException
     {
       this.elements.push(CurrentElement.CHANGELOG);
 
       for (int index = 0; index < attributes.getLength(); ++index) {
-        switch (attributes.getLocalName(index)) {
-          case "project": {
-            this.changelog_builder.setProject(
-              CProjectName.of(attributes.getValue(index)));
+        final var attribute =
+          Attribute.forLocalName(attributes.getLocalName(index));
+        if (attribute == null) {
+          continue;
+        }
+
+        switch (attribute) {
+          case PROJECT: {
+            this.deliver(this.events.onProject(
+              CProjectName.of(attributes.getValue(index))));
             break;
           }
           default: {
@@ -482,8 +806,11 @@ public final class CXMLChangelogParsers
       final String in_uri,
       final String in_local_name,
       final String in_qname)
+      throws SAXException
     {
-      LOG.trace("endElement: {} {} {}", in_uri, in_local_name, in_qname);
+      if (this.trace) {
+        LOG.trace("endElement: {} {} {}", in_uri, in_local_name, in_qname);
+      }
 
       if (this.elements.isEmpty()) {
         return;
@@ -501,6 +828,7 @@ public final class CXMLChangelogParsers
           break;
         }
         case CHANGES: {
+          this.onEndChanges();
           break;
         }
         case CHANGE: {
@@ -526,21 +854,43 @@ public final class CXMLChangelogParsers
     }
 
     private void onEndTicketSystem()
+      throws SAXException
     {
       final CTicketSystem ts = this.ticket_system_builder.build();
-      this.changelog_builder.putTicketSystems(ts.id(), ts);
+      this.deliver(this.events.onTicketSystem(ts));
     }
 
     private void onEndChange()
+      throws SAXException
     {
+      if (this.skipping || this.headers != null) {
+        return;
+      }
+
       final CChange c = this.change_builder.build();
       this.release_builder.addChanges(c);
+      this.deliver(this.events.onChange(this.release_version, c));
     }
 
     private void onEndRelease()
+      throws SAXException
     {
+      if (this.skipping) {
+        this.skipping = false;
+        return;
+      }
+
       final CRelease r = this.release_builder.build();
-      this.changelog_builder.putReleases(r.version(), r);
+      this.deliver(this.events.onRelease(r));
+    }
+
+    private void deliver(
+      final CChangelogEventReceiverType.Action action)
+      throws StopParsing
+    {
+      if (action == CChangelogEventReceiverType.Action.STOP) {
+        throw new StopParsing();
+      }
     }
 
     @Override
@@ -549,10 +899,12 @@ public final class CXMLChangelogParsers
       final int start,
       final int length)
     {
-      LOG.trace(
-        "characters: {} {}",
-        Integer.valueOf(start),
-        Integer.valueOf(length));
+      if (this.trace) {
+        LOG.trace(
+          "characters: {} {}",
+          Integer.valueOf(start),
+          Integer.valueOf(length));
+      }
     }
 
     @Override
@@ -561,10 +913,12 @@ public final class CXMLChangelogParsers
       final int start,
       final int length)
     {
-      LOG.trace(
-        "ignorableWhitespace: {} {}",
-        Integer.valueOf(start),
-        Integer.valueOf(length));
+      if (this.trace) {
+        LOG.trace(
+          "ignorableWhitespace: {} {}",
+          Integer.valueOf(start),
+          Integer.valueOf(length));
+      }
     }
 
     @Override
@@ -572,14 +926,18 @@ public final class CXMLChangelogParsers
       final String target,
       final String data)
     {
-      LOG.trace("processingInstruction: {} {}", target, data);
+      if (this.trace) {
+        LOG.trace("processingInstruction: {} {}", target, data);
+      }
     }
 
     @Override
     public void skippedEntity(
       final String name)
     {
-      LOG.trace("skippedEntity: {}", name);
+      if (this.trace) {
+        LOG.trace("skippedEntity: {}", name);
+      }
     }
 
     @Override
@@ -643,32 +1001,201 @@ public final class CXMLChangelogParsers
     public CChangelog parse()
       throws IOException
     {
+      final var builder = new BuildingReceiver();
+      this.parseStreaming(builder);
+      return builder.changelog.build();
+    }
+
+    @Override
+    public void parseStreaming(
+      final CChangelogEventReceiverType receiver)
+      throws IOException
+    {
+      this.events = Objects.requireNonNull(receiver, "Receiver");
+      this.all_releases = receiver.wantsAllReleases();
+
       try {
         this.parser.setContentHandler(this);
         this.parser.setErrorHandler(this);
         this.parser.parse(new InputSource(this.stream));
-
-        if (this.failed) {
-          throw new IOException(
-            this.uri + " - At least one error was encountered during parsing and/or validation");
-        }
-        return this.changelog_builder.build();
+      } catch (final StopParsing e) {
+        LOG.trace("parsing stopped by receiver");
       } catch (final SAXException e) {
         throw new IOException(e);
+      } finally {
+        this.parser.setContentHandler(null);
+        this.parser.setErrorHandler(null);
+        this.on_finish.run();
+      }
+
+      if (this.failed) {
+        throw new IOException(
+          this.uri + " - At least one error was encountered during parsing and/or validation");
+      }
+    }
+
+    /**
+     * Parse the changelog, delivering releases without changes to
+     * {@code in_headers}, and informing {@code in_headers} of the lines on
+     * which the changes of each release appear.
+     */
+
+    void parseHeaders(
+      final CXMLChangelogHeaders in_headers)
+      throws IOException
+    {
+      this.headers = Objects.requireNonNull(in_headers, "Headers");
+      this.parseStreaming(in_headers);
+    }
+
+    /**
+     * Thrown to abandon parsing when a receiver asks to stop.
+     */
+
+    private static final class StopParsing extends SAXException
+    {
+      private static final long serialVersionUID = 1L;
+
+      StopParsing()
+      {
+        super("Parsing stopped by receiver");
       }
     }
 
+    /**
+     * A receiver that accumulates the events into a changelog.
+     */
+
+    private static final class BuildingReceiver
+      implements CChangelogEventReceiverType
+    {
+      private final CChangelog.Builder changelog;
+
+      BuildingReceiver()
+      {
+        this.changelog = CChangelog.builder();
+      }
+
+      @Override
+      public boolean wantsAllReleases()
+      {
+        return true;
+      }
+
+      @Override
+      public Action onProject(
+        final CProjectName project)
+      {
+        this.changelog.setProject(project);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onRelease(
+        final CRelease release)
+      {
+        this.changelog.putReleases(release.version(), release);
+        return Action.CONTINUE;
+      }
+
+      @Override
+      public Action onTicketSystem(
+        final CTicketSystem ticketSystem)
+      {
+        this.changelog.putTicketSystems(ticketSystem.id(), ticketSystem);
+        return Action.CONTINUE;
+      }
+    }
+
+    /**
+     * The elements of the changelog schema. SAX parsers typically pass
+     * interned local names to the handler, so looking up an element by
+     * name usually costs a cached hash code and an identity comparison.
+     */
+
     private enum CurrentElement
     {
-      CHANGELOG,
-      RELEASES,
-      RELEASE,
-      CHANGES,
-      CHANGE,
-      TICKETS,
-      TICKET,
-      TICKET_SYSTEMS,
-      TICKET_SYSTEM
+      CHANGELOG("changelog"),
+      RELEASES("releases"),
+      RELEASE("release"),
+      CHANGES("changes"),
+      CHANGE("change"),
+      TICKETS("tickets"),
+      TICKET("ticket"),
+      TICKET_SYSTEMS("ticket-systems"),
+      TICKET_SYSTEM("ticket-system");
+
+      private static final Map<String, CurrentElement> BY_LOCAL_NAME =
+        byLocalName();
+
+      private final String localName;
+
+      CurrentElement(
+        final String inLocalName)
+      {
+        this.localName = inLocalName;
+      }
+
+      private static Map<String, CurrentElement> byLocalName()
+      {
+        final var names = new HashMap<String, CurrentElement>();
+        for (final var element : values()) {
+          names.put(element.localName, element);
+        }
+        return Map.copyOf(names);
+      }
+
+      static CurrentElement forLocalName(
+        final String localName)
+      {
+        return BY_LOCAL_NAME.get(localName);
+      }
+    }
+
+    /**
+     * The attributes of the changelog schema, looked up in the same manner
+     * as {@link CurrentElement}.
+     */
+
+    private enum Attribute
+    {
+      COMPATIBLE("compatible"),
+      DATE("date"),
+      DEFAULT("default"),
+      ID("id"),
+      IS_OPEN("is-open"),
+      MODULE("module"),
+      PROJECT("project"),
+      SUMMARY("summary"),
+      TICKET_SYSTEM("ticket-system"),
+      URL("url"),
+      VERSION("version");
+
+      private static final Map<String, Attribute> BY_LOCAL_NAME =
+        byLocalName();
+
+      private final String localName;
+
+      Attribute(
+        final String inLocalName)
+      {
+        this.localName = inLocalName;
+      }
+
+      private static Map<String, Attribute> byLocalName()
+      {
+        final var names = new HashMap<String, Attribute>();
+        for (final var attribute : values()) {
+          names.put(attribute.localName, attribute);
+        }
+        return Map.copyOf(names);
+      }
+
+      static Attribute forLocalName(
+        final String localName)
+      {
+        return BY_LOCAL_NAME.get(localName);
+      }
     }
   }
 }
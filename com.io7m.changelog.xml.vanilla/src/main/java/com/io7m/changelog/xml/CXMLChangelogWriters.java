@@ -17,11 +17,12 @@
 package com.io7m.changelog.xml;
 
 import com.io7m.changelog.core.CChange;
-import com.io7m.changelog.core.CChangelog;
+import com.io7m.changelog.core.CChangelogType;
 import com.io7m.changelog.core.CRelease;
 import com.io7m.changelog.core.CTicketID;
 import com.io7m.changelog.core.CTicketSystem;
 import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.parser.api.CParseError;
 import com.io7m.changelog.schema.CSchema;
 import com.io7m.changelog.xml.api.CXMLChangelogWriterProviderType;
 import com.io7m.changelog.xml.api.CXMLChangelogWriterType;
@@ -33,21 +34,22 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.io7m.changelog.xml.CXMLDocumentSerializers.Declaration.INCLUDE;
 
 /**
  * A provider for XML writers.
@@ -93,12 +95,36 @@ public final class CXMLChangelogWriters
     }
   }
 
+  @Override
+  public CXMLChangelogWriterType createStreaming(
+    final URI in_uri,
+    final OutputStream in_stream)
+  {
+    Objects.requireNonNull(in_uri, "URI");
+    Objects.requireNonNull(in_stream, "Stream");
+    return new CXMLStreamingWriter(
+      new BufferedWriter(
+        new OutputStreamWriter(in_stream, StandardCharsets.UTF_8)));
+  }
+
+  @Override
+  public Optional<CVersion> appendChange(
+    final Path file,
+    final Path fileTemp,
+    final CChange change,
+    final ZonedDateTime releaseDate,
+    final Consumer<CParseError> errors)
+    throws IOException
+  {
+    return CXMLChangelogAppender.append(
+      file, fileTemp, change, releaseDate, errors);
+  }
+
   private static final class Writer implements CXMLChangelogWriterType
   {
     private final OutputStream stream;
     private final DocumentBuilderFactory doc_factory;
     private final String schema_uri;
-    private final DateTimeFormatter date_formatter;
 
     Writer(
       final DocumentBuilderFactory in_doc_factory,
@@ -110,13 +136,11 @@ public final class CXMLChangelogWriters
         Objects.requireNonNull(in_stream, "Stream");
       this.schema_uri =
         CSchema.XML_URI.toString();
-      this.date_formatter =
-        CDateFormatters.newDateFormatter();
     }
 
     @Override
     public void write(
-      final CChangelog changelog)
+      final CChangelogType changelog)
       throws IOException
     {
       Objects.requireNonNull(changelog, "Changelog");
@@ -185,7 +209,7 @@ public final class CXMLChangelogWriters
 
       e_release.setAttribute(
         "date",
-        this.date_formatter.format(release.date()));
+        CDates.format(release.date()));
       e_release.setAttribute(
         "version",
         String.format("%s", version));
@@ -216,7 +240,7 @@ public final class CXMLChangelogWriters
 
       e_change.setAttribute(
         "date",
-        this.date_formatter.format(change.date()));
+        CDates.format(change.date()));
 
       e_change.setAttribute(
         "summary",
@@ -251,27 +275,7 @@ public final class CXMLChangelogWriters
       final Document doc)
       throws IOException
     {
-      try {
-        final TransformerFactory transformer_factory =
-          TransformerFactory.newInstance();
-        final Transformer transformer =
-          transformer_factory.newTransformer();
-
-        transformer.setOutputProperty(
-          OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(
-          OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
-        transformer.setOutputProperty(
-          "{http://xml.apache.org/xslt}indent-amount",
-          "2");
-
-        transformer.transform(
-          new DOMSource(doc),
-          new StreamResult(this.stream));
-
-      } catch (final TransformerException e) {
-        throw new IOException(e);
-      }
+      CXMLDocumentSerializers.serialize(doc, this.stream, INCLUDE);
     }
   }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of the statistics of the shared document serializer.
+ *
+ * @see CXMLDocumentSerializers#statistics()
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface CXMLDocumentSerializerStatisticsType
+{
+  /**
+   * @return The number of documents serialized
+   */
+
+  long documents();
+
+  /**
+   * @return The number of transformers created
+   */
+
+  long transformersCreated();
+
+  /**
+   * @return The total time spent serializing documents, in nanoseconds
+   */
+
+  long serializeNanos();
+
+  /**
+   * @return The mean number of documents serialized per second
+   */
+
+  default double documentsPerSecond()
+  {
+    final var nanos = this.serializeNanos();
+    if (nanos == 0L) {
+      return 0.0;
+    }
+    return ((double) this.documents() * 1_000_000_000.0) / (double) nanos;
+  }
+}
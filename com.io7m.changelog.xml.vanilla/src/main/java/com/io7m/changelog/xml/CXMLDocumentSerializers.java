@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import org.w3c.dom.Document;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A shared, thread-safe serializer for DOM documents, used by all of the
+ * document-based writers in this package. A single transformer factory is
+ * created once, and each thread creates and then reuses its own identity
+ * transformers, rather than looking up and initializing a new transformer
+ * factory for every document.
+ */
+
+public final class CXMLDocumentSerializers
+{
+  private static final TransformerFactory FACTORY =
+    TransformerFactory.newInstance();
+
+  private static final ThreadLocal<EnumMap<Declaration, Transformer>> TRANSFORMERS =
+    ThreadLocal.withInitial(() -> new EnumMap<>(Declaration.class));
+
+  private static final AtomicLong DOCUMENTS = new AtomicLong();
+  private static final AtomicLong TRANSFORMERS_CREATED = new AtomicLong();
+  private static final AtomicLong SERIALIZE_NANOS = new AtomicLong();
+
+  private CXMLDocumentSerializers()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Whether or not serialized documents begin with an XML declaration.
+   */
+
+  public enum Declaration
+  {
+    /**
+     * Include an XML declaration.
+     */
+
+    INCLUDE,
+
+    /**
+     * Omit the XML declaration.
+     */
+
+    OMIT
+  }
+
+  private static Transformer createTransformer(
+    final Declaration declaration)
+    throws TransformerConfigurationException
+  {
+    final Transformer transformer;
+    synchronized (FACTORY) {
+      transformer = FACTORY.newTransformer();
+    }
+
+    if (declaration == Declaration.OMIT) {
+      transformer.setOutputProperty(
+        OutputKeys.OMIT_XML_DECLARATION, "yes");
+    }
+    transformer.setOutputProperty(
+      OutputKeys.INDENT, "yes");
+    transformer.setOutputProperty(
+      OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+    transformer.setOutputProperty(
+      "{http://xml.apache.org/xslt}indent-amount",
+      "2");
+
+    TRANSFORMERS_CREATED.incrementAndGet();
+    return transformer;
+  }
+
+  /**
+   * Serialize the given document to the given stream. The document is
+   * indented and encoded in UTF-8.
+   *
+   * @param document    The document
+   * @param stream      The output stream
+   * @param declaration Whether or not to write an XML declaration
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void serialize(
+    final Document document,
+    final OutputStream stream,
+    final Declaration declaration)
+    throws IOException
+  {
+    Objects.requireNonNull(document, "Document");
+    Objects.requireNonNull(stream, "Stream");
+    Objects.requireNonNull(declaration, "Declaration");
+
+    final var transformers = TRANSFORMERS.get();
+    final var timeThen = System.nanoTime();
+
+    try {
+      var transformer = transformers.get(declaration);
+      if (transformer == null) {
+        transformer = createTransformer(declaration);
+        transformers.put(declaration, transformer);
+      }
+
+      try {
+        transformer.transform(
+          new DOMSource(document),
+          new StreamResult(stream));
+      } catch (final TransformerException | RuntimeException e) {
+        transformers.remove(declaration);
+        throw e;
+      }
+    } catch (final TransformerException e) {
+      throw new IOException(e);
+    } finally {
+      DOCUMENTS.incrementAndGet();
+      SERIALIZE_NANOS.addAndGet(System.nanoTime() - timeThen);
+    }
+  }
+
+  /**
+   * @return A snapshot of the serializer statistics
+   */
+
+  public static CXMLDocumentSerializerStatistics statistics()
+  {
+    return CXMLDocumentSerializerStatistics.builder()
+      .setDocuments(DOCUMENTS.get())
+      .setTransformersCreated(TRANSFORMERS_CREATED.get())
+      .setSerializeNanos(SERIALIZE_NANOS.get())
+      .build();
+  }
+}
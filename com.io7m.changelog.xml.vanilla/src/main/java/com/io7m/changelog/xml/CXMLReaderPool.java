@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.changelog.schema.CSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe pool of validating SAX parsers. The changelog
+ * schema is compiled exactly once when the pool is created, and all parsers
+ * produced by the pool share the compiled schema.
+ */
+
+final class CXMLReaderPool
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(CXMLReaderPool.class);
+
+  private final SAXParserFactory factory;
+  private final ArrayBlockingQueue<SAXParser> idle;
+  private final int capacity;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+  private final AtomicLong discards;
+
+  private CXMLReaderPool(
+    final SAXParserFactory in_factory,
+    final int in_capacity)
+  {
+    this.factory =
+      Objects.requireNonNull(in_factory, "Factory");
+    this.capacity = in_capacity;
+    this.idle = new ArrayBlockingQueue<>(in_capacity);
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+    this.discards = new AtomicLong();
+  }
+
+  /**
+   * Compile the changelog schema and create a new pool.
+   *
+   * @param capacity The maximum number of idle parsers retained
+   *
+   * @return A new pool
+   */
+
+  static CXMLReaderPool create(
+    final int capacity)
+  {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+        "Pool capacity must be positive: " + capacity);
+    }
+
+    try {
+      final var factory = SAXParserFactory.newInstance();
+      factory.setNamespaceAware(true);
+      factory.setValidating(false);
+      factory.setXIncludeAware(false);
+      factory.setSchema(compileSchema());
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      factory.setFeature(
+        "http://apache.org/xml/features/nonvalidating/load-external-dtd",
+        false);
+      factory.setFeature(
+        "http://apache.org/xml/features/disallow-doctype-decl",
+        true);
+      factory.setFeature(
+        "http://xml.org/sax/features/external-general-entities",
+        false);
+      factory.setFeature(
+        "http://xml.org/sax/features/external-parameter-entities",
+        false);
+      return new CXMLReaderPool(factory, capacity);
+    } catch (final ParserConfigurationException | SAXException | IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Schema compileSchema()
+    throws SAXException, IOException
+  {
+    final var schemas =
+      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schemas.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    schemas.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+
+    final var url = CSchema.getURISchemaXSD().toURL();
+    LOG.debug("compiling schema {}", url);
+
+    try (var stream = url.openStream()) {
+      return schemas.newSchema(new StreamSource(stream, url.toString()));
+    }
+  }
+
+  /**
+   * Take a parser from the pool, creating a new one if no idle parsers
+   * are available.
+   *
+   * @return A parser
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On parser creation errors
+   */
+
+  SAXParser acquire()
+    throws ParserConfigurationException, SAXException
+  {
+    final var existing = this.idle.poll();
+    final SAXParser parser;
+    if (existing != null) {
+      this.hits.incrementAndGet();
+      parser = existing;
+    } else {
+      this.misses.incrementAndGet();
+      parser = this.factory.newSAXParser();
+    }
+
+    final var reader = parser.getXMLReader();
+    reader.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    reader.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    return parser;
+  }
+
+  /**
+   * Reset a parser and return it to the pool. If the pool is already full,
+   * the parser is discarded.
+   *
+   * @param parser The parser
+   */
+
+  void release(
+    final SAXParser parser)
+  {
+    Objects.requireNonNull(parser, "Parser");
+
+    try {
+      parser.reset();
+    } catch (final UnsupportedOperationException e) {
+      this.discards.incrementAndGet();
+      return;
+    }
+
+    if (!this.idle.offer(parser)) {
+      this.discards.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return A snapshot of the pool statistics
+   */
+
+  CXMLChangelogParserPoolStatistics statistics()
+  {
+    return CXMLChangelogParserPoolStatistics.builder()
+      .setCapacity(this.capacity)
+      .setIdle(this.idle.size())
+      .setHits(this.hits.get())
+      .setMisses(this.misses.get())
+      .setDiscards(this.discards.get())
+      .build();
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> http://io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.changelog.xml;
+
+import com.io7m.changelog.core.CChange;
+import com.io7m.changelog.core.CChangelogType;
+import com.io7m.changelog.core.CRelease;
+import com.io7m.changelog.core.CTicketID;
+import com.io7m.changelog.core.CTicketSystem;
+import com.io7m.changelog.core.CVersion;
+import com.io7m.changelog.schema.CSchema;
+import com.io7m.changelog.xml.api.CXMLChangelogWriterType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A writer that emits elements directly to the output stream as the
+ * changelog is traversed. The output exactly matches the formatting
+ * produced by the identity transform used by
+ * {@link CXMLChangelogWriters}: Two-space indentation, attributes in
+ * lexicographic order, and empty elements written in their short form.
+ */
+
+final class CXMLStreamingWriter implements CXMLChangelogWriterType
+{
+  /**
+   * The XML declaration that begins every document.
+   */
+
+  static final String PROLOGUE =
+    "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+  private final Writer writer;
+  private final String line_separator;
+
+  CXMLStreamingWriter(
+    final Writer in_writer)
+  {
+    this.writer =
+      Objects.requireNonNull(in_writer, "Writer");
+    this.line_separator =
+      System.lineSeparator();
+  }
+
+  @Override
+  public void write(
+    final CChangelogType changelog)
+    throws IOException
+  {
+    Objects.requireNonNull(changelog, "Changelog");
+
+    this.writer.append(PROLOGUE);
+    this.newLine();
+
+    this.writer.append("<c:changelog");
+    this.attribute("project", changelog.project().value());
+    this.attribute("xmlns:c", CSchema.XML_URI.toString());
+    this.writer.append('>');
+    this.newLine();
+
+    final var releases = changelog.releases();
+    if (releases.isEmpty()) {
+      this.emptyElement(1, "c:releases");
+    } else {
+      this.startElement(1, "c:releases");
+      for (final var entry : releases.entrySet()) {
+        this.writeRelease(entry.getKey(), entry.getValue());
+      }
+      this.endElement(1, "c:releases");
+    }
+
+    final var systems = changelog.ticketSystems();
+    if (systems.isEmpty()) {
+      this.emptyElement(1, "c:ticket-systems");
+    } else {
+      this.startElement(1, "c:ticket-systems");
+      for (final var entry : systems.entrySet()) {
+        this.writeTicketSystem(entry.getKey(), entry.getValue());
+      }
+      this.endElement(1, "c:ticket-systems");
+    }
+
+    this.writer.append("</c:changelog>");
+    this.newLine();
+    this.writer.flush();
+  }
+
+  private void writeTicketSystem(
+    final String name,
+    final CTicketSystem ticket_system)
+    throws IOException
+  {
+    this.indent(2);
+    this.writer.append("<c:ticket-system");
+    this.attribute("default", String.valueOf(ticket_system.isDefault()));
+    this.attribute("id", name);
+    this.attribute("url", ticket_system.uri().toString());
+    this.writer.append("/>");
+    this.newLine();
+  }
+
+  private void writeRelease(
+    final CVersion version,
+    final CRelease release)
+    throws IOException
+  {
+    this.indent(2);
+    this.writer.append("<c:release");
+    this.attribute("date", CDates.format(release.date()));
+    this.attribute("is-open", release.isOpen() ? "true" : "false");
+    this.attribute("ticket-system", release.ticketSystemID());
+    this.attribute("version", String.format("%s", version));
+    this.writer.append('>');
+    this.newLine();
+
+    final List<CChange> changes = release.changes();
+    if (changes.isEmpty()) {
+      this.emptyElement(3, "c:changes");
+    } else {
+      this.startElement(3, "c:changes");
+      for (final var change : changes) {
+        this.writeChange(change);
+      }
+      this.endElement(3, "c:changes");
+    }
+
+    this.endElement(2, "c:release");
+  }
+
+  /**
+   * Write a single change element at the depth it occupies inside a
+   * release. The output does not include a trailing flush.
+   *
+   * @param change The change
+   *
+   * @throws IOException On I/O errors
+   */
+
+  void writeChange(
+    final CChange change)
+    throws IOException
+  {
+    this.indent(4);
+    this.writer.append("<c:change");
+    if (!change.backwardsCompatible()) {
+      this.attribute("compatible", "false");
+    }
+    this.attribute("date", CDates.format(change.date()));
+
+    final var module = change.module();
+    if (module.isPresent()) {
+      this.attribute("module", module.get().value());
+    }
+    this.attribute("summary", change.summary());
+
+    final List<CTicketID> change_tickets = change.tickets();
+    if (change_tickets.isEmpty()) {
+      this.writer.append("/>");
+      this.newLine();
+      return;
+    }
+
+    this.writer.append('>');
+    this.newLine();
+    this.startElement(5, "c:tickets");
+    for (final var ticket : change_tickets) {
+      this.indent(6);
+      this.writer.append("<c:ticket");
+      this.attribute("id", ticket.value());
+      this.writer.append("/>");
+      this.newLine();
+    }
+    this.endElement(5, "c:tickets");
+    this.endElement(4, "c:change");
+  }
+
+  private void startElement(
+    final int depth,
+    final String name)
+    throws IOException
+  {
+    this.indent(depth);
+    this.writer.append('<');
+    this.writer.append(name);
+    this.writer.append('>');
+    this.newLine();
+  }
+
+  private void endElement(
+    final int depth,
+    final String name)
+    throws IOException
+  {
+    this.indent(depth);
+    this.writer.append("</");
+    this.writer.append(name);
+    this.writer.append('>');
+    this.newLine();
+  }
+
+  private void emptyElement(
+    final int depth,
+    final String name)
+    throws IOException
+  {
+    this.indent(depth);
+    this.writer.append('<');
+    this.writer.append(name);
+    this.writer.append("/>");
+    this.newLine();
+  }
+
+  private void indent(
+    final int depth)
+    throws IOException
+  {
+    for (int index = 0; index < depth; ++index) {
+      this.writer.append("  ");
+    }
+  }
+
+  private void newLine()
+    throws IOException
+  {
+    this.writer.append(this.line_separator);
+  }
+
+  private void attribute(
+    final String name,
+    final String value)
+    throws IOException
+  {
+    this.writer.append(' ');
+    this.writer.append(name);
+    this.writer.append("=\"");
+
+    final int length = value.length();
+    for (int index = 0; index < length; ) {
+      final int code = value.codePointAt(index);
+      switch (code) {
+        case '&': {
+          this.writer.append("&amp;");
+          break;
+        }
+        case '<': {
+          this.writer.append("&lt;");
+          break;
+        }
+        case '>': {
+          this.writer.append("&gt;");
+          break;
+        }
+        case '"': {
+          this.writer.append("&quot;");
+          break;
+        }
+        default: {
+          if (code < 0x20 || Character.isSupplementaryCodePoint(code)) {
+            this.writer.append("&#");
+            this.writer.append(Integer.toString(code));
+            this.writer.append(';');
+          } else {
+            this.writer.append((char) code);
+          }
+          break;
+        }
+      }
+      index += Character.charCount(code);
+    }
+
+    this.writer.append('"');
+  }
+}
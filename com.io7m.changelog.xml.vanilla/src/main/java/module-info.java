@@ -20,6 +20,8 @@
 
 module com.io7m.changelog.xml.vanilla
 {
+  requires static com.io7m.immutables.style;
+  requires static org.immutables.value;
   requires static org.osgi.annotation.bundle;
   requires static org.osgi.annotation.versioning;
 